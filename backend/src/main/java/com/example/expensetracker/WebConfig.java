@@ -1,7 +1,13 @@
 package com.example.expensetracker;
 
+import com.example.expensetracker.expense.ExportTimeoutInterceptor;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -9,9 +15,14 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class WebConfig implements WebMvcConfigurer {
 
     private final String[] allowedOrigins;
+    private final ExportTimeoutInterceptor exportTimeoutInterceptor;
 
-    public WebConfig(@Value("${app.cors.allowed-origins:*}") String[] allowedOrigins) {
+    public WebConfig(
+            @Value("${app.cors.allowed-origins:*}") String[] allowedOrigins,
+            ExportTimeoutInterceptor exportTimeoutInterceptor
+    ) {
         this.allowedOrigins = allowedOrigins;
+        this.exportTimeoutInterceptor = exportTimeoutInterceptor;
     }
 
     @Override
@@ -21,4 +32,18 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*");
     }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(exportTimeoutInterceptor);
+    }
+
+    /**
+     * Serves {@code application/cbor} to clients that ask for it. The mapper comes from the application's Jackson
+     * builder so CBOR responses carry the same field names and date formats as JSON.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
 }
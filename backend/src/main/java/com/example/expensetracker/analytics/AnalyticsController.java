@@ -0,0 +1,42 @@
+package com.example.expensetracker.analytics;
+
+import com.example.expensetracker.expense.TransactionType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    public AnalyticsController(AnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    @GetMapping("/timeseries")
+    public AnalyticsDtos.TimeseriesResponse getTimeseries(
+            @RequestParam(required = false) LocalDate start,
+            @RequestParam(required = false) LocalDate end,
+            @RequestParam(defaultValue = "MONTH") AnalyticsGranularity granularity
+    ) {
+        return analyticsService.getTimeseries(start, end, granularity);
+    }
+
+    @GetMapping("/pivot")
+    public AnalyticsDtos.PivotResponse getPivot(
+            @RequestParam(defaultValue = "CATEGORY") PivotDimension rows,
+            @RequestParam(defaultValue = "PERIOD") PivotDimension columns,
+            @RequestParam(defaultValue = "MONTH") AnalyticsGranularity granularity,
+            @RequestParam(required = false) LocalDate start,
+            @RequestParam(required = false) LocalDate end,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(defaultValue = "20") int topN
+    ) {
+        return analyticsService.getPivot(rows, columns, granularity, start, end, type, topN);
+    }
+}
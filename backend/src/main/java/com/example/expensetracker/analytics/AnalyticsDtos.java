@@ -0,0 +1,59 @@
+package com.example.expensetracker.analytics;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public final class AnalyticsDtos {
+
+    private AnalyticsDtos() {
+    }
+
+    public record TimeseriesPoint(
+            LocalDate periodStart,
+            LocalDate periodEnd,
+            BigDecimal expenseTotal,
+            BigDecimal incomeTotal,
+            BigDecimal netAmount,
+            BigDecimal savingAmount,
+            BigDecimal savingRatePercent,
+            long transactionCount
+    ) {
+    }
+
+    public record TimeseriesResponse(
+            LocalDate start,
+            LocalDate end,
+            AnalyticsGranularity granularity,
+            TimeseriesPoint total,
+            List<TimeseriesPoint> points
+    ) {
+    }
+
+    public record PivotColumn(
+            String key,
+            String label
+    ) {
+    }
+
+    public record PivotRow(
+            String key,
+            String label,
+            BigDecimal total,
+            long transactionCount,
+            List<BigDecimal> values
+    ) {
+    }
+
+    public record PivotResponse(
+            PivotDimension rowDimension,
+            PivotDimension columnDimension,
+            AnalyticsGranularity granularity,
+            LocalDate start,
+            LocalDate end,
+            List<PivotColumn> columns,
+            List<PivotRow> rows,
+            int totalRows
+    ) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.expensetracker.analytics;
+
+import com.example.expensetracker.cache.UserDataChangedEvent;
+import com.example.expensetracker.cache.UserDataVersions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU of per-user {@link DailyTotalsIndex} instances. Like the dashboard cache, each entry remembers the
+ * user's data version it was built at and is rebuilt on the first read after a committed write.
+ */
+@Component
+public class AnalyticsIndexCache {
+
+    private final UserDataVersions userDataVersions;
+    private final Map<String, Entry> entries;
+    private final Counter hits;
+    private final Counter misses;
+
+    public AnalyticsIndexCache(
+            UserDataVersions userDataVersions,
+            MeterRegistry meterRegistry,
+            @Value("${app.analytics.index-cache.max-entries:500}") int maxEntries
+    ) {
+        this.userDataVersions = userDataVersions;
+        this.hits = Counter.builder("analytics.index.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("analytics.index.cache").tag("result", "miss").register(meterRegistry);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    DailyTotalsIndex get(String username, Supplier<DailyTotalsIndex> loader) {
+        String key = username.toLowerCase(Locale.ROOT);
+        long version = userDataVersions.current(username);
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.version() == version) {
+                hits.increment();
+                return entry.index();
+            }
+        }
+
+        misses.increment();
+        DailyTotalsIndex index = loader.get();
+        synchronized (entries) {
+            entries.put(key, new Entry(version, index));
+        }
+        return index;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        synchronized (entries) {
+            entries.remove(event.username().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private record Entry(long version, DailyTotalsIndex index) {
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.expensetracker.analytics;
+
+import com.example.expensetracker.auth.UserContext;
+import com.example.expensetracker.expense.ExpenseRepository;
+import com.example.expensetracker.expense.TransactionType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Transactional(readOnly = true)
+public class AnalyticsService {
+
+    static final int MAX_POINTS = 5000;
+    static final int MAX_PIVOT_ROWS = 100;
+    static final int MAX_PIVOT_COLUMNS = 400;
+
+    private final ExpenseRepository expenseRepository;
+    private final AnalyticsIndexCache indexCache;
+    private final UserContext userContext;
+    private final EntityManager entityManager;
+    private final int maxPivotGroups;
+
+    public AnalyticsService(
+            ExpenseRepository expenseRepository,
+            AnalyticsIndexCache indexCache,
+            UserContext userContext,
+            EntityManager entityManager,
+            @Value("${app.analytics.pivot.max-groups:10000}") int maxPivotGroups
+    ) {
+        this.expenseRepository = expenseRepository;
+        this.indexCache = indexCache;
+        this.userContext = userContext;
+        this.entityManager = entityManager;
+        this.maxPivotGroups = maxPivotGroups;
+    }
+
+    public AnalyticsDtos.TimeseriesResponse getTimeseries(
+            LocalDate start,
+            LocalDate end,
+            AnalyticsGranularity granularity
+    ) {
+        String username = userContext.currentUsername();
+        Long ownerId = userContext.currentUserId();
+        LocalDate endDate = resolveEnd(end);
+        LocalDate startDate = resolveStart(start, endDate);
+
+        DailyTotalsIndex index = indexCache.get(
+                username,
+                () -> DailyTotalsIndex.build(expenseRepository.summarizeByDay(ownerId), LocalDate.now())
+        );
+
+        List<AnalyticsDtos.TimeseriesPoint> points = new ArrayList<>();
+        for (LocalDate bucket = granularity.bucketStart(startDate);
+             !bucket.isAfter(endDate);
+             bucket = granularity.nextBucketStart(bucket)) {
+            if (points.size() == MAX_POINTS) {
+                throw new ResponseStatusException(
+                        HttpStatus.BAD_REQUEST,
+                        "Requested series exceeds " + MAX_POINTS + " points, use a coarser granularity"
+                );
+            }
+            LocalDate from = bucket.isBefore(startDate) ? startDate : bucket;
+            LocalDate bucketEnd = granularity.nextBucketStart(bucket).minusDays(1);
+            LocalDate to = bucketEnd.isAfter(endDate) ? endDate : bucketEnd;
+            points.add(toPoint(from, to, index.between(from, to)));
+        }
+
+        return new AnalyticsDtos.TimeseriesResponse(
+                startDate,
+                endDate,
+                granularity,
+                toPoint(startDate, endDate, index.between(startDate, endDate)),
+                points
+        );
+    }
+
+    public AnalyticsDtos.PivotResponse getPivot(
+            PivotDimension rowDimension,
+            PivotDimension columnDimension,
+            AnalyticsGranularity granularity,
+            LocalDate start,
+            LocalDate end,
+            TransactionType type,
+            int topN
+    ) {
+        Long ownerId = userContext.currentUserId();
+        if (rowDimension == PivotDimension.PERIOD) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "rows must be a non-time dimension");
+        }
+        if (rowDimension == columnDimension) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "rows and columns must be different dimensions");
+        }
+        if (topN < 1 || topN > MAX_PIVOT_ROWS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "topN must be between 1 and " + MAX_PIVOT_ROWS);
+        }
+        LocalDate endDate = resolveEnd(end);
+        LocalDate startDate = resolveStart(start, endDate);
+
+        List<AnalyticsDtos.PivotColumn> periodColumns = columnDimension == PivotDimension.PERIOD
+                ? periodColumns(granularity, startDate, endDate)
+                : null;
+
+        PivotQuery pivotQuery = new PivotQuery(rowDimension, columnDimension, granularity);
+        TypedQuery<Object[]> query = entityManager.createQuery(pivotQuery.jpql(type), Object[].class)
+                .setParameter("ownerId", ownerId)
+                .setParameter("start", startDate)
+                .setParameter("end", endDate)
+                .setMaxResults(maxPivotGroups + 1);
+        if (type != null) {
+            query.setParameter("type", type);
+        }
+        List<Object[]> tuples = query.getResultList();
+        if (tuples.size() > maxPivotGroups) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Pivot exceeds " + maxPivotGroups + " groups, narrow the range or use a coarser granularity"
+            );
+        }
+
+        Map<String, PivotRowAccumulator> rowAccumulators = new HashMap<>();
+        Map<String, PivotColumnAccumulator> columnAccumulators = new LinkedHashMap<>();
+        for (Object[] tuple : tuples) {
+            PivotQuery.Key rowKey = pivotQuery.rowKey(tuple);
+            PivotQuery.Key columnKey = pivotQuery.columnKey(tuple);
+            long amountCents = toCents(pivotQuery.total(tuple));
+            rowAccumulators.computeIfAbsent(rowKey.key(), key -> new PivotRowAccumulator(rowKey))
+                    .add(columnKey.key(), amountCents, pivotQuery.count(tuple));
+            columnAccumulators.computeIfAbsent(columnKey.key(), key -> new PivotColumnAccumulator(columnKey))
+                    .totalCents += amountCents;
+        }
+
+        List<AnalyticsDtos.PivotColumn> columns = periodColumns != null
+                ? periodColumns
+                : columnAccumulators.values().stream()
+                .sorted(Comparator.comparingLong((PivotColumnAccumulator column) -> column.totalCents).reversed()
+                        .thenComparing(column -> column.key.label()))
+                .map(column -> new AnalyticsDtos.PivotColumn(column.key.key(), column.key.label()))
+                .toList();
+
+        List<AnalyticsDtos.PivotRow> rows = TopN.largest(
+                        rowAccumulators.values(),
+                        topN,
+                        Comparator.comparingLong((PivotRowAccumulator row) -> row.totalCents)
+                                .thenComparing(row -> row.key.label(), Comparator.reverseOrder())
+                ).stream()
+                .map(row -> row.toPivotRow(columns))
+                .toList();
+
+        return new AnalyticsDtos.PivotResponse(
+                rowDimension,
+                columnDimension,
+                granularity,
+                startDate,
+                endDate,
+                columns,
+                rows,
+                rowAccumulators.size()
+        );
+    }
+
+    private List<AnalyticsDtos.PivotColumn> periodColumns(
+            AnalyticsGranularity granularity,
+            LocalDate startDate,
+            LocalDate endDate
+    ) {
+        List<AnalyticsDtos.PivotColumn> columns = new ArrayList<>();
+        for (LocalDate bucket = granularity.bucketStart(startDate);
+             !bucket.isAfter(endDate);
+             bucket = granularity.nextBucketStart(bucket)) {
+            if (columns.size() == MAX_PIVOT_COLUMNS) {
+                throw new ResponseStatusException(
+                        HttpStatus.BAD_REQUEST,
+                        "Pivot exceeds " + MAX_PIVOT_COLUMNS + " period columns, use a coarser granularity"
+                );
+            }
+            columns.add(new AnalyticsDtos.PivotColumn(bucket.toString(), granularity.label(bucket)));
+        }
+        return columns;
+    }
+
+    private AnalyticsDtos.TimeseriesPoint toPoint(LocalDate from, LocalDate to, DailyTotalsIndex.Totals totals) {
+        return new AnalyticsDtos.TimeseriesPoint(
+                from,
+                to,
+                toAmount(totals.expenseCents()),
+                toAmount(totals.incomeCents()),
+                toAmount(totals.incomeCents() - totals.expenseCents()),
+                toAmount(totals.savingCents()),
+                savingRatePercent(totals.savingCents(), totals.incomeCents()),
+                totals.count()
+        );
+    }
+
+    private static LocalDate resolveEnd(LocalDate end) {
+        return end == null ? LocalDate.now() : end;
+    }
+
+    private static LocalDate resolveStart(LocalDate start, LocalDate endDate) {
+        LocalDate startDate = start == null ? endDate.minusYears(1).plusDays(1) : start;
+        if (startDate.isAfter(endDate)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "start cannot be after end");
+        }
+        return startDate;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static BigDecimal toAmount(long amountCents) {
+        return BigDecimal.valueOf(amountCents, 2);
+    }
+
+    private static BigDecimal savingRatePercent(long savingCents, long incomeCents) {
+        if (incomeCents == 0) {
+            return BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP);
+        }
+        return BigDecimal.valueOf(savingCents * 100).divide(BigDecimal.valueOf(incomeCents), 2, RoundingMode.HALF_UP);
+    }
+
+    private static final class PivotRowAccumulator {
+
+        private final PivotQuery.Key key;
+        private final Map<String, Long> cellCents = new HashMap<>();
+        private long totalCents;
+        private long count;
+
+        private PivotRowAccumulator(PivotQuery.Key key) {
+            this.key = key;
+        }
+
+        private void add(String columnKey, long amountCents, long rowCount) {
+            cellCents.merge(columnKey, amountCents, Long::sum);
+            totalCents += amountCents;
+            count += rowCount;
+        }
+
+        private AnalyticsDtos.PivotRow toPivotRow(List<AnalyticsDtos.PivotColumn> columns) {
+            List<BigDecimal> values = new ArrayList<>(columns.size());
+            for (AnalyticsDtos.PivotColumn column : columns) {
+                values.add(toAmount(cellCents.getOrDefault(column.key(), 0L)));
+            }
+            return new AnalyticsDtos.PivotRow(key.key(), key.label(), toAmount(totalCents), count, values);
+        }
+    }
+
+    private static final class PivotColumnAccumulator {
+
+        private final PivotQuery.Key key;
+        private long totalCents;
+
+        private PivotColumnAccumulator(PivotQuery.Key key) {
+            this.key = key;
+        }
+    }
+}
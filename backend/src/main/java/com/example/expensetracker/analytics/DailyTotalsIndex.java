@@ -0,0 +1,95 @@
+package com.example.expensetracker.analytics;
+
+import com.example.expensetracker.category.CategoryType;
+import com.example.expensetracker.expense.ExpenseAggregates;
+import com.example.expensetracker.expense.TransactionType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Immutable per-user cumulative totals by day. Slot {@code i} holds the sum of every day before
+ * {@code firstDay + i}, so the total of any inclusive date range is the difference of two slots regardless of how
+ * many transactions lie underneath. Dates before the first transaction read as zero and dates after the last
+ * indexed day read as the grand total.
+ */
+final class DailyTotalsIndex {
+
+    private final LocalDate firstDay;
+    private final int days;
+    private final long[] expenseCents;
+    private final long[] incomeCents;
+    private final long[] savingCents;
+    private final long[] counts;
+
+    private DailyTotalsIndex(LocalDate firstDay, int days) {
+        this.firstDay = firstDay;
+        this.days = days;
+        this.expenseCents = new long[days + 1];
+        this.incomeCents = new long[days + 1];
+        this.savingCents = new long[days + 1];
+        this.counts = new long[days + 1];
+    }
+
+    /**
+     * Builds the index from per-day rows ordered by day. The index always reaches {@code today} so that open-ended
+     * ranges stay O(1) even when the latest transaction is older.
+     */
+    static DailyTotalsIndex build(List<ExpenseAggregates.DailyTotalRow> rows, LocalDate today) {
+        LocalDate firstDay = rows.isEmpty() ? today : rows.get(0).day();
+        LocalDate lastDay = rows.isEmpty() ? today : rows.get(rows.size() - 1).day();
+        if (firstDay.isAfter(today)) {
+            firstDay = today;
+        }
+        if (lastDay.isBefore(today)) {
+            lastDay = today;
+        }
+
+        DailyTotalsIndex index = new DailyTotalsIndex(firstDay, (int) (lastDay.toEpochDay() - firstDay.toEpochDay()) + 1);
+        for (ExpenseAggregates.DailyTotalRow row : rows) {
+            int slot = (int) (row.day().toEpochDay() - firstDay.toEpochDay()) + 1;
+            long amountCents = toCents(row.total());
+            if (row.type() == TransactionType.EXPENSE) {
+                index.expenseCents[slot] += amountCents;
+            } else if (row.type() == TransactionType.INCOME) {
+                index.incomeCents[slot] += amountCents;
+            }
+            if (row.categoryType() == CategoryType.SAVING) {
+                index.savingCents[slot] += amountCents;
+            }
+            index.counts[slot] += row.count();
+        }
+        for (int slot = 1; slot <= index.days; slot++) {
+            index.expenseCents[slot] += index.expenseCents[slot - 1];
+            index.incomeCents[slot] += index.incomeCents[slot - 1];
+            index.savingCents[slot] += index.savingCents[slot - 1];
+            index.counts[slot] += index.counts[slot - 1];
+        }
+        return index;
+    }
+
+    Totals between(LocalDate from, LocalDate to) {
+        int upper = slotAfter(to);
+        int lower = slotAfter(from.minusDays(1));
+        return new Totals(
+                expenseCents[upper] - expenseCents[lower],
+                incomeCents[upper] - incomeCents[lower],
+                savingCents[upper] - savingCents[lower],
+                counts[upper] - counts[lower]
+        );
+    }
+
+    private int slotAfter(LocalDate day) {
+        long slot = day.toEpochDay() - firstDay.toEpochDay() + 1;
+        return (int) Math.max(0, Math.min(days, slot));
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    record Totals(long expenseCents, long incomeCents, long savingCents, long count) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.expensetracker.analytics;
+
+import java.util.List;
+
+/**
+ * Grouping dimensions for the pivot endpoint. Each non-time dimension knows the JPQL expressions it selects and
+ * groups by (an id and a label, or a single enum value) and the join it needs; {@link #PERIOD} is resolved from
+ * the requested {@link AnalyticsGranularity}.
+ */
+public enum PivotDimension {
+    CATEGORY(List.of("c.id", "c.name"), "JOIN e.category c"),
+    SUB_CATEGORY(List.of("sc.id", "sc.name"), "JOIN e.subCategory sc"),
+    BUDGET(List.of("b.id", "b.name"), "JOIN e.budget b"),
+    TRANSACTION_TYPE(List.of("e.transactionType"), null),
+    CATEGORY_TYPE(List.of("c.type"), "JOIN e.category c"),
+    PERIOD(List.of(), null);
+
+    private final List<String> expressions;
+    private final String join;
+
+    PivotDimension(List<String> expressions, String join) {
+        this.expressions = expressions;
+        this.join = join;
+    }
+
+    List<String> expressions(AnalyticsGranularity granularity) {
+        if (this != PERIOD) {
+            return expressions;
+        }
+        return switch (granularity) {
+            case DAY, WEEK -> List.of("e.expenseDate");
+            case MONTH -> List.of("extract(year from e.expenseDate)", "extract(month from e.expenseDate)");
+            case QUARTER -> List.of("extract(year from e.expenseDate)", "extract(quarter from e.expenseDate)");
+            case YEAR -> List.of("extract(year from e.expenseDate)");
+        };
+    }
+
+    String join() {
+        return join;
+    }
+}
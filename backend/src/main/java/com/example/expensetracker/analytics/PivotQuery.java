@@ -0,0 +1,101 @@
+package com.example.expensetracker.analytics;
+
+import com.example.expensetracker.expense.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Translates a row/column dimension pair into one JPQL GROUP BY over the user's transactions and reads the
+ * resulting tuples back into row and column keys. Tuples are laid out as
+ * {@code [row expressions..., column expressions..., SUM(amount), COUNT(e)]}.
+ */
+final class PivotQuery {
+
+    private final PivotDimension rowDimension;
+    private final PivotDimension columnDimension;
+    private final AnalyticsGranularity granularity;
+    private final int rowWidth;
+    private final int columnWidth;
+
+    PivotQuery(PivotDimension rowDimension, PivotDimension columnDimension, AnalyticsGranularity granularity) {
+        this.rowDimension = rowDimension;
+        this.columnDimension = columnDimension;
+        this.granularity = granularity;
+        this.rowWidth = rowDimension.expressions(granularity).size();
+        this.columnWidth = columnDimension.expressions(granularity).size();
+    }
+
+    String jpql(TransactionType type) {
+        List<String> groupBy = new ArrayList<>(rowDimension.expressions(granularity));
+        groupBy.addAll(columnDimension.expressions(granularity));
+        Set<String> joins = new LinkedHashSet<>();
+        for (PivotDimension dimension : List.of(rowDimension, columnDimension)) {
+            if (dimension.join() != null) {
+                joins.add(dimension.join());
+            }
+        }
+
+        StringBuilder jpql = new StringBuilder("SELECT ")
+                .append(String.join(", ", groupBy))
+                .append(", SUM(e.amount), COUNT(e) FROM Expense e");
+        for (String join : joins) {
+            jpql.append(' ').append(join);
+        }
+        jpql.append(" WHERE e.ownerId = :ownerId AND e.expenseDate BETWEEN :start AND :end");
+        if (type != null) {
+            jpql.append(" AND e.transactionType = :type");
+        }
+        return jpql.append(" GROUP BY ").append(String.join(", ", groupBy)).toString();
+    }
+
+    Key rowKey(Object[] tuple) {
+        return key(rowDimension, tuple, 0);
+    }
+
+    Key columnKey(Object[] tuple) {
+        return key(columnDimension, tuple, rowWidth);
+    }
+
+    BigDecimal total(Object[] tuple) {
+        return (BigDecimal) tuple[rowWidth + columnWidth];
+    }
+
+    long count(Object[] tuple) {
+        return ((Number) tuple[rowWidth + columnWidth + 1]).longValue();
+    }
+
+    private Key key(PivotDimension dimension, Object[] tuple, int offset) {
+        return switch (dimension) {
+            case CATEGORY, SUB_CATEGORY, BUDGET -> new Key(String.valueOf(tuple[offset]), (String) tuple[offset + 1]);
+            case TRANSACTION_TYPE, CATEGORY_TYPE -> {
+                String name = ((Enum<?>) tuple[offset]).name();
+                yield new Key(name, name);
+            }
+            case PERIOD -> {
+                LocalDate bucket = bucketStart(tuple, offset);
+                yield new Key(bucket.toString(), granularity.label(bucket));
+            }
+        };
+    }
+
+    private LocalDate bucketStart(Object[] tuple, int offset) {
+        return switch (granularity) {
+            case DAY, WEEK -> granularity.bucketStart((LocalDate) tuple[offset]);
+            case MONTH -> LocalDate.of(intValue(tuple[offset]), intValue(tuple[offset + 1]), 1);
+            case QUARTER -> LocalDate.of(intValue(tuple[offset]), (intValue(tuple[offset + 1]) - 1) * 3 + 1, 1);
+            case YEAR -> LocalDate.of(intValue(tuple[offset]), 1, 1);
+        };
+    }
+
+    private static int intValue(Object value) {
+        return ((Number) value).intValue();
+    }
+
+    record Key(String key, String label) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.expensetracker.analytics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Bounded-heap top-N selection: keeps at most {@code n} candidates in a min-heap while scanning, so picking the
+ * largest entries costs O(size log n) instead of sorting everything.
+ */
+public final class TopN {
+
+    private TopN() {
+    }
+
+    /**
+     * Returns the {@code n} greatest items according to {@code order}, greatest first.
+     */
+    public static <T> List<T> largest(Iterable<T> items, int n, Comparator<? super T> order) {
+        if (n <= 0) {
+            return List.of();
+        }
+        PriorityQueue<T> heap = new PriorityQueue<>(n, order);
+        for (T item : items) {
+            if (heap.size() < n) {
+                heap.add(item);
+            } else if (order.compare(item, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(item);
+            }
+        }
+        List<T> result = new ArrayList<>(heap);
+        result.sort(order.reversed());
+        return result;
+    }
+}
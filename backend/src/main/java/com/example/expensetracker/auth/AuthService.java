@@ -28,7 +28,7 @@ public class AuthService {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid username or password");
         }
 
-        String token = jwtService.generateToken(user.getUsername());
+        String token = jwtService.generateToken(user.getId(), user.getUsername());
         return new AuthDtos.LoginResponse(token, user.getUsername());
     }
 }
@@ -0,0 +1,15 @@
+package com.example.expensetracker.auth;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Principal placed in the security context by the JWT filter. Carrying the user id lets ownership checks compare
+ * the numeric {@code owner_id} key without looking the user up again for every query.
+ */
+public record AuthenticatedUser(Long id, String username) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
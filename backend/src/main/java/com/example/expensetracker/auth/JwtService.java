@@ -13,6 +13,8 @@ import java.util.Date;
 @Service
 public class JwtService {
 
+    private static final String USER_ID_CLAIM = "uid";
+
     private final SecretKey secretKey;
     private final long expirationMs;
 
@@ -21,12 +23,13 @@ public class JwtService {
         this.expirationMs = expirationMs;
     }
 
-    public String generateToken(String username) {
+    public String generateToken(Long userId, String username) {
         Date now = new Date();
         Date expiry = new Date(now.getTime() + expirationMs);
 
         return Jwts.builder()
                 .subject(username)
+                .claim(USER_ID_CLAIM, userId)
                 .issuedAt(now)
                 .expiration(expiry)
                 .signWith(secretKey)
@@ -37,6 +40,14 @@ public class JwtService {
         return parseClaims(token).getSubject();
     }
 
+    /**
+     * Returns the user id claim, or {@code null} for tokens issued before the claim was added.
+     */
+    public Long extractUserId(String token) {
+        Number userId = parseClaims(token).get(USER_ID_CLAIM, Number.class);
+        return userId == null ? null : userId.longValue();
+    }
+
     public boolean isTokenValid(String token) {
         try {
             Claims claims = parseClaims(token);
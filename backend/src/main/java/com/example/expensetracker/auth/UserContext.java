@@ -23,7 +23,18 @@ public class UserContext {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized"));
     }
 
+    /**
+     * Owner key for ownership checks. Requests authenticated by the JWT filter carry it on the principal; other
+     * callers (schedulers, tests) fall back to a lookup by username.
+     */
     public Long currentUserId() {
+        Optional<Long> principalId = extractAuthentication()
+                .map(Authentication::getPrincipal)
+                .filter(AuthenticatedUser.class::isInstance)
+                .map(principal -> ((AuthenticatedUser) principal).id());
+        if (principalId.isPresent()) {
+            return principalId.get();
+        }
         String username = currentUsername();
         return userRepository.findByUsernameIgnoreCase(username)
                 .map(AppUser::getId)
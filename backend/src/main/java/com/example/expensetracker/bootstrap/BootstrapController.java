@@ -0,0 +1,34 @@
+package com.example.expensetracker.bootstrap;
+
+import com.example.expensetracker.expense.TransactionType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api")
+public class BootstrapController {
+
+    private final BootstrapService bootstrapService;
+
+    public BootstrapController(BootstrapService bootstrapService) {
+        this.bootstrapService = bootstrapService;
+    }
+
+    /**
+     * {@code sections} takes a comma-separated subset of categories, subCategories, budgets, transactions and
+     * dashboard; without it every section is returned.
+     */
+    @GetMapping("/bootstrap")
+    public BootstrapDtos.BootstrapResponse bootstrap(
+            @RequestParam(required = false) List<String> sections,
+            @RequestParam(defaultValue = "EXPENSE") TransactionType type,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "5") int topN
+    ) {
+        return bootstrapService.bootstrap(BootstrapSection.parse(sections), type, size, topN);
+    }
+}
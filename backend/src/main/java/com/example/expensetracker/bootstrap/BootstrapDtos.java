@@ -0,0 +1,28 @@
+package com.example.expensetracker.bootstrap;
+
+import com.example.expensetracker.budget.BudgetDtos;
+import com.example.expensetracker.category.CategoryDtos;
+import com.example.expensetracker.expense.ExpenseDtos;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+public final class BootstrapDtos {
+
+    private BootstrapDtos() {
+    }
+
+    /**
+     * Everything the app needs to render its first screen. Each section has the same shape as its own endpoint's
+     * response and is left out when it was not requested.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record BootstrapResponse(
+            List<CategoryDtos.CategoryResponse> categories,
+            List<CategoryDtos.SubCategoryResponse> subCategories,
+            List<BudgetDtos.BudgetResponse> budgets,
+            ExpenseDtos.ExpensePageResponse transactions,
+            ExpenseDtos.DashboardSummaryResponse dashboard
+    ) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.expensetracker.bootstrap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class BootstrapExecutorConfig {
+
+    public static final String BOOTSTRAP_SECTION_EXECUTOR = "bootstrapSectionExecutor";
+
+    /**
+     * Fixed-size pool with a bounded queue for the sections of a bootstrap request. It is separate from the
+     * dashboard executor because the dashboard section may itself fan out onto that pool, and a request waiting on
+     * work queued behind itself would only ever time out.
+     */
+    @Bean(name = BOOTSTRAP_SECTION_EXECUTOR, destroyMethod = "shutdownNow")
+    public ExecutorService bootstrapSectionExecutor(
+            @Value("${app.bootstrap.pool-size:8}") int poolSize,
+            @Value("${app.bootstrap.queue-capacity:64}") int queueCapacity
+    ) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                30,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("bootstrap-section-")
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return new DelegatingSecurityContextExecutorService(executor);
+    }
+}
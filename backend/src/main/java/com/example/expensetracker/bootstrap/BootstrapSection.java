@@ -0,0 +1,59 @@
+package com.example.expensetracker.bootstrap;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The parts of {@code /api/bootstrap}, named as they appear in the {@code sections} parameter and the response.
+ */
+public enum BootstrapSection {
+    CATEGORIES("categories"),
+    SUB_CATEGORIES("subCategories"),
+    BUDGETS("budgets"),
+    TRANSACTIONS("transactions"),
+    DASHBOARD("dashboard");
+
+    private final String parameterName;
+
+    BootstrapSection(String parameterName) {
+        this.parameterName = parameterName;
+    }
+
+    public String parameterName() {
+        return parameterName;
+    }
+
+    /**
+     * Resolves requested section names; no names at all means every section.
+     */
+    public static Set<BootstrapSection> parse(Collection<String> names) {
+        if (names == null || names.isEmpty()) {
+            return EnumSet.allOf(BootstrapSection.class);
+        }
+        Set<BootstrapSection> sections = EnumSet.noneOf(BootstrapSection.class);
+        for (String name : names) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            sections.add(fromParameterName(trimmed));
+        }
+        if (sections.isEmpty()) {
+            return EnumSet.allOf(BootstrapSection.class);
+        }
+        return sections;
+    }
+
+    private static BootstrapSection fromParameterName(String name) {
+        for (BootstrapSection section : values()) {
+            if (section.parameterName.equalsIgnoreCase(name)) {
+                return section;
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown bootstrap section: " + name);
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.expensetracker.bootstrap;
+
+import com.example.expensetracker.auth.UserContext;
+import com.example.expensetracker.budget.BudgetDtos;
+import com.example.expensetracker.budget.BudgetService;
+import com.example.expensetracker.category.CategoryDtos;
+import com.example.expensetracker.category.CategoryService;
+import com.example.expensetracker.expense.DashboardService;
+import com.example.expensetracker.expense.DashboardSummaryCache;
+import com.example.expensetracker.expense.ExpenseDtos;
+import com.example.expensetracker.expense.ExpenseService;
+import com.example.expensetracker.expense.TransactionType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Loads the sections of the app's first screen in one request. Requested sections run concurrently on the bootstrap
+ * executor, each through the same service call (and so the same read-only transaction and caches) as its own
+ * endpoint; the last one runs on the request thread, which would otherwise only wait. A failing section fails the
+ * whole response with that section's error.
+ */
+@Service
+public class BootstrapService {
+
+    private final CategoryService categoryService;
+    private final BudgetService budgetService;
+    private final ExpenseService expenseService;
+    private final DashboardService dashboardService;
+    private final DashboardSummaryCache dashboardSummaryCache;
+    private final UserContext userContext;
+    private final ExecutorService sectionExecutor;
+    private final Map<BootstrapSection, Timer> sectionTimers = new EnumMap<>(BootstrapSection.class);
+
+    public BootstrapService(
+            CategoryService categoryService,
+            BudgetService budgetService,
+            ExpenseService expenseService,
+            DashboardService dashboardService,
+            DashboardSummaryCache dashboardSummaryCache,
+            UserContext userContext,
+            @Qualifier(BootstrapExecutorConfig.BOOTSTRAP_SECTION_EXECUTOR) ExecutorService sectionExecutor,
+            MeterRegistry meterRegistry
+    ) {
+        this.categoryService = categoryService;
+        this.budgetService = budgetService;
+        this.expenseService = expenseService;
+        this.dashboardService = dashboardService;
+        this.dashboardSummaryCache = dashboardSummaryCache;
+        this.userContext = userContext;
+        this.sectionExecutor = sectionExecutor;
+        for (BootstrapSection section : BootstrapSection.values()) {
+            sectionTimers.put(section, Timer.builder("bootstrap.section")
+                    .tag("section", section.parameterName())
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * @param type transaction type of the first transaction page
+     * @param size size of the first transaction page
+     * @param topN number of category trends in the dashboard summary
+     */
+    public BootstrapDtos.BootstrapResponse bootstrap(
+            Set<BootstrapSection> sections,
+            TransactionType type,
+            int size,
+            int topN
+    ) {
+        String username = userContext.currentUsername();
+        if (sections.contains(BootstrapSection.DASHBOARD) && (topN < 1 || topN > 10)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "topN must be between 1 and 10");
+        }
+
+        Sections started = new Sections(sections);
+        Future<List<CategoryDtos.CategoryResponse>> categories =
+                started.start(BootstrapSection.CATEGORIES, categoryService::listCategories);
+        Future<List<CategoryDtos.SubCategoryResponse>> subCategories =
+                started.start(BootstrapSection.SUB_CATEGORIES, categoryService::listSubCategories);
+        Future<List<BudgetDtos.BudgetResponse>> budgets =
+                started.start(BootstrapSection.BUDGETS, budgetService::listBudgets);
+        Future<ExpenseDtos.ExpensePageResponse> transactions =
+                started.start(BootstrapSection.TRANSACTIONS, () -> expenseService.listTransactions(
+                        null,
+                        null,
+                        null,
+                        null,
+                        null,
+                        null,
+                        type,
+                        "expenseDate",
+                        "desc",
+                        0,
+                        size,
+                        null,
+                        false
+                ));
+        Future<ExpenseDtos.DashboardSummaryResponse> dashboard = started.start(BootstrapSection.DASHBOARD, () ->
+                dashboardSummaryCache.get(username, topN, () -> dashboardService.getDashboardSummary(topN)));
+
+        return new BootstrapDtos.BootstrapResponse(
+                started.await(categories),
+                started.await(subCategories),
+                started.await(budgets),
+                started.await(transactions),
+                started.await(dashboard)
+        );
+    }
+
+    /**
+     * The sections of one request: starts them in order, running the last on the calling thread, and cancels what is
+     * still running once one of them has failed.
+     */
+    private final class Sections {
+
+        private final Set<BootstrapSection> requested;
+        private final BootstrapSection last;
+        private final List<Future<?>> futures = new ArrayList<>();
+
+        Sections(Set<BootstrapSection> requested) {
+            this.requested = requested;
+            this.last = Collections.max(requested);
+        }
+
+        <T> Future<T> start(BootstrapSection section, Supplier<T> loader) {
+            if (!requested.contains(section)) {
+                return null;
+            }
+            Callable<T> task = () -> sectionTimers.get(section).record(loader);
+            Future<T> future;
+            if (section == last) {
+                future = runInline(task);
+            } else {
+                try {
+                    future = sectionExecutor.submit(task);
+                } catch (RejectedExecutionException ex) {
+                    // Pool and queue are full: load the section on the request thread instead of failing.
+                    future = runInline(task);
+                }
+            }
+            futures.add(future);
+            return future;
+        }
+
+        <T> T await(Future<T> future) {
+            if (future == null) {
+                return null;
+            }
+            try {
+                return future.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                cancelAll();
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Bootstrap request interrupted");
+            } catch (ExecutionException ex) {
+                cancelAll();
+                if (ex.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException("Bootstrap section failed", ex.getCause());
+            }
+        }
+
+        private void cancelAll() {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private static <T> Future<T> runInline(Callable<T> task) {
+        FutureTask<T> inline = new FutureTask<>(task);
+        inline.run();
+        return inline;
+    }
+}
@@ -24,6 +24,12 @@ public class Budget extends AuditableEntity {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(name = "owner_id", updatable = false)
+    private Long ownerId;
+
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+
     @Column(nullable = false, unique = true, length = 120)
     private String name;
 
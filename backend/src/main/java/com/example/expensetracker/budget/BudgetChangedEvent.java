@@ -0,0 +1,7 @@
+package com.example.expensetracker.budget;
+
+/**
+ * Published inside the writing transaction whenever a budget is created or updated.
+ */
+public record BudgetChangedEvent(String username, Long budgetId) {
+}
@@ -1,15 +1,22 @@
 package com.example.expensetracker.budget;
 
+import com.example.expensetracker.cache.ReferenceResponseCache;
+import com.example.expensetracker.expense.BudgetUtilizationService;
+import com.example.expensetracker.expense.ExpenseDtos;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -18,14 +25,35 @@ import java.util.List;
 public class BudgetController {
 
     private final BudgetService budgetService;
+    private final BudgetUtilizationService budgetUtilizationService;
+    private final ReferenceResponseCache responseCache;
 
-    public BudgetController(BudgetService budgetService) {
+    public BudgetController(
+            BudgetService budgetService,
+            BudgetUtilizationService budgetUtilizationService,
+            ReferenceResponseCache responseCache
+    ) {
         this.budgetService = budgetService;
+        this.budgetUtilizationService = budgetUtilizationService;
+        this.responseCache = responseCache;
     }
 
     @GetMapping("/budgets")
-    public List<BudgetDtos.BudgetResponse> listBudgets() {
-        return budgetService.listBudgets();
+    public ResponseEntity<byte[]> listBudgets(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest
+    ) {
+        return responseCache.respond(
+                webRequest,
+                ReferenceResponseCache.ReferenceList.BUDGETS,
+                acceptEncoding,
+                budgetService::listBudgets
+        );
+    }
+
+    @GetMapping("/budgets/utilization")
+    public List<ExpenseDtos.BudgetUtilizationPoint> listBudgetUtilization() {
+        return budgetUtilizationService.listUtilization();
     }
 
     @PostMapping("/budgets")
@@ -1,9 +1,28 @@
 package com.example.expensetracker.budget;
 
+import java.time.LocalDate;
+
 public enum BudgetPeriod {
     DAILY,
     WEEKLY,
     MONTHLY,
-    YEARLY
-}
+    YEARLY;
 
+    public LocalDate periodStart(LocalDate date) {
+        return switch (this) {
+            case DAILY -> date;
+            case WEEKLY -> date.minusDays(date.getDayOfWeek().getValue() - 1L);
+            case MONTHLY -> date.withDayOfMonth(1);
+            case YEARLY -> date.withDayOfYear(1);
+        };
+    }
+
+    public LocalDate periodEnd(LocalDate date) {
+        return switch (this) {
+            case DAILY -> date;
+            case WEEKLY -> periodStart(date).plusDays(6);
+            case MONTHLY -> date.withDayOfMonth(date.lengthOfMonth());
+            case YEARLY -> date.withDayOfYear(date.lengthOfYear());
+        };
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.expensetracker.budget;
+
+public record BudgetPeriodChangedEvent(Long budgetId, BudgetPeriod period) {
+}
@@ -7,9 +7,9 @@ import java.util.Optional;
 
 public interface BudgetRepository extends JpaRepository<Budget, Long> {
     Optional<Budget> findByNameIgnoreCase(String name);
-    Optional<Budget> findByNameIgnoreCaseAndCreatedByIgnoreCase(String name, String createdBy);
-    Optional<Budget> findByDefaultBudgetTrueAndCreatedByIgnoreCase(String createdBy);
-    Optional<Budget> findByIdAndCreatedByIgnoreCase(Long id, String createdBy);
-    List<Budget> findAllByCreatedByIgnoreCaseOrderByNameAsc(String createdBy);
+    Optional<Budget> findByNameIgnoreCaseAndOwnerId(String name, Long ownerId);
+    Optional<Budget> findByDefaultBudgetTrueAndOwnerId(Long ownerId);
+    Optional<Budget> findByIdAndOwnerId(Long id, Long ownerId);
+    List<Budget> findAllByOwnerIdOrderByNameAsc(Long ownerId);
     boolean existsByNameIgnoreCase(String name);
 }
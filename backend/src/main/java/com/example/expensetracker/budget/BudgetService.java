@@ -1,5 +1,10 @@
 package com.example.expensetracker.budget;
 
+import com.example.expensetracker.auth.UserContext;
+import com.example.expensetracker.cache.UserDataChangedEvent;
+import com.example.expensetracker.cache.UserDataKind;
+import com.example.expensetracker.sync.ChangeSequence;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,15 +20,25 @@ import java.util.List;
 public class BudgetService {
 
     private final BudgetRepository budgetRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserContext userContext;
+    private final ChangeSequence changeSequence;
 
-    public BudgetService(BudgetRepository budgetRepository) {
+    public BudgetService(
+            BudgetRepository budgetRepository,
+            ApplicationEventPublisher eventPublisher,
+            UserContext userContext,
+            ChangeSequence changeSequence
+    ) {
         this.budgetRepository = budgetRepository;
+        this.eventPublisher = eventPublisher;
+        this.userContext = userContext;
+        this.changeSequence = changeSequence;
     }
 
     @Transactional(readOnly = true)
     public List<BudgetDtos.BudgetResponse> listBudgets() {
-        String username = currentUsername();
-        return budgetRepository.findAllByCreatedByIgnoreCaseOrderByNameAsc(username).stream()
+        return budgetRepository.findAllByOwnerIdOrderByNameAsc(userContext.currentUserId()).stream()
                 .sorted(Comparator.comparing(Budget::isDefaultBudget).reversed()
                         .thenComparing(Budget::getName, String.CASE_INSENSITIVE_ORDER))
                 .map(this::toResponse)
@@ -32,33 +47,47 @@ public class BudgetService {
 
     public BudgetDtos.BudgetResponse createBudget(BudgetDtos.CreateBudgetRequest request) {
         String username = currentUsername();
-        budgetRepository.findByNameIgnoreCaseAndCreatedByIgnoreCase(request.name().trim(), username)
+        Long ownerId = userContext.currentUserId();
+        budgetRepository.findByNameIgnoreCaseAndOwnerId(request.name().trim(), ownerId)
                 .ifPresent(existing -> {
                     throw new ResponseStatusException(HttpStatus.CONFLICT, "Budget already exists");
                 });
 
         Budget budget = new Budget();
+        budget.setOwnerId(ownerId);
         budget.setName(request.name().trim());
         budget.setAmount(request.amount());
         budget.setPeriod(request.period());
         budget.setDefaultBudget(false);
-        return toResponse(budgetRepository.save(budget));
+        budget.setChangeSeq(changeSequence.next(ownerId));
+        Budget saved = budgetRepository.save(budget);
+        eventPublisher.publishEvent(new BudgetChangedEvent(username, saved.getId()));
+        eventPublisher.publishEvent(new UserDataChangedEvent(username, UserDataKind.BUDGETS));
+        return toResponse(saved);
     }
 
     public BudgetDtos.BudgetResponse updateBudget(Long id, BudgetDtos.UpdateBudgetRequest request) {
         String username = currentUsername();
-        Budget budget = budgetRepository.findByIdAndCreatedByIgnoreCase(id, username)
+        Long ownerId = userContext.currentUserId();
+        Budget budget = budgetRepository.findByIdAndOwnerId(id, ownerId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Budget not found"));
 
-        budgetRepository.findByNameIgnoreCaseAndCreatedByIgnoreCase(request.name().trim(), username)
+        budgetRepository.findByNameIgnoreCaseAndOwnerId(request.name().trim(), ownerId)
                 .filter(existing -> !existing.getId().equals(id))
                 .ifPresent(existing -> {
                     throw new ResponseStatusException(HttpStatus.CONFLICT, "Budget already exists");
                 });
 
+        BudgetPeriod previousPeriod = budget.getPeriod();
         budget.setName(request.name().trim());
         budget.setAmount(request.amount());
         budget.setPeriod(request.period());
+        budget.setChangeSeq(changeSequence.next(ownerId));
+        if (previousPeriod != request.period()) {
+            eventPublisher.publishEvent(new BudgetPeriodChangedEvent(budget.getId(), request.period()));
+        }
+        eventPublisher.publishEvent(new BudgetChangedEvent(username, budget.getId()));
+        eventPublisher.publishEvent(new UserDataChangedEvent(username, UserDataKind.BUDGETS));
         return toResponse(budget);
     }
 
@@ -0,0 +1,185 @@
+package com.example.expensetracker.cache;
+
+import com.example.expensetracker.auth.UserContext;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bounded LRU cache of the serialized JSON for the reference-data lists, keyed by (username, list). A hit skips
+ * building the response graph and running Jackson: the stored bytes are written to the response as they are, and
+ * lists of at least {@code app.reference-cache.gzip-min-bytes} are also kept gzip-compressed for clients that accept
+ * it. Each entry remembers the {@link UserDataVersions} version of its kind it was built at, so it is never served
+ * after a committed write even if invalidation races.
+ */
+@Component
+public class ReferenceResponseCache {
+
+    /**
+     * The cached lists and the data kind whose writes invalidate each of them.
+     */
+    public enum ReferenceList {
+        CATEGORIES("categories", UserDataKind.CATEGORIES),
+        SUB_CATEGORIES("sub-categories", UserDataKind.CATEGORIES),
+        BUDGETS("budgets", UserDataKind.BUDGETS);
+
+        private final String resource;
+        private final UserDataKind kind;
+
+        ReferenceList(String resource, UserDataKind kind) {
+            this.resource = resource;
+            this.kind = kind;
+        }
+    }
+
+    /**
+     * Serialized list; {@code gzipped} is null when the list is too small to be worth compressing.
+     */
+    public record Body(byte[] json, byte[] gzipped) {
+    }
+
+    private final UserDataVersions userDataVersions;
+    private final UserContext userContext;
+    private final ObjectMapper objectMapper;
+    private final int gzipMinBytes;
+    private final Map<Key, Entry> entries;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public ReferenceResponseCache(
+            UserDataVersions userDataVersions,
+            UserContext userContext,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.reference-cache.max-entries:3000}") int maxEntries,
+            @Value("${app.reference-cache.gzip-min-bytes:1024}") int gzipMinBytes
+    ) {
+        this.userDataVersions = userDataVersions;
+        this.userContext = userContext;
+        this.objectMapper = objectMapper;
+        this.gzipMinBytes = gzipMinBytes;
+        this.hits = Counter.builder("reference.response.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("reference.response.cache").tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("reference.response.cache.evictions").register(meterRegistry);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        Gauge.builder("reference.response.cache.size", this, ReferenceResponseCache::size).register(meterRegistry);
+    }
+
+    /**
+     * Answers a list request for the current user: 304 when {@code If-None-Match} matches the list's version,
+     * otherwise the cached bytes, gzip-encoded when the client accepts it. {@code loader} runs only on a miss.
+     */
+    public ResponseEntity<byte[]> respond(
+            WebRequest webRequest,
+            ReferenceList list,
+            String acceptEncoding,
+            Supplier<?> loader
+    ) {
+        String username = userContext.currentUsername();
+        // The user id keeps a browser shared by two users from revalidating one user's list against the other's
+        // version, and the encoding is part of the tag because each encoding is a different representation.
+        boolean acceptsGzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        String etag = list.resource + "-" + userContext.currentUserId() + "-"
+                + userDataVersions.tag(username, list.kind) + (acceptsGzip ? "-gzip" : "");
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        Body body = get(username, list, loader);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .cacheControl(CacheControl.noCache().cachePrivate());
+        if (acceptsGzip && body.gzipped() != null) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.gzipped());
+        }
+        return response.body(body.json());
+    }
+
+    public Body get(String username, ReferenceList list, Supplier<?> loader) {
+        Key key = new Key(UserDataVersions.normalize(username), list);
+        long version = userDataVersions.current(username, list.kind);
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.version() == version) {
+                hits.increment();
+                return entry.body();
+            }
+        }
+
+        misses.increment();
+        Body body = serialize(loader.get());
+        synchronized (entries) {
+            entries.put(key, new Entry(version, body));
+        }
+        return body;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        String username = UserDataVersions.normalize(event.username());
+        synchronized (entries) {
+            entries.keySet().removeIf(key -> key.username().equals(username) && key.list().kind == event.kind());
+        }
+    }
+
+    private Body serialize(Object value) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(value);
+            if (json.length < gzipMinBytes) {
+                return new Body(json, null);
+            }
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+            return new Body(json, compressed.toByteArray());
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize " + value.getClass().getSimpleName(), ex);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private record Key(String username, ReferenceList list) {
+    }
+
+    private record Entry(long version, Body body) {
+    }
+}
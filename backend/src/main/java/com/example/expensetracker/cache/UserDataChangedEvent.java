@@ -0,0 +1,7 @@
+package com.example.expensetracker.cache;
+
+/**
+ * Published by the write paths of the services; listeners react after the surrounding transaction commits.
+ */
+public record UserDataChangedEvent(String username, UserDataKind kind) {
+}
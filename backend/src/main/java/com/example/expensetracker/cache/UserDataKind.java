@@ -0,0 +1,7 @@
+package com.example.expensetracker.cache;
+
+public enum UserDataKind {
+    TRANSACTIONS,
+    CATEGORIES,
+    BUDGETS
+}
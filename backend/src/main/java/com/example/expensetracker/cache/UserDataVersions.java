@@ -0,0 +1,58 @@
+package com.example.expensetracker.cache;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory, per-user data version. It is bumped after every committed write so that cached responses and
+ * ETags derived from it change whenever the user's data does. Each {@link UserDataKind} also has its own version,
+ * so that reference-data ETags survive writes to transactions. The epoch keeps ETags from colliding across
+ * restarts, when all versions start again from zero.
+ */
+@Component
+public class UserDataVersions {
+
+    private final long epoch = System.currentTimeMillis();
+    private final ConcurrentMap<String, Versions> versions = new ConcurrentHashMap<>();
+
+    public long current(String username) {
+        Versions version = versions.get(normalize(username));
+        return version == null ? 0 : version.all.get();
+    }
+
+    public long current(String username, UserDataKind kind) {
+        Versions version = versions.get(normalize(username));
+        return version == null ? 0 : version.byKind.get(kind.ordinal());
+    }
+
+    public String tag(String username) {
+        return Long.toString(epoch, 36) + "-" + current(username);
+    }
+
+    public String tag(String username, UserDataKind kind) {
+        return Long.toString(epoch, 36) + "-" + current(username, kind);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        Versions version = versions.computeIfAbsent(normalize(event.username()), key -> new Versions());
+        version.byKind.incrementAndGet(event.kind().ordinal());
+        version.all.incrementAndGet();
+    }
+
+    static String normalize(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Versions {
+
+        private final AtomicLong all = new AtomicLong();
+        private final AtomicLongArray byKind = new AtomicLongArray(UserDataKind.values().length);
+    }
+}
@@ -1,31 +1,44 @@
 package com.example.expensetracker.category;
 
+import com.example.expensetracker.cache.ReferenceResponseCache;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api")
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final ReferenceResponseCache responseCache;
 
-    public CategoryController(CategoryService categoryService) {
+    public CategoryController(CategoryService categoryService, ReferenceResponseCache responseCache) {
         this.categoryService = categoryService;
+        this.responseCache = responseCache;
     }
 
     @GetMapping("/categories")
-    public List<CategoryDtos.CategoryResponse> listCategories() {
-        return categoryService.listCategories();
+    public ResponseEntity<byte[]> listCategories(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest
+    ) {
+        return responseCache.respond(
+                webRequest,
+                ReferenceResponseCache.ReferenceList.CATEGORIES,
+                acceptEncoding,
+                categoryService::listCategories
+        );
     }
 
     @PostMapping("/categories")
@@ -43,8 +56,16 @@ public class CategoryController {
     }
 
     @GetMapping("/sub-categories")
-    public List<CategoryDtos.SubCategoryResponse> listSubCategories() {
-        return categoryService.listSubCategories();
+    public ResponseEntity<byte[]> listSubCategories(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest
+    ) {
+        return responseCache.respond(
+                webRequest,
+                ReferenceResponseCache.ReferenceList.SUB_CATEGORIES,
+                acceptEncoding,
+                categoryService::listSubCategories
+        );
     }
 
     @PostMapping("/sub-categories")
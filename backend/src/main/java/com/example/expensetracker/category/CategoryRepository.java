@@ -7,7 +7,7 @@ import java.util.Optional;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     Optional<Category> findByNameIgnoreCase(String name);
-    Optional<Category> findByNameIgnoreCaseAndCreatedByIgnoreCase(String name, String createdBy);
-    Optional<Category> findByIdAndCreatedByIgnoreCase(Long id, String createdBy);
-    List<Category> findAllByCreatedByIgnoreCaseOrderByNameAsc(String createdBy);
+    Optional<Category> findByNameIgnoreCaseAndOwnerId(String name, Long ownerId);
+    Optional<Category> findByIdAndOwnerId(Long id, Long ownerId);
+    List<Category> findAllByOwnerIdOrderByNameAsc(Long ownerId);
 }
@@ -1,5 +1,10 @@
 package com.example.expensetracker.category;
 
+import com.example.expensetracker.auth.UserContext;
+import com.example.expensetracker.cache.UserDataChangedEvent;
+import com.example.expensetracker.cache.UserDataKind;
+import com.example.expensetracker.sync.ChangeSequence;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -16,41 +21,56 @@ public class CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final SubCategoryRepository subCategoryRepository;
-
-    public CategoryService(CategoryRepository categoryRepository, SubCategoryRepository subCategoryRepository) {
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserContext userContext;
+    private final ChangeSequence changeSequence;
+
+    public CategoryService(
+            CategoryRepository categoryRepository,
+            SubCategoryRepository subCategoryRepository,
+            ApplicationEventPublisher eventPublisher,
+            UserContext userContext,
+            ChangeSequence changeSequence
+    ) {
         this.categoryRepository = categoryRepository;
         this.subCategoryRepository = subCategoryRepository;
+        this.eventPublisher = eventPublisher;
+        this.userContext = userContext;
+        this.changeSequence = changeSequence;
     }
 
     @Transactional(readOnly = true)
     public List<CategoryDtos.CategoryResponse> listCategories() {
-        String username = currentUsername();
-        return categoryRepository.findAllByCreatedByIgnoreCaseOrderByNameAsc(username).stream()
-                .map(this::toCategoryResponse)
+        return categoryRepository.findAllByOwnerIdOrderByNameAsc(userContext.currentUserId()).stream()
+                .map(CategoryService::toCategoryResponse)
                 .toList();
     }
 
     public CategoryDtos.CategoryResponse createCategory(CategoryDtos.CreateCategoryRequest request) {
-        String username = currentUsername();
-        categoryRepository.findByNameIgnoreCaseAndCreatedByIgnoreCase(request.name(), username)
+        Long ownerId = userContext.currentUserId();
+        categoryRepository.findByNameIgnoreCaseAndOwnerId(request.name(), ownerId)
                 .ifPresent(existing -> {
                     throw new ResponseStatusException(HttpStatus.CONFLICT, "Category already exists");
                 });
 
         Category category = new Category();
+        category.setOwnerId(ownerId);
         category.setName(request.name().trim());
         category.setDescription(request.description().trim());
         category.setType(request.type() == null ? CategoryType.EXPENSE : request.type());
+        category.setChangeSeq(changeSequence.next(ownerId));
 
-        return toCategoryResponse(categoryRepository.save(category));
+        Category saved = categoryRepository.save(category);
+        publishCategoriesChanged();
+        return toCategoryResponse(saved);
     }
 
     public CategoryDtos.CategoryResponse updateCategory(Long id, CategoryDtos.UpdateCategoryRequest request) {
-        String username = currentUsername();
-        Category category = categoryRepository.findByIdAndCreatedByIgnoreCase(id, username)
+        Long ownerId = userContext.currentUserId();
+        Category category = categoryRepository.findByIdAndOwnerId(id, ownerId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Category not found"));
 
-        categoryRepository.findByNameIgnoreCaseAndCreatedByIgnoreCase(request.name(), username)
+        categoryRepository.findByNameIgnoreCaseAndOwnerId(request.name(), ownerId)
                 .filter(existing -> !existing.getId().equals(id))
                 .ifPresent(existing -> {
                     throw new ResponseStatusException(HttpStatus.CONFLICT, "Category already exists");
@@ -59,15 +79,16 @@ public class CategoryService {
         category.setName(request.name().trim());
         category.setDescription(request.description().trim());
         category.setType(request.type() == null ? CategoryType.EXPENSE : request.type());
+        category.setChangeSeq(changeSequence.next(ownerId));
 
+        publishCategoriesChanged();
         return toCategoryResponse(category);
     }
 
     @Transactional(readOnly = true)
     public List<CategoryDtos.SubCategoryResponse> listSubCategories() {
-        String username = currentUsername();
-        return subCategoryRepository.findAllByCreatedByIgnoreCaseOrderByNameAsc(username).stream()
-                .map(this::toSubCategoryResponse)
+        return subCategoryRepository.findAllByOwnerIdOrderByNameAsc(userContext.currentUserId()).stream()
+                .map(CategoryService::toSubCategoryResponse)
                 .toList();
     }
 
@@ -75,35 +96,43 @@ public class CategoryService {
         Category category = findCategory(request.categoryId());
 
         SubCategory subCategory = new SubCategory();
+        subCategory.setOwnerId(category.getOwnerId());
         subCategory.setName(request.name().trim());
         subCategory.setCategory(category);
+        subCategory.setChangeSeq(changeSequence.next(category.getOwnerId()));
 
-        return toSubCategoryResponse(subCategoryRepository.save(subCategory));
+        SubCategory saved = subCategoryRepository.save(subCategory);
+        publishCategoriesChanged();
+        return toSubCategoryResponse(saved);
     }
 
     public CategoryDtos.SubCategoryResponse updateSubCategory(Long id, CategoryDtos.UpdateSubCategoryRequest request) {
-        String username = currentUsername();
-        SubCategory subCategory = subCategoryRepository.findByIdAndCreatedByIgnoreCase(id, username)
+        SubCategory subCategory = subCategoryRepository.findByIdAndOwnerId(id, userContext.currentUserId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Sub-category not found"));
 
         Category category = findCategory(request.categoryId());
 
         subCategory.setName(request.name().trim());
         subCategory.setCategory(category);
+        subCategory.setChangeSeq(changeSequence.next(subCategory.getOwnerId()));
 
+        publishCategoriesChanged();
         return toSubCategoryResponse(subCategory);
     }
 
     private Category findCategory(Long categoryId) {
-        String username = currentUsername();
         if (categoryId == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "categoryId is required");
         }
 
-        return categoryRepository.findByIdAndCreatedByIgnoreCase(categoryId, username)
+        return categoryRepository.findByIdAndOwnerId(categoryId, userContext.currentUserId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Category not found"));
     }
 
+    private void publishCategoriesChanged() {
+        eventPublisher.publishEvent(new UserDataChangedEvent(currentUsername(), UserDataKind.CATEGORIES));
+    }
+
     private String currentUsername() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
@@ -116,10 +145,10 @@ public class CategoryService {
         return username;
     }
 
-    private CategoryDtos.CategoryResponse toCategoryResponse(Category category) {
+    static CategoryDtos.CategoryResponse toCategoryResponse(Category category) {
         List<CategoryDtos.SubCategoryResponse> subCategories = category.getSubCategories().stream()
                 .sorted(Comparator.comparing(SubCategory::getName, String.CASE_INSENSITIVE_ORDER))
-                .map(this::toSubCategoryResponse)
+                .map(CategoryService::toSubCategoryResponse)
                 .toList();
 
         return new CategoryDtos.CategoryResponse(
@@ -131,7 +160,7 @@ public class CategoryService {
         );
     }
 
-    private CategoryDtos.SubCategoryResponse toSubCategoryResponse(SubCategory subCategory) {
+    static CategoryDtos.SubCategoryResponse toSubCategoryResponse(SubCategory subCategory) {
         return new CategoryDtos.SubCategoryResponse(
                 subCategory.getId(),
                 subCategory.getName(),
@@ -23,6 +23,12 @@ public class SubCategory extends AuditableEntity {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(name = "owner_id", updatable = false)
+    private Long ownerId;
+
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+
     @Column(nullable = false)
     private String name;
 
@@ -8,6 +8,6 @@ import java.util.Optional;
 public interface SubCategoryRepository extends JpaRepository<SubCategory, Long> {
     boolean existsByNameIgnoreCaseAndCategory_Id(String name, Long categoryId);
     List<SubCategory> findAllByCategory_Id(Long categoryId);
-    List<SubCategory> findAllByCreatedByIgnoreCaseOrderByNameAsc(String createdBy);
-    Optional<SubCategory> findByIdAndCreatedByIgnoreCase(Long id, String createdBy);
+    List<SubCategory> findAllByOwnerIdOrderByNameAsc(Long ownerId);
+    Optional<SubCategory> findByIdAndOwnerId(Long id, Long ownerId);
 }
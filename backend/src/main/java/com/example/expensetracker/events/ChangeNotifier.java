@@ -0,0 +1,121 @@
+package com.example.expensetracker.events;
+
+import com.example.expensetracker.budget.BudgetChangedEvent;
+import com.example.expensetracker.cache.UserDataChangedEvent;
+import com.example.expensetracker.cache.UserDataKind;
+import com.example.expensetracker.expense.ExpenseChangedEvent;
+import com.example.expensetracker.expense.ExpenseSnapshot;
+import com.example.expensetracker.expense.ExpensesInsertedEvent;
+import com.example.expensetracker.expense.TransactionType;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * Turns the write events of a transaction into one {@link EventDtos.ChangeNotification} per user, handed to
+ * {@link UserEventHub} after commit. A batch or an import chunk therefore reaches subscribers as a single
+ * notification, and a rolled-back write never reaches them at all.
+ */
+@Component
+public class ChangeNotifier {
+
+    private final UserEventHub userEventHub;
+
+    public ChangeNotifier(UserEventHub userEventHub) {
+        this.userEventHub = userEventHub;
+    }
+
+    @EventListener
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        record(event.username(), pending -> {
+            pending.add(event.before());
+            pending.add(event.after());
+        });
+    }
+
+    @EventListener
+    public void onExpensesInserted(ExpensesInsertedEvent event) {
+        record(event.username(), pending -> event.inserted().forEach(pending::add));
+    }
+
+    @EventListener
+    public void onBudgetChanged(BudgetChangedEvent event) {
+        record(event.username(), pending -> {
+            pending.kinds.add(UserDataKind.BUDGETS);
+            pending.budgetIds.add(event.budgetId());
+        });
+    }
+
+    @EventListener
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        record(event.username(), pending -> pending.kinds.add(event.kind()));
+    }
+
+    private void record(String username, Consumer<Pending> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Pending pending = new Pending();
+            change.accept(pending);
+            userEventHub.publish(username, pending.toNotification());
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Pending> byUser = (Map<String, Pending>) TransactionSynchronizationManager.getResource(this);
+        if (byUser == null) {
+            Map<String, Pending> registered = new LinkedHashMap<>();
+            byUser = registered;
+            TransactionSynchronizationManager.bindResource(this, registered);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    registered.forEach((user, pending) -> userEventHub.publish(user, pending.toNotification()));
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ChangeNotifier.this);
+                }
+            });
+        }
+        change.accept(byUser.computeIfAbsent(username, key -> new Pending()));
+    }
+
+    private static final class Pending {
+
+        private final Set<UserDataKind> kinds = EnumSet.noneOf(UserDataKind.class);
+        private final Set<YearMonth> months = new TreeSet<>();
+        private final Set<Long> budgetIds = new TreeSet<>();
+
+        void add(ExpenseSnapshot snapshot) {
+            if (snapshot == null) {
+                return;
+            }
+            kinds.add(UserDataKind.TRANSACTIONS);
+            months.add(YearMonth.from(snapshot.expenseDate()));
+            if (snapshot.type() == TransactionType.EXPENSE && snapshot.budgetId() != null) {
+                budgetIds.add(snapshot.budgetId());
+            }
+        }
+
+        EventDtos.ChangeNotification toNotification() {
+            List<String> monthList = new ArrayList<>(months.size());
+            months.forEach(month -> monthList.add(month.toString()));
+            return new EventDtos.ChangeNotification(
+                    kinds,
+                    monthList,
+                    List.copyOf(budgetIds),
+                    null
+            );
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.expensetracker.events;
+
+import com.example.expensetracker.cache.UserDataKind;
+import com.example.expensetracker.expense.ExpenseDtos;
+
+import java.util.List;
+import java.util.Set;
+
+public final class EventDtos {
+
+    private EventDtos() {
+    }
+
+    /**
+     * What one committed write changed: the kinds of data, the months ({@code yyyy-MM}) of the transactions it
+     * touched and the budgets whose utilization may have moved. {@code budgetUtilization} holds the current
+     * utilization of those budgets for subscribers that asked for it, and is null otherwise.
+     */
+    public record ChangeNotification(
+            Set<UserDataKind> kinds,
+            List<String> months,
+            List<Long> budgetIds,
+            List<ExpenseDtos.BudgetUtilizationPoint> budgetUtilization
+    ) {
+    }
+}
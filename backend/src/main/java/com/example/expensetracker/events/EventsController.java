@@ -0,0 +1,35 @@
+package com.example.expensetracker.events;
+
+import com.example.expensetracker.auth.UserContext;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api")
+public class EventsController {
+
+    private final UserEventHub userEventHub;
+    private final UserContext userContext;
+
+    public EventsController(UserEventHub userEventHub, UserContext userContext) {
+        this.userEventHub = userEventHub;
+        this.userContext = userContext;
+    }
+
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(
+            @RequestParam(defaultValue = "false") boolean utilization,
+            HttpServletResponse response
+    ) {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        // Keeps reverse proxies such as nginx from buffering the stream.
+        response.setHeader("X-Accel-Buffering", "no");
+        return userEventHub.subscribe(userContext.currentUserId(), userContext.currentUsername(), utilization);
+    }
+}
@@ -0,0 +1,322 @@
+package com.example.expensetracker.events;
+
+import com.example.expensetracker.expense.BudgetUtilizationService;
+import com.example.expensetracker.expense.ExpenseDtos;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds the open {@code /api/events} streams and pushes change notifications to them. An idle subscriber costs an
+ * emitter and an empty buffer: no request thread is held, one scheduler thread sends heartbeats to everyone, and
+ * writes go through a small dispatch pool so a committing request never waits on a slow client. Each subscriber
+ * buffers at most {@code app.events.buffer-size} messages; when that overflows the buffer is dropped and the client
+ * is sent a single {@code resync} event telling it to reload everything instead.
+ */
+@Component
+public class UserEventHub implements SmartLifecycle {
+
+    static final String READY_EVENT = "ready";
+    static final String CHANGE_EVENT = "change";
+    static final String RESYNC_EVENT = "resync";
+
+    private static final Logger log = LoggerFactory.getLogger(UserEventHub.class);
+
+    private static final Message HEARTBEAT = new Message(null, null);
+    private static final Message RESYNC = new Message(RESYNC_EVENT, RESYNC_EVENT);
+
+    private final BudgetUtilizationService budgetUtilizationService;
+    private final long timeoutMs;
+    private final long heartbeatSeconds;
+    private final long reconnectMs;
+    private final int bufferSize;
+    private final int maxSubscribersPerUser;
+    private final ConcurrentMap<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Counter overflows;
+    private final ThreadPoolExecutor dispatcher;
+    private final ScheduledExecutorService heartbeats;
+    private volatile boolean running;
+
+    public UserEventHub(
+            BudgetUtilizationService budgetUtilizationService,
+            MeterRegistry meterRegistry,
+            @Value("${app.events.timeout-ms:1800000}") long timeoutMs,
+            @Value("${app.events.heartbeat-seconds:25}") long heartbeatSeconds,
+            @Value("${app.events.reconnect-ms:5000}") long reconnectMs,
+            @Value("${app.events.buffer-size:32}") int bufferSize,
+            @Value("${app.events.max-subscribers-per-user:10}") int maxSubscribersPerUser,
+            @Value("${app.events.dispatch-threads:4}") int dispatchThreads
+    ) {
+        this.budgetUtilizationService = budgetUtilizationService;
+        this.timeoutMs = timeoutMs;
+        this.heartbeatSeconds = heartbeatSeconds;
+        this.reconnectMs = reconnectMs;
+        this.bufferSize = bufferSize;
+        this.maxSubscribersPerUser = maxSubscribersPerUser;
+        this.overflows = Counter.builder("events.buffer.overflows").register(meterRegistry);
+        // The queue holds at most one drain per subscriber plus pending utilization lookups, so it needs no bound.
+        this.dispatcher = new ThreadPoolExecutor(
+                dispatchThreads,
+                dispatchThreads,
+                30,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new CustomizableThreadFactory("events-dispatch-")
+        );
+        this.dispatcher.allowCoreThreadTimeOut(true);
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("events-heartbeat-"));
+        Gauge.builder("events.subscribers", subscriberCount, AtomicInteger::get).register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream for the user. With {@code utilization} set, notifications that touch budgets also carry the
+     * budgets' current utilization.
+     */
+    public SseEmitter subscribe(Long ownerId, String username, boolean utilization) {
+        return register(new SseEmitter(timeoutMs), ownerId, username, utilization);
+    }
+
+    SseEmitter register(SseEmitter emitter, Long ownerId, String username, boolean utilization) {
+        if (!running) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Server is shutting down");
+        }
+        Subscriber subscriber = new Subscriber(emitter, normalize(username), ownerId, utilization);
+        subscribers.compute(subscriber.key, (key, userSubscribers) -> {
+            Set<Subscriber> updated = userSubscribers == null ? ConcurrentHashMap.newKeySet() : userSubscribers;
+            if (updated.size() >= maxSubscribersPerUser) {
+                throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many open event streams");
+            }
+            updated.add(subscriber);
+            return updated;
+        });
+        subscriberCount.incrementAndGet();
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> subscriber.close());
+        // Sent on every (re)connect: anything may have changed while the client was away, so it should refresh.
+        subscriber.offer(new Message(READY_EVENT, READY_EVENT));
+        return emitter;
+    }
+
+    /**
+     * Queues a notification for every open stream of the user. Returns straight away; utilization, when some
+     * subscriber wants it, is looked up on the dispatch pool once for all of them.
+     */
+    public void publish(String username, EventDtos.ChangeNotification notification) {
+        Set<Subscriber> userSubscribers = subscribers.get(normalize(username));
+        if (userSubscribers == null) {
+            return;
+        }
+        List<Subscriber> wantUtilization = new ArrayList<>();
+        for (Subscriber subscriber : userSubscribers) {
+            if (subscriber.utilization && !notification.budgetIds().isEmpty()) {
+                wantUtilization.add(subscriber);
+            } else {
+                subscriber.offer(new Message(CHANGE_EVENT, notification));
+            }
+        }
+        if (!wantUtilization.isEmpty()) {
+            dispatcher.execute(() -> publishWithUtilization(wantUtilization, notification));
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        heartbeats.scheduleAtFixedRate(this::sendHeartbeats, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Closes every stream so that the web server's graceful shutdown is not held up by them; clients reconnect to
+     * another instance.
+     */
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        heartbeats.shutdownNow();
+        for (Set<Subscriber> userSubscribers : subscribers.values()) {
+            userSubscribers.forEach(subscriber -> subscriber.emitter.complete());
+        }
+        dispatcher.shutdown();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stop before the web server's graceful shutdown, which would otherwise wait for these streams to end.
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE;
+    }
+
+    private void publishWithUtilization(List<Subscriber> targets, EventDtos.ChangeNotification notification) {
+        List<ExpenseDtos.BudgetUtilizationPoint> utilization = null;
+        try {
+            Set<Long> budgetIds = new HashSet<>(notification.budgetIds());
+            utilization = budgetUtilizationService.listUtilization(targets.get(0).ownerId).stream()
+                    .filter(point -> budgetIds.contains(point.budgetId()))
+                    .toList();
+        } catch (RuntimeException ex) {
+            log.warn("Could not load budget utilization for change notification", ex);
+        }
+        EventDtos.ChangeNotification withUtilization = new EventDtos.ChangeNotification(
+                notification.kinds(),
+                notification.months(),
+                notification.budgetIds(),
+                utilization
+        );
+        targets.forEach(subscriber -> subscriber.offer(new Message(CHANGE_EVENT, withUtilization)));
+    }
+
+    private void sendHeartbeats() {
+        for (Set<Subscriber> userSubscribers : subscribers.values()) {
+            userSubscribers.forEach(Subscriber::heartbeat);
+        }
+    }
+
+    private static String normalize(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    private record Message(String name, Object data) {
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final String key;
+        private final Long ownerId;
+        private final boolean utilization;
+        private final ArrayDeque<Message> pending = new ArrayDeque<>();
+        private boolean overflowed;
+        private boolean draining;
+        private boolean closed;
+
+        Subscriber(SseEmitter emitter, String key, Long ownerId, boolean utilization) {
+            this.emitter = emitter;
+            this.key = key;
+            this.ownerId = ownerId;
+            this.utilization = utilization;
+        }
+
+        void offer(Message message) {
+            synchronized (this) {
+                if (closed || overflowed) {
+                    return;
+                }
+                if (pending.size() >= bufferSize) {
+                    pending.clear();
+                    overflowed = true;
+                    overflows.increment();
+                } else {
+                    pending.add(message);
+                }
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            dispatcher.execute(this::drain);
+        }
+
+        // Only idle streams need one: anything else already has a write on the way.
+        void heartbeat() {
+            synchronized (this) {
+                if (closed || draining) {
+                    return;
+                }
+                pending.add(HEARTBEAT);
+                draining = true;
+            }
+            dispatcher.execute(this::drain);
+        }
+
+        void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                pending.clear();
+            }
+            subscribers.computeIfPresent(key, (user, userSubscribers) -> {
+                userSubscribers.remove(this);
+                return userSubscribers.isEmpty() ? null : userSubscribers;
+            });
+            subscriberCount.decrementAndGet();
+        }
+
+        private void drain() {
+            while (true) {
+                Message next;
+                synchronized (this) {
+                    if (overflowed) {
+                        overflowed = false;
+                        next = RESYNC;
+                    } else {
+                        next = pending.poll();
+                    }
+                    if (next == null || closed) {
+                        draining = false;
+                        return;
+                    }
+                }
+                if (!send(next)) {
+                    return;
+                }
+            }
+        }
+
+        private boolean send(Message message) {
+            SseEmitter.SseEventBuilder event;
+            if (message == HEARTBEAT) {
+                event = SseEmitter.event().comment("heartbeat");
+            } else {
+                event = SseEmitter.event().name(message.name()).data(message.data(), MediaType.APPLICATION_JSON);
+                if (READY_EVENT.equals(message.name())) {
+                    event.reconnectTime(reconnectMs);
+                }
+            }
+            try {
+                emitter.send(event);
+                return true;
+            } catch (IOException | IllegalStateException ex) {
+                // The client has gone away; the emitter is completed by the container, we only stop writing to it.
+                close();
+                return false;
+            }
+        }
+    }
+}
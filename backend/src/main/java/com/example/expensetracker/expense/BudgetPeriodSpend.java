@@ -0,0 +1,49 @@
+package com.example.expensetracker.expense;
+
+import com.example.expensetracker.audit.AuditableEntity;
+import com.example.expensetracker.budget.Budget;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(
+        name = "budget_period_spend",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_budget_period_spend_period",
+                columnNames = {"budget_id", "period_start"}
+        )
+)
+@Getter
+@Setter
+public class BudgetPeriodSpend extends AuditableEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "budget_id", nullable = false)
+    private Budget budget;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "spent_amount", nullable = false, precision = 16, scale = 2)
+    private BigDecimal spentAmount = BigDecimal.ZERO;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+}
@@ -0,0 +1,78 @@
+package com.example.expensetracker.expense;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface BudgetPeriodSpendRepository extends JpaRepository<BudgetPeriodSpend, Long> {
+
+    /**
+     * Atomically adds to a (budget, period start) counter, creating it on first use. Concurrent writers to the
+     * same budget period serialize on the row lock taken by the upsert instead of racing a read-modify-write.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO budget_period_spend (
+                budget_id, period_start, spent_amount, transaction_count, created_by, created_on
+            )
+            VALUES (:budgetId, :periodStart, :amount, :count, :createdBy, CURRENT_TIMESTAMP(6))
+            ON DUPLICATE KEY UPDATE
+                spent_amount = spent_amount + :amount,
+                transaction_count = transaction_count + :count,
+                updated_by = :createdBy,
+                updated_on = CURRENT_TIMESTAMP(6)
+            """)
+    int upsert(
+            @Param("budgetId") Long budgetId,
+            @Param("periodStart") LocalDate periodStart,
+            @Param("amount") BigDecimal amount,
+            @Param("count") long count,
+            @Param("createdBy") String createdBy
+    );
+
+    @Modifying
+    @Query("""
+            DELETE FROM BudgetPeriodSpend s
+            WHERE s.budget.id = :budgetId
+              AND s.periodStart = :periodStart
+              AND s.transactionCount <= 0
+            """)
+    int deleteIfEmpty(@Param("budgetId") Long budgetId, @Param("periodStart") LocalDate periodStart);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM BudgetPeriodSpend s WHERE s.budget.id = :budgetId")
+    int deleteAllByBudgetId(@Param("budgetId") Long budgetId);
+
+    @Query("""
+            SELECT new com.example.expensetracker.expense.ExpenseAggregates$BudgetSpendRow(
+                b.id,
+                b.name,
+                b.period,
+                b.amount,
+                COALESCE(s.spentAmount, 0)
+            )
+            FROM Budget b
+            LEFT JOIN BudgetPeriodSpend s
+                ON s.budget = b
+               AND s.periodStart = CASE b.period
+                    WHEN com.example.expensetracker.budget.BudgetPeriod.DAILY THEN :dayStart
+                    WHEN com.example.expensetracker.budget.BudgetPeriod.WEEKLY THEN :weekStart
+                    WHEN com.example.expensetracker.budget.BudgetPeriod.MONTHLY THEN :monthStart
+                    ELSE :yearStart
+                END
+            WHERE b.ownerId = :ownerId
+            ORDER BY b.name
+            """)
+    List<ExpenseAggregates.BudgetSpendRow> findCurrentSpend(
+            @Param("ownerId") Long ownerId,
+            @Param("dayStart") LocalDate dayStart,
+            @Param("weekStart") LocalDate weekStart,
+            @Param("monthStart") LocalDate monthStart,
+            @Param("yearStart") LocalDate yearStart
+    );
+}
@@ -0,0 +1,130 @@
+package com.example.expensetracker.expense;
+
+import com.example.expensetracker.budget.Budget;
+import com.example.expensetracker.budget.BudgetPeriod;
+import com.example.expensetracker.budget.BudgetPeriodChangedEvent;
+import com.example.expensetracker.budget.BudgetRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Maintains {@link BudgetPeriodSpend} counters (budget x period start) for expense transactions in the same
+ * transaction as the expense write, so budget utilization is a unique-key lookup per budget instead of a SUM over
+ * the budget's history.
+ */
+@Service
+@Transactional
+public class BudgetSpendService {
+
+    private final BudgetPeriodSpendRepository spendRepository;
+    private final BudgetRepository budgetRepository;
+    private final ExpenseRepository expenseRepository;
+
+    public BudgetSpendService(
+            BudgetPeriodSpendRepository spendRepository,
+            BudgetRepository budgetRepository,
+            ExpenseRepository expenseRepository
+    ) {
+        this.spendRepository = spendRepository;
+        this.budgetRepository = budgetRepository;
+        this.expenseRepository = expenseRepository;
+    }
+
+    @EventListener
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        PeriodKey before = PeriodKey.of(event.before(), budgetRepository);
+        PeriodKey after = PeriodKey.of(event.after(), budgetRepository);
+        if (before != null && before.equals(after)) {
+            BigDecimal delta = event.after().amount().subtract(event.before().amount());
+            if (delta.signum() != 0) {
+                spendRepository.upsert(after.budgetId(), after.periodStart(), delta, 0, event.username());
+            }
+            return;
+        }
+        if (before != null) {
+            spendRepository.upsert(
+                    before.budgetId(),
+                    before.periodStart(),
+                    event.before().amount().negate(),
+                    -1,
+                    event.username()
+            );
+            spendRepository.deleteIfEmpty(before.budgetId(), before.periodStart());
+        }
+        if (after != null) {
+            spendRepository.upsert(after.budgetId(), after.periodStart(), event.after().amount(), 1, event.username());
+        }
+    }
+
+    /**
+     * Applies a bulk insert as one upsert per budget period, looking each budget up once.
+     */
+    @EventListener
+    public void onExpensesInserted(ExpensesInsertedEvent event) {
+        Map<Long, Optional<BudgetPeriod>> periods = new HashMap<>();
+        Map<PeriodKey, BigDecimal> amounts = new LinkedHashMap<>();
+        Map<PeriodKey, Long> counts = new HashMap<>();
+        for (ExpenseSnapshot inserted : event.inserted()) {
+            if (inserted.type() != TransactionType.EXPENSE || inserted.budgetId() == null) {
+                continue;
+            }
+            Optional<BudgetPeriod> period = periods.computeIfAbsent(
+                    inserted.budgetId(),
+                    budgetId -> budgetRepository.findById(budgetId).map(Budget::getPeriod)
+            );
+            if (period.isEmpty()) {
+                continue;
+            }
+            PeriodKey key = new PeriodKey(inserted.budgetId(), period.get().periodStart(inserted.expenseDate()));
+            amounts.merge(key, inserted.amount(), BigDecimal::add);
+            counts.merge(key, 1L, Long::sum);
+        }
+        amounts.forEach((key, amount) ->
+                spendRepository.upsert(key.budgetId(), key.periodStart(), amount, counts.get(key), event.username()));
+    }
+
+    /**
+     * Period starts depend on the budget's period, so a period change regroups the budget's spend from scratch.
+     */
+    @EventListener
+    public void onBudgetPeriodChanged(BudgetPeriodChangedEvent event) {
+        spendRepository.deleteAllByBudgetId(event.budgetId());
+        Budget budget = budgetRepository.getReferenceById(event.budgetId());
+        Map<LocalDate, BudgetPeriodSpend> byPeriod = new LinkedHashMap<>();
+        for (ExpenseAggregates.DailyTotalRow row : expenseRepository.summarizeBudgetByDay(
+                event.budgetId(),
+                TransactionType.EXPENSE
+        )) {
+            BudgetPeriodSpend spend = byPeriod.computeIfAbsent(event.period().periodStart(row.day()), periodStart -> {
+                BudgetPeriodSpend created = new BudgetPeriodSpend();
+                created.setBudget(budget);
+                created.setPeriodStart(periodStart);
+                return created;
+            });
+            spend.setSpentAmount(spend.getSpentAmount().add(row.total()));
+            spend.setTransactionCount(spend.getTransactionCount() + row.count());
+        }
+        spendRepository.saveAll(byPeriod.values());
+    }
+
+    private record PeriodKey(Long budgetId, LocalDate periodStart) {
+
+        static PeriodKey of(ExpenseSnapshot snapshot, BudgetRepository budgetRepository) {
+            if (snapshot == null || snapshot.type() != TransactionType.EXPENSE || snapshot.budgetId() == null) {
+                return null;
+            }
+            return budgetRepository.findById(snapshot.budgetId())
+                    .map(Budget::getPeriod)
+                    .map(period -> new PeriodKey(snapshot.budgetId(), period.periodStart(snapshot.expenseDate())))
+                    .orElse(null);
+        }
+    }
+}
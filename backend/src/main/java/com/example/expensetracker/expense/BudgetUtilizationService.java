@@ -0,0 +1,62 @@
+package com.example.expensetracker.expense;
+
+import com.example.expensetracker.auth.UserContext;
+import com.example.expensetracker.budget.BudgetPeriod;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true)
+public class BudgetUtilizationService {
+
+    private final BudgetPeriodSpendRepository spendRepository;
+    private final UserContext userContext;
+
+    public BudgetUtilizationService(BudgetPeriodSpendRepository spendRepository, UserContext userContext) {
+        this.spendRepository = spendRepository;
+        this.userContext = userContext;
+    }
+
+    public List<ExpenseDtos.BudgetUtilizationPoint> listUtilization() {
+        return listUtilization(userContext.currentUserId());
+    }
+
+    public List<ExpenseDtos.BudgetUtilizationPoint> listUtilization(Long ownerId) {
+        LocalDate today = LocalDate.now();
+        return spendRepository.findCurrentSpend(
+                        ownerId,
+                        BudgetPeriod.DAILY.periodStart(today),
+                        BudgetPeriod.WEEKLY.periodStart(today),
+                        BudgetPeriod.MONTHLY.periodStart(today),
+                        BudgetPeriod.YEARLY.periodStart(today)
+                ).stream()
+                .map(this::toBudgetUtilizationPoint)
+                .sorted(Comparator.comparing(ExpenseDtos.BudgetUtilizationPoint::utilizationPercent).reversed())
+                .toList();
+    }
+
+    private ExpenseDtos.BudgetUtilizationPoint toBudgetUtilizationPoint(ExpenseAggregates.BudgetSpendRow row) {
+        BigDecimal budgetAmount = row.budgetAmount().setScale(2, RoundingMode.HALF_UP);
+        BigDecimal spentAmount = row.spentAmount().setScale(2, RoundingMode.HALF_UP);
+        BigDecimal remainingAmount = budgetAmount.subtract(spentAmount).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal utilizationPercent = budgetAmount.compareTo(BigDecimal.ZERO) == 0
+                ? BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP)
+                : spentAmount.multiply(BigDecimal.valueOf(100)).divide(budgetAmount, 2, RoundingMode.HALF_UP);
+
+        return new ExpenseDtos.BudgetUtilizationPoint(
+                row.budgetId(),
+                row.budgetName(),
+                row.period().name(),
+                budgetAmount,
+                spentAmount,
+                remainingAmount,
+                utilizationPercent
+        );
+    }
+}
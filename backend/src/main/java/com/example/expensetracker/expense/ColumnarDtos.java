@@ -0,0 +1,204 @@
+package com.example.expensetracker.expense;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column-oriented variants of the transaction page and the dashboard summary, served for {@code shape=columnar}.
+ * Each field of a row becomes one array, all arrays of a shape have the same length, and names that rows would repeat
+ * are sent once: per id for categories, sub-categories and budgets, and as one {@code months} axis for the dashboard's
+ * monthly series.
+ */
+public final class ColumnarDtos {
+
+    private ColumnarDtos() {
+    }
+
+    /**
+     * Row {@code i} of the page is element {@code i} of every column. The name maps resolve the ids used on the page.
+     */
+    public record ColumnarExpensePage(
+            int page,
+            int size,
+            Long totalElements,
+            Integer totalPages,
+            String nextCursor,
+            List<Long> id,
+            List<BigDecimal> amount,
+            List<String> description,
+            List<LocalDate> expenseDate,
+            List<TransactionType> type,
+            List<Long> categoryId,
+            List<Long> subCategoryId,
+            List<Long> budgetId,
+            Map<Long, String> categoryNames,
+            Map<Long, String> subCategoryNames,
+            Map<Long, String> budgetNames
+    ) {
+
+        public static ColumnarExpensePage of(ExpenseDtos.ExpensePageResponse response) {
+            List<ExpenseDtos.ExpenseResponse> items = response.items();
+            int rows = items.size();
+            List<Long> id = new ArrayList<>(rows);
+            List<BigDecimal> amount = new ArrayList<>(rows);
+            List<String> description = new ArrayList<>(rows);
+            List<LocalDate> expenseDate = new ArrayList<>(rows);
+            List<TransactionType> type = new ArrayList<>(rows);
+            List<Long> categoryId = new ArrayList<>(rows);
+            List<Long> subCategoryId = new ArrayList<>(rows);
+            List<Long> budgetId = new ArrayList<>(rows);
+            Map<Long, String> categoryNames = new LinkedHashMap<>();
+            Map<Long, String> subCategoryNames = new LinkedHashMap<>();
+            Map<Long, String> budgetNames = new LinkedHashMap<>();
+            for (ExpenseDtos.ExpenseResponse item : items) {
+                id.add(item.id());
+                amount.add(item.amount());
+                description.add(item.description());
+                expenseDate.add(item.expenseDate());
+                type.add(item.type());
+                categoryId.add(item.categoryId());
+                subCategoryId.add(item.subCategoryId());
+                budgetId.add(item.budgetId());
+                categoryNames.putIfAbsent(item.categoryId(), item.categoryName());
+                subCategoryNames.putIfAbsent(item.subCategoryId(), item.subCategoryName());
+                budgetNames.putIfAbsent(item.budgetId(), item.budgetName());
+            }
+            return new ColumnarExpensePage(
+                    response.page(),
+                    response.size(),
+                    response.totalElements(),
+                    response.totalPages(),
+                    response.nextCursor(),
+                    id,
+                    amount,
+                    description,
+                    expenseDate,
+                    type,
+                    categoryId,
+                    subCategoryId,
+                    budgetId,
+                    categoryNames,
+                    subCategoryNames,
+                    budgetNames
+            );
+        }
+    }
+
+    /**
+     * The dashboard summary with its four monthly series merged into {@code monthly}, aligned on {@code months}, and
+     * each category trend reduced to its values on the same axis. Sections without a repeated axis are unchanged.
+     */
+    public record ColumnarDashboardSummary(
+            BigDecimal currentMonthTotal,
+            BigDecimal last30DaysTotal,
+            BigDecimal lastMonthTotal,
+            BigDecimal lastQuarterTotal,
+            BigDecimal lastYearTotal,
+            ExpenseDtos.PeriodSummaryPoint currentMonthSummary,
+            ExpenseDtos.PeriodSummaryPoint samePeriodLastMonthSummary,
+            ExpenseDtos.PeriodSummaryPoint last30DaysSummary,
+            ExpenseDtos.PeriodSummaryPoint lastMonthSummary,
+            ExpenseDtos.PeriodSummaryPoint lastQuarterSummary,
+            ExpenseDtos.PeriodSummaryPoint lastYearSummary,
+            List<String> months,
+            MonthlyColumns monthly,
+            List<ExpenseDtos.BudgetUtilizationPoint> budgetUtilizationPoints,
+            List<ExpenseDtos.CategoryTotalPoint> currentMonthCategoryTotals,
+            List<CategoryTrendColumns> topYearlyCategoryTrends,
+            boolean partial,
+            List<String> degradedSections
+    ) {
+
+        /**
+         * Relies on every monthly series of the summary covering the same months in the same order, which is how
+         * {@link DashboardAggregator} builds them.
+         */
+        public static ColumnarDashboardSummary of(ExpenseDtos.DashboardSummaryResponse response) {
+            List<ExpenseDtos.MonthlyTotalPoint> totals = response.monthlyTotals();
+            List<String> months = new ArrayList<>(totals.size());
+            List<BigDecimal> total = new ArrayList<>(totals.size());
+            List<Long> count = new ArrayList<>(totals.size());
+            for (ExpenseDtos.MonthlyTotalPoint point : totals) {
+                months.add(point.yearMonth());
+                total.add(point.total());
+                count.add(point.count());
+            }
+            List<BigDecimal> incomeTotal = new ArrayList<>(months.size());
+            List<BigDecimal> expenseTotal = new ArrayList<>(months.size());
+            List<BigDecimal> netAmount = new ArrayList<>(months.size());
+            for (ExpenseDtos.MonthlyIncomeExpensePoint point : response.monthlyIncomeExpensePoints()) {
+                incomeTotal.add(point.incomeTotal());
+                expenseTotal.add(point.expenseTotal());
+                netAmount.add(point.netAmount());
+            }
+            List<BigDecimal> savingAmount = new ArrayList<>(months.size());
+            List<BigDecimal> savingRatePercent = new ArrayList<>(months.size());
+            for (ExpenseDtos.MonthlySavingRatePoint point : response.monthlySavingRatePoints()) {
+                savingAmount.add(point.savingAmount());
+                savingRatePercent.add(point.savingRatePercent());
+            }
+            List<CategoryTrendColumns> trends = new ArrayList<>(response.topYearlyCategoryTrends().size());
+            for (ExpenseDtos.CategoryYearTrendPoint trend : response.topYearlyCategoryTrends()) {
+                List<BigDecimal> trendTotal = new ArrayList<>(trend.monthlyTrend().size());
+                List<Long> trendCount = new ArrayList<>(trend.monthlyTrend().size());
+                for (ExpenseDtos.MonthlyTotalPoint point : trend.monthlyTrend()) {
+                    trendTotal.add(point.total());
+                    trendCount.add(point.count());
+                }
+                trends.add(new CategoryTrendColumns(trend.categoryName(), trend.yearTotal(), trendTotal, trendCount));
+            }
+
+            return new ColumnarDashboardSummary(
+                    response.currentMonthTotal(),
+                    response.last30DaysTotal(),
+                    response.lastMonthTotal(),
+                    response.lastQuarterTotal(),
+                    response.lastYearTotal(),
+                    response.currentMonthSummary(),
+                    response.samePeriodLastMonthSummary(),
+                    response.last30DaysSummary(),
+                    response.lastMonthSummary(),
+                    response.lastQuarterSummary(),
+                    response.lastYearSummary(),
+                    months,
+                    new MonthlyColumns(
+                            total,
+                            count,
+                            incomeTotal,
+                            expenseTotal,
+                            netAmount,
+                            savingAmount,
+                            savingRatePercent
+                    ),
+                    response.budgetUtilizationPoints(),
+                    response.currentMonthCategoryTotals(),
+                    trends,
+                    response.partial(),
+                    response.degradedSections()
+            );
+        }
+    }
+
+    public record MonthlyColumns(
+            List<BigDecimal> total,
+            List<Long> count,
+            List<BigDecimal> incomeTotal,
+            List<BigDecimal> expenseTotal,
+            List<BigDecimal> netAmount,
+            List<BigDecimal> savingAmount,
+            List<BigDecimal> savingRatePercent
+    ) {
+    }
+
+    public record CategoryTrendColumns(
+            String categoryName,
+            BigDecimal yearTotal,
+            List<BigDecimal> total,
+            List<Long> count
+    ) {
+    }
+}
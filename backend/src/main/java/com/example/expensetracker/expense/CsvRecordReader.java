@@ -0,0 +1,113 @@
+package com.example.expensetracker.expense;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Forward-only RFC 4180 reader: comma separated, optionally double-quoted fields, doubled quotes inside quoted fields,
+ * and line breaks allowed inside quotes. A leading byte order mark is ignored. Holds one record at a time, so memory
+ * does not grow with the file.
+ */
+final class CsvRecordReader {
+
+    private final Reader reader;
+    private final StringBuilder field = new StringBuilder();
+    private long line = 1;
+    private long recordLine;
+    private int pushedBack = -2;
+
+    CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Physical line on which the record last returned by {@link #next()} started.
+     */
+    long recordLine() {
+        return recordLine;
+    }
+
+    /**
+     * Returns the next record, or {@code null} at end of input. Blank lines are skipped.
+     */
+    List<String> next() throws IOException {
+        int c = read();
+        if (c == '\uFEFF' && recordLine == 0) {
+            c = read();
+        }
+        while (c == '\r' || c == '\n') {
+            c = newline(c);
+        }
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field starting on line " + recordLine);
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n' || (c == '\r' && peek() != '\n')) {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                fields.add(field.toString());
+                if (c != -1) {
+                    pushedBack = newline(c);
+                }
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    // Consumes a line break (CRLF, LF or a lone CR) whose first character was c, and returns the next character.
+    private int newline(int c) throws IOException {
+        line++;
+        int following = read();
+        if (c == '\r' && following == '\n') {
+            following = read();
+        }
+        return following;
+    }
+
+    private int peek() throws IOException {
+        if (pushedBack == -2) {
+            pushedBack = reader.read();
+        }
+        return pushedBack;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+}
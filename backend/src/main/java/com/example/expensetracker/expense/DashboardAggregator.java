@@ -0,0 +1,263 @@
+package com.example.expensetracker.expense;
+
+import com.example.expensetracker.analytics.TopN;
+import com.example.expensetracker.category.CategoryType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single-pass accumulator for the dashboard's month window. Every row is folded into primitive cent arrays
+ * indexed by [month][type][categorySlot]; all series, period summaries and category trends are read back from
+ * those arrays, and amounts are only turned into {@link BigDecimal} when building the DTOs.
+ */
+final class DashboardAggregator {
+
+    private static final int TYPES = TransactionType.values().length;
+    private static final int INITIAL_SLOTS = 16;
+
+    private final YearMonth startMonth;
+    private final int months;
+    private final long[][][] cents;
+    private final long[][][] counts;
+    private final long[][] monthTypeCents;
+    private final long[][] monthTypeCounts;
+    private final long[] monthSavingCents;
+    private final Map<String, Integer> slotsByCategory = new HashMap<>();
+    private final List<String> categoryNames = new ArrayList<>();
+    private long[][] categoryTypeCents = new long[TYPES][INITIAL_SLOTS];
+
+    DashboardAggregator(YearMonth startMonth, int months) {
+        this.startMonth = startMonth;
+        this.months = months;
+        this.cents = new long[months][TYPES][INITIAL_SLOTS];
+        this.counts = new long[months][TYPES][INITIAL_SLOTS];
+        this.monthTypeCents = new long[months][TYPES];
+        this.monthTypeCounts = new long[months][TYPES];
+        this.monthSavingCents = new long[months];
+    }
+
+    void accept(LocalDate date, TransactionType type, CategoryType categoryType, String categoryName, BigDecimal amount) {
+        accept(monthIndex(YearMonth.from(date)), type, categoryType, categoryName, toCents(amount), 1);
+    }
+
+    void accept(
+            YearMonth month,
+            TransactionType type,
+            CategoryType categoryType,
+            String categoryName,
+            BigDecimal total,
+            long count
+    ) {
+        accept(monthIndex(month), type, categoryType, categoryName, toCents(total), count);
+    }
+
+    private void accept(
+            int month,
+            TransactionType type,
+            CategoryType categoryType,
+            String categoryName,
+            long amountCents,
+            long count
+    ) {
+        if (month < 0 || month >= months) {
+            return;
+        }
+        int typeIndex = type.ordinal();
+        int slot = slotFor(categoryName);
+        cents[month][typeIndex][slot] += amountCents;
+        counts[month][typeIndex][slot] += count;
+        monthTypeCents[month][typeIndex] += amountCents;
+        monthTypeCounts[month][typeIndex] += count;
+        categoryTypeCents[typeIndex][slot] += amountCents;
+        if (categoryType == CategoryType.SAVING) {
+            monthSavingCents[month] += amountCents;
+        }
+    }
+
+    List<ExpenseDtos.MonthlyTotalPoint> monthlyTotals() {
+        List<ExpenseDtos.MonthlyTotalPoint> points = new ArrayList<>(months);
+        for (int month = 0; month < months; month++) {
+            long total = 0;
+            long count = 0;
+            for (int type = 0; type < TYPES; type++) {
+                total += monthTypeCents[month][type];
+                count += monthTypeCounts[month][type];
+            }
+            points.add(new ExpenseDtos.MonthlyTotalPoint(label(month), toAmount(total), count));
+        }
+        return points;
+    }
+
+    List<ExpenseDtos.MonthlyIncomeExpensePoint> monthlyIncomeExpensePoints() {
+        List<ExpenseDtos.MonthlyIncomeExpensePoint> points = new ArrayList<>(months);
+        for (int month = 0; month < months; month++) {
+            long income = monthTypeCents[month][TransactionType.INCOME.ordinal()];
+            long expense = monthTypeCents[month][TransactionType.EXPENSE.ordinal()];
+            points.add(new ExpenseDtos.MonthlyIncomeExpensePoint(
+                    label(month),
+                    toAmount(income),
+                    toAmount(expense),
+                    toAmount(income - expense)
+            ));
+        }
+        return points;
+    }
+
+    List<ExpenseDtos.MonthlySavingRatePoint> monthlySavingRatePoints() {
+        List<ExpenseDtos.MonthlySavingRatePoint> points = new ArrayList<>(months);
+        for (int month = 0; month < months; month++) {
+            long income = monthTypeCents[month][TransactionType.INCOME.ordinal()];
+            points.add(new ExpenseDtos.MonthlySavingRatePoint(
+                    label(month),
+                    toAmount(monthSavingCents[month]),
+                    toAmount(income),
+                    savingRatePercent(monthSavingCents[month], income)
+            ));
+        }
+        return points;
+    }
+
+    ExpenseDtos.PeriodSummaryPoint periodSummary(YearMonth from, YearMonth to) {
+        long expense = 0;
+        long income = 0;
+        long saving = 0;
+        for (int month = Math.max(0, monthIndex(from)); month <= Math.min(months - 1, monthIndex(to)); month++) {
+            expense += monthTypeCents[month][TransactionType.EXPENSE.ordinal()];
+            income += monthTypeCents[month][TransactionType.INCOME.ordinal()];
+            saving += monthSavingCents[month];
+        }
+        return toPeriodSummary(expense, income, saving);
+    }
+
+    List<ExpenseDtos.CategoryTotalPoint> categoryTotals(YearMonth month, TransactionType type) {
+        int monthIndex = monthIndex(month);
+        if (monthIndex < 0 || monthIndex >= months) {
+            return List.of();
+        }
+        long[] monthCents = cents[monthIndex][type.ordinal()];
+        long[] monthCounts = counts[monthIndex][type.ordinal()];
+        List<ExpenseDtos.CategoryTotalPoint> points = new ArrayList<>();
+        for (int slot = 0; slot < categoryNames.size(); slot++) {
+            if (monthCounts[slot] == 0) {
+                continue;
+            }
+            points.add(new ExpenseDtos.CategoryTotalPoint(
+                    categoryNames.get(slot),
+                    toAmount(monthCents[slot]),
+                    monthCounts[slot]
+            ));
+        }
+        points.sort(Comparator.comparing(ExpenseDtos.CategoryTotalPoint::total).reversed());
+        return points;
+    }
+
+    List<ExpenseDtos.CategoryYearTrendPoint> topCategoryTrends(TransactionType type, int topN) {
+        int typeIndex = type.ordinal();
+        long[] yearCents = categoryTypeCents[typeIndex];
+        List<Integer> slots = new ArrayList<>();
+        for (int slot = 0; slot < categoryNames.size(); slot++) {
+            if (hasRows(typeIndex, slot)) {
+                slots.add(slot);
+            }
+        }
+        List<Integer> topSlots = TopN.largest(
+                slots,
+                topN,
+                Comparator.comparingLong((Integer slot) -> yearCents[slot]).thenComparing(Comparator.reverseOrder())
+        );
+
+        List<ExpenseDtos.CategoryYearTrendPoint> points = new ArrayList<>(topSlots.size());
+        for (int slot : topSlots) {
+            List<ExpenseDtos.MonthlyTotalPoint> trend = new ArrayList<>(months);
+            for (int month = 0; month < months; month++) {
+                trend.add(new ExpenseDtos.MonthlyTotalPoint(
+                        label(month),
+                        toAmount(cents[month][typeIndex][slot]),
+                        counts[month][typeIndex][slot]
+                ));
+            }
+            points.add(new ExpenseDtos.CategoryYearTrendPoint(categoryNames.get(slot), toAmount(yearCents[slot]), trend));
+        }
+        return points;
+    }
+
+    static ExpenseDtos.PeriodSummaryPoint toPeriodSummary(long expenseCents, long incomeCents, long savingCents) {
+        return new ExpenseDtos.PeriodSummaryPoint(
+                toAmount(expenseCents),
+                toAmount(incomeCents),
+                toAmount(incomeCents - expenseCents),
+                toAmount(savingCents),
+                savingRatePercent(savingCents, incomeCents)
+        );
+    }
+
+    static long toCents(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static BigDecimal toAmount(long amountCents) {
+        return BigDecimal.valueOf(amountCents, 2);
+    }
+
+    private static BigDecimal savingRatePercent(long savingCents, long incomeCents) {
+        if (incomeCents == 0) {
+            return BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP);
+        }
+        return BigDecimal.valueOf(savingCents * 100).divide(BigDecimal.valueOf(incomeCents), 2, RoundingMode.HALF_UP);
+    }
+
+    private boolean hasRows(int typeIndex, int slot) {
+        for (int month = 0; month < months; month++) {
+            if (counts[month][typeIndex][slot] != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int slotFor(String categoryName) {
+        Integer existing = slotsByCategory.get(categoryName);
+        if (existing != null) {
+            return existing;
+        }
+        int slot = categoryNames.size();
+        if (slot == categoryTypeCents[0].length) {
+            grow(slot * 2);
+        }
+        slotsByCategory.put(categoryName, slot);
+        categoryNames.add(categoryName);
+        return slot;
+    }
+
+    private void grow(int capacity) {
+        for (int month = 0; month < months; month++) {
+            for (int type = 0; type < TYPES; type++) {
+                cents[month][type] = Arrays.copyOf(cents[month][type], capacity);
+                counts[month][type] = Arrays.copyOf(counts[month][type], capacity);
+            }
+        }
+        long[][] grown = new long[TYPES][];
+        for (int type = 0; type < TYPES; type++) {
+            grown[type] = Arrays.copyOf(categoryTypeCents[type], capacity);
+        }
+        categoryTypeCents = grown;
+    }
+
+    private int monthIndex(YearMonth month) {
+        return (int) startMonth.until(month, ChronoUnit.MONTHS);
+    }
+
+    private String label(int month) {
+        return startMonth.plusMonths(month).toString();
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.expensetracker.expense;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class DashboardExecutorConfig {
+
+    public static final String DASHBOARD_SECTION_EXECUTOR = "dashboardSectionExecutor";
+
+    /**
+     * Fixed-size pool with a bounded queue for concurrent dashboard sections. Tasks see the submitting request's
+     * security context, and idle threads are released so the pool costs nothing while concurrent mode is off.
+     */
+    @Bean(name = DASHBOARD_SECTION_EXECUTOR, destroyMethod = "shutdownNow")
+    public ExecutorService dashboardSectionExecutor(
+            @Value("${app.dashboard.concurrent.pool-size:4}") int poolSize,
+            @Value("${app.dashboard.concurrent.queue-capacity:32}") int queueCapacity
+    ) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                30,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("dashboard-section-")
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return new DelegatingSecurityContextExecutorService(executor);
+    }
+}
@@ -0,0 +1,392 @@
+package com.example.expensetracker.expense;
+
+import com.example.expensetracker.auth.UserContext;
+import com.example.expensetracker.category.CategoryType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Builds the dashboard summary from three independent sections: the 12-month series (which also feeds the category
+ * breakdowns and trends), the trailing-window totals, and budget utilization. The series reads closed months from their
+ * frozen {@link MonthlySummarySnapshot}s and only aggregates the open month (plus any closed month whose snapshot is
+ * missing or stale) from the rollups; those closed months are frozen right after the summary is built. By default the
+ * sections run one after another in a single read-only transaction. With {@code app.dashboard.concurrent.enabled=true}
+ * each section runs on the dashboard executor in its own read-only transaction; a section that misses
+ * {@code app.dashboard.concurrent.section-timeout-ms} is returned empty and listed in {@code degradedSections}.
+ */
+@Service
+public class DashboardService {
+
+    static final String MONTHLY_SERIES = "monthlySeries";
+    static final String TRAILING_WINDOWS = "trailingWindows";
+    static final String BUDGET_UTILIZATION = "budgetUtilization";
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardService.class);
+    private static final int MONTHS = 12;
+
+    private final ExpenseRepository expenseRepository;
+    private final ExpenseMonthlyRollupRepository rollupRepository;
+    private final MonthlySummarySnapshotRepository snapshotRepository;
+    private final MonthlySnapshotService snapshotService;
+    private final BudgetUtilizationService budgetUtilizationService;
+    private final UserContext userContext;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService sectionExecutor;
+    private final boolean concurrent;
+    private final long sectionTimeoutMs;
+    private final Map<String, Timer> sectionTimers;
+    private final Map<String, Counter> sectionTimeouts;
+
+    public DashboardService(
+            ExpenseRepository expenseRepository,
+            ExpenseMonthlyRollupRepository rollupRepository,
+            MonthlySummarySnapshotRepository snapshotRepository,
+            MonthlySnapshotService snapshotService,
+            BudgetUtilizationService budgetUtilizationService,
+            UserContext userContext,
+            PlatformTransactionManager transactionManager,
+            @Qualifier(DashboardExecutorConfig.DASHBOARD_SECTION_EXECUTOR) ExecutorService sectionExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${app.dashboard.concurrent.enabled:false}") boolean concurrent,
+            @Value("${app.dashboard.concurrent.section-timeout-ms:2000}") long sectionTimeoutMs
+    ) {
+        this.expenseRepository = expenseRepository;
+        this.rollupRepository = rollupRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.snapshotService = snapshotService;
+        this.budgetUtilizationService = budgetUtilizationService;
+        this.userContext = userContext;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.sectionExecutor = sectionExecutor;
+        this.concurrent = concurrent;
+        this.sectionTimeoutMs = sectionTimeoutMs;
+        String mode = concurrent ? "concurrent" : "sequential";
+        this.sectionTimers = Map.of(
+                MONTHLY_SERIES, sectionTimer(meterRegistry, MONTHLY_SERIES, mode),
+                TRAILING_WINDOWS, sectionTimer(meterRegistry, TRAILING_WINDOWS, mode),
+                BUDGET_UTILIZATION, sectionTimer(meterRegistry, BUDGET_UTILIZATION, mode)
+        );
+        this.sectionTimeouts = Map.of(
+                MONTHLY_SERIES, sectionTimeoutCounter(meterRegistry, MONTHLY_SERIES),
+                TRAILING_WINDOWS, sectionTimeoutCounter(meterRegistry, TRAILING_WINDOWS),
+                BUDGET_UTILIZATION, sectionTimeoutCounter(meterRegistry, BUDGET_UTILIZATION)
+        );
+    }
+
+    public ExpenseDtos.DashboardSummaryResponse getDashboardSummary(int topN) {
+        String username = userContext.currentUsername();
+        Long ownerId = userContext.currentUserId();
+        if (topN < 1 || topN > 10) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "topN must be between 1 and 10");
+        }
+
+        YearMonth currentMonth = YearMonth.now();
+        LocalDate today = LocalDate.now();
+        List<YearMonth> unfrozenMonths = new ArrayList<>();
+        ExpenseDtos.DashboardSummaryResponse summary = concurrent
+                ? loadConcurrently(username, ownerId, currentMonth, today, topN, unfrozenMonths)
+                : loadSequentially(username, ownerId, currentMonth, today, topN, unfrozenMonths);
+        freeze(username, unfrozenMonths);
+        return summary;
+    }
+
+    private ExpenseDtos.DashboardSummaryResponse loadSequentially(
+            String username,
+            Long ownerId,
+            YearMonth currentMonth,
+            LocalDate today,
+            int topN,
+            List<YearMonth> unfrozenMonths
+    ) {
+        return readOnlyTransaction.execute(status -> assemble(
+                timed(MONTHLY_SERIES, () -> loadMonthlySeries(username, currentMonth, unfrozenMonths)),
+                timed(TRAILING_WINDOWS, () -> loadTrailingWindows(ownerId, today)),
+                timed(BUDGET_UTILIZATION, () -> budgetUtilizationService.listUtilization(ownerId)),
+                currentMonth,
+                topN,
+                List.of()
+        ));
+    }
+
+    private ExpenseDtos.DashboardSummaryResponse loadConcurrently(
+            String username,
+            Long ownerId,
+            YearMonth currentMonth,
+            LocalDate today,
+            int topN,
+            List<YearMonth> unfrozenMonths
+    ) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sectionTimeoutMs);
+        Future<DashboardAggregator> monthlySeries = submit(
+                MONTHLY_SERIES,
+                () -> loadMonthlySeries(username, currentMonth, unfrozenMonths)
+        );
+        Future<TrailingWindowSummaries> trailingWindows = submit(
+                TRAILING_WINDOWS,
+                () -> loadTrailingWindows(ownerId, today)
+        );
+        Future<List<ExpenseDtos.BudgetUtilizationPoint>> budgetUtilization = submit(
+                BUDGET_UTILIZATION,
+                () -> budgetUtilizationService.listUtilization(ownerId)
+        );
+
+        List<String> degradedSections = new ArrayList<>();
+        return assemble(
+                await(MONTHLY_SERIES, monthlySeries, deadline, degradedSections,
+                        () -> new DashboardAggregator(currentMonth.minusMonths(MONTHS - 1), MONTHS)),
+                await(TRAILING_WINDOWS, trailingWindows, deadline, degradedSections, TrailingWindowSummaries::empty),
+                await(BUDGET_UTILIZATION, budgetUtilization, deadline, degradedSections, List::of),
+                currentMonth,
+                topN,
+                List.copyOf(degradedSections)
+        );
+    }
+
+    private DashboardAggregator loadMonthlySeries(
+            String username,
+            YearMonth currentMonth,
+            List<YearMonth> unfrozenMonths
+    ) {
+        YearMonth startMonth = currentMonth.minusMonths(MONTHS - 1);
+        DashboardAggregator aggregator = new DashboardAggregator(startMonth, MONTHS);
+        Set<YearMonth> frozenMonths = new HashSet<>();
+        for (ExpenseAggregates.SnapshotCategoryTotal row : snapshotRepository.findClosedMonthTotals(
+                username,
+                startMonth.atDay(1),
+                currentMonth.minusMonths(1).atDay(1)
+        )) {
+            if (Boolean.TRUE.equals(row.getStale())) {
+                continue;
+            }
+            frozenMonths.add(YearMonth.from(row.getMonthStart()));
+            if (row.getType() != null) {
+                accept(aggregator, row);
+            }
+        }
+
+        List<LocalDate> liveMonthStarts = new ArrayList<>();
+        List<YearMonth> pending = new ArrayList<>();
+        for (YearMonth month = startMonth; !month.isAfter(currentMonth); month = month.plusMonths(1)) {
+            if (!frozenMonths.contains(month)) {
+                liveMonthStarts.add(month.atDay(1));
+                if (month.isBefore(currentMonth)) {
+                    pending.add(month);
+                }
+            }
+        }
+        for (ExpenseAggregates.MonthlyCategoryTotal row : rollupRepository.summarizeMonths(username, liveMonthStarts)) {
+            accept(aggregator, row);
+        }
+        synchronized (unfrozenMonths) {
+            unfrozenMonths.addAll(pending);
+        }
+        return aggregator;
+    }
+
+    private static void accept(DashboardAggregator aggregator, ExpenseAggregates.MonthlyCategoryTotal row) {
+        aggregator.accept(
+                YearMonth.from(row.getMonthStart()),
+                row.getType(),
+                row.getCategoryType(),
+                row.getCategoryName(),
+                row.getTotal(),
+                row.getCount()
+        );
+    }
+
+    /**
+     * Freezes closed months the series had to aggregate live. It runs after the read-only section transactions, and a
+     * failure (typically a concurrent request freezing the same month first) never fails the dashboard itself.
+     */
+    private void freeze(String username, List<YearMonth> unfrozenMonths) {
+        List<YearMonth> months;
+        synchronized (unfrozenMonths) {
+            months = List.copyOf(unfrozenMonths);
+        }
+        if (months.isEmpty()) {
+            return;
+        }
+        try {
+            snapshotService.refreshClosedMonths(username, months);
+        } catch (RuntimeException ex) {
+            log.warn("Could not freeze closed months {} for {}: {}", months, username, ex.getMessage());
+        }
+    }
+
+    private TrailingWindowSummaries loadTrailingWindows(Long ownerId, LocalDate today) {
+        YearMonth previousMonth = YearMonth.from(today).minusMonths(1);
+        LocalDate samePeriodLastMonthStart = previousMonth.atDay(1);
+        int samePeriodDay = Math.min(today.getDayOfMonth(), previousMonth.lengthOfMonth());
+        LocalDate samePeriodLastMonthEnd = previousMonth.atDay(samePeriodDay);
+        long[] last30Days = new long[3];
+        long[] samePeriodLastMonth = new long[3];
+        long[] lastYear = new long[3];
+        for (ExpenseAggregates.TrailingWindowRow row : expenseRepository.summarizeTrailingWindows(
+                ownerId,
+                today.minusDays(364),
+                today.minusDays(29),
+                samePeriodLastMonthStart,
+                samePeriodLastMonthEnd,
+                today
+        )) {
+            addWindowTotal(last30Days, row, row.last30DaysTotal());
+            addWindowTotal(samePeriodLastMonth, row, row.samePeriodLastMonthTotal());
+            addWindowTotal(lastYear, row, row.lastYearTotal());
+        }
+        return new TrailingWindowSummaries(
+                toPeriodSummary(last30Days),
+                toPeriodSummary(samePeriodLastMonth),
+                toPeriodSummary(lastYear)
+        );
+    }
+
+    private ExpenseDtos.DashboardSummaryResponse assemble(
+            DashboardAggregator aggregator,
+            TrailingWindowSummaries trailingWindows,
+            List<ExpenseDtos.BudgetUtilizationPoint> budgetUtilizationPoints,
+            YearMonth currentMonth,
+            int topN,
+            List<String> degradedSections
+    ) {
+        ExpenseDtos.PeriodSummaryPoint currentMonthSummary = aggregator.periodSummary(currentMonth, currentMonth);
+        YearMonth previousMonth = currentMonth.minusMonths(1);
+        ExpenseDtos.PeriodSummaryPoint lastMonthSummary = aggregator.periodSummary(previousMonth, previousMonth);
+        ExpenseDtos.PeriodSummaryPoint lastQuarterSummary = aggregator.periodSummary(
+                currentMonth.minusMonths(3),
+                previousMonth
+        );
+
+        return new ExpenseDtos.DashboardSummaryResponse(
+                currentMonthSummary.expenseTotal(),
+                trailingWindows.last30Days().expenseTotal(),
+                lastMonthSummary.expenseTotal(),
+                lastQuarterSummary.expenseTotal(),
+                trailingWindows.lastYear().expenseTotal(),
+                currentMonthSummary,
+                trailingWindows.samePeriodLastMonth(),
+                trailingWindows.last30Days(),
+                lastMonthSummary,
+                lastQuarterSummary,
+                trailingWindows.lastYear(),
+                aggregator.monthlyTotals(),
+                aggregator.monthlyIncomeExpensePoints(),
+                aggregator.monthlySavingRatePoints(),
+                budgetUtilizationPoints,
+                aggregator.categoryTotals(currentMonth, TransactionType.EXPENSE),
+                aggregator.topCategoryTrends(TransactionType.EXPENSE, topN),
+                !degradedSections.isEmpty(),
+                degradedSections
+        );
+    }
+
+    private <T> Future<T> submit(String section, Supplier<T> loader) {
+        Callable<T> task = () -> readOnlyTransaction.execute(status -> timed(section, loader));
+        try {
+            return sectionExecutor.submit(task);
+        } catch (RejectedExecutionException ex) {
+            // Pool and queue are full: run the section on the request thread instead of dropping it.
+            FutureTask<T> inline = new FutureTask<>(task);
+            inline.run();
+            return inline;
+        }
+    }
+
+    private <T> T await(
+            String section,
+            Future<T> future,
+            long deadline,
+            List<String> degradedSections,
+            Supplier<T> fallback
+    ) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            sectionTimeouts.get(section).increment();
+            log.warn("Dashboard section {} exceeded {} ms, returning a partial summary", section, sectionTimeoutMs);
+            degradedSections.add(section);
+            return fallback.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Dashboard request interrupted");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Dashboard section " + section + " failed", ex.getCause());
+        }
+    }
+
+    private <T> T timed(String section, Supplier<T> loader) {
+        return sectionTimers.get(section).record(loader);
+    }
+
+    private static Timer sectionTimer(MeterRegistry meterRegistry, String section, String mode) {
+        return Timer.builder("dashboard.section")
+                .tag("section", section)
+                .tag("mode", mode)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    private static Counter sectionTimeoutCounter(MeterRegistry meterRegistry, String section) {
+        return Counter.builder("dashboard.section.timeouts").tag("section", section).register(meterRegistry);
+    }
+
+    private static void addWindowTotal(long[] window, ExpenseAggregates.TrailingWindowRow row, BigDecimal total) {
+        long amountCents = DashboardAggregator.toCents(total);
+        if (row.type() == TransactionType.EXPENSE) {
+            window[0] += amountCents;
+        } else if (row.type() == TransactionType.INCOME) {
+            window[1] += amountCents;
+        }
+        if (row.categoryType() == CategoryType.SAVING) {
+            window[2] += amountCents;
+        }
+    }
+
+    private static ExpenseDtos.PeriodSummaryPoint toPeriodSummary(long[] window) {
+        return DashboardAggregator.toPeriodSummary(window[0], window[1], window[2]);
+    }
+
+    private record TrailingWindowSummaries(
+            ExpenseDtos.PeriodSummaryPoint last30Days,
+            ExpenseDtos.PeriodSummaryPoint samePeriodLastMonth,
+            ExpenseDtos.PeriodSummaryPoint lastYear
+    ) {
+
+        static TrailingWindowSummaries empty() {
+            ExpenseDtos.PeriodSummaryPoint zero = DashboardAggregator.toPeriodSummary(0, 0, 0);
+            return new TrailingWindowSummaries(zero, zero, zero);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.expensetracker.expense;
+
+import com.example.expensetracker.cache.UserDataChangedEvent;
+import com.example.expensetracker.cache.UserDataVersions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of dashboard summaries keyed by (username, topN, day). Each entry remembers the user's data
+ * version it was computed at, so an entry is never served after a committed write even if eviction races.
+ * Partial summaries (a section timed out) are returned but never stored.
+ */
+@Component
+public class DashboardSummaryCache {
+
+    private final UserDataVersions userDataVersions;
+    private final Map<Key, Entry> entries;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public DashboardSummaryCache(
+            UserDataVersions userDataVersions,
+            MeterRegistry meterRegistry,
+            @Value("${app.dashboard.cache.max-entries:1000}") int maxEntries
+    ) {
+        this.userDataVersions = userDataVersions;
+        this.hits = Counter.builder("dashboard.summary.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("dashboard.summary.cache").tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("dashboard.summary.cache.evictions").register(meterRegistry);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        Gauge.builder("dashboard.summary.cache.size", this, DashboardSummaryCache::size).register(meterRegistry);
+    }
+
+    public String etag(String username, int topN) {
+        return "dashboard-" + userDataVersions.tag(username) + "-" + LocalDate.now() + "-" + topN;
+    }
+
+    public ExpenseDtos.DashboardSummaryResponse get(
+            String username,
+            int topN,
+            Supplier<ExpenseDtos.DashboardSummaryResponse> loader
+    ) {
+        Key key = new Key(username.toLowerCase(Locale.ROOT), topN, LocalDate.now());
+        long version = userDataVersions.current(username);
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.version() == version) {
+                hits.increment();
+                return entry.response();
+            }
+        }
+
+        misses.increment();
+        ExpenseDtos.DashboardSummaryResponse response = loader.get();
+        if (response.partial()) {
+            return response;
+        }
+        synchronized (entries) {
+            entries.put(key, new Entry(version, response));
+        }
+        return response;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        String username = event.username().toLowerCase(Locale.ROOT);
+        synchronized (entries) {
+            entries.keySet().removeIf(key -> key.username().equals(username));
+        }
+    }
+
+    private int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private record Key(String username, int topN, LocalDate day) {
+    }
+
+    private record Entry(long version, ExpenseDtos.DashboardSummaryResponse response) {
+    }
+}
@@ -31,6 +31,12 @@ public class Expense extends AuditableEntity {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(name = "owner_id", updatable = false)
+    private Long ownerId;
+
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+
     @Column(nullable = false, precision = 14, scale = 2)
     private BigDecimal amount;
 
@@ -0,0 +1,80 @@
+package com.example.expensetracker.expense;
+
+import com.example.expensetracker.budget.BudgetPeriod;
+import com.example.expensetracker.category.CategoryType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public final class ExpenseAggregates {
+
+    private ExpenseAggregates() {
+    }
+
+    public record MonthlyBucketRow(
+            Integer year,
+            Integer month,
+            TransactionType type,
+            Long categoryId,
+            Long subCategoryId,
+            BigDecimal total,
+            Long count
+    ) {
+    }
+
+    public record TrailingWindowRow(
+            TransactionType type,
+            CategoryType categoryType,
+            BigDecimal last30DaysTotal,
+            BigDecimal samePeriodLastMonthTotal,
+            BigDecimal lastYearTotal
+    ) {
+    }
+
+    public record DailyTotalRow(
+            LocalDate day,
+            TransactionType type,
+            CategoryType categoryType,
+            BigDecimal total,
+            Long count
+    ) {
+    }
+
+    public record BudgetSpendRow(
+            Long budgetId,
+            String budgetName,
+            BudgetPeriod period,
+            BigDecimal budgetAmount,
+            BigDecimal spentAmount
+    ) {
+    }
+
+    public interface MonthlyCategoryTotal {
+        LocalDate getMonthStart();
+
+        TransactionType getType();
+
+        CategoryType getCategoryType();
+
+        String getCategoryName();
+
+        BigDecimal getTotal();
+
+        Long getCount();
+    }
+
+    public interface SnapshotCategoryTotal extends MonthlyCategoryTotal {
+        Boolean getStale();
+    }
+
+    public record SearchDocumentRow(
+            Long id,
+            String description,
+            TransactionType type,
+            LocalDate expenseDate,
+            Long categoryId,
+            Long subCategoryId,
+            BigDecimal amount
+    ) {
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.expensetracker.expense;
+
+import com.example.expensetracker.sync.ChangeSequence;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inserts already validated transactions as one JDBC batch. {@link Expense} keeps its IDENTITY ids, which make
+ * Hibernate insert row by row, so bulk writes bypass the persistence context and read the AUTO_INCREMENT keys back
+ * from the batch instead; with {@code rewriteBatchedStatements} MySQL receives a single multi-row INSERT. Callers
+ * provide the transaction and publish the change events.
+ */
+@Component
+class ExpenseBatchInserter {
+
+    private static final String INSERT = """
+            INSERT INTO expenses (
+                owner_id, amount, description, expense_date, transaction_type, category_id, sub_category_id,
+                budget_id, change_seq, created_by, created_on, updated_by, updated_on
+            )
+            VALUES (
+                :ownerId, :amount, :description, :expenseDate, :type, :categoryId, :subCategoryId,
+                :budgetId, :changeSeq, :username, :now, :username, :now
+            )""";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ChangeSequence changeSequence;
+
+    ExpenseBatchInserter(DataSource dataSource, ChangeSequence changeSequence) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.changeSequence = changeSequence;
+    }
+
+    /**
+     * Returns a snapshot of each inserted row, in input order, carrying its generated id.
+     */
+    List<ExpenseSnapshot> insert(List<NewExpense> rows, Long ownerId, String username) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        long changeSeq = changeSequence.next(ownerId);
+        MapSqlParameterSource[] batch = new MapSqlParameterSource[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            NewExpense row = rows.get(i);
+            batch[i] = new MapSqlParameterSource()
+                    .addValue("ownerId", ownerId)
+                    .addValue("amount", row.amount())
+                    .addValue("description", row.description())
+                    .addValue("expenseDate", row.expenseDate())
+                    .addValue("type", row.type().name())
+                    .addValue("categoryId", row.categoryId())
+                    .addValue("subCategoryId", row.subCategoryId())
+                    .addValue("budgetId", row.budgetId())
+                    .addValue("changeSeq", changeSeq)
+                    .addValue("username", username)
+                    .addValue("now", now);
+        }
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(INSERT, batch, keys, new String[] {"id"});
+        // The key column is ID on H2 and GENERATED_KEY on MySQL, so read the single value by position.
+        List<Map<String, Object>> generated = keys.getKeyList();
+        List<ExpenseSnapshot> inserted = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            long id = ((Number) generated.get(i).values().iterator().next()).longValue();
+            inserted.add(rows.get(i).toSnapshot(id));
+        }
+        return inserted;
+    }
+
+    record NewExpense(
+            BigDecimal amount,
+            String description,
+            LocalDate expenseDate,
+            TransactionType type,
+            Long categoryId,
+            Long subCategoryId,
+            Long budgetId
+    ) {
+
+        ExpenseSnapshot toSnapshot(Long id) {
+            return new ExpenseSnapshot(id, amount, expenseDate, type, categoryId, subCategoryId, budgetId, description);
+        }
+    }
+}
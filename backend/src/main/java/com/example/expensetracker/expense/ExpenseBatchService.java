@@ -0,0 +1,250 @@
+package com.example.expensetracker.expense;
+
+import com.example.expensetracker.auth.UserContext;
+import com.example.expensetracker.budget.BudgetRepository;
+import com.example.expensetracker.cache.UserDataChangedEvent;
+import com.example.expensetracker.cache.UserDataKind;
+import com.example.expensetracker.category.CategoryRepository;
+import com.example.expensetracker.category.SubCategoryRepository;
+import com.example.expensetracker.sync.ChangeSequence;
+import com.example.expensetracker.sync.SyncEntityType;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Applies a mixed list of creates, updates and deletes in one transaction, for clients that replay queued offline
+ * edits. Every operation is validated against one snapshot of the user's categories and budgets and the transactions
+ * it touches are loaded with one query. Operations that fail validation are rejected individually with the status a
+ * single call would have returned; the rest are applied together. Creates go through {@link ExpenseBatchInserter};
+ * updates and deletes are flushed by Hibernate in JDBC batches of {@code hibernate.jdbc.batch_size}.
+ */
+@Service
+public class ExpenseBatchService {
+
+    private final ExpenseRepository expenseRepository;
+    private final CategoryRepository categoryRepository;
+    private final SubCategoryRepository subCategoryRepository;
+    private final BudgetRepository budgetRepository;
+    private final ExpenseBatchInserter inserter;
+    private final ChangeSequence changeSequence;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserContext userContext;
+    private final Validator validator;
+    private final int maxOperations;
+
+    public ExpenseBatchService(
+            ExpenseRepository expenseRepository,
+            CategoryRepository categoryRepository,
+            SubCategoryRepository subCategoryRepository,
+            BudgetRepository budgetRepository,
+            ExpenseBatchInserter inserter,
+            ChangeSequence changeSequence,
+            ApplicationEventPublisher eventPublisher,
+            UserContext userContext,
+            Validator validator,
+            @Value("${app.transactions.batch.max-operations:500}") int maxOperations
+    ) {
+        this.expenseRepository = expenseRepository;
+        this.categoryRepository = categoryRepository;
+        this.subCategoryRepository = subCategoryRepository;
+        this.budgetRepository = budgetRepository;
+        this.inserter = inserter;
+        this.changeSequence = changeSequence;
+        this.eventPublisher = eventPublisher;
+        this.userContext = userContext;
+        this.validator = validator;
+        this.maxOperations = maxOperations;
+    }
+
+    @Transactional
+    public ExpenseDtos.BatchResponse applyBatch(List<ExpenseDtos.BatchOperation> operations) {
+        if (operations.size() > maxOperations) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "A batch may contain at most " + maxOperations + " operations"
+            );
+        }
+        String username = userContext.currentUsername();
+        Long ownerId = userContext.currentUserId();
+        ExpenseReferenceData references = ExpenseReferenceData.load(
+                ownerId,
+                categoryRepository,
+                subCategoryRepository,
+                budgetRepository
+        );
+        Set<Long> ids = operations.stream()
+                .filter(operation -> operation.action() != ExpenseDtos.BatchAction.CREATE)
+                .map(ExpenseDtos.BatchOperation::id)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Expense> existing = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Expense expense : expenseRepository.findAllByOwnerIdAndIdIn(ownerId, ids)) {
+                existing.put(expense.getId(), expense);
+            }
+        }
+
+        ExpenseDtos.BatchOperationResult[] results = new ExpenseDtos.BatchOperationResult[operations.size()];
+        List<ExpenseBatchInserter.NewExpense> creates = new ArrayList<>();
+        List<Integer> createIndexes = new ArrayList<>();
+        List<ExpenseChangedEvent> changes = new ArrayList<>();
+        List<Expense> deletes = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            ExpenseDtos.BatchOperation operation = operations.get(i);
+            try {
+                switch (operation.action()) {
+                    case CREATE -> {
+                        creates.add(resolve(operation.transaction(), references, null));
+                        createIndexes.add(i);
+                    }
+                    case UPDATE -> {
+                        Expense expense = find(existing, operation.id());
+                        ExpenseBatchInserter.NewExpense resolved = resolve(
+                                operation.transaction(),
+                                references,
+                                expense.getTransactionType()
+                        );
+                        ExpenseSnapshot before = ExpenseSnapshot.of(expense);
+                        apply(expense, resolved);
+                        expense.setChangeSeq(changeSequence.next(ownerId));
+                        changes.add(new ExpenseChangedEvent(username, before, ExpenseSnapshot.of(expense)));
+                        results[i] = applied(i, operation, HttpStatus.OK, resolved.toSnapshot(expense.getId()), references);
+                    }
+                    case DELETE -> {
+                        Expense expense = find(existing, operation.id());
+                        existing.remove(expense.getId());
+                        deletes.add(expense);
+                        changes.add(new ExpenseChangedEvent(username, ExpenseSnapshot.of(expense), null));
+                        results[i] = new ExpenseDtos.BatchOperationResult(
+                                i,
+                                operation.clientId(),
+                                operation.action(),
+                                HttpStatus.NO_CONTENT.value(),
+                                expense.getId(),
+                                null,
+                                null
+                        );
+                    }
+                }
+            } catch (ResponseStatusException ex) {
+                results[i] = new ExpenseDtos.BatchOperationResult(
+                        i,
+                        operation.clientId(),
+                        operation.action(),
+                        ex.getStatusCode().value(),
+                        operation.id(),
+                        null,
+                        ex.getReason()
+                );
+            }
+        }
+
+        List<ExpenseSnapshot> inserted = inserter.insert(creates, ownerId, username);
+        for (int i = 0; i < inserted.size(); i++) {
+            int index = createIndexes.get(i);
+            results[index] = applied(index, operations.get(index), HttpStatus.CREATED, inserted.get(i), references);
+        }
+        expenseRepository.deleteAll(deletes);
+        expenseRepository.flush();
+        changeSequence.recordDeletions(
+                ownerId,
+                SyncEntityType.TRANSACTION,
+                deletes.stream().map(Expense::getId).toList()
+        );
+
+        changes.forEach(eventPublisher::publishEvent);
+        if (!inserted.isEmpty()) {
+            eventPublisher.publishEvent(new ExpensesInsertedEvent(username, inserted));
+        }
+        int applied = changes.size() + inserted.size();
+        if (applied > 0) {
+            eventPublisher.publishEvent(new UserDataChangedEvent(username, UserDataKind.TRANSACTIONS));
+        }
+        return new ExpenseDtos.BatchResponse(applied, operations.size() - applied, List.of(results));
+    }
+
+    private static Expense find(Map<Long, Expense> existing, Long id) {
+        if (id == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "id is required");
+        }
+        Expense expense = existing.get(id);
+        if (expense == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Transaction not found");
+        }
+        return expense;
+    }
+
+    private ExpenseBatchInserter.NewExpense resolve(
+            ExpenseDtos.CreateExpenseRequest request,
+            ExpenseReferenceData references,
+            TransactionType existingType
+    ) {
+        if (request == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "transaction is required");
+        }
+        Set<ConstraintViolation<ExpenseDtos.CreateExpenseRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, violations.stream()
+                    .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .collect(Collectors.joining(", ")));
+        }
+
+        return references.resolve(request, existingType);
+    }
+
+    private void apply(Expense expense, ExpenseBatchInserter.NewExpense resolved) {
+        expense.setAmount(resolved.amount());
+        expense.setDescription(resolved.description());
+        expense.setExpenseDate(resolved.expenseDate());
+        expense.setCategory(categoryRepository.getReferenceById(resolved.categoryId()));
+        expense.setSubCategory(subCategoryRepository.getReferenceById(resolved.subCategoryId()));
+        expense.setBudget(budgetRepository.getReferenceById(resolved.budgetId()));
+    }
+
+    private static ExpenseDtos.BatchOperationResult applied(
+            int index,
+            ExpenseDtos.BatchOperation operation,
+            HttpStatus status,
+            ExpenseSnapshot saved,
+            ExpenseReferenceData references
+    ) {
+        ExpenseDtos.ExpenseResponse transaction = new ExpenseDtos.ExpenseResponse(
+                saved.id(),
+                saved.amount(),
+                saved.description(),
+                saved.expenseDate(),
+                saved.type(),
+                saved.categoryId(),
+                references.category(saved.categoryId()).name(),
+                saved.subCategoryId(),
+                references.subCategory(saved.subCategoryId()).name(),
+                saved.budgetId(),
+                references.budget(saved.budgetId()).name()
+        );
+        return new ExpenseDtos.BatchOperationResult(
+                index,
+                operation.clientId(),
+                operation.action(),
+                status.value(),
+                saved.id(),
+                transaction,
+                null
+        );
+    }
+}
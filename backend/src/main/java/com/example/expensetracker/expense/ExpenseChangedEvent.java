@@ -0,0 +1,8 @@
+package com.example.expensetracker.expense;
+
+/**
+ * Published inside the writing transaction whenever a transaction is created, updated or deleted.
+ * {@code before} is null for creates and {@code after} is null for deletes.
+ */
+public record ExpenseChangedEvent(String username, ExpenseSnapshot before, ExpenseSnapshot after) {
+}
@@ -1,29 +1,72 @@
 package com.example.expensetracker.expense;
 
+import com.example.expensetracker.auth.UserContext;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
 import java.time.LocalDate;
 import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api")
 public class ExpenseController {
 
     private final ExpenseService expenseService;
+    private final ExpenseRollupService rollupService;
+    private final DashboardService dashboardService;
+    private final MonthlySnapshotService snapshotService;
+    private final DashboardSummaryCache dashboardSummaryCache;
+    private final UserContext userContext;
+    private final ExpenseExportService exportService;
+    private final ExpenseImportService importService;
+    private final ExpenseBatchService batchService;
+    private final ExpenseIngestionService ingestionService;
 
-    public ExpenseController(ExpenseService expenseService) {
+    public ExpenseController(
+            ExpenseService expenseService,
+            ExpenseRollupService rollupService,
+            DashboardService dashboardService,
+            MonthlySnapshotService snapshotService,
+            DashboardSummaryCache dashboardSummaryCache,
+            UserContext userContext,
+            ExpenseExportService exportService,
+            ExpenseImportService importService,
+            ExpenseBatchService batchService,
+            ExpenseIngestionService ingestionService
+    ) {
         this.expenseService = expenseService;
+        this.rollupService = rollupService;
+        this.dashboardService = dashboardService;
+        this.snapshotService = snapshotService;
+        this.dashboardSummaryCache = dashboardSummaryCache;
+        this.userContext = userContext;
+        this.exportService = exportService;
+        this.importService = importService;
+        this.batchService = batchService;
+        this.ingestionService = ingestionService;
     }
 
     @GetMapping("/expenses")
@@ -31,9 +74,11 @@ public class ExpenseController {
             @RequestParam(required = false) LocalDate startDate,
             @RequestParam(required = false) LocalDate endDate,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal
     ) {
-        return expenseService.listExpenses(startDate, endDate, page, size);
+        return expenseService.listExpenses(startDate, endDate, page, size, cursor, includeTotal);
     }
 
     @GetMapping("/transactions")
@@ -48,7 +93,9 @@ public class ExpenseController {
             @RequestParam(defaultValue = "expenseDate") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDir,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal
     ) {
         return expenseService.listTransactions(
                 startDate,
@@ -61,20 +108,147 @@ public class ExpenseController {
                 sortBy,
                 sortDir,
                 page,
+                size,
+                cursor,
+                includeTotal
+        );
+    }
+
+    @GetMapping(value = "/transactions", params = "shape=columnar")
+    public ColumnarDtos.ColumnarExpensePage listTransactionsColumnar(
+            @RequestParam(required = false) LocalDate startDate,
+            @RequestParam(required = false) LocalDate endDate,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Long subCategoryId,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(defaultValue = "EXPENSE") TransactionType type,
+            @RequestParam(defaultValue = "expenseDate") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        return ColumnarDtos.ColumnarExpensePage.of(listTransactions(
+                startDate,
+                endDate,
+                categoryId,
+                subCategoryId,
+                minAmount,
+                maxAmount,
+                type,
+                sortBy,
+                sortDir,
+                page,
+                size,
+                cursor,
+                includeTotal
+        ));
+    }
+
+    @GetMapping("/transactions/search")
+    public ExpenseDtos.ExpensePageResponse searchTransactions(
+            @RequestParam String q,
+            @RequestParam(required = false) LocalDate startDate,
+            @RequestParam(required = false) LocalDate endDate,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Long subCategoryId,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        return expenseService.searchTransactions(
+                q,
+                startDate,
+                endDate,
+                categoryId,
+                subCategoryId,
+                minAmount,
+                maxAmount,
+                type,
+                page,
                 size
         );
     }
 
+    @GetMapping("/transactions/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) LocalDate startDate,
+            @RequestParam(required = false) LocalDate endDate,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Long subCategoryId,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) TransactionType type,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest
+    ) {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        StreamingResponseBody body = exportService.exportTransactions(
+                exportFormat,
+                gzip,
+                startDate,
+                endDate,
+                categoryId,
+                subCategoryId,
+                minAmount,
+                maxAmount,
+                type
+        );
+        ExportTimeoutInterceptor.markExport(webRequest);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("transactions." + exportFormat.extension())
+                        .build()
+                        .toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .cacheControl(CacheControl.noStore());
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
     @GetMapping("/transactions/{id}")
     public ExpenseDtos.ExpenseResponse getTransaction(@PathVariable Long id) {
         return expenseService.getTransaction(id);
     }
 
     @GetMapping("/dashboard/summary")
-    public ExpenseDtos.DashboardSummaryResponse getDashboardSummary(
-            @RequestParam(defaultValue = "5") int topN
+    public ResponseEntity<ExpenseDtos.DashboardSummaryResponse> getDashboardSummary(
+            @RequestParam(defaultValue = "5") int topN,
+            WebRequest webRequest
+    ) {
+        return dashboardSummary(topN, webRequest, "", summary -> summary);
+    }
+
+    @GetMapping(value = "/dashboard/summary", params = "shape=columnar")
+    public ResponseEntity<ColumnarDtos.ColumnarDashboardSummary> getDashboardSummaryColumnar(
+            @RequestParam(defaultValue = "5") int topN,
+            WebRequest webRequest
     ) {
-        return expenseService.getDashboardSummary(topN);
+        return dashboardSummary(topN, webRequest, "-columnar", ColumnarDtos.ColumnarDashboardSummary::of);
+    }
+
+    @PostMapping("/dashboard/rollups/rebuild")
+    public ExpenseDtos.RollupRebuildResponse rebuildDashboardRollups() {
+        return rollupService.rebuildCurrentUser();
+    }
+
+    @GetMapping("/dashboard/rollups/verify")
+    public ExpenseDtos.RollupVerificationResponse verifyDashboardRollups() {
+        return rollupService.verifyCurrentUser();
+    }
+
+    @PostMapping("/dashboard/snapshots/close")
+    public ExpenseDtos.MonthCloseResponse closeDashboardMonths() {
+        return snapshotService.closeCurrentUser();
     }
 
     @PostMapping("/expenses")
@@ -89,6 +263,31 @@ public class ExpenseController {
         return expenseService.createExpense(request);
     }
 
+    @PostMapping(value = "/transactions", params = "async=true")
+    public ResponseEntity<ExpenseDtos.IngestionTicketResponse> enqueueTransaction(
+            @Valid @RequestBody ExpenseDtos.CreateExpenseRequest request
+    ) {
+        ExpenseDtos.IngestionTicketResponse ticket = ingestionService.enqueue(request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/transactions/tickets/" + ticket.ticketId()))
+                .body(ticket);
+    }
+
+    @GetMapping("/transactions/tickets/{ticketId}")
+    public ExpenseDtos.IngestionTicketResponse getIngestionTicket(@PathVariable String ticketId) {
+        return ingestionService.getTicket(ticketId);
+    }
+
+    @PostMapping(value = "/transactions/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ExpenseDtos.ImportResponse importTransactions(@RequestParam("file") MultipartFile file) {
+        return importService.importTransactions(file);
+    }
+
+    @PostMapping("/transactions/batch")
+    public ExpenseDtos.BatchResponse applyTransactionBatch(@Valid @RequestBody ExpenseDtos.BatchRequest request) {
+        return batchService.applyBatch(request.operations());
+    }
+
     @PutMapping("/transactions/{id}")
     public ExpenseDtos.ExpenseResponse updateTransaction(
             @PathVariable Long id,
@@ -108,4 +307,61 @@ public class ExpenseController {
     public void deleteExpense(@PathVariable Long id) {
         expenseService.deleteTransaction(id);
     }
+
+    // Shape and encoding are both part of the ETag, since each combination is a different representation. The encoding
+    // is negotiated here rather than by the message converters so the tag and the body always agree on it.
+    private <T> ResponseEntity<T> dashboardSummary(
+            int topN,
+            WebRequest webRequest,
+            String shapeSuffix,
+            Function<ExpenseDtos.DashboardSummaryResponse, T> shape
+    ) {
+        String username = userContext.currentUsername();
+        MediaType encoding = summaryEncoding(webRequest.getHeader(HttpHeaders.ACCEPT));
+        String etag = dashboardSummaryCache.etag(username, topN) + shapeSuffix
+                + (MediaType.APPLICATION_CBOR.equals(encoding) ? "-cbor" : "");
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).header(HttpHeaders.VARY, HttpHeaders.ACCEPT).build();
+        }
+        ExpenseDtos.DashboardSummaryResponse summary =
+                dashboardSummaryCache.get(username, topN, () -> dashboardService.getDashboardSummary(topN));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().header(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (encoding != null) {
+            response.contentType(encoding);
+        }
+        if (summary.partial()) {
+            return response.cacheControl(CacheControl.noStore()).body(shape.apply(summary));
+        }
+        return response.eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(shape.apply(summary));
+    }
+
+    /**
+     * CBOR when the client ranks it above JSON, JSON when it ranks JSON at least as high, and {@code null} when it
+     * accepts neither (or sends a malformed header), leaving the converters to answer 406.
+     */
+    private static MediaType summaryEncoding(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        double json = 0;
+        double cbor = 0;
+        try {
+            for (MediaType accepted : MediaType.parseMediaTypes(accept)) {
+                if (accepted.includes(MediaType.APPLICATION_JSON)) {
+                    json = Math.max(json, accepted.getQualityValue());
+                }
+                if (accepted.includes(MediaType.APPLICATION_CBOR)) {
+                    cbor = Math.max(cbor, accepted.getQualityValue());
+                }
+            }
+        } catch (InvalidMediaTypeException ex) {
+            return null;
+        }
+        if (json == 0 && cbor == 0) {
+            return null;
+        }
+        return cbor > json ? MediaType.APPLICATION_CBOR : MediaType.APPLICATION_JSON;
+    }
 }
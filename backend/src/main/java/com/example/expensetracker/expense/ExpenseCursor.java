@@ -0,0 +1,74 @@
+package com.example.expensetracker.expense;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a keyset page: the sort it was produced under plus that row's full sort key. It is
+ * handed to clients as an opaque URL-safe token, and a token is only accepted back for the same sort.
+ */
+record ExpenseCursor(
+        SortKey sortKey,
+        Sort.Direction direction,
+        BigDecimal amount,
+        LocalDate expenseDate,
+        Long id
+) {
+
+    private static final String SEPARATOR = "|";
+
+    enum SortKey {
+        EXPENSE_DATE,
+        AMOUNT
+    }
+
+    static ExpenseCursor after(SortKey sortKey, Sort.Direction direction, Expense expense) {
+        return new ExpenseCursor(
+                sortKey,
+                direction,
+                sortKey == SortKey.AMOUNT ? expense.getAmount() : null,
+                expense.getExpenseDate(),
+                expense.getId()
+        );
+    }
+
+    String encode() {
+        String raw = String.join(
+                SEPARATOR,
+                sortKey.name(),
+                direction.name(),
+                amount == null ? "" : amount.toPlainString(),
+                expenseDate.toString(),
+                id.toString()
+        );
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ExpenseCursor decode(String token, SortKey sortKey, Sort.Direction direction) {
+        ExpenseCursor cursor;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            SortKey decodedSortKey = SortKey.valueOf(parts[0]);
+            cursor = new ExpenseCursor(
+                    decodedSortKey,
+                    Sort.Direction.valueOf(parts[1]),
+                    decodedSortKey == SortKey.AMOUNT ? new BigDecimal(parts[2]) : null,
+                    LocalDate.parse(parts[3]),
+                    Long.valueOf(parts[4])
+            );
+        } catch (RuntimeException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "cursor is invalid");
+        }
+        if (cursor.sortKey() != sortKey || cursor.direction() != direction) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "cursor does not match sortBy and sortDir");
+        }
+        return cursor;
+    }
+}
@@ -3,6 +3,7 @@ package com.example.expensetracker.expense;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
@@ -30,12 +31,17 @@ public final class ExpenseDtos {
     ) {
     }
 
+    /**
+     * A page of transactions. {@code nextCursor} continues the listing in cursor mode and is null on the last page;
+     * in cursor mode {@code page} is always 0 and the totals are null unless {@code includeTotal} was requested.
+     */
     public record ExpensePageResponse(
             List<ExpenseResponse> items,
             int page,
             int size,
-            long totalElements,
-            int totalPages
+            Long totalElements,
+            Integer totalPages,
+            String nextCursor
     ) {
     }
 
@@ -56,7 +62,9 @@ public final class ExpenseDtos {
             List<MonthlySavingRatePoint> monthlySavingRatePoints,
             List<BudgetUtilizationPoint> budgetUtilizationPoints,
             List<CategoryTotalPoint> currentMonthCategoryTotals,
-            List<CategoryYearTrendPoint> topYearlyCategoryTrends
+            List<CategoryYearTrendPoint> topYearlyCategoryTrends,
+            boolean partial,
+            List<String> degradedSections
     ) {
     }
 
@@ -117,6 +125,78 @@ public final class ExpenseDtos {
     ) {
     }
 
+    public record RollupRebuildResponse(int bucketCount) {
+    }
+
+    public record MonthCloseResponse(int closedMonths) {
+    }
+
+    public record RollupVerificationResponse(
+            int storedBuckets,
+            long mismatchedBuckets,
+            boolean consistent
+    ) {
+    }
+
+    public record ImportRowError(long line, String message) {
+    }
+
+    public record ImportResponse(
+            long rowsRead,
+            long imported,
+            long rejected,
+            List<ImportRowError> errors,
+            boolean errorsTruncated
+    ) {
+    }
+
+    public enum BatchAction {
+        CREATE,
+        UPDATE,
+        DELETE
+    }
+
+    /**
+     * {@code id} is required for updates and deletes, {@code transaction} for creates and updates. {@code clientId}
+     * is an optional client-side reference echoed back in the result.
+     */
+    public record BatchOperation(
+            @NotNull BatchAction action,
+            Long id,
+            String clientId,
+            CreateExpenseRequest transaction
+    ) {
+    }
+
+    public record BatchRequest(@NotEmpty List<@NotNull BatchOperation> operations) {
+    }
+
+    /**
+     * {@code status} is the HTTP status the operation would have produced as a single call; {@code error} is set
+     * when it was rejected.
+     */
+    public record BatchOperationResult(
+            int index,
+            String clientId,
+            BatchAction action,
+            int status,
+            Long id,
+            ExpenseResponse transaction,
+            String error
+    ) {
+    }
+
+    public record BatchResponse(int applied, int rejected, List<BatchOperationResult> results) {
+    }
+
+    public record IngestionTicketResponse(
+            String ticketId,
+            IngestionStatus status,
+            Long transactionId,
+            String error
+    ) {
+    }
+
     public record CreateExpenseRequest(
             @NotNull @DecimalMin(value = "0.01") @Digits(integer = 12, fraction = 2) BigDecimal amount,
             @NotBlank @Size(max = 300) String description,
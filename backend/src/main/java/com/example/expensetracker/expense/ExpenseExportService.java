@@ -0,0 +1,247 @@
+package com.example.expensetracker.expense;
+
+import com.example.expensetracker.auth.UserContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams a user's transactions as CSV or NDJSON straight from a forward-only JDBC cursor. Rows are fetched in
+ * batches of {@code app.export.fetch-size} and written one at a time, never collected or attached to a persistence
+ * context, so heap use is the same for a thousand rows as for ten million. The MySQL URL sets
+ * {@code useCursorFetch=true} so that the driver honours the fetch size with a server-side cursor instead of reading
+ * the whole result into memory.
+ */
+@Service
+public class ExpenseExportService {
+
+    static final String CSV_HEADER = "id,amount,description,expenseDate,type,categoryId,categoryName,"
+            + "subCategoryId,subCategoryName,budgetId,budgetName";
+
+    private static final String SELECT = """
+            SELECT e.id, e.amount, e.description, e.expense_date, e.transaction_type,
+                   c.id AS category_id, c.name AS category_name,
+                   s.id AS sub_category_id, s.name AS sub_category_name,
+                   b.id AS budget_id, b.name AS budget_name
+            FROM expenses e
+            JOIN categories c ON c.id = e.category_id
+            JOIN sub_categories s ON s.id = e.sub_category_id
+            LEFT JOIN budgets b ON b.id = e.budget_id
+            WHERE e.owner_id = :ownerId""";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectWriter jsonWriter;
+    private final UserContext userContext;
+
+    public ExpenseExportService(
+            DataSource dataSource,
+            ObjectMapper objectMapper,
+            UserContext userContext,
+            @Value("${app.export.fetch-size:1000}") int fetchSize
+    ) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(fetchSize);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+        this.jsonWriter = objectMapper.writerFor(ExpenseDtos.ExpenseResponse.class);
+        this.userContext = userContext;
+    }
+
+    /**
+     * Validates the request and resolves the owner on the calling thread, and returns the body that runs the export
+     * once the response is being written. Transactions of both types are exported unless {@code type} is given.
+     */
+    public StreamingResponseBody exportTransactions(
+            ExportFormat format,
+            boolean gzip,
+            LocalDate startDate,
+            LocalDate endDate,
+            Long categoryId,
+            Long subCategoryId,
+            BigDecimal minAmount,
+            BigDecimal maxAmount,
+            TransactionType type
+    ) {
+        Long ownerId = userContext.currentUserId();
+        ExpenseService.validateFilterRanges(startDate, endDate, minAmount, maxAmount);
+        Filters filters = new Filters(startDate, endDate, categoryId, subCategoryId, minAmount, maxAmount, type);
+        return outputStream -> {
+            if (!gzip) {
+                write(ownerId, filters, format, outputStream);
+                return;
+            }
+            GZIPOutputStream compressed = new GZIPOutputStream(outputStream, BUFFER_SIZE);
+            write(ownerId, filters, format, compressed);
+            compressed.finish();
+        };
+    }
+
+    /**
+     * Writes every matching transaction, newest first, and returns how many were written.
+     */
+    long write(Long ownerId, Filters filters, ExportFormat format, OutputStream target) throws IOException {
+        BufferedOutputStream out = new BufferedOutputStream(target, BUFFER_SIZE);
+        if (format == ExportFormat.CSV) {
+            out.write((CSV_HEADER + "\r\n").getBytes(StandardCharsets.UTF_8));
+        }
+
+        StringBuilder sql = new StringBuilder(SELECT);
+        MapSqlParameterSource parameters = new MapSqlParameterSource("ownerId", ownerId);
+        filters.appendTo(sql, parameters);
+        sql.append(" ORDER BY e.expense_date DESC, e.id DESC");
+
+        long[] written = new long[1];
+        RowCallbackHandler handler = resultSet -> {
+            try {
+                ExpenseDtos.ExpenseResponse row = toResponse(resultSet);
+                if (format == ExportFormat.CSV) {
+                    out.write(toCsvLine(row).getBytes(StandardCharsets.UTF_8));
+                } else {
+                    out.write(jsonWriter.writeValueAsBytes(row));
+                    out.write('\n');
+                }
+                written[0]++;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        };
+        try {
+            jdbcTemplate.query(sql.toString(), parameters, handler);
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        out.flush();
+        return written[0];
+    }
+
+    private static ExpenseDtos.ExpenseResponse toResponse(ResultSet resultSet) throws SQLException {
+        return new ExpenseDtos.ExpenseResponse(
+                resultSet.getLong("id"),
+                resultSet.getBigDecimal("amount"),
+                resultSet.getString("description"),
+                resultSet.getObject("expense_date", LocalDate.class),
+                TransactionType.valueOf(resultSet.getString("transaction_type")),
+                resultSet.getLong("category_id"),
+                resultSet.getString("category_name"),
+                resultSet.getLong("sub_category_id"),
+                resultSet.getString("sub_category_name"),
+                resultSet.getObject("budget_id", Long.class),
+                resultSet.getString("budget_name")
+        );
+    }
+
+    static String toCsvLine(ExpenseDtos.ExpenseResponse row) {
+        StringBuilder line = new StringBuilder(160);
+        line.append(row.id()).append(',')
+                .append(row.amount().toPlainString()).append(',');
+        appendCsvField(line, row.description());
+        line.append(',').append(row.expenseDate()).append(',')
+                .append(row.type()).append(',')
+                .append(row.categoryId()).append(',');
+        appendCsvField(line, row.categoryName());
+        line.append(',').append(row.subCategoryId()).append(',');
+        appendCsvField(line, row.subCategoryName());
+        line.append(',');
+        if (row.budgetId() != null) {
+            line.append(row.budgetId());
+        }
+        line.append(',');
+        appendCsvField(line, row.budgetName());
+        return line.append("\r\n").toString();
+    }
+
+    // RFC 4180: fields containing a separator, quote or line break are quoted, with quotes doubled. Text that a
+    // spreadsheet would evaluate as a formula is first prefixed with an apostrophe so it opens as plain text.
+    private static void appendCsvField(StringBuilder line, String value) {
+        if (value == null) {
+            return;
+        }
+        if (!value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+        line.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    /**
+     * Undoes the apostrophe that {@link #toCsvLine} puts in front of formula-like text, so that an exported file
+     * imports with its values unchanged.
+     */
+    static String restoreFormulaPrefix(String value) {
+        if (value != null && value.length() > 1 && value.charAt(0) == '\''
+                && FORMULA_PREFIXES.indexOf(value.charAt(1)) >= 0) {
+            return value.substring(1);
+        }
+        return value;
+    }
+
+    record Filters(
+            LocalDate startDate,
+            LocalDate endDate,
+            Long categoryId,
+            Long subCategoryId,
+            BigDecimal minAmount,
+            BigDecimal maxAmount,
+            TransactionType type
+    ) {
+
+        // Like ExpenseSpecifications, only the supplied filters become predicates.
+        void appendTo(StringBuilder sql, MapSqlParameterSource parameters) {
+            if (type != null) {
+                sql.append(" AND e.transaction_type = :type");
+                parameters.addValue("type", type.name());
+            }
+            if (startDate != null) {
+                sql.append(" AND e.expense_date >= :startDate");
+                parameters.addValue("startDate", startDate);
+            }
+            if (endDate != null) {
+                sql.append(" AND e.expense_date <= :endDate");
+                parameters.addValue("endDate", endDate);
+            }
+            if (categoryId != null) {
+                sql.append(" AND e.category_id = :categoryId");
+                parameters.addValue("categoryId", categoryId);
+            }
+            if (subCategoryId != null) {
+                sql.append(" AND e.sub_category_id = :subCategoryId");
+                parameters.addValue("subCategoryId", subCategoryId);
+            }
+            if (minAmount != null) {
+                sql.append(" AND e.amount >= :minAmount");
+                parameters.addValue("minAmount", minAmount);
+            }
+            if (maxAmount != null) {
+                sql.append(" AND e.amount <= :maxAmount");
+                parameters.addValue("maxAmount", maxAmount);
+            }
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.example.expensetracker.expense;
+
+import com.example.expensetracker.auth.UserContext;
+import com.example.expensetracker.budget.BudgetRepository;
+import com.example.expensetracker.cache.UserDataChangedEvent;
+import com.example.expensetracker.cache.UserDataKind;
+import com.example.expensetracker.category.CategoryRepository;
+import com.example.expensetracker.category.SubCategoryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bulk CSV import of transactions. The upload is read one record at a time, category, sub-category and budget
+ * references are resolved against the user's reference data loaded once up front, and valid rows are inserted with
+ * JDBC batches, one transaction per {@code app.import.batch-size} rows. Invalid rows are skipped and reported by line
+ * number; rows in chunks that already committed stay imported if a later chunk fails.
+ *
+ * <p>The header names the columns, in any order. {@code amount}, {@code description} and {@code expenseDate} are
+ * required, the category and sub-category are given by id or name, the budget is optional and falls back to the
+ * default budget, and {@code type} defaults to EXPENSE. An export file can therefore be imported as is.
+ */
+@Service
+public class ExpenseImportService {
+
+    private final ExpenseBatchInserter inserter;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final CategoryRepository categoryRepository;
+    private final SubCategoryRepository subCategoryRepository;
+    private final BudgetRepository budgetRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserContext userContext;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public ExpenseImportService(
+            ExpenseBatchInserter inserter,
+            PlatformTransactionManager transactionManager,
+            CategoryRepository categoryRepository,
+            SubCategoryRepository subCategoryRepository,
+            BudgetRepository budgetRepository,
+            ApplicationEventPublisher eventPublisher,
+            UserContext userContext,
+            @Value("${app.import.batch-size:1000}") int batchSize,
+            @Value("${app.import.max-reported-errors:1000}") int maxReportedErrors
+    ) {
+        this.inserter = inserter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.categoryRepository = categoryRepository;
+        this.subCategoryRepository = subCategoryRepository;
+        this.budgetRepository = budgetRepository;
+        this.eventPublisher = eventPublisher;
+        this.userContext = userContext;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public ExpenseDtos.ImportResponse importTransactions(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "file is required");
+        }
+        try (InputStream in = file.getInputStream()) {
+            return importTransactions(in);
+        } catch (IOException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Could not read file: " + ex.getMessage());
+        }
+    }
+
+    ExpenseDtos.ImportResponse importTransactions(InputStream in) throws IOException {
+        String username = userContext.currentUsername();
+        Long ownerId = userContext.currentUserId();
+        ExpenseReferenceData references = readOnlyTransactionTemplate.execute(status -> ExpenseReferenceData.load(
+                ownerId,
+                categoryRepository,
+                subCategoryRepository,
+                budgetRepository
+        ));
+
+        CsvRecordReader reader = new CsvRecordReader(
+                new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024)
+        );
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "File is empty");
+        }
+        Columns columns = Columns.of(header);
+
+        List<ExpenseDtos.ImportRowError> errors = new ArrayList<>();
+        List<ExpenseBatchInserter.NewExpense> chunk = new ArrayList<>(batchSize);
+        long rowsRead = 0;
+        long imported = 0;
+        long rejected = 0;
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            rowsRead++;
+            try {
+                chunk.add(columns.parse(record, references));
+            } catch (InvalidRowException ex) {
+                rejected++;
+                if (errors.size() < maxReportedErrors) {
+                    errors.add(new ExpenseDtos.ImportRowError(reader.recordLine(), ex.getMessage()));
+                }
+            }
+            if (chunk.size() == batchSize) {
+                imported += insert(chunk, username, ownerId);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            imported += insert(chunk, username, ownerId);
+        }
+        return new ExpenseDtos.ImportResponse(rowsRead, imported, rejected, errors, rejected > errors.size());
+    }
+
+    private int insert(List<ExpenseBatchInserter.NewExpense> rows, String username, Long ownerId) {
+        return transactionTemplate.execute(status -> {
+            List<ExpenseSnapshot> inserted = inserter.insert(rows, ownerId, username);
+            eventPublisher.publishEvent(new ExpensesInsertedEvent(username, inserted));
+            eventPublisher.publishEvent(new UserDataChangedEvent(username, UserDataKind.TRANSACTIONS));
+            return inserted.size();
+        });
+    }
+
+    /**
+     * Positions of the recognised header columns; -1 when a column is absent.
+     */
+    private record Columns(
+            int amount,
+            int description,
+            int expenseDate,
+            int type,
+            int categoryId,
+            int categoryName,
+            int subCategoryId,
+            int subCategoryName,
+            int budgetId,
+            int budgetName
+    ) {
+
+        static Columns of(List<String> header) {
+            Map<String, Integer> positions = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                positions.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            Columns columns = new Columns(
+                    positions.getOrDefault("amount", -1),
+                    positions.getOrDefault("description", -1),
+                    positions.getOrDefault("expensedate", -1),
+                    positions.getOrDefault("type", -1),
+                    positions.getOrDefault("categoryid", -1),
+                    positions.getOrDefault("categoryname", -1),
+                    positions.getOrDefault("subcategoryid", -1),
+                    positions.getOrDefault("subcategoryname", -1),
+                    positions.getOrDefault("budgetid", -1),
+                    positions.getOrDefault("budgetname", -1)
+            );
+            if (columns.amount < 0 || columns.description < 0 || columns.expenseDate < 0
+                    || (columns.categoryId < 0 && columns.categoryName < 0)
+                    || (columns.subCategoryId < 0 && columns.subCategoryName < 0)) {
+                throw new ResponseStatusException(
+                        HttpStatus.BAD_REQUEST,
+                        "Header must include amount, description, expenseDate, categoryId or categoryName, "
+                                + "and subCategoryId or subCategoryName"
+                );
+            }
+            return columns;
+        }
+
+        // Applies the same rules as a single create through ExpenseService.
+        ExpenseBatchInserter.NewExpense parse(List<String> record, ExpenseReferenceData references) {
+            BigDecimal parsedAmount = parseAmount(value(record, amount));
+            String parsedDescription = text(record, description);
+            if (parsedDescription == null) {
+                throw new InvalidRowException("description is required");
+            }
+            if (parsedDescription.length() > 300) {
+                throw new InvalidRowException("description must be at most 300 characters");
+            }
+            LocalDate date = parseDate(value(record, expenseDate));
+            TransactionType resolvedType = parseType(value(record, type));
+
+            ExpenseReferenceData.CategoryRef category = resolveCategory(record, references);
+            ExpenseReferenceData.SubCategoryRef subCategory = resolveSubCategory(record, references, category.id());
+            if (!subCategory.categoryId().equals(category.id())) {
+                throw new InvalidRowException("Sub-category does not belong to selected category");
+            }
+            String typeViolation = ExpenseService.categoryTypeViolation(resolvedType, category.type());
+            if (typeViolation != null) {
+                throw new InvalidRowException(typeViolation);
+            }
+            return new ExpenseBatchInserter.NewExpense(
+                    parsedAmount,
+                    parsedDescription,
+                    date,
+                    resolvedType,
+                    category.id(),
+                    subCategory.id(),
+                    resolveBudget(record, references)
+            );
+        }
+
+        private ExpenseReferenceData.CategoryRef resolveCategory(
+                List<String> record,
+                ExpenseReferenceData references
+        ) {
+            String id = value(record, categoryId);
+            String name = text(record, categoryName);
+            if (id == null && name == null) {
+                throw new InvalidRowException("category is required");
+            }
+            ExpenseReferenceData.CategoryRef category = id != null
+                    ? references.category(parseId(id, "categoryId"))
+                    : references.categoryNamed(name);
+            if (category == null) {
+                throw new InvalidRowException("Category not found");
+            }
+            return category;
+        }
+
+        private ExpenseReferenceData.SubCategoryRef resolveSubCategory(
+                List<String> record,
+                ExpenseReferenceData references,
+                Long categoryId
+        ) {
+            String id = value(record, subCategoryId);
+            String name = text(record, subCategoryName);
+            if (id == null && name == null) {
+                throw new InvalidRowException("sub-category is required");
+            }
+            ExpenseReferenceData.SubCategoryRef subCategory = id != null
+                    ? references.subCategory(parseId(id, "subCategoryId"))
+                    : references.subCategoryNamed(categoryId, name);
+            if (subCategory == null) {
+                throw new InvalidRowException("Sub-category not found");
+            }
+            return subCategory;
+        }
+
+        private Long resolveBudget(List<String> record, ExpenseReferenceData references) {
+            String id = value(record, budgetId);
+            String name = text(record, budgetName);
+            if (id == null && name == null) {
+                if (references.defaultBudget() == null) {
+                    throw new InvalidRowException("Default budget not configured");
+                }
+                return references.defaultBudget().id();
+            }
+            ExpenseReferenceData.BudgetRef budget = id != null
+                    ? references.budget(parseId(id, "budgetId"))
+                    : references.budgetNamed(name);
+            if (budget == null) {
+                throw new InvalidRowException("Budget not found");
+            }
+            return budget.id();
+        }
+
+        private static String value(List<String> record, int position) {
+            if (position < 0 || position >= record.size()) {
+                return null;
+            }
+            String value = record.get(position).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        // Free text as the export writes it, with its formula guard removed.
+        private static String text(List<String> record, int position) {
+            return ExpenseExportService.restoreFormulaPrefix(value(record, position));
+        }
+
+        private static BigDecimal parseAmount(String value) {
+            if (value == null) {
+                throw new InvalidRowException("amount is required");
+            }
+            BigDecimal amount;
+            try {
+                amount = new BigDecimal(value);
+            } catch (NumberFormatException ex) {
+                throw new InvalidRowException("amount must be a number");
+            }
+            if (amount.compareTo(new BigDecimal("0.01")) < 0) {
+                throw new InvalidRowException("amount must be at least 0.01");
+            }
+            if (amount.scale() > 2 || amount.precision() - amount.scale() > 12) {
+                throw new InvalidRowException("amount must have at most 12 integer digits and 2 decimals");
+            }
+            return amount;
+        }
+
+        private static LocalDate parseDate(String value) {
+            if (value == null) {
+                throw new InvalidRowException("expenseDate is required");
+            }
+            try {
+                return LocalDate.parse(value);
+            } catch (DateTimeParseException ex) {
+                throw new InvalidRowException("expenseDate must be an ISO date (yyyy-MM-dd)");
+            }
+        }
+
+        private static TransactionType parseType(String value) {
+            if (value == null) {
+                return TransactionType.EXPENSE;
+            }
+            try {
+                return TransactionType.valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new InvalidRowException("type must be EXPENSE or INCOME");
+            }
+        }
+
+        private static Long parseId(String value, String field) {
+            try {
+                return Long.valueOf(value);
+            } catch (NumberFormatException ex) {
+                throw new InvalidRowException(field + " must be a number");
+            }
+        }
+    }
+
+    private static final class InvalidRowException extends RuntimeException {
+
+        InvalidRowException(String message) {
+            super(message, null, false, false);
+        }
+    }
+}
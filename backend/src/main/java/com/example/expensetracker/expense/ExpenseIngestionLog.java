@@ -0,0 +1,179 @@
+package com.example.expensetracker.expense;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only write-ahead log for {@link ExpenseIngestionService}. Each accepted request is written as one JSON line
+ * and forced to disk before the caller gets its ticket; a DONE line is appended once the writer has committed it.
+ * When nothing is outstanding the file is truncated, so it only ever holds the unacknowledged tail.
+ */
+final class ExpenseIngestionLog implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseIngestionLog.class);
+
+    enum Operation {
+        ENQUEUED,
+        DONE
+    }
+
+    record Entry(
+            Operation operation,
+            String ticketId,
+            Long ownerId,
+            String username,
+            ExpenseDtos.CreateExpenseRequest request,
+            LocalDateTime acceptedAt
+    ) {
+
+        static Entry enqueued(
+                String ticketId,
+                Long ownerId,
+                String username,
+                ExpenseDtos.CreateExpenseRequest request,
+                LocalDateTime acceptedAt
+        ) {
+            return new Entry(Operation.ENQUEUED, ticketId, ownerId, username, request, acceptedAt);
+        }
+
+        static Entry done(String ticketId) {
+            return new Entry(Operation.DONE, ticketId, null, null, null, null);
+        }
+    }
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private FileChannel channel;
+    private long pending;
+
+    private ExpenseIngestionLog(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Opens the log at {@code path}, creating it if needed. Entries that were enqueued but never acknowledged are
+     * returned in their original order and rewritten as a compacted log; a torn last line from a crash mid-append is
+     * dropped, since its request was never acknowledged to the client.
+     */
+    static ExpenseIngestionLog open(Path path, ObjectMapper objectMapper, List<Entry> unacknowledged) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        ExpenseIngestionLog ingestionLog = new ExpenseIngestionLog(path, objectMapper);
+        Map<String, Entry> outstanding = ingestionLog.replay();
+        unacknowledged.addAll(outstanding.values());
+
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        try (FileChannel out = FileChannel.open(
+                compacted,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING
+        )) {
+            for (Entry entry : outstanding.values()) {
+                ingestionLog.write(out, entry);
+            }
+            out.force(true);
+        }
+        Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        ingestionLog.channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        ingestionLog.pending = outstanding.size();
+        return ingestionLog;
+    }
+
+    private Map<String, Entry> replay() throws IOException {
+        Map<String, Entry> outstanding = new LinkedHashMap<>();
+        if (!Files.exists(path)) {
+            return outstanding;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                Entry entry;
+                try {
+                    entry = objectMapper.readValue(line, Entry.class);
+                } catch (JsonProcessingException ex) {
+                    log.warn("Skipping unreadable ingestion log line {} in {}", lineNumber, path);
+                    continue;
+                }
+                if (entry.operation() == Operation.ENQUEUED) {
+                    outstanding.put(entry.ticketId(), entry);
+                } else {
+                    outstanding.remove(entry.ticketId());
+                }
+            }
+        }
+        return outstanding;
+    }
+
+    /**
+     * Appends an accepted request and returns once it is on disk.
+     */
+    synchronized void append(Entry entry) {
+        try {
+            write(channel, entry);
+            channel.force(false);
+            pending++;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Records that the given tickets are committed, and truncates the file once every entry has been acknowledged.
+     */
+    synchronized void acknowledge(Collection<String> ticketIds) {
+        try {
+            pending -= ticketIds.size();
+            if (pending <= 0) {
+                pending = 0;
+                channel.truncate(0);
+            } else {
+                for (String ticketId : ticketIds) {
+                    write(channel, Entry.done(ticketId));
+                }
+            }
+            channel.force(false);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void write(FileChannel target, Entry entry) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(entry);
+        ByteBuffer buffer = ByteBuffer.allocate(json.length + 1).put(json).put((byte) '\n').flip();
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,412 @@
+package com.example.expensetracker.expense;
+
+import com.example.expensetracker.auth.UserContext;
+import com.example.expensetracker.budget.BudgetRepository;
+import com.example.expensetracker.cache.UserDataChangedEvent;
+import com.example.expensetracker.cache.UserDataKind;
+import com.example.expensetracker.category.CategoryRepository;
+import com.example.expensetracker.category.SubCategoryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opt-in asynchronous create path. A request is validated, appended to {@link ExpenseIngestionLog} and queued, and
+ * the caller gets a ticket straight away; a single writer thread drains up to {@code app.ingest.batch-size} queued
+ * requests at a time and commits them together through {@link ExpenseBatchInserter}, so many small writes cost one
+ * transaction and one multi-row INSERT. At most {@code app.ingest.queue-capacity} requests may be outstanding; beyond
+ * that callers get 503 with {@code Retry-After}. Ticket rows are written in the same transaction as the transactions
+ * they describe, which is what lets entries replayed from the log after a crash be skipped when they already
+ * committed.
+ */
+@Service
+public class ExpenseIngestionService implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseIngestionService.class);
+
+    private static final String INSERT_TICKET = """
+            INSERT INTO ingestion_tickets (
+                ticket_id, owner_id, status, expense_id, error, accepted_on, completed_on
+            )
+            VALUES (:ticketId, :ownerId, :status, :expenseId, :error, :acceptedOn, :completedOn)""";
+    private static final long POLL_INTERVAL_MS = 250;
+    private static final long MAX_RETRY_BACKOFF_MS = 5_000;
+    private static final int MAX_ERROR_LENGTH = 300;
+
+    private final CategoryRepository categoryRepository;
+    private final SubCategoryRepository subCategoryRepository;
+    private final BudgetRepository budgetRepository;
+    private final IngestionTicketRepository ticketRepository;
+    private final ExpenseBatchInserter inserter;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserContext userContext;
+    private final ObjectMapper objectMapper;
+    private final Path logPath;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final long retryAfterSeconds;
+
+    private final BlockingQueue<ExpenseIngestionLog.Entry> queue = new LinkedBlockingQueue<>();
+    private final Map<String, ExpenseIngestionLog.Entry> queued = new ConcurrentHashMap<>();
+    private volatile Semaphore permits = new Semaphore(0);
+    private volatile ExpenseIngestionLog ingestionLog;
+    private volatile Thread writer;
+    private volatile boolean running;
+
+    public ExpenseIngestionService(
+            CategoryRepository categoryRepository,
+            SubCategoryRepository subCategoryRepository,
+            BudgetRepository budgetRepository,
+            IngestionTicketRepository ticketRepository,
+            ExpenseBatchInserter inserter,
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            UserContext userContext,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.ingest.log-path:./data/ingestion.log}") String logPath,
+            @Value("${app.ingest.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.ingest.batch-size:200}") int batchSize,
+            @Value("${app.ingest.retry-after-seconds:1}") long retryAfterSeconds
+    ) {
+        this.categoryRepository = categoryRepository;
+        this.subCategoryRepository = subCategoryRepository;
+        this.budgetRepository = budgetRepository;
+        this.ticketRepository = ticketRepository;
+        this.inserter = inserter;
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.userContext = userContext;
+        this.objectMapper = objectMapper;
+        this.logPath = Path.of(logPath);
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.retryAfterSeconds = retryAfterSeconds;
+        Gauge.builder("transactions.ingest.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+    }
+
+    /**
+     * Accepts an already validated request for the current user and returns its ticket once the request is durable.
+     * References are resolved by the writer, so a missing category surfaces as a REJECTED ticket rather than a 404.
+     */
+    public ExpenseDtos.IngestionTicketResponse enqueue(ExpenseDtos.CreateExpenseRequest request) {
+        Long ownerId = userContext.currentUserId();
+        String username = userContext.currentUsername();
+        if (!running) {
+            throw new QueueUnavailableException("Asynchronous ingestion is not running", retryAfterSeconds);
+        }
+        if (!permits.tryAcquire()) {
+            throw new QueueUnavailableException("Ingestion queue is full", retryAfterSeconds);
+        }
+        ExpenseIngestionLog.Entry entry = ExpenseIngestionLog.Entry.enqueued(
+                UUID.randomUUID().toString(),
+                ownerId,
+                username,
+                request,
+                LocalDateTime.now()
+        );
+        try {
+            ingestionLog.append(entry);
+        } catch (UncheckedIOException ex) {
+            permits.release();
+            log.error("Could not append to ingestion log {}", logPath, ex);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Could not accept transaction");
+        }
+        queued.put(entry.ticketId(), entry);
+        queue.add(entry);
+        return new ExpenseDtos.IngestionTicketResponse(entry.ticketId(), IngestionStatus.QUEUED, null, null);
+    }
+
+    public ExpenseDtos.IngestionTicketResponse getTicket(String ticketId) {
+        Long ownerId = userContext.currentUserId();
+        ExpenseIngestionLog.Entry entry = queued.get(ticketId);
+        if (entry != null && entry.ownerId().equals(ownerId)) {
+            return new ExpenseDtos.IngestionTicketResponse(ticketId, IngestionStatus.QUEUED, null, null);
+        }
+        return ticketRepository.findByTicketIdAndOwnerId(ticketId, ownerId)
+                .map(ticket -> new ExpenseDtos.IngestionTicketResponse(
+                        ticket.getTicketId(),
+                        ticket.getStatus(),
+                        ticket.getExpenseId(),
+                        ticket.getError()
+                ))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Ticket not found"));
+    }
+
+    int queueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Replays whatever the log still holds and starts the writer. Replayed entries count against the queue capacity,
+     * so a backlog larger than the capacity refuses new requests until it has drained.
+     */
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        List<ExpenseIngestionLog.Entry> replayed = new ArrayList<>();
+        try {
+            ingestionLog = ExpenseIngestionLog.open(logPath, objectMapper, replayed);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not open ingestion log " + logPath, ex);
+        }
+        if (!replayed.isEmpty()) {
+            log.info("Replaying {} unacknowledged transactions from {}", replayed.size(), logPath);
+        }
+        queue.clear();
+        queued.clear();
+        for (ExpenseIngestionLog.Entry entry : replayed) {
+            queued.put(entry.ticketId(), entry);
+            queue.add(entry);
+        }
+        permits = new Semaphore(queueCapacity - replayed.size());
+        running = true;
+        writer = new Thread(this::drain, "transaction-ingest-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Stops taking requests and lets the writer finish its current batch. Anything still queued stays in the log and
+     * is replayed on the next start.
+     */
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+            ingestionLog.close();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (IOException ex) {
+            log.warn("Could not close ingestion log {}", logPath, ex);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Start before and stop after the embedded web server, which runs in the last phases.
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private void drain() {
+        List<ExpenseIngestionLog.Entry> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                ExpenseIngestionLog.Entry first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                process(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<ExpenseIngestionLog.Entry> batch) throws InterruptedException {
+        try {
+            commit(batch);
+            acknowledge(batch);
+        } catch (RuntimeException ex) {
+            if (batch.size() == 1) {
+                processAlone(batch.get(0), ex);
+                return;
+            }
+            // One bad entry must not hold back the rest, so fall back to committing them one at a time.
+            log.warn("Ingestion batch of {} failed, retrying individually", batch.size(), ex);
+            for (ExpenseIngestionLog.Entry entry : batch) {
+                process(List.of(entry));
+            }
+        }
+    }
+
+    private void processAlone(ExpenseIngestionLog.Entry entry, RuntimeException failure) throws InterruptedException {
+        RuntimeException last = failure;
+        long backoff = POLL_INTERVAL_MS;
+        while (isTransient(last)) {
+            if (!running) {
+                // Left unacknowledged in the log for the next start.
+                return;
+            }
+            log.warn("Transient failure storing ticket {}, retrying in {} ms", entry.ticketId(), backoff, last);
+            Thread.sleep(backoff);
+            backoff = Math.min(backoff * 2, MAX_RETRY_BACKOFF_MS);
+            try {
+                commit(List.of(entry));
+                acknowledge(List.of(entry));
+                return;
+            } catch (RuntimeException ex) {
+                last = ex;
+            }
+        }
+        log.error("Rejecting ticket {}", entry.ticketId(), last);
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertTickets(List.of(
+                    ticketParameters(entry, IngestionStatus.REJECTED, null, "Transaction could not be stored")
+            )));
+            acknowledge(List.of(entry));
+        } catch (RuntimeException ex) {
+            log.error("Could not record rejection of ticket {}; it stays queued until restart", entry.ticketId(), ex);
+        }
+    }
+
+    private static boolean isTransient(Throwable failure) {
+        return failure instanceof TransientDataAccessException
+                || failure instanceof RecoverableDataAccessException
+                || failure instanceof CannotCreateTransactionException;
+    }
+
+    private void commit(List<ExpenseIngestionLog.Entry> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<String> committed = new HashSet<>(ticketRepository.findExistingTicketIds(
+                    batch.stream().map(ExpenseIngestionLog.Entry::ticketId).toList()
+            ));
+            Map<Long, List<ExpenseIngestionLog.Entry>> byOwner = new LinkedHashMap<>();
+            for (ExpenseIngestionLog.Entry entry : batch) {
+                if (!committed.contains(entry.ticketId())) {
+                    byOwner.computeIfAbsent(entry.ownerId(), ownerId -> new ArrayList<>()).add(entry);
+                }
+            }
+
+            List<MapSqlParameterSource> tickets = new ArrayList<>();
+            for (Map.Entry<Long, List<ExpenseIngestionLog.Entry>> owner : byOwner.entrySet()) {
+                ExpenseReferenceData references = ExpenseReferenceData.load(
+                        owner.getKey(),
+                        categoryRepository,
+                        subCategoryRepository,
+                        budgetRepository
+                );
+                List<ExpenseBatchInserter.NewExpense> rows = new ArrayList<>();
+                List<ExpenseIngestionLog.Entry> accepted = new ArrayList<>();
+                for (ExpenseIngestionLog.Entry entry : owner.getValue()) {
+                    try {
+                        rows.add(references.resolve(entry.request(), null));
+                        accepted.add(entry);
+                    } catch (ResponseStatusException ex) {
+                        tickets.add(ticketParameters(entry, IngestionStatus.REJECTED, null, ex.getReason()));
+                    }
+                }
+
+                String username = owner.getValue().get(0).username();
+                List<ExpenseSnapshot> inserted = inserter.insert(rows, owner.getKey(), username);
+                for (int i = 0; i < inserted.size(); i++) {
+                    tickets.add(ticketParameters(accepted.get(i), IngestionStatus.COMPLETED, inserted.get(i).id(), null));
+                }
+                if (!inserted.isEmpty()) {
+                    eventPublisher.publishEvent(new ExpensesInsertedEvent(username, inserted));
+                    eventPublisher.publishEvent(new UserDataChangedEvent(username, UserDataKind.TRANSACTIONS));
+                }
+            }
+            insertTickets(tickets);
+        });
+    }
+
+    private void insertTickets(List<MapSqlParameterSource> tickets) {
+        if (!tickets.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_TICKET, tickets.toArray(MapSqlParameterSource[]::new));
+        }
+    }
+
+    private static MapSqlParameterSource ticketParameters(
+            ExpenseIngestionLog.Entry entry,
+            IngestionStatus status,
+            Long expenseId,
+            String error
+    ) {
+        if (error != null && error.length() > MAX_ERROR_LENGTH) {
+            error = error.substring(0, MAX_ERROR_LENGTH);
+        }
+        return new MapSqlParameterSource()
+                .addValue("ticketId", entry.ticketId())
+                .addValue("ownerId", entry.ownerId())
+                .addValue("status", status.name())
+                .addValue("expenseId", expenseId)
+                .addValue("error", error)
+                .addValue("acceptedOn", entry.acceptedAt())
+                .addValue("completedOn", LocalDateTime.now());
+    }
+
+    private void acknowledge(List<ExpenseIngestionLog.Entry> batch) {
+        List<String> ticketIds = batch.stream().map(ExpenseIngestionLog.Entry::ticketId).toList();
+        try {
+            ingestionLog.acknowledge(ticketIds);
+        } catch (UncheckedIOException ex) {
+            // The ticket rows are committed, so a replay of these entries is skipped anyway.
+            log.warn("Could not acknowledge {} tickets in {}", ticketIds.size(), logPath, ex);
+        }
+        ticketIds.forEach(queued::remove);
+        permits.release(ticketIds.size());
+    }
+
+    /**
+     * 503 that tells the client when to try again.
+     */
+    static final class QueueUnavailableException extends ResponseStatusException {
+
+        private final HttpHeaders headers = new HttpHeaders();
+
+        QueueUnavailableException(String reason, long retryAfterSeconds) {
+            super(HttpStatus.SERVICE_UNAVAILABLE, reason);
+            headers.set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
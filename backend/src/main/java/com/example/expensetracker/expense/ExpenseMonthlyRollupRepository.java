@@ -0,0 +1,115 @@
+package com.example.expensetracker.expense;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface ExpenseMonthlyRollupRepository extends JpaRepository<ExpenseMonthlyRollup, Long> {
+
+    /**
+     * Adds a positive delta to a bucket, creating it if needed, in one statement. The insert takes the bucket's
+     * unique key, so concurrent first writes to the same bucket queue on it instead of racing to create the row.
+     * Managed buckets are flushed first and detached afterwards so that a later read in the same transaction sees
+     * the sum; the same holds for {@link #adjustBucket} and {@link #deleteBucketIfEmpty}.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(nativeQuery = true, value = """
+            INSERT INTO expense_monthly_rollups (
+                month_start, transaction_type, category_id, sub_category_id, total_amount, transaction_count,
+                created_by, created_on
+            )
+            VALUES (:monthStart, :type, :categoryId, :subCategoryId, :amount, :count, :createdBy, CURRENT_TIMESTAMP(6))
+            ON DUPLICATE KEY UPDATE
+                total_amount = total_amount + :amount,
+                transaction_count = transaction_count + :count,
+                updated_by = :createdBy,
+                updated_on = CURRENT_TIMESTAMP(6)
+            """)
+    int addToBucket(
+            @Param("createdBy") String createdBy,
+            @Param("monthStart") LocalDate monthStart,
+            @Param("type") String type,
+            @Param("categoryId") Long categoryId,
+            @Param("subCategoryId") Long subCategoryId,
+            @Param("amount") BigDecimal amount,
+            @Param("count") long count
+    );
+
+    /**
+     * Applies a delta to an existing bucket without creating it; returns 0 when the bucket does not exist. Paired
+     * with {@link #deleteBucketIfEmpty} when the delta removes transactions.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(nativeQuery = true, value = """
+            UPDATE expense_monthly_rollups
+            SET total_amount = total_amount + :amount,
+                transaction_count = transaction_count + :count,
+                updated_by = :createdBy,
+                updated_on = CURRENT_TIMESTAMP(6)
+            WHERE created_by = :createdBy
+              AND month_start = :monthStart
+              AND transaction_type = :type
+              AND category_id = :categoryId
+              AND sub_category_id = :subCategoryId
+            """)
+    int adjustBucket(
+            @Param("createdBy") String createdBy,
+            @Param("monthStart") LocalDate monthStart,
+            @Param("type") String type,
+            @Param("categoryId") Long categoryId,
+            @Param("subCategoryId") Long subCategoryId,
+            @Param("amount") BigDecimal amount,
+            @Param("count") long count
+    );
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(nativeQuery = true, value = """
+            DELETE FROM expense_monthly_rollups
+            WHERE created_by = :createdBy
+              AND month_start = :monthStart
+              AND transaction_type = :type
+              AND category_id = :categoryId
+              AND sub_category_id = :subCategoryId
+              AND transaction_count <= 0
+            """)
+    int deleteBucketIfEmpty(
+            @Param("createdBy") String createdBy,
+            @Param("monthStart") LocalDate monthStart,
+            @Param("type") String type,
+            @Param("categoryId") Long categoryId,
+            @Param("subCategoryId") Long subCategoryId
+    );
+
+    @Query("""
+            SELECT r.monthStart AS monthStart,
+                   r.transactionType AS type,
+                   c.type AS categoryType,
+                   c.name AS categoryName,
+                   SUM(r.totalAmount) AS total,
+                   SUM(r.transactionCount) AS count
+            FROM ExpenseMonthlyRollup r
+            JOIN r.category c
+            WHERE r.createdBy = :createdBy
+              AND r.monthStart IN :monthStarts
+            GROUP BY r.monthStart, r.transactionType, c.type, c.name
+            """)
+    List<ExpenseAggregates.MonthlyCategoryTotal> summarizeMonths(
+            @Param("createdBy") String createdBy,
+            @Param("monthStarts") Collection<LocalDate> monthStarts
+    );
+
+    @Query("SELECT MIN(r.monthStart) FROM ExpenseMonthlyRollup r WHERE r.createdBy = :createdBy")
+    LocalDate findEarliestMonthStart(@Param("createdBy") String createdBy);
+
+    List<ExpenseMonthlyRollup> findAllByCreatedBy(String createdBy);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ExpenseMonthlyRollup r WHERE r.createdBy = :createdBy")
+    int deleteAllByCreatedBy(@Param("createdBy") String createdBy);
+}
@@ -0,0 +1,160 @@
+package com.example.expensetracker.expense;
+
+import com.example.expensetracker.budget.Budget;
+import com.example.expensetracker.budget.BudgetRepository;
+import com.example.expensetracker.category.Category;
+import com.example.expensetracker.category.CategoryRepository;
+import com.example.expensetracker.category.CategoryType;
+import com.example.expensetracker.category.SubCategory;
+import com.example.expensetracker.category.SubCategoryRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * One user's categories, sub-categories and budgets, loaded with three queries so that bulk writes can resolve
+ * references by id or by case-insensitive name without a lookup per row. Lookups return null when nothing matches.
+ */
+final class ExpenseReferenceData {
+
+    record CategoryRef(Long id, String name, CategoryType type) {
+    }
+
+    record SubCategoryRef(Long id, Long categoryId, String name) {
+    }
+
+    record BudgetRef(Long id, String name) {
+    }
+
+    private record SubCategoryName(Long categoryId, String name) {
+    }
+
+    private final Map<Long, CategoryRef> categoriesById = new HashMap<>();
+    private final Map<String, CategoryRef> categoriesByName = new HashMap<>();
+    private final Map<Long, SubCategoryRef> subCategoriesById = new HashMap<>();
+    private final Map<SubCategoryName, SubCategoryRef> subCategoriesByName = new HashMap<>();
+    private final Map<Long, BudgetRef> budgetsById = new HashMap<>();
+    private final Map<String, BudgetRef> budgetsByName = new HashMap<>();
+    private BudgetRef defaultBudget;
+
+    private ExpenseReferenceData() {
+    }
+
+    /**
+     * Must run inside a transaction so that sub-categories can read their category id.
+     */
+    static ExpenseReferenceData load(
+            Long ownerId,
+            CategoryRepository categoryRepository,
+            SubCategoryRepository subCategoryRepository,
+            BudgetRepository budgetRepository
+    ) {
+        ExpenseReferenceData references = new ExpenseReferenceData();
+        for (Category category : categoryRepository.findAllByOwnerIdOrderByNameAsc(ownerId)) {
+            CategoryRef ref = new CategoryRef(category.getId(), category.getName(), category.getType());
+            references.categoriesById.put(ref.id(), ref);
+            references.categoriesByName.put(normalize(ref.name()), ref);
+        }
+        for (SubCategory subCategory : subCategoryRepository.findAllByOwnerIdOrderByNameAsc(ownerId)) {
+            SubCategoryRef ref = new SubCategoryRef(
+                    subCategory.getId(),
+                    subCategory.getCategory().getId(),
+                    subCategory.getName()
+            );
+            references.subCategoriesById.put(ref.id(), ref);
+            references.subCategoriesByName.put(new SubCategoryName(ref.categoryId(), normalize(ref.name())), ref);
+        }
+        for (Budget budget : budgetRepository.findAllByOwnerIdOrderByNameAsc(ownerId)) {
+            BudgetRef ref = new BudgetRef(budget.getId(), budget.getName());
+            references.budgetsById.put(ref.id(), ref);
+            references.budgetsByName.put(normalize(ref.name()), ref);
+            if (budget.isDefaultBudget()) {
+                references.defaultBudget = ref;
+            }
+        }
+        return references;
+    }
+
+    CategoryRef category(Long id) {
+        return categoriesById.get(id);
+    }
+
+    CategoryRef categoryNamed(String name) {
+        return categoriesByName.get(normalize(name));
+    }
+
+    SubCategoryRef subCategory(Long id) {
+        return subCategoriesById.get(id);
+    }
+
+    SubCategoryRef subCategoryNamed(Long categoryId, String name) {
+        return subCategoriesByName.get(new SubCategoryName(categoryId, normalize(name)));
+    }
+
+    BudgetRef budget(Long id) {
+        return budgetsById.get(id);
+    }
+
+    BudgetRef budgetNamed(String name) {
+        return budgetsByName.get(normalize(name));
+    }
+
+    BudgetRef defaultBudget() {
+        return defaultBudget;
+    }
+
+    /**
+     * Applies the reference checks of {@code ExpenseService.saveExpense} to an already bean-validated request and
+     * returns the row to write. {@code existingType} is the stored type for updates and null for creates.
+     */
+    ExpenseBatchInserter.NewExpense resolve(ExpenseDtos.CreateExpenseRequest request, TransactionType existingType) {
+        CategoryRef category = category(request.categoryId());
+        if (category == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Category not found");
+        }
+        SubCategoryRef subCategory = subCategory(request.subCategoryId());
+        if (subCategory == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Sub-category not found");
+        }
+        if (!subCategory.categoryId().equals(category.id())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Sub-category does not belong to selected category");
+        }
+        TransactionType resolvedType = request.type() == null ? TransactionType.EXPENSE : request.type();
+        String typeViolation = ExpenseService.categoryTypeViolation(resolvedType, category.type());
+        if (typeViolation != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, typeViolation);
+        }
+        if (existingType != null && existingType != resolvedType) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Changing transaction type is not allowed for updates");
+        }
+
+        BudgetRef budget;
+        if (request.budgetId() != null) {
+            budget = budget(request.budgetId());
+            if (budget == null) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Budget not found");
+            }
+        } else {
+            budget = defaultBudget;
+            if (budget == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Default budget not configured");
+            }
+        }
+        return new ExpenseBatchInserter.NewExpense(
+                request.amount(),
+                request.description().trim(),
+                request.expenseDate(),
+                resolvedType,
+                category.id(),
+                subCategory.id(),
+                budget.id()
+        );
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
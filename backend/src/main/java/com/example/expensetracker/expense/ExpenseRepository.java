@@ -1,6 +1,9 @@
 package com.example.expensetracker.expense;
 
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
@@ -8,9 +11,19 @@ import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
-public interface ExpenseRepository extends JpaRepository<Expense, Long> {
+public interface ExpenseRepository extends JpaRepository<Expense, Long>, JpaSpecificationExecutor<Expense> {
+
+    /**
+     * Listing page for a dynamically built filter, fetched together with everything {@code ExpenseResponse} reads.
+     * The entity graph only applies to the page query; the derived count query stays join-free.
+     */
+    @Override
+    @EntityGraph(attributePaths = {"category", "subCategory", "budget"})
+    Page<Expense> findAll(Specification<Expense> spec, Pageable pageable);
+
     List<Expense> findAllByOrderByExpenseDateDescIdDesc();
     List<Expense> findAllByExpenseDateBetweenOrderByExpenseDateDescIdDesc(LocalDate startDate, LocalDate endDate);
     List<Expense> findAllByExpenseDateGreaterThanEqualOrderByExpenseDateDescIdDesc(LocalDate startDate);
@@ -22,29 +35,6 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     Page<Expense> findAllByExpenseDateBetweenAndTransactionType(LocalDate startDate, LocalDate endDate, TransactionType type, Pageable pageable);
     Page<Expense> findAllByExpenseDateGreaterThanEqualAndTransactionType(LocalDate startDate, TransactionType type, Pageable pageable);
     Page<Expense> findAllByExpenseDateLessThanEqualAndTransactionType(LocalDate endDate, TransactionType type, Pageable pageable);
-    @Query("""
-            SELECT e
-            FROM Expense e
-            WHERE e.createdBy = :createdBy
-              AND e.transactionType = :type
-              AND (:startDate IS NULL OR e.expenseDate >= :startDate)
-              AND (:endDate IS NULL OR e.expenseDate <= :endDate)
-              AND (:categoryId IS NULL OR e.category.id = :categoryId)
-              AND (:subCategoryId IS NULL OR e.subCategory.id = :subCategoryId)
-              AND (:minAmount IS NULL OR e.amount >= :minAmount)
-              AND (:maxAmount IS NULL OR e.amount <= :maxAmount)
-            """)
-    Page<Expense> findTransactionsWithFilters(
-            @Param("createdBy") String createdBy,
-            @Param("type") TransactionType type,
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate,
-            @Param("categoryId") Long categoryId,
-            @Param("subCategoryId") Long subCategoryId,
-            @Param("minAmount") java.math.BigDecimal minAmount,
-            @Param("maxAmount") java.math.BigDecimal maxAmount,
-            Pageable pageable
-    );
     List<Expense> findAllByExpenseDateBetweenAndTransactionTypeOrderByExpenseDateDescIdDesc(LocalDate startDate, LocalDate endDate, TransactionType type);
     long countByExpenseDateBetween(LocalDate startDate, LocalDate endDate);
     long countByExpenseDateBetweenAndCategory_Id(LocalDate startDate, LocalDate endDate, Long categoryId);
@@ -52,47 +42,114 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     long countByDescriptionStartingWithAndExpenseDateBetween(String prefix, LocalDate startDate, LocalDate endDate);
 
     @Query("""
-            SELECT COALESCE(SUM(e.amount), 0)
+            SELECT new com.example.expensetracker.expense.ExpenseAggregates$DailyTotalRow(
+                e.expenseDate,
+                e.transactionType,
+                c.type,
+                SUM(e.amount),
+                COUNT(e)
+            )
             FROM Expense e
+            JOIN e.category c
             WHERE e.budget.id = :budgetId
-              AND e.createdBy = :createdBy
               AND e.transactionType = :type
-              AND e.expenseDate BETWEEN :startDate AND :endDate
+            GROUP BY e.expenseDate, e.transactionType, c.type
+            ORDER BY e.expenseDate
             """)
-    BigDecimal sumAmountByBudgetAndTypeAndDateRange(
+    List<ExpenseAggregates.DailyTotalRow> summarizeBudgetByDay(
             @Param("budgetId") Long budgetId,
-            @Param("createdBy") String createdBy,
-            @Param("type") TransactionType type,
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate
+            @Param("type") TransactionType type
     );
 
     @Query("""
             SELECT e
             FROM Expense e
-            WHERE e.createdBy = :createdBy
-              AND (:startDate IS NULL OR e.expenseDate >= :startDate)
-              AND (:endDate IS NULL OR e.expenseDate <= :endDate)
+            WHERE e.ownerId = :ownerId
+              AND e.expenseDate BETWEEN :startDate AND :endDate
+            ORDER BY e.expenseDate DESC, e.id DESC
             """)
-    Page<Expense> findExpensesWithDateFilters(
-            @Param("createdBy") String createdBy,
+    List<Expense> findAllByOwnerIdAndExpenseDateBetweenOrderByExpenseDateDescIdDesc(
+            @Param("ownerId") Long ownerId,
             @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate,
-            Pageable pageable
+            @Param("endDate") LocalDate endDate
     );
 
+    java.util.Optional<Expense> findByIdAndOwnerId(Long id, Long ownerId);
+
+    @EntityGraph(attributePaths = {"category", "subCategory", "budget"})
+    java.util.Optional<Expense> findDetailedByIdAndOwnerId(Long id, Long ownerId);
+
+    @EntityGraph(attributePaths = {"category", "subCategory", "budget"})
+    List<Expense> findAllByOwnerIdAndIdIn(Long ownerId, Collection<Long> ids);
+
     @Query("""
-            SELECT e
+            SELECT new com.example.expensetracker.expense.ExpenseAggregates$SearchDocumentRow(
+                e.id,
+                e.description,
+                e.transactionType,
+                e.expenseDate,
+                e.category.id,
+                e.subCategory.id,
+                e.amount
+            )
             FROM Expense e
-            WHERE e.createdBy = :createdBy
-              AND e.expenseDate BETWEEN :startDate AND :endDate
-            ORDER BY e.expenseDate DESC, e.id DESC
+            WHERE e.ownerId = :ownerId
             """)
-    List<Expense> findAllByCreatedByAndExpenseDateBetweenOrderByExpenseDateDescIdDesc(
-            @Param("createdBy") String createdBy,
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate
-    );
+    List<ExpenseAggregates.SearchDocumentRow> findSearchDocuments(@Param("ownerId") Long ownerId);
+
+    @Query("""
+            SELECT new com.example.expensetracker.expense.ExpenseAggregates$MonthlyBucketRow(
+                extract(year from e.expenseDate),
+                extract(month from e.expenseDate),
+                e.transactionType,
+                e.category.id,
+                e.subCategory.id,
+                SUM(e.amount),
+                COUNT(e)
+            )
+            FROM Expense e
+            WHERE e.ownerId = :ownerId
+            GROUP BY extract(year from e.expenseDate), extract(month from e.expenseDate),
+                     e.transactionType, e.category.id, e.subCategory.id
+            """)
+    List<ExpenseAggregates.MonthlyBucketRow> aggregateMonthlyBuckets(@Param("ownerId") Long ownerId);
+
+    @Query("""
+            SELECT new com.example.expensetracker.expense.ExpenseAggregates$DailyTotalRow(
+                e.expenseDate,
+                e.transactionType,
+                c.type,
+                SUM(e.amount),
+                COUNT(e)
+            )
+            FROM Expense e
+            JOIN e.category c
+            WHERE e.ownerId = :ownerId
+            GROUP BY e.expenseDate, e.transactionType, c.type
+            ORDER BY e.expenseDate
+            """)
+    List<ExpenseAggregates.DailyTotalRow> summarizeByDay(@Param("ownerId") Long ownerId);
 
-    java.util.Optional<Expense> findByIdAndCreatedByIgnoreCase(Long id, String createdBy);
+    @Query("""
+            SELECT new com.example.expensetracker.expense.ExpenseAggregates$TrailingWindowRow(
+                e.transactionType,
+                c.type,
+                SUM(CASE WHEN e.expenseDate >= :last30DaysStart THEN e.amount ELSE 0 END),
+                SUM(CASE WHEN e.expenseDate BETWEEN :samePeriodStart AND :samePeriodEnd THEN e.amount ELSE 0 END),
+                SUM(e.amount)
+            )
+            FROM Expense e
+            JOIN e.category c
+            WHERE e.ownerId = :ownerId
+              AND e.expenseDate BETWEEN :lastYearStart AND :today
+            GROUP BY e.transactionType, c.type
+            """)
+    List<ExpenseAggregates.TrailingWindowRow> summarizeTrailingWindows(
+            @Param("ownerId") Long ownerId,
+            @Param("lastYearStart") LocalDate lastYearStart,
+            @Param("last30DaysStart") LocalDate last30DaysStart,
+            @Param("samePeriodStart") LocalDate samePeriodStart,
+            @Param("samePeriodEnd") LocalDate samePeriodEnd,
+            @Param("today") LocalDate today
+    );
 }
@@ -0,0 +1,200 @@
+package com.example.expensetracker.expense;
+
+import com.example.expensetracker.auth.UserContext;
+import com.example.expensetracker.category.CategoryRepository;
+import com.example.expensetracker.category.SubCategoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains {@link ExpenseMonthlyRollup} buckets (user x month x type x category x sub-category) in the same
+ * transaction as the expense write, so dashboard reads never have to scan raw rows.
+ */
+@Service
+@Transactional
+public class ExpenseRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseRollupService.class);
+
+    private final ExpenseMonthlyRollupRepository rollupRepository;
+    private final ExpenseRepository expenseRepository;
+    private final CategoryRepository categoryRepository;
+    private final SubCategoryRepository subCategoryRepository;
+    private final UserContext userContext;
+
+    public ExpenseRollupService(
+            ExpenseMonthlyRollupRepository rollupRepository,
+            ExpenseRepository expenseRepository,
+            CategoryRepository categoryRepository,
+            SubCategoryRepository subCategoryRepository,
+            UserContext userContext
+    ) {
+        this.rollupRepository = rollupRepository;
+        this.expenseRepository = expenseRepository;
+        this.categoryRepository = categoryRepository;
+        this.subCategoryRepository = subCategoryRepository;
+        this.userContext = userContext;
+    }
+
+    @EventListener
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        ExpenseSnapshot before = event.before();
+        ExpenseSnapshot after = event.after();
+        if (before != null && after != null && BucketKey.of(before).equals(BucketKey.of(after))) {
+            adjust(event.username(), BucketKey.of(after), after.amount().subtract(before.amount()), 0);
+            return;
+        }
+        if (before != null) {
+            adjust(event.username(), BucketKey.of(before), before.amount().negate(), -1);
+        }
+        if (after != null) {
+            adjust(event.username(), BucketKey.of(after), after.amount(), 1);
+        }
+    }
+
+    @EventListener
+    public void onExpensesInserted(ExpensesInsertedEvent event) {
+        Map<BucketKey, BucketDelta> deltas = new HashMap<>();
+        for (ExpenseSnapshot inserted : event.inserted()) {
+            deltas.merge(BucketKey.of(inserted), new BucketDelta(inserted.amount(), 1), BucketDelta::plus);
+        }
+        deltas.forEach((key, delta) -> rollupRepository.addToBucket(
+                event.username(),
+                key.monthStart(),
+                key.type().name(),
+                key.categoryId(),
+                key.subCategoryId(),
+                delta.amount(),
+                delta.count()
+        ));
+    }
+
+    public ExpenseDtos.RollupRebuildResponse rebuildCurrentUser() {
+        String username = userContext.currentUsername();
+        rollupRepository.deleteAllByCreatedBy(username);
+        List<ExpenseMonthlyRollup> rebuilt = expenseRepository.aggregateMonthlyBuckets(userContext.currentUserId())
+                .stream()
+                .map(this::toRollup)
+                .toList();
+        rollupRepository.saveAll(rebuilt);
+        return new ExpenseDtos.RollupRebuildResponse(rebuilt.size());
+    }
+
+    @Transactional(readOnly = true)
+    public ExpenseDtos.RollupVerificationResponse verifyCurrentUser() {
+        String username = userContext.currentUsername();
+        Map<BucketKey, ExpenseAggregates.MonthlyBucketRow> expected = new HashMap<>();
+        for (ExpenseAggregates.MonthlyBucketRow row
+                : expenseRepository.aggregateMonthlyBuckets(userContext.currentUserId())) {
+            expected.put(BucketKey.of(row), row);
+        }
+        List<ExpenseMonthlyRollup> stored = rollupRepository.findAllByCreatedBy(username);
+
+        long mismatched = 0;
+        for (ExpenseMonthlyRollup rollup : stored) {
+            ExpenseAggregates.MonthlyBucketRow row = expected.remove(BucketKey.of(rollup));
+            if (row == null
+                    || row.total().compareTo(rollup.getTotalAmount()) != 0
+                    || row.count() != rollup.getTransactionCount()) {
+                mismatched++;
+            }
+        }
+        mismatched += expected.size();
+        return new ExpenseDtos.RollupVerificationResponse(
+                stored.size(),
+                mismatched,
+                mismatched == 0
+        );
+    }
+
+    // Every bucket change is a single statement on the bucket's unique key, so concurrent writers to one bucket
+    // serialize on its row (or, for a new bucket, on the key) instead of reading it first.
+    private void adjust(String username, BucketKey key, BigDecimal amountDelta, long countDelta) {
+        if (countDelta > 0) {
+            rollupRepository.addToBucket(
+                    username,
+                    key.monthStart(),
+                    key.type().name(),
+                    key.categoryId(),
+                    key.subCategoryId(),
+                    amountDelta,
+                    countDelta
+            );
+            return;
+        }
+        int updated = rollupRepository.adjustBucket(
+                username,
+                key.monthStart(),
+                key.type().name(),
+                key.categoryId(),
+                key.subCategoryId(),
+                amountDelta,
+                countDelta
+        );
+        if (updated == 0) {
+            log.warn("Rollup bucket {} missing for user {}; run a rollup rebuild", key, username);
+            return;
+        }
+        if (countDelta < 0) {
+            rollupRepository.deleteBucketIfEmpty(
+                    username,
+                    key.monthStart(),
+                    key.type().name(),
+                    key.categoryId(),
+                    key.subCategoryId()
+            );
+        }
+    }
+
+    private ExpenseMonthlyRollup toRollup(ExpenseAggregates.MonthlyBucketRow row) {
+        ExpenseMonthlyRollup rollup = new ExpenseMonthlyRollup();
+        rollup.setMonthStart(LocalDate.of(row.year(), row.month(), 1));
+        rollup.setTransactionType(row.type());
+        rollup.setCategory(categoryRepository.getReferenceById(row.categoryId()));
+        rollup.setSubCategory(subCategoryRepository.getReferenceById(row.subCategoryId()));
+        rollup.setTotalAmount(row.total());
+        rollup.setTransactionCount(row.count());
+        return rollup;
+    }
+
+    private record BucketDelta(BigDecimal amount, long count) {
+
+        BucketDelta plus(BucketDelta other) {
+            return new BucketDelta(amount.add(other.amount), count + other.count);
+        }
+    }
+
+    private record BucketKey(LocalDate monthStart, TransactionType type, Long categoryId, Long subCategoryId) {
+
+        static BucketKey of(ExpenseSnapshot snapshot) {
+            return new BucketKey(
+                    snapshot.expenseDate().withDayOfMonth(1),
+                    snapshot.type(),
+                    snapshot.categoryId(),
+                    snapshot.subCategoryId()
+            );
+        }
+
+        static BucketKey of(ExpenseAggregates.MonthlyBucketRow row) {
+            return new BucketKey(LocalDate.of(row.year(), row.month(), 1), row.type(), row.categoryId(), row.subCategoryId());
+        }
+
+        static BucketKey of(ExpenseMonthlyRollup rollup) {
+            return new BucketKey(
+                    rollup.getMonthStart(),
+                    rollup.getTransactionType(),
+                    rollup.getCategory().getId(),
+                    rollup.getSubCategory().getId()
+            );
+        }
+    }
+}
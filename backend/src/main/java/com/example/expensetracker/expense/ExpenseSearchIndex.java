@@ -0,0 +1,192 @@
+package com.example.expensetracker.expense;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Per-user inverted index over transaction descriptions. Each term maps to the ids of the transactions containing it
+ * and how often it occurs, and every indexed transaction keeps the attributes the listing filters on, so matching,
+ * filtering and ranking never touch the database. Every query term must match; the last one also matches as a
+ * prefix so that partially typed words ("insur") find their completions. Matches are ranked with BM25, newest first
+ * on ties.
+ */
+final class ExpenseSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final Comparator<Hit> RANKING = Comparator.comparingDouble(Hit::score).reversed()
+            .thenComparing(hit -> hit.row().expenseDate(), Comparator.reverseOrder())
+            .thenComparing(hit -> hit.row().id(), Comparator.reverseOrder());
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private long totalLength;
+
+    private ExpenseSearchIndex() {
+    }
+
+    static ExpenseSearchIndex build(List<ExpenseAggregates.SearchDocumentRow> rows) {
+        ExpenseSearchIndex index = new ExpenseSearchIndex();
+        for (ExpenseAggregates.SearchDocumentRow row : rows) {
+            index.add(row);
+        }
+        return index;
+    }
+
+    /**
+     * Lower-cased runs of letters and digits.
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Adds the transaction, replacing any previously indexed version of it.
+     */
+    void put(ExpenseAggregates.SearchDocumentRow row) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(row.id());
+            add(row);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns one page of matching transaction ids in rank order, together with the total number of matches that
+     * pass {@code filter}.
+     */
+    Result search(String query, Predicate<ExpenseAggregates.SearchDocumentRow> filter, int offset, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (terms.isEmpty()) {
+            return new Result(List.of(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (int i = 0; i < terms.size() && (scores == null || !scores.isEmpty()); i++) {
+                Map<Long, Double> termScores = score(terms.get(i), i == terms.size() - 1);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>();
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                ExpenseAggregates.SearchDocumentRow row = documents.get(entry.getKey()).row();
+                if (filter.test(row)) {
+                    hits.add(new Hit(row, entry.getValue()));
+                }
+            }
+            hits.sort(RANKING);
+            List<Long> ids = hits.stream()
+                    .skip(offset)
+                    .limit(limit)
+                    .map(hit -> hit.row().id())
+                    .toList();
+            return new Result(ids, hits.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Double> score(String term, boolean prefix) {
+        Collection<Map.Entry<String, Map<Long, Integer>>> matches = prefix
+                ? postings.subMap(term, true, term + Character.MAX_VALUE, true).entrySet()
+                : postings.containsKey(term) ? List.of(Map.entry(term, postings.get(term))) : List.of();
+        double averageLength = documents.isEmpty() ? 1 : (double) totalLength / documents.size();
+
+        Map<Long, Double> scores = new HashMap<>();
+        for (Map.Entry<String, Map<Long, Integer>> match : matches) {
+            int documentFrequency = match.getValue().size();
+            double idf = Math.log(1 + (documents.size() - documentFrequency + 0.5) / (documentFrequency + 0.5));
+            for (Map.Entry<Long, Integer> posting : match.getValue().entrySet()) {
+                int frequency = posting.getValue();
+                int length = documents.get(posting.getKey()).length();
+                double score = idf * frequency * (K1 + 1)
+                        / (frequency + K1 * (1 - B + B * length / averageLength));
+                scores.merge(posting.getKey(), score, Math::max);
+            }
+        }
+        return scores;
+    }
+
+    private void add(ExpenseAggregates.SearchDocumentRow row) {
+        List<String> tokens = tokenize(row.description());
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : tokens) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), key -> new HashMap<>()).put(row.id(), entry.getValue());
+        }
+        documents.put(row.id(), new Document(row, frequencies.keySet(), tokens.size()));
+        totalLength += tokens.size();
+    }
+
+    private void removeDocument(Long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms()) {
+            Map<Long, Integer> posting = postings.get(term);
+            posting.remove(id);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= document.length();
+    }
+
+    record Result(List<Long> ids, long total) {
+    }
+
+    private record Document(ExpenseAggregates.SearchDocumentRow row, Set<String> terms, int length) {
+    }
+
+    private record Hit(ExpenseAggregates.SearchDocumentRow row, double score) {
+    }
+}
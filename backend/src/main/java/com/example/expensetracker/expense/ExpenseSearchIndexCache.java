@@ -0,0 +1,133 @@
+package com.example.expensetracker.expense;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU of per-user {@link ExpenseSearchIndex} instances. Unlike the dashboard and analytics caches, an index
+ * is not thrown away on writes: committed creates, updates and deletes are applied to it in place. An index loaded
+ * while a change was committing may have missed it, so it is only kept if no change arrived in the meantime; changes
+ * are only counted for users with a load in progress, so that bookkeeping stays as small as the number of misses
+ * being served.
+ */
+@Component
+public class ExpenseSearchIndexCache {
+
+    private final Map<String, ExpenseSearchIndex> entries;
+    private final Map<String, PendingLoads> pendingLoads = new HashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    public ExpenseSearchIndexCache(
+            MeterRegistry meterRegistry,
+            @Value("${app.search.index-cache.max-entries:200}") int maxEntries
+    ) {
+        this.hits = Counter.builder("transactions.search.index.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("transactions.search.index.cache").tag("result", "miss").register(meterRegistry);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ExpenseSearchIndex> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    ExpenseSearchIndex get(String username, Supplier<ExpenseSearchIndex> loader) {
+        String key = username.toLowerCase(Locale.ROOT);
+        PendingLoads pending;
+        long generation;
+        synchronized (entries) {
+            ExpenseSearchIndex index = entries.get(key);
+            if (index != null) {
+                hits.increment();
+                return index;
+            }
+            pending = pendingLoads.computeIfAbsent(key, ignored -> new PendingLoads());
+            pending.loaders++;
+            generation = pending.generation;
+        }
+
+        misses.increment();
+        ExpenseSearchIndex index = null;
+        try {
+            index = loader.get();
+        } finally {
+            synchronized (entries) {
+                if (index != null && pending.generation == generation) {
+                    entries.put(key, index);
+                }
+                if (--pending.loaders == 0) {
+                    pendingLoads.remove(key);
+                }
+            }
+        }
+        return index;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        String key = event.username().toLowerCase(Locale.ROOT);
+        synchronized (entries) {
+            changed(key);
+            ExpenseSearchIndex index = entries.get(key);
+            if (index == null) {
+                return;
+            }
+            if (event.after() != null) {
+                index.put(toRow(event.after()));
+            } else if (event.before() != null) {
+                index.remove(event.before().id());
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onExpensesInserted(ExpensesInsertedEvent event) {
+        String key = event.username().toLowerCase(Locale.ROOT);
+        synchronized (entries) {
+            changed(key);
+            ExpenseSearchIndex index = entries.get(key);
+            if (index == null) {
+                return;
+            }
+            for (ExpenseSnapshot inserted : event.inserted()) {
+                index.put(toRow(inserted));
+            }
+        }
+    }
+
+    // Callers hold the entries lock.
+    private void changed(String key) {
+        PendingLoads pending = pendingLoads.get(key);
+        if (pending != null) {
+            pending.generation++;
+        }
+    }
+
+    private static ExpenseAggregates.SearchDocumentRow toRow(ExpenseSnapshot snapshot) {
+        return new ExpenseAggregates.SearchDocumentRow(
+                snapshot.id(),
+                snapshot.description(),
+                snapshot.type(),
+                snapshot.expenseDate(),
+                snapshot.categoryId(),
+                snapshot.subCategoryId(),
+                snapshot.amount()
+        );
+    }
+
+    private static final class PendingLoads {
+
+        private int loaders;
+        private long generation;
+    }
+}
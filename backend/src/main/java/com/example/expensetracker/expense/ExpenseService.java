@@ -1,17 +1,22 @@
 package com.example.expensetracker.expense;
 
+import com.example.expensetracker.auth.UserContext;
+import com.example.expensetracker.cache.UserDataChangedEvent;
+import com.example.expensetracker.cache.UserDataKind;
 import com.example.expensetracker.category.Category;
 import com.example.expensetracker.category.CategoryRepository;
 import com.example.expensetracker.category.CategoryType;
 import com.example.expensetracker.category.SubCategory;
 import com.example.expensetracker.category.SubCategoryRepository;
 import com.example.expensetracker.budget.Budget;
-import com.example.expensetracker.budget.BudgetPeriod;
 import com.example.expensetracker.budget.BudgetRepository;
+import com.example.expensetracker.sync.ChangeSequence;
+import com.example.expensetracker.sync.SyncEntityType;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -20,14 +25,11 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.time.YearMonth;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.LinkedHashMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 @Service
 @Transactional
@@ -37,22 +39,50 @@ public class ExpenseService {
     private final CategoryRepository categoryRepository;
     private final SubCategoryRepository subCategoryRepository;
     private final BudgetRepository budgetRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserContext userContext;
+    private final ExpenseSearchIndexCache searchIndexCache;
+    private final ChangeSequence changeSequence;
 
     public ExpenseService(
             ExpenseRepository expenseRepository,
             CategoryRepository categoryRepository,
             SubCategoryRepository subCategoryRepository,
-            BudgetRepository budgetRepository
+            BudgetRepository budgetRepository,
+            ApplicationEventPublisher eventPublisher,
+            UserContext userContext,
+            ExpenseSearchIndexCache searchIndexCache,
+            ChangeSequence changeSequence
     ) {
         this.expenseRepository = expenseRepository;
         this.categoryRepository = categoryRepository;
         this.subCategoryRepository = subCategoryRepository;
         this.budgetRepository = budgetRepository;
+        this.eventPublisher = eventPublisher;
+        this.userContext = userContext;
+        this.searchIndexCache = searchIndexCache;
+        this.changeSequence = changeSequence;
     }
 
     @Transactional(readOnly = true)
     public ExpenseDtos.ExpensePageResponse listExpenses(LocalDate startDate, LocalDate endDate, int page, int size) {
-        String username = currentUsername();
+        return listExpenses(startDate, endDate, page, size, null, true);
+    }
+
+    /**
+     * Lists transactions newest first. A non-null {@code cursor} (blank for the first page) switches to keyset
+     * pagination: {@code page} is ignored and the matches are only counted when {@code includeTotal} is set.
+     */
+    @Transactional(readOnly = true)
+    public ExpenseDtos.ExpensePageResponse listExpenses(
+            LocalDate startDate,
+            LocalDate endDate,
+            int page,
+            int size,
+            String cursor,
+            boolean includeTotal
+    ) {
+        Long ownerId = userContext.currentUserId();
         if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "startDate cannot be after endDate");
         }
@@ -63,18 +93,56 @@ public class ExpenseService {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be between 1 and 200");
         }
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "expenseDate", "id"));
-        Page<Expense> expensePage = expenseRepository.findExpensesWithDateFilters(username, startDate, endDate, pageable);
+        Specification<Expense> filters = Specification.allOf(
+                ExpenseSpecifications.ownedBy(ownerId),
+                ExpenseSpecifications.onOrAfter(startDate),
+                ExpenseSpecifications.onOrBefore(endDate)
+        );
+        Sort sort = Sort.by(Sort.Direction.DESC, "expenseDate", "id");
+        if (cursor != null) {
+            return seek(filters, sort, ExpenseCursor.SortKey.EXPENSE_DATE, Sort.Direction.DESC, cursor, size, includeTotal);
+        }
 
-        return new ExpenseDtos.ExpensePageResponse(
-                expensePage.stream().map(this::toResponse).toList(),
-                expensePage.getNumber(),
-                expensePage.getSize(),
-                expensePage.getTotalElements(),
-                expensePage.getTotalPages()
+        Page<Expense> expensePage = expenseRepository.findAll(filters, PageRequest.of(page, size, sort));
+        return toPageResponse(expensePage, ExpenseCursor.SortKey.EXPENSE_DATE, Sort.Direction.DESC);
+    }
+
+    @Transactional(readOnly = true)
+    public ExpenseDtos.ExpensePageResponse listTransactions(
+            LocalDate startDate,
+            LocalDate endDate,
+            Long categoryId,
+            Long subCategoryId,
+            BigDecimal minAmount,
+            BigDecimal maxAmount,
+            TransactionType type,
+            String sortBy,
+            String sortDir,
+            int page,
+            int size
+    ) {
+        return listTransactions(
+                startDate,
+                endDate,
+                categoryId,
+                subCategoryId,
+                minAmount,
+                maxAmount,
+                type,
+                sortBy,
+                sortDir,
+                page,
+                size,
+                null,
+                true
         );
     }
 
+    /**
+     * Lists transactions of one type. A non-null {@code cursor} (blank for the first page) switches to keyset
+     * pagination on (expenseDate, id) or (amount, expenseDate, id): {@code page} is ignored and the matches are only
+     * counted when {@code includeTotal} is set.
+     */
     @Transactional(readOnly = true)
     public ExpenseDtos.ExpensePageResponse listTransactions(
             LocalDate startDate,
@@ -87,18 +155,126 @@ public class ExpenseService {
             String sortBy,
             String sortDir,
             int page,
+            int size,
+            String cursor,
+            boolean includeTotal
+    ) {
+        Long ownerId = userContext.currentUserId();
+        validateTransactionFilters(startDate, endDate, minAmount, maxAmount, page, size);
+
+        TransactionType resolvedType = type == null ? TransactionType.EXPENSE : type;
+        Sort sort = resolveTransactionSort(sortBy, sortDir);
+        ExpenseCursor.SortKey sortKey = resolveCursorSortKey(sortBy);
+        Sort.Direction direction = resolveDirection(sortDir);
+        if (cursor != null && sortKey == null) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "cursor pagination supports sortBy expenseDate or amount"
+            );
+        }
+        Specification<Expense> filters = Specification.allOf(
+                ExpenseSpecifications.ownedBy(ownerId),
+                ExpenseSpecifications.ofType(resolvedType),
+                ExpenseSpecifications.onOrAfter(startDate),
+                ExpenseSpecifications.onOrBefore(endDate),
+                ExpenseSpecifications.inCategory(categoryId),
+                ExpenseSpecifications.inSubCategory(subCategoryId),
+                ExpenseSpecifications.amountAtLeast(minAmount),
+                ExpenseSpecifications.amountAtMost(maxAmount)
+        );
+        if (cursor != null) {
+            return seek(filters, sort, sortKey, direction, cursor, size, includeTotal);
+        }
+
+        Page<Expense> expensePage = expenseRepository.findAll(filters, PageRequest.of(page, size, sort));
+        return toPageResponse(expensePage, sortKey, direction);
+    }
+
+    /**
+     * Ranked full-text search over descriptions, narrowed by the listing filters ({@code type} may be null to search
+     * both types). Matching and ranking run against the user's in-memory search index; only the requested page of
+     * transactions is read from the database.
+     */
+    @Transactional(readOnly = true)
+    public ExpenseDtos.ExpensePageResponse searchTransactions(
+            String query,
+            LocalDate startDate,
+            LocalDate endDate,
+            Long categoryId,
+            Long subCategoryId,
+            BigDecimal minAmount,
+            BigDecimal maxAmount,
+            TransactionType type,
+            int page,
             int size
     ) {
         String username = currentUsername();
-        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "startDate cannot be after endDate");
+        Long ownerId = userContext.currentUserId();
+        if (query == null || ExpenseSearchIndex.tokenize(query).isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "q must contain at least one word");
         }
+        if (query.length() > 200) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "q must be at most 200 characters");
+        }
+        validateTransactionFilters(startDate, endDate, minAmount, maxAmount, page, size);
+
+        ExpenseSearchIndex index = searchIndexCache.get(
+                username,
+                () -> ExpenseSearchIndex.build(expenseRepository.findSearchDocuments(ownerId))
+        );
+        ExpenseSearchIndex.Result result = index.search(
+                query,
+                row -> (type == null || row.type() == type)
+                        && (startDate == null || !row.expenseDate().isBefore(startDate))
+                        && (endDate == null || !row.expenseDate().isAfter(endDate))
+                        && (categoryId == null || categoryId.equals(row.categoryId()))
+                        && (subCategoryId == null || subCategoryId.equals(row.subCategoryId()))
+                        && (minAmount == null || row.amount().compareTo(minAmount) >= 0)
+                        && (maxAmount == null || row.amount().compareTo(maxAmount) <= 0),
+                (int) Math.min((long) page * size, Integer.MAX_VALUE),
+                size
+        );
+
+        Map<Long, Expense> expensesById = new HashMap<>();
+        for (Expense expense : expenseRepository.findAllByOwnerIdAndIdIn(ownerId, result.ids())) {
+            expensesById.put(expense.getId(), expense);
+        }
+        List<ExpenseDtos.ExpenseResponse> items = result.ids().stream()
+                .map(expensesById::get)
+                .filter(Objects::nonNull)
+                .map(this::toResponse)
+                .toList();
+        return new ExpenseDtos.ExpensePageResponse(
+                items,
+                page,
+                size,
+                result.total(),
+                (int) ((result.total() + size - 1) / size),
+                null
+        );
+    }
+
+    private void validateTransactionFilters(
+            LocalDate startDate,
+            LocalDate endDate,
+            BigDecimal minAmount,
+            BigDecimal maxAmount,
+            int page,
+            int size
+    ) {
+        validateFilterRanges(startDate, endDate, minAmount, maxAmount);
         if (page < 0) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "page must be 0 or greater");
         }
         if (size <= 0 || size > 200) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be between 1 and 200");
         }
+    }
+
+    static void validateFilterRanges(LocalDate startDate, LocalDate endDate, BigDecimal minAmount, BigDecimal maxAmount) {
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "startDate cannot be after endDate");
+        }
         if (minAmount != null && minAmount.compareTo(BigDecimal.ZERO) < 0) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "minAmount must be 0 or greater");
         }
@@ -108,32 +284,86 @@ public class ExpenseService {
         if (minAmount != null && maxAmount != null && minAmount.compareTo(maxAmount) > 0) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "minAmount cannot be greater than maxAmount");
         }
+    }
 
-        TransactionType resolvedType = type == null ? TransactionType.EXPENSE : type;
-        Pageable pageable = PageRequest.of(page, size, resolveTransactionSort(sortBy, sortDir));
-        Page<Expense> expensePage = expenseRepository.findTransactionsWithFilters(
-                username,
-                resolvedType,
-                startDate,
-                endDate,
-                categoryId,
-                subCategoryId,
-                minAmount,
-                maxAmount,
-                pageable
+    /**
+     * Keyset page: the rows strictly after the cursor in {@code sort} order, fetched together with the associations
+     * the response needs. One extra row is read to tell whether there is a next page; the join-free count only runs
+     * when asked for.
+     */
+    private ExpenseDtos.ExpensePageResponse seek(
+            Specification<Expense> filters,
+            Sort sort,
+            ExpenseCursor.SortKey sortKey,
+            Sort.Direction direction,
+            String cursor,
+            int size,
+            boolean includeTotal
+    ) {
+        ExpenseCursor after = cursor.isBlank() ? null : ExpenseCursor.decode(cursor, sortKey, direction);
+        Specification<Expense> page = after == null ? filters : filters.and(ExpenseSpecifications.after(after));
+        List<Expense> rows = expenseRepository.findBy(page, query -> query
+                .sortBy(sort)
+                .limit(size + 1)
+                .project("category", "subCategory", "budget")
+                .all());
+        boolean hasNext = rows.size() > size;
+        List<Expense> items = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext
+                ? ExpenseCursor.after(sortKey, direction, items.get(items.size() - 1)).encode()
+                : null;
+
+        Long totalElements = null;
+        Integer totalPages = null;
+        if (includeTotal) {
+            totalElements = expenseRepository.count(filters);
+            totalPages = (int) ((totalElements + size - 1) / size);
+        }
+        return new ExpenseDtos.ExpensePageResponse(
+                items.stream().map(this::toResponse).toList(),
+                0,
+                size,
+                totalElements,
+                totalPages,
+                nextCursor
         );
+    }
 
+    private ExpenseDtos.ExpensePageResponse toPageResponse(
+            Page<Expense> expensePage,
+            ExpenseCursor.SortKey sortKey,
+            Sort.Direction direction
+    ) {
+        // Hand out a cursor in page mode too, so a client can switch to seeking from any page it has reached.
+        List<Expense> content = expensePage.getContent();
+        String nextCursor = sortKey != null && expensePage.hasNext() && !content.isEmpty()
+                ? ExpenseCursor.after(sortKey, direction, content.get(content.size() - 1)).encode()
+                : null;
         return new ExpenseDtos.ExpensePageResponse(
                 expensePage.stream().map(this::toResponse).toList(),
                 expensePage.getNumber(),
                 expensePage.getSize(),
                 expensePage.getTotalElements(),
-                expensePage.getTotalPages()
+                expensePage.getTotalPages(),
+                nextCursor
         );
     }
 
+    private ExpenseCursor.SortKey resolveCursorSortKey(String sortBy) {
+        String normalized = sortBy == null ? "expenseDate" : sortBy.trim();
+        return switch (normalized) {
+            case "expenseDate" -> ExpenseCursor.SortKey.EXPENSE_DATE;
+            case "amount" -> ExpenseCursor.SortKey.AMOUNT;
+            default -> null;
+        };
+    }
+
+    private Sort.Direction resolveDirection(String sortDir) {
+        return "asc".equalsIgnoreCase(sortDir) ? Sort.Direction.ASC : Sort.Direction.DESC;
+    }
+
     private Sort resolveTransactionSort(String sortBy, String sortDir) {
-        Sort.Direction direction = "asc".equalsIgnoreCase(sortDir) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort.Direction direction = resolveDirection(sortDir);
         String normalized = sortBy == null ? "expenseDate" : sortBy.trim();
         return switch (normalized) {
             case "amount" -> Sort.by(direction, "amount").and(Sort.by(Sort.Direction.DESC, "expenseDate", "id"));
@@ -147,179 +377,6 @@ public class ExpenseService {
         };
     }
 
-    @Transactional(readOnly = true)
-    public ExpenseDtos.DashboardSummaryResponse getDashboardSummary(int topN) {
-        String username = currentUsername();
-        if (topN < 1 || topN > 10) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "topN must be between 1 and 10");
-        }
-
-        YearMonth currentMonth = YearMonth.now();
-        YearMonth startMonth = currentMonth.minusMonths(11);
-        LocalDate fromDate = startMonth.atDay(1);
-        LocalDate toDate = currentMonth.atEndOfMonth();
-
-        List<Expense> expenses = expenseRepository.findAllByCreatedByAndExpenseDateBetweenOrderByExpenseDateDescIdDesc(
-                username,
-                fromDate,
-                toDate
-        );
-        Map<YearMonth, List<Expense>> byMonth = new LinkedHashMap<>();
-        for (int i = 0; i < 12; i++) {
-            YearMonth month = startMonth.plusMonths(i);
-            byMonth.put(month, new ArrayList<>());
-        }
-        for (Expense expense : expenses) {
-            YearMonth month = YearMonth.from(expense.getExpenseDate());
-            List<Expense> monthExpenses = byMonth.get(month);
-            if (monthExpenses != null) {
-                monthExpenses.add(expense);
-            }
-        }
-
-        List<ExpenseDtos.MonthlyTotalPoint> monthlyTotals = byMonth.entrySet().stream()
-                .map(entry -> {
-                    BigDecimal total = sumAmounts(entry.getValue());
-                    return new ExpenseDtos.MonthlyTotalPoint(entry.getKey().toString(), total, entry.getValue().size());
-                })
-                .toList();
-
-        List<ExpenseDtos.MonthlyIncomeExpensePoint> monthlyIncomeExpensePoints = byMonth.entrySet().stream()
-                .map(entry -> {
-                    BigDecimal incomeTotal = sumAmountsByType(entry.getValue(), TransactionType.INCOME);
-                    BigDecimal expenseTotal = sumAmountsByType(entry.getValue(), TransactionType.EXPENSE);
-                    return new ExpenseDtos.MonthlyIncomeExpensePoint(
-                            entry.getKey().toString(),
-                            incomeTotal,
-                            expenseTotal,
-                            incomeTotal.subtract(expenseTotal).setScale(2, RoundingMode.HALF_UP)
-                    );
-                })
-                .toList();
-
-        List<ExpenseDtos.MonthlySavingRatePoint> monthlySavingRatePoints = byMonth.entrySet().stream()
-                .map(entry -> {
-                    BigDecimal savingAmount = sumSavingAmounts(entry.getValue());
-                    BigDecimal incomeTotal = sumAmountsByType(entry.getValue(), TransactionType.INCOME);
-                    BigDecimal savingRatePercent = incomeTotal.compareTo(BigDecimal.ZERO) == 0
-                            ? BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP)
-                            : savingAmount.multiply(BigDecimal.valueOf(100))
-                            .divide(incomeTotal, 2, RoundingMode.HALF_UP);
-                    return new ExpenseDtos.MonthlySavingRatePoint(
-                            entry.getKey().toString(),
-                            savingAmount,
-                            incomeTotal,
-                            savingRatePercent
-                    );
-                })
-                .toList();
-
-        List<ExpenseDtos.BudgetUtilizationPoint> budgetUtilizationPoints = budgetRepository
-                .findAllByCreatedByIgnoreCaseOrderByNameAsc(username).stream()
-                .map(budget -> toBudgetUtilizationPoint(budget, username))
-                .sorted(Comparator.comparing(ExpenseDtos.BudgetUtilizationPoint::utilizationPercent).reversed())
-                .toList();
-
-        List<Expense> currentMonthExpenses = byMonth.getOrDefault(currentMonth, List.of());
-        BigDecimal currentMonthTotal = sumAmountsByType(currentMonthExpenses, TransactionType.EXPENSE);
-        ExpenseDtos.PeriodSummaryPoint currentMonthSummary = toPeriodSummary(currentMonthExpenses);
-
-        LocalDate today = LocalDate.now();
-        YearMonth previousMonthForPeriod = currentMonth.minusMonths(1);
-        LocalDate samePeriodLastMonthStart = previousMonthForPeriod.atDay(1);
-        int samePeriodDay = Math.min(today.getDayOfMonth(), previousMonthForPeriod.lengthOfMonth());
-        LocalDate samePeriodLastMonthEnd = previousMonthForPeriod.atDay(samePeriodDay);
-        ExpenseDtos.PeriodSummaryPoint samePeriodLastMonthSummary = toPeriodSummaryInRange(
-                expenses,
-                samePeriodLastMonthStart,
-                samePeriodLastMonthEnd
-        );
-
-        LocalDate last30DaysStart = today.minusDays(29);
-        BigDecimal last30DaysTotal = sumAmountsInRangeByType(expenses, last30DaysStart, today, TransactionType.EXPENSE);
-        ExpenseDtos.PeriodSummaryPoint last30DaysSummary = toPeriodSummaryInRange(expenses, last30DaysStart, today);
-
-        YearMonth previousMonth = currentMonth.minusMonths(1);
-        List<Expense> lastMonthExpenses = byMonth.getOrDefault(previousMonth, List.of());
-        BigDecimal lastMonthTotal = sumAmountsByType(lastMonthExpenses, TransactionType.EXPENSE);
-        ExpenseDtos.PeriodSummaryPoint lastMonthSummary = toPeriodSummary(lastMonthExpenses);
-
-        LocalDate lastQuarterStart = currentMonth.minusMonths(3).atDay(1);
-        LocalDate lastQuarterEnd = currentMonth.minusMonths(1).atEndOfMonth();
-        BigDecimal lastQuarterTotal = sumAmountsInRangeByType(expenses, lastQuarterStart, lastQuarterEnd, TransactionType.EXPENSE);
-        ExpenseDtos.PeriodSummaryPoint lastQuarterSummary = toPeriodSummaryInRange(expenses, lastQuarterStart, lastQuarterEnd);
-
-        LocalDate lastYearStart = today.minusDays(364);
-        BigDecimal lastYearTotal = sumAmountsInRangeByType(expenses, lastYearStart, today, TransactionType.EXPENSE);
-        ExpenseDtos.PeriodSummaryPoint lastYearSummary = toPeriodSummaryInRange(expenses, lastYearStart, today);
-
-        Map<String, List<Expense>> byCategory = new LinkedHashMap<>();
-        for (Expense expense : currentMonthExpenses) {
-            if (expense.getTransactionType() != TransactionType.EXPENSE) {
-                continue;
-            }
-            byCategory.computeIfAbsent(expense.getCategory().getName(), key -> new ArrayList<>()).add(expense);
-        }
-
-        List<ExpenseDtos.CategoryTotalPoint> categoryTotals = byCategory.entrySet().stream()
-                .map(entry -> new ExpenseDtos.CategoryTotalPoint(
-                        entry.getKey(),
-                        sumAmounts(entry.getValue()),
-                        entry.getValue().size()
-                ))
-                .sorted(Comparator.comparing(ExpenseDtos.CategoryTotalPoint::total).reversed())
-                .toList();
-
-        Map<String, List<Expense>> byYearCategory = new LinkedHashMap<>();
-        for (Expense expense : expenses) {
-            if (expense.getTransactionType() != TransactionType.EXPENSE) {
-                continue;
-            }
-            byYearCategory.computeIfAbsent(expense.getCategory().getName(), key -> new ArrayList<>()).add(expense);
-        }
-
-        List<ExpenseDtos.CategoryYearTrendPoint> topYearlyCategoryTrends = byYearCategory.entrySet().stream()
-                .map(entry -> {
-                    BigDecimal yearTotal = sumAmounts(entry.getValue());
-                    List<ExpenseDtos.MonthlyTotalPoint> monthlyTrend = byMonth.entrySet().stream()
-                            .map(monthEntry -> {
-                                List<Expense> categoryMonthExpenses = monthEntry.getValue().stream()
-                                        .filter(exp -> exp.getCategory().getName().equalsIgnoreCase(entry.getKey()))
-                                        .toList();
-                                return new ExpenseDtos.MonthlyTotalPoint(
-                                        monthEntry.getKey().toString(),
-                                        sumAmounts(categoryMonthExpenses),
-                                        categoryMonthExpenses.size()
-                                );
-                            })
-                            .toList();
-                    return new ExpenseDtos.CategoryYearTrendPoint(entry.getKey(), yearTotal, monthlyTrend);
-                })
-                .sorted(Comparator.comparing(ExpenseDtos.CategoryYearTrendPoint::yearTotal).reversed())
-                .limit(topN)
-                .toList();
-
-        return new ExpenseDtos.DashboardSummaryResponse(
-                currentMonthTotal,
-                last30DaysTotal,
-                lastMonthTotal,
-                lastQuarterTotal,
-                lastYearTotal,
-                currentMonthSummary,
-                samePeriodLastMonthSummary,
-                last30DaysSummary,
-                lastMonthSummary,
-                lastQuarterSummary,
-                lastYearSummary,
-                monthlyTotals,
-                monthlyIncomeExpensePoints,
-                monthlySavingRatePoints,
-                budgetUtilizationPoints,
-                categoryTotals,
-                topYearlyCategoryTrends
-        );
-    }
-
     public ExpenseDtos.ExpenseResponse createExpense(ExpenseDtos.CreateExpenseRequest request) {
         return saveExpense(null, request);
     }
@@ -330,31 +387,36 @@ public class ExpenseService {
 
     @Transactional(readOnly = true)
     public ExpenseDtos.ExpenseResponse getTransaction(Long id) {
-        String username = currentUsername();
-        Expense expense = expenseRepository.findByIdAndCreatedByIgnoreCase(id, username)
+        Expense expense = expenseRepository.findDetailedByIdAndOwnerId(id, userContext.currentUserId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Transaction not found"));
         return toResponse(expense);
     }
 
     public void deleteTransaction(Long id) {
         String username = currentUsername();
-        Expense expense = expenseRepository.findByIdAndCreatedByIgnoreCase(id, username)
+        Long ownerId = userContext.currentUserId();
+        Expense expense = expenseRepository.findByIdAndOwnerId(id, ownerId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Transaction not found"));
+        ExpenseSnapshot before = ExpenseSnapshot.of(expense);
         expenseRepository.delete(expense);
+        changeSequence.recordDeletions(ownerId, SyncEntityType.TRANSACTION, List.of(expense.getId()));
+        eventPublisher.publishEvent(new ExpenseChangedEvent(username, before, null));
+        eventPublisher.publishEvent(new UserDataChangedEvent(username, UserDataKind.TRANSACTIONS));
     }
 
     private ExpenseDtos.ExpenseResponse saveExpense(Long id, ExpenseDtos.CreateExpenseRequest request) {
         String username = currentUsername();
+        Long ownerId = userContext.currentUserId();
         Expense existingExpense = null;
         if (id != null) {
-            existingExpense = expenseRepository.findByIdAndCreatedByIgnoreCase(id, username)
+            existingExpense = expenseRepository.findByIdAndOwnerId(id, ownerId)
                     .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Transaction not found"));
         }
 
-        Category category = categoryRepository.findByIdAndCreatedByIgnoreCase(request.categoryId(), username)
+        Category category = categoryRepository.findByIdAndOwnerId(request.categoryId(), ownerId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Category not found"));
 
-        SubCategory subCategory = subCategoryRepository.findByIdAndCreatedByIgnoreCase(request.subCategoryId(), username)
+        SubCategory subCategory = subCategoryRepository.findByIdAndOwnerId(request.subCategoryId(), ownerId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Sub-category not found"));
 
         if (!subCategory.getCategory().getId().equals(category.getId())) {
@@ -365,25 +427,24 @@ public class ExpenseService {
         }
 
         TransactionType resolvedType = request.type() == null ? TransactionType.EXPENSE : request.type();
-        if (resolvedType == TransactionType.INCOME && category.getType() != CategoryType.INCOME) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Category type must be INCOME for income transactions");
-        }
-        if (resolvedType == TransactionType.EXPENSE
-                && category.getType() != CategoryType.EXPENSE
-                && category.getType() != CategoryType.SAVING) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Category type must be EXPENSE or SAVING for expense transactions");
+        String typeViolation = categoryTypeViolation(resolvedType, category.getType());
+        if (typeViolation != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, typeViolation);
         }
         if (existingExpense != null && existingExpense.getTransactionType() != resolvedType) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Changing transaction type is not allowed for updates");
         }
 
-        Budget budget = resolveBudget(request.budgetId(), username);
+        Budget budget = resolveBudget(request.budgetId(), ownerId);
 
         Expense expense;
+        ExpenseSnapshot before = null;
         if (id == null) {
             expense = new Expense();
+            expense.setOwnerId(ownerId);
         } else {
             expense = existingExpense;
+            before = ExpenseSnapshot.of(existingExpense);
         }
         expense.setAmount(request.amount());
         expense.setDescription(request.description().trim());
@@ -392,8 +453,25 @@ public class ExpenseService {
         expense.setSubCategory(subCategory);
         expense.setBudget(budget);
         expense.setTransactionType(resolvedType);
+        expense.setChangeSeq(changeSequence.next(ownerId));
 
-        return toResponse(expenseRepository.save(expense));
+        Expense saved = expenseRepository.save(expense);
+        eventPublisher.publishEvent(new ExpenseChangedEvent(username, before, ExpenseSnapshot.of(saved)));
+        eventPublisher.publishEvent(new UserDataChangedEvent(username, UserDataKind.TRANSACTIONS));
+        return toResponse(saved);
+    }
+
+    /**
+     * Returns why a transaction of the given type cannot use a category of the given type, or null if it can.
+     */
+    static String categoryTypeViolation(TransactionType type, CategoryType categoryType) {
+        if (type == TransactionType.INCOME && categoryType != CategoryType.INCOME) {
+            return "Category type must be INCOME for income transactions";
+        }
+        if (type == TransactionType.EXPENSE && categoryType != CategoryType.EXPENSE && categoryType != CategoryType.SAVING) {
+            return "Category type must be EXPENSE or SAVING for expense transactions";
+        }
+        return null;
     }
 
     private ExpenseDtos.ExpenseResponse toResponse(Expense expense) {
@@ -412,136 +490,15 @@ public class ExpenseService {
         );
     }
 
-    private Budget resolveBudget(Long budgetId, String username) {
+    private Budget resolveBudget(Long budgetId, Long ownerId) {
         if (budgetId != null) {
-            return budgetRepository.findByIdAndCreatedByIgnoreCase(budgetId, username)
+            return budgetRepository.findByIdAndOwnerId(budgetId, ownerId)
                     .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Budget not found"));
         }
-        return budgetRepository.findByDefaultBudgetTrueAndCreatedByIgnoreCase(username)
+        return budgetRepository.findByDefaultBudgetTrueAndOwnerId(ownerId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Default budget not configured"));
     }
 
-    private ExpenseDtos.BudgetUtilizationPoint toBudgetUtilizationPoint(Budget budget, String username) {
-        LocalDate today = LocalDate.now();
-        LocalDate startDate;
-        LocalDate endDate;
-        if (budget.getPeriod() == BudgetPeriod.DAILY) {
-            startDate = today;
-            endDate = today;
-        } else if (budget.getPeriod() == BudgetPeriod.WEEKLY) {
-            startDate = today.minusDays(today.getDayOfWeek().getValue() - 1L);
-            endDate = startDate.plusDays(6);
-        } else if (budget.getPeriod() == BudgetPeriod.YEARLY) {
-            startDate = today.withDayOfYear(1);
-            endDate = today.withDayOfYear(today.lengthOfYear());
-        } else {
-            startDate = today.withDayOfMonth(1);
-            endDate = today.withDayOfMonth(today.lengthOfMonth());
-        }
-
-        BigDecimal spentAmount = expenseRepository.sumAmountByBudgetAndTypeAndDateRange(
-                budget.getId(),
-                username,
-                TransactionType.EXPENSE,
-                startDate,
-                endDate
-        ).setScale(2, RoundingMode.HALF_UP);
-        BigDecimal remainingAmount = budget.getAmount().subtract(spentAmount).setScale(2, RoundingMode.HALF_UP);
-        BigDecimal utilizationPercent = budget.getAmount().compareTo(BigDecimal.ZERO) == 0
-                ? BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP)
-                : spentAmount.multiply(BigDecimal.valueOf(100)).divide(budget.getAmount(), 2, RoundingMode.HALF_UP);
-
-        return new ExpenseDtos.BudgetUtilizationPoint(
-                budget.getId(),
-                budget.getName(),
-                budget.getPeriod().name(),
-                budget.getAmount().setScale(2, RoundingMode.HALF_UP),
-                spentAmount,
-                remainingAmount,
-                utilizationPercent
-        );
-    }
-
-    private BigDecimal sumAmounts(List<Expense> expenses) {
-        return expenses.stream()
-                .map(Expense::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add)
-                .setScale(2, RoundingMode.HALF_UP);
-    }
-
-    private BigDecimal sumAmountsInRange(List<Expense> expenses, LocalDate startDate, LocalDate endDate) {
-        return expenses.stream()
-                .filter(expense -> !expense.getExpenseDate().isBefore(startDate) && !expense.getExpenseDate().isAfter(endDate))
-                .map(Expense::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add)
-                .setScale(2, RoundingMode.HALF_UP);
-    }
-
-    private BigDecimal sumAmountsByType(List<Expense> expenses, TransactionType type) {
-        return expenses.stream()
-                .filter(expense -> expense.getTransactionType() == type)
-                .map(Expense::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add)
-                .setScale(2, RoundingMode.HALF_UP);
-    }
-
-    private BigDecimal sumAmountsInRangeByType(
-            List<Expense> expenses,
-            LocalDate startDate,
-            LocalDate endDate,
-            TransactionType type
-    ) {
-        return expenses.stream()
-                .filter(expense -> !expense.getExpenseDate().isBefore(startDate) && !expense.getExpenseDate().isAfter(endDate))
-                .filter(expense -> expense.getTransactionType() == type)
-                .map(Expense::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add)
-                .setScale(2, RoundingMode.HALF_UP);
-    }
-
-    private BigDecimal sumSavingAmounts(List<Expense> expenses) {
-        return expenses.stream()
-                .filter(expense -> expense.getCategory().getType() == CategoryType.SAVING)
-                .map(Expense::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add)
-                .setScale(2, RoundingMode.HALF_UP);
-    }
-
-    private ExpenseDtos.PeriodSummaryPoint toPeriodSummary(List<Expense> expenses) {
-        BigDecimal expenseTotal = sumAmountsByType(expenses, TransactionType.EXPENSE);
-        BigDecimal incomeTotal = sumAmountsByType(expenses, TransactionType.INCOME);
-        BigDecimal netAmount = incomeTotal.subtract(expenseTotal).setScale(2, RoundingMode.HALF_UP);
-        BigDecimal savingAmount = sumSavingAmounts(expenses);
-        BigDecimal savingRatePercent = incomeTotal.compareTo(BigDecimal.ZERO) == 0
-                ? BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP)
-                : savingAmount.multiply(BigDecimal.valueOf(100)).divide(incomeTotal, 2, RoundingMode.HALF_UP);
-        return new ExpenseDtos.PeriodSummaryPoint(expenseTotal, incomeTotal, netAmount, savingAmount, savingRatePercent);
-    }
-
-    private ExpenseDtos.PeriodSummaryPoint toPeriodSummaryInRange(
-            List<Expense> expenses,
-            LocalDate startDate,
-            LocalDate endDate
-    ) {
-        BigDecimal expenseTotal = sumAmountsInRangeByType(expenses, startDate, endDate, TransactionType.EXPENSE);
-        BigDecimal incomeTotal = sumAmountsInRangeByType(expenses, startDate, endDate, TransactionType.INCOME);
-        BigDecimal netAmount = incomeTotal.subtract(expenseTotal).setScale(2, RoundingMode.HALF_UP);
-        BigDecimal savingAmount = sumSavingAmountsInRange(expenses, startDate, endDate);
-        BigDecimal savingRatePercent = incomeTotal.compareTo(BigDecimal.ZERO) == 0
-                ? BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP)
-                : savingAmount.multiply(BigDecimal.valueOf(100)).divide(incomeTotal, 2, RoundingMode.HALF_UP);
-        return new ExpenseDtos.PeriodSummaryPoint(expenseTotal, incomeTotal, netAmount, savingAmount, savingRatePercent);
-    }
-
-    private BigDecimal sumSavingAmountsInRange(List<Expense> expenses, LocalDate startDate, LocalDate endDate) {
-        return expenses.stream()
-                .filter(expense -> !expense.getExpenseDate().isBefore(startDate) && !expense.getExpenseDate().isAfter(endDate))
-                .filter(expense -> expense.getCategory().getType() == CategoryType.SAVING)
-                .map(Expense::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add)
-                .setScale(2, RoundingMode.HALF_UP);
-    }
-
     private String currentUsername() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
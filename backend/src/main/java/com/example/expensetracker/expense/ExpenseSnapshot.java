@@ -0,0 +1,29 @@
+package com.example.expensetracker.expense;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record ExpenseSnapshot(
+        Long id,
+        BigDecimal amount,
+        LocalDate expenseDate,
+        TransactionType type,
+        Long categoryId,
+        Long subCategoryId,
+        Long budgetId,
+        String description
+) {
+
+    public static ExpenseSnapshot of(Expense expense) {
+        return new ExpenseSnapshot(
+                expense.getId(),
+                expense.getAmount(),
+                expense.getExpenseDate(),
+                expense.getTransactionType(),
+                expense.getCategory().getId(),
+                expense.getSubCategory().getId(),
+                expense.getBudget() == null ? null : expense.getBudget().getId(),
+                expense.getDescription()
+        );
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.expensetracker.expense;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Predicates for the transaction listings. A factory returns {@code null} when its parameter is absent, and
+ * {@link Specification#allOf} skips nulls, so the SQL only carries the filters a request actually supplies. MySQL
+ * then plans each combination on its own and can use the matching owner/type/date, owner/type/amount or
+ * owner/category/date index, instead of one generic {@code (:param IS NULL OR ...)} plan that scans.
+ */
+final class ExpenseSpecifications {
+
+    private ExpenseSpecifications() {
+    }
+
+    static Specification<Expense> ownedBy(Long ownerId) {
+        return (root, query, cb) -> cb.equal(root.get("ownerId"), ownerId);
+    }
+
+    static Specification<Expense> ofType(TransactionType type) {
+        return type == null ? null : (root, query, cb) -> cb.equal(root.get("transactionType"), type);
+    }
+
+    static Specification<Expense> onOrAfter(LocalDate startDate) {
+        return startDate == null
+                ? null
+                : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("expenseDate"), startDate);
+    }
+
+    static Specification<Expense> onOrBefore(LocalDate endDate) {
+        return endDate == null ? null : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("expenseDate"), endDate);
+    }
+
+    static Specification<Expense> inCategory(Long categoryId) {
+        return categoryId == null
+                ? null
+                : (root, query, cb) -> cb.equal(root.get("category").get("id"), categoryId);
+    }
+
+    static Specification<Expense> inSubCategory(Long subCategoryId) {
+        return subCategoryId == null
+                ? null
+                : (root, query, cb) -> cb.equal(root.get("subCategory").get("id"), subCategoryId);
+    }
+
+    static Specification<Expense> amountAtLeast(BigDecimal minAmount) {
+        return minAmount == null
+                ? null
+                : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("amount"), minAmount);
+    }
+
+    static Specification<Expense> amountAtMost(BigDecimal maxAmount) {
+        return maxAmount == null ? null : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("amount"), maxAmount);
+    }
+
+    /**
+     * Keyset seek: rows strictly after {@code cursor} in the listing order, which is (expenseDate, id) in the
+     * cursor's direction, or amount in the cursor's direction with ties broken newest first.
+     */
+    static Specification<Expense> after(ExpenseCursor cursor) {
+        return (root, query, cb) -> {
+            boolean ascending = cursor.direction().isAscending();
+            if (cursor.sortKey() == ExpenseCursor.SortKey.AMOUNT) {
+                Path<BigDecimal> amount = root.get("amount");
+                return cb.or(
+                        ascending ? cb.greaterThan(amount, cursor.amount()) : cb.lessThan(amount, cursor.amount()),
+                        cb.and(cb.equal(amount, cursor.amount()), afterDateAndId(root, cb, cursor, false))
+                );
+            }
+            return afterDateAndId(root, cb, cursor, ascending);
+        };
+    }
+
+    private static Predicate afterDateAndId(Root<Expense> root, CriteriaBuilder cb, ExpenseCursor cursor, boolean ascending) {
+        Path<LocalDate> expenseDate = root.get("expenseDate");
+        Path<Long> id = root.get("id");
+        return cb.or(
+                ascending
+                        ? cb.greaterThan(expenseDate, cursor.expenseDate())
+                        : cb.lessThan(expenseDate, cursor.expenseDate()),
+                cb.and(
+                        cb.equal(expenseDate, cursor.expenseDate()),
+                        ascending ? cb.greaterThan(id, cursor.id()) : cb.lessThan(id, cursor.id())
+                )
+        );
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.expensetracker.expense;
+
+import java.util.List;
+
+/**
+ * Published inside the writing transaction for transactions created in bulk, by an import chunk or a batch request.
+ * Listeners apply the rows as one change rather than one {@link ExpenseChangedEvent} per row.
+ */
+public record ExpensesInsertedEvent(String username, List<ExpenseSnapshot> inserted) {
+}
@@ -0,0 +1,38 @@
+package com.example.expensetracker.expense;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+enum ExportFormat {
+    CSV("csv", new MediaType("text", "csv", StandardCharsets.UTF_8)),
+    NDJSON("ndjson", MediaType.parseMediaType("application/x-ndjson"));
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    ExportFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    String extension() {
+        return extension;
+    }
+
+    MediaType mediaType() {
+        return mediaType;
+    }
+
+    static ExportFormat parse(String format) {
+        String normalized = format == null ? "csv" : format.trim().toLowerCase(Locale.ROOT);
+        return switch (normalized) {
+            case "csv" -> CSV;
+            case "ndjson" -> NDJSON;
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be csv or ndjson");
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.expensetracker.expense;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Gives transaction exports their own async timeout. A streamed export runs for as long as the user's data takes to
+ * write, so the export endpoint marks its request and this interceptor raises the timeout just before that request
+ * goes async; every other async handler keeps the default.
+ */
+@Component
+public class ExportTimeoutInterceptor implements CallableProcessingInterceptor {
+
+    private static final String EXPORT_ATTRIBUTE = ExportTimeoutInterceptor.class.getName() + ".export";
+
+    private final long timeoutMs;
+
+    public ExportTimeoutInterceptor(@Value("${app.export.request-timeout:30m}") Duration timeout) {
+        this.timeoutMs = timeout.toMillis();
+    }
+
+    static void markExport(WebRequest request) {
+        request.setAttribute(EXPORT_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        if (request instanceof AsyncWebRequest asyncWebRequest
+                && request.getAttribute(EXPORT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            asyncWebRequest.setTimeout(timeoutMs);
+        }
+    }
+}
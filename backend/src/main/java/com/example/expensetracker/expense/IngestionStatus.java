@@ -0,0 +1,7 @@
+package com.example.expensetracker.expense;
+
+public enum IngestionStatus {
+    QUEUED,
+    COMPLETED,
+    REJECTED
+}
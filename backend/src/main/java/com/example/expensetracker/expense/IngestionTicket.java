@@ -0,0 +1,46 @@
+package com.example.expensetracker.expense;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of an asynchronously ingested transaction. Written in the same transaction as the expense itself, so a
+ * ticket row doubles as the marker that lets log replay skip work that already committed.
+ */
+@Entity
+@Table(name = "ingestion_tickets")
+@Getter
+@Setter
+public class IngestionTicket {
+
+    @Id
+    @Column(name = "ticket_id", length = 36)
+    private String ticketId;
+
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private IngestionStatus status;
+
+    @Column(name = "expense_id")
+    private Long expenseId;
+
+    @Column(length = 300)
+    private String error;
+
+    @Column(name = "accepted_on", nullable = false)
+    private LocalDateTime acceptedOn;
+
+    @Column(name = "completed_on", nullable = false)
+    private LocalDateTime completedOn;
+}
@@ -0,0 +1,17 @@
+package com.example.expensetracker.expense;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface IngestionTicketRepository extends JpaRepository<IngestionTicket, String> {
+
+    Optional<IngestionTicket> findByTicketIdAndOwnerId(String ticketId, Long ownerId);
+
+    @Query("SELECT t.ticketId FROM IngestionTicket t WHERE t.ticketId IN :ticketIds")
+    List<String> findExistingTicketIds(@Param("ticketIds") Collection<String> ticketIds);
+}
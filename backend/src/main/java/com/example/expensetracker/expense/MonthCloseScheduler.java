@@ -0,0 +1,50 @@
+package com.example.expensetracker.expense;
+
+import com.example.expensetracker.auth.AppUser;
+import com.example.expensetracker.auth.AuthenticatedUser;
+import com.example.expensetracker.auth.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Closes the previous month for every user shortly after the month rolls over, so the first dashboard read of the
+ * month finds it frozen. Each user is closed in its own transaction under that user's authentication, since the
+ * audit columns (and with them snapshot ownership) are taken from the security context.
+ */
+@Component
+public class MonthCloseScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(MonthCloseScheduler.class);
+
+    private final UserRepository userRepository;
+    private final MonthlySnapshotService snapshotService;
+
+    public MonthCloseScheduler(UserRepository userRepository, MonthlySnapshotService snapshotService) {
+        this.userRepository = userRepository;
+        this.snapshotService = snapshotService;
+    }
+
+    @Scheduled(cron = "${app.dashboard.month-close.cron:0 30 0 1 * *}")
+    public void closeMonths() {
+        for (AppUser user : userRepository.findAll()) {
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(
+                            new AuthenticatedUser(user.getId(), user.getUsername()), null, List.of())
+            );
+            try {
+                int closed = snapshotService.closeMonths(user.getUsername());
+                log.info("Closed {} month(s) for {}", closed, user.getUsername());
+            } catch (RuntimeException ex) {
+                log.warn("Month close failed for {}", user.getUsername(), ex);
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.expensetracker.expense;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+
+public interface MonthlyCategorySnapshotRepository extends JpaRepository<MonthlyCategorySnapshot, Long> {
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM MonthlyCategorySnapshot l WHERE l.snapshot IN :snapshots")
+    int deleteAllBySnapshotIn(@Param("snapshots") Collection<MonthlySummarySnapshot> snapshots);
+}
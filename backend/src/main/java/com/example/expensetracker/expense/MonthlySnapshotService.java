@@ -0,0 +1,173 @@
+package com.example.expensetracker.expense;
+
+import com.example.expensetracker.auth.UserContext;
+import com.example.expensetracker.cache.UserDataChangedEvent;
+import com.example.expensetracker.cache.UserDataKind;
+import com.example.expensetracker.category.CategoryType;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Freezes the dashboard figures of closed months (every month before the current one) into a
+ * {@link MonthlySummarySnapshot} per user and month, with one {@link MonthlyCategorySnapshot} line per type and
+ * category. Snapshots are written by the month-close job, the on-demand close endpoint, or lazily by the dashboard
+ * when it meets a closed month that is not frozen yet. Back-dated transaction edits and category changes only mark
+ * the affected snapshots stale; the next close or dashboard read recomputes them from the monthly rollups.
+ */
+@Service
+@Transactional
+public class MonthlySnapshotService {
+
+    private final MonthlySummarySnapshotRepository snapshotRepository;
+    private final MonthlyCategorySnapshotRepository lineRepository;
+    private final ExpenseMonthlyRollupRepository rollupRepository;
+    private final UserContext userContext;
+
+    public MonthlySnapshotService(
+            MonthlySummarySnapshotRepository snapshotRepository,
+            MonthlyCategorySnapshotRepository lineRepository,
+            ExpenseMonthlyRollupRepository rollupRepository,
+            UserContext userContext
+    ) {
+        this.snapshotRepository = snapshotRepository;
+        this.lineRepository = lineRepository;
+        this.rollupRepository = rollupRepository;
+        this.userContext = userContext;
+    }
+
+    @EventListener
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        YearMonth openMonth = YearMonth.now();
+        Set<YearMonth> months = new HashSet<>();
+        if (event.before() != null) {
+            months.add(YearMonth.from(event.before().expenseDate()));
+        }
+        if (event.after() != null) {
+            months.add(YearMonth.from(event.after().expenseDate()));
+        }
+        for (YearMonth month : months) {
+            if (month.isBefore(openMonth)) {
+                snapshotRepository.markStale(event.username(), month.atDay(1));
+            }
+        }
+    }
+
+    @EventListener
+    public void onExpensesInserted(ExpensesInsertedEvent event) {
+        YearMonth openMonth = YearMonth.now();
+        Set<YearMonth> months = new HashSet<>();
+        for (ExpenseSnapshot inserted : event.inserted()) {
+            months.add(YearMonth.from(inserted.expenseDate()));
+        }
+        for (YearMonth month : months) {
+            if (month.isBefore(openMonth)) {
+                snapshotRepository.markStale(event.username(), month.atDay(1));
+            }
+        }
+    }
+
+    @EventListener
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        // Snapshot lines freeze category names and types, so any category edit invalidates all of them.
+        if (event.kind() == UserDataKind.CATEGORIES) {
+            snapshotRepository.markAllStale(event.username());
+        }
+    }
+
+    public ExpenseDtos.MonthCloseResponse closeCurrentUser() {
+        return new ExpenseDtos.MonthCloseResponse(closeMonths(userContext.currentUsername()));
+    }
+
+    /**
+     * Freezes every closed month from the user's first transaction onwards that has no snapshot yet or whose
+     * snapshot is stale, and returns how many months were written.
+     */
+    public int closeMonths(String username) {
+        LocalDate earliestMonthStart = rollupRepository.findEarliestMonthStart(username);
+        if (earliestMonthStart == null) {
+            return 0;
+        }
+        Set<LocalDate> frozen = new HashSet<>(snapshotRepository.findFreshMonthStarts(username));
+        List<YearMonth> pending = new ArrayList<>();
+        YearMonth openMonth = YearMonth.now();
+        for (YearMonth month = YearMonth.from(earliestMonthStart); month.isBefore(openMonth); month = month.plusMonths(1)) {
+            if (!frozen.contains(month.atDay(1))) {
+                pending.add(month);
+            }
+        }
+        refreshClosedMonths(username, pending);
+        return pending.size();
+    }
+
+    /**
+     * Recomputes the snapshots of the given closed months from the monthly rollups, replacing any existing lines.
+     * The snapshot rows are locked first so a concurrent back-dated edit either lands before the rollups are read
+     * or marks the refreshed snapshot stale again after this transaction commits.
+     */
+    public void refreshClosedMonths(String username, List<YearMonth> months) {
+        YearMonth openMonth = YearMonth.now();
+        List<LocalDate> monthStarts = months.stream()
+                .filter(month -> month.isBefore(openMonth))
+                .map(month -> month.atDay(1))
+                .toList();
+        if (monthStarts.isEmpty()) {
+            return;
+        }
+
+        Map<LocalDate, MonthlySummarySnapshot> snapshots = new HashMap<>();
+        for (MonthlySummarySnapshot snapshot : snapshotRepository.findAllForUpdate(username, monthStarts)) {
+            snapshots.put(snapshot.getMonthStart(), snapshot);
+        }
+        if (!snapshots.isEmpty()) {
+            lineRepository.deleteAllBySnapshotIn(snapshots.values());
+        }
+        for (LocalDate monthStart : monthStarts) {
+            MonthlySummarySnapshot snapshot = snapshots.computeIfAbsent(monthStart, key -> {
+                MonthlySummarySnapshot created = new MonthlySummarySnapshot();
+                created.setMonthStart(key);
+                return created;
+            });
+            snapshot.setExpenseTotal(BigDecimal.ZERO);
+            snapshot.setIncomeTotal(BigDecimal.ZERO);
+            snapshot.setSavingTotal(BigDecimal.ZERO);
+            snapshot.setTransactionCount(0);
+            snapshot.setStale(false);
+        }
+
+        List<MonthlyCategorySnapshot> lines = new ArrayList<>();
+        for (ExpenseAggregates.MonthlyCategoryTotal row : rollupRepository.summarizeMonths(username, monthStarts)) {
+            MonthlySummarySnapshot snapshot = snapshots.get(row.getMonthStart());
+            MonthlyCategorySnapshot line = new MonthlyCategorySnapshot();
+            line.setSnapshot(snapshot);
+            line.setTransactionType(row.getType());
+            line.setCategoryType(row.getCategoryType());
+            line.setCategoryName(row.getCategoryName());
+            line.setTotalAmount(row.getTotal());
+            line.setTransactionCount(row.getCount());
+            lines.add(line);
+
+            if (row.getType() == TransactionType.EXPENSE) {
+                snapshot.setExpenseTotal(snapshot.getExpenseTotal().add(row.getTotal()));
+            } else if (row.getType() == TransactionType.INCOME) {
+                snapshot.setIncomeTotal(snapshot.getIncomeTotal().add(row.getTotal()));
+            }
+            if (row.getCategoryType() == CategoryType.SAVING) {
+                snapshot.setSavingTotal(snapshot.getSavingTotal().add(row.getTotal()));
+            }
+            snapshot.setTransactionCount(snapshot.getTransactionCount() + row.getCount());
+        }
+        snapshotRepository.saveAll(snapshots.values());
+        lineRepository.saveAll(lines);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.expensetracker.expense;
+
+import com.example.expensetracker.audit.AuditableEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(
+        name = "monthly_summary_snapshots",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_monthly_summary_snapshots_month",
+                columnNames = {"created_by", "month_start"}
+        )
+)
+@Getter
+@Setter
+public class MonthlySummarySnapshot extends AuditableEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "month_start", nullable = false)
+    private LocalDate monthStart;
+
+    @Column(name = "expense_total", nullable = false, precision = 16, scale = 2)
+    private BigDecimal expenseTotal = BigDecimal.ZERO;
+
+    @Column(name = "income_total", nullable = false, precision = 16, scale = 2)
+    private BigDecimal incomeTotal = BigDecimal.ZERO;
+
+    @Column(name = "saving_total", nullable = false, precision = 16, scale = 2)
+    private BigDecimal savingTotal = BigDecimal.ZERO;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    @Column(nullable = false)
+    private boolean stale;
+}
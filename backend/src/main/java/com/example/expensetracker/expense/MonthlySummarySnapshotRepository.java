@@ -0,0 +1,81 @@
+package com.example.expensetracker.expense;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface MonthlySummarySnapshotRepository extends JpaRepository<MonthlySummarySnapshot, Long> {
+
+    /**
+     * Returns one row per snapshot category line for the closed months in range, plus a row with null line
+     * columns for snapshots of months without any transactions, so callers can tell "frozen and empty" apart from
+     * "not frozen yet".
+     */
+    @Query("""
+            SELECT s.monthStart AS monthStart,
+                   s.stale AS stale,
+                   l.transactionType AS type,
+                   l.categoryType AS categoryType,
+                   l.categoryName AS categoryName,
+                   l.totalAmount AS total,
+                   l.transactionCount AS count
+            FROM MonthlySummarySnapshot s
+            LEFT JOIN MonthlyCategorySnapshot l ON l.snapshot = s
+            WHERE s.createdBy = :createdBy
+              AND s.monthStart BETWEEN :startMonth AND :endMonth
+            """)
+    List<ExpenseAggregates.SnapshotCategoryTotal> findClosedMonthTotals(
+            @Param("createdBy") String createdBy,
+            @Param("startMonth") LocalDate startMonth,
+            @Param("endMonth") LocalDate endMonth
+    );
+
+    @Query("""
+            SELECT s.monthStart
+            FROM MonthlySummarySnapshot s
+            WHERE s.createdBy = :createdBy
+              AND s.stale = false
+            """)
+    List<LocalDate> findFreshMonthStarts(@Param("createdBy") String createdBy);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT s
+            FROM MonthlySummarySnapshot s
+            WHERE s.createdBy = :createdBy
+              AND s.monthStart IN :monthStarts
+            """)
+    List<MonthlySummarySnapshot> findAllForUpdate(
+            @Param("createdBy") String createdBy,
+            @Param("monthStarts") Collection<LocalDate> monthStarts
+    );
+
+    /**
+     * Flags a closed month for recomputation, inserting an empty stale snapshot when the month has not been frozen
+     * yet. Writing the row (rather than only updating an existing one) makes a back-dated edit that races a first
+     * close wait on the same unique key, so the close can never freeze totals that miss the edit.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO monthly_summary_snapshots (
+                month_start, expense_total, income_total, saving_total, transaction_count, stale, created_by, created_on
+            )
+            VALUES (:monthStart, 0, 0, 0, 0, TRUE, :createdBy, CURRENT_TIMESTAMP(6))
+            ON DUPLICATE KEY UPDATE
+                stale = TRUE,
+                updated_by = :createdBy,
+                updated_on = CURRENT_TIMESTAMP(6)
+            """)
+    int markStale(@Param("createdBy") String createdBy, @Param("monthStart") LocalDate monthStart);
+
+    @Modifying
+    @Query("UPDATE MonthlySummarySnapshot s SET s.stale = true WHERE s.createdBy = :createdBy")
+    int markAllStale(@Param("createdBy") String createdBy);
+}
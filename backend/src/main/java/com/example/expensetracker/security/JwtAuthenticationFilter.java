@@ -1,6 +1,9 @@
 package com.example.expensetracker.security;
 
+import com.example.expensetracker.auth.AppUser;
+import com.example.expensetracker.auth.AuthenticatedUser;
 import com.example.expensetracker.auth.JwtService;
+import com.example.expensetracker.auth.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,9 +21,11 @@ import java.util.List;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
+    private final UserRepository userRepository;
 
-    public JwtAuthenticationFilter(JwtService jwtService) {
+    public JwtAuthenticationFilter(JwtService jwtService, UserRepository userRepository) {
         this.jwtService = jwtService;
+        this.userRepository = userRepository;
     }
 
     @Override
@@ -32,13 +37,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String token = authHeader.substring(7);
             if (jwtService.isTokenValid(token) && SecurityContextHolder.getContext().getAuthentication() == null) {
                 String username = jwtService.extractUsername(token);
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(username, null, List.of());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                Long userId = resolveUserId(token, username);
+                if (userId != null) {
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                            new AuthenticatedUser(userId, username), null, List.of());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         }
 
         filterChain.doFilter(request, response);
     }
+
+    // Tokens issued before the uid claim existed are resolved by username once, here, instead of in every query.
+    private Long resolveUserId(String token, String username) {
+        Long userId = jwtService.extractUserId(token);
+        if (userId != null) {
+            return userId;
+        }
+        return userRepository.findByUsernameIgnoreCase(username).map(AppUser::getId).orElse(null);
+    }
 }
@@ -0,0 +1,82 @@
+package com.example.expensetracker.sync;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hands out the per-user change sequence that write paths stamp on the rows they create or update, and records
+ * tombstones for deletes. One value is allocated per user and transaction, however many rows it touches. Allocation
+ * locks the user's sequence row until commit, so a user's writes commit in sequence order and a reader that sees
+ * sequence N has also seen every change up to N. Runs on plain JDBC so that it never flushes or clears the caller's
+ * persistence context.
+ */
+@Component
+public class ChangeSequence {
+
+    private static final String ADVANCE = """
+            INSERT INTO user_change_sequences (owner_id, last_seq)
+            VALUES (?, 1)
+            ON DUPLICATE KEY UPDATE last_seq = last_seq + 1""";
+    private static final String CURRENT = "SELECT last_seq FROM user_change_sequences WHERE owner_id = ?";
+    private static final String INSERT_TOMBSTONE = """
+            INSERT INTO sync_tombstones (owner_id, entity_type, entity_id, change_seq, deleted_on)
+            VALUES (?, ?, ?, ?, ?)""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ChangeSequence(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Returns the sequence of the current transaction's changes for the user, allocating it on first use.
+     */
+    public long next(Long ownerId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Change sequences must be allocated inside a transaction");
+        }
+        @SuppressWarnings("unchecked")
+        Map<Long, Long> allocated = (Map<Long, Long>) TransactionSynchronizationManager.getResource(this);
+        if (allocated == null) {
+            allocated = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, allocated);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ChangeSequence.this);
+                }
+            });
+        }
+        return allocated.computeIfAbsent(ownerId, this::advance);
+    }
+
+    public void recordDeletions(Long ownerId, SyncEntityType entityType, Collection<Long> entityIds) {
+        if (entityIds.isEmpty()) {
+            return;
+        }
+        long seq = next(ownerId);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(entityIds.size());
+        for (Long entityId : entityIds) {
+            rows.add(new Object[] {ownerId, entityType.name(), entityId, seq, now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_TOMBSTONE, rows);
+    }
+
+    private long advance(Long ownerId) {
+        jdbcTemplate.update(ADVANCE, ownerId);
+        Long seq = jdbcTemplate.queryForObject(CURRENT, Long.class, ownerId);
+        return seq == null ? 0 : seq;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.expensetracker.sync;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    public SyncController(SyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    @GetMapping("/sync")
+    public SyncDtos.SyncResponse sync(@RequestParam(required = false) Long since) {
+        return syncService.changesSince(since);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.expensetracker.sync;
+
+import com.example.expensetracker.budget.BudgetPeriod;
+import com.example.expensetracker.category.CategoryType;
+import com.example.expensetracker.expense.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public final class SyncDtos {
+
+    private SyncDtos() {
+    }
+
+    /**
+     * Everything that changed after {@code since}, up to and including {@code sequence}, which the client sends as
+     * {@code since} next time. With {@code full} set the lists hold every entity and the client should replace its
+     * store rather than merge into it.
+     */
+    public record SyncResponse(
+            long sequence,
+            boolean full,
+            List<SyncCategory> categories,
+            List<SyncSubCategory> subCategories,
+            List<SyncBudget> budgets,
+            List<SyncTransaction> transactions,
+            SyncDeletions deleted
+    ) {
+    }
+
+    public record SyncCategory(Long id, String name, String description, CategoryType type) {
+    }
+
+    public record SyncSubCategory(Long id, Long categoryId, String name) {
+    }
+
+    public record SyncBudget(Long id, String name, BigDecimal amount, BudgetPeriod period, boolean defaultBudget) {
+    }
+
+    public record SyncTransaction(
+            Long id,
+            BigDecimal amount,
+            String description,
+            LocalDate expenseDate,
+            TransactionType type,
+            Long categoryId,
+            Long subCategoryId,
+            Long budgetId
+    ) {
+    }
+
+    public record SyncDeletions(
+            List<Long> categories,
+            List<Long> subCategories,
+            List<Long> budgets,
+            List<Long> transactions
+    ) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.expensetracker.sync;
+
+public enum SyncEntityType {
+    CATEGORY,
+    SUB_CATEGORY,
+    BUDGET,
+    TRANSACTION
+}
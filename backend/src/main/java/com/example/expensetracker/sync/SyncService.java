@@ -0,0 +1,134 @@
+package com.example.expensetracker.sync;
+
+import com.example.expensetracker.auth.UserContext;
+import com.example.expensetracker.budget.BudgetPeriod;
+import com.example.expensetracker.category.CategoryType;
+import com.example.expensetracker.expense.TransactionType;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Answers delta-sync requests from offline-capable clients. Every changed row carries the change sequence of the
+ * transaction that last wrote it, so a delta is a range scan on {@code (owner_id, change_seq)} per table plus the
+ * tombstones in the same range. Reads are plain projections with no persistence context, and the upper bound is the
+ * sequence read at the start, so rows committed while the sync runs are left for the next one.
+ */
+@Service
+public class SyncService {
+
+    private static final String CHANGED = " WHERE owner_id = :ownerId AND change_seq > :since AND change_seq <= :upTo"
+            + " ORDER BY id";
+
+    private final UserChangeSequenceRepository sequenceRepository;
+    private final SyncTombstoneRepository tombstoneRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final UserContext userContext;
+
+    public SyncService(
+            UserChangeSequenceRepository sequenceRepository,
+            SyncTombstoneRepository tombstoneRepository,
+            DataSource dataSource,
+            UserContext userContext
+    ) {
+        this.sequenceRepository = sequenceRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.userContext = userContext;
+    }
+
+    /**
+     * Returns the changes after {@code since}. A missing or non-positive {@code since}, or one ahead of the server
+     * (after a restore, say), gets a full snapshot instead.
+     */
+    @Transactional(readOnly = true)
+    public SyncDtos.SyncResponse changesSince(Long since) {
+        Long ownerId = userContext.currentUserId();
+        long upTo = sequenceRepository.findById(ownerId).map(UserChangeSequence::getLastSeq).orElse(0L);
+        boolean full = since == null || since <= 0 || since > upTo;
+        // Rows written before sequences existed carry 0, so a full snapshot starts below it.
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("ownerId", ownerId)
+                .addValue("since", full ? -1L : since)
+                .addValue("upTo", upTo);
+
+        List<SyncDtos.SyncCategory> categories = jdbcTemplate.query(
+                "SELECT id, name, description, category_type FROM categories" + CHANGED,
+                parameters,
+                (rs, row) -> new SyncDtos.SyncCategory(
+                        rs.getLong("id"),
+                        rs.getString("name"),
+                        rs.getString("description"),
+                        CategoryType.valueOf(rs.getString("category_type"))
+                )
+        );
+        List<SyncDtos.SyncSubCategory> subCategories = jdbcTemplate.query(
+                "SELECT id, category_id, name FROM sub_categories" + CHANGED,
+                parameters,
+                (rs, row) -> new SyncDtos.SyncSubCategory(
+                        rs.getLong("id"),
+                        rs.getLong("category_id"),
+                        rs.getString("name")
+                )
+        );
+        List<SyncDtos.SyncBudget> budgets = jdbcTemplate.query(
+                "SELECT id, name, amount, budget_period, is_default FROM budgets" + CHANGED,
+                parameters,
+                (rs, row) -> new SyncDtos.SyncBudget(
+                        rs.getLong("id"),
+                        rs.getString("name"),
+                        rs.getBigDecimal("amount"),
+                        BudgetPeriod.valueOf(rs.getString("budget_period")),
+                        rs.getBoolean("is_default")
+                )
+        );
+        List<SyncDtos.SyncTransaction> transactions = jdbcTemplate.query(
+                "SELECT id, amount, description, expense_date, transaction_type, category_id, sub_category_id,"
+                        + " budget_id FROM expenses" + CHANGED,
+                parameters,
+                (rs, row) -> new SyncDtos.SyncTransaction(
+                        rs.getLong("id"),
+                        rs.getBigDecimal("amount"),
+                        rs.getString("description"),
+                        rs.getObject("expense_date", LocalDate.class),
+                        TransactionType.valueOf(rs.getString("transaction_type")),
+                        rs.getLong("category_id"),
+                        rs.getLong("sub_category_id"),
+                        rs.getObject("budget_id", Long.class)
+                )
+        );
+
+        Map<SyncEntityType, List<Long>> deleted = new EnumMap<>(SyncEntityType.class);
+        for (SyncEntityType type : SyncEntityType.values()) {
+            deleted.put(type, new ArrayList<>());
+        }
+        if (!full) {
+            for (SyncTombstone tombstone : tombstoneRepository.findChanged(ownerId, since, upTo)) {
+                deleted.get(tombstone.getEntityType()).add(tombstone.getEntityId());
+            }
+        }
+
+        return new SyncDtos.SyncResponse(
+                upTo,
+                full,
+                categories,
+                subCategories,
+                budgets,
+                transactions,
+                new SyncDtos.SyncDeletions(
+                        deleted.get(SyncEntityType.CATEGORY),
+                        deleted.get(SyncEntityType.SUB_CATEGORY),
+                        deleted.get(SyncEntityType.BUDGET),
+                        deleted.get(SyncEntityType.TRANSACTION)
+                )
+        );
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.expensetracker.sync;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, Long> {
+
+    @Query("""
+            SELECT t
+            FROM SyncTombstone t
+            WHERE t.ownerId = :ownerId
+              AND t.changeSeq > :since
+              AND t.changeSeq <= :upTo
+            ORDER BY t.changeSeq, t.id
+            """)
+    List<SyncTombstone> findChanged(
+            @Param("ownerId") Long ownerId,
+            @Param("since") long since,
+            @Param("upTo") long upTo
+    );
+}
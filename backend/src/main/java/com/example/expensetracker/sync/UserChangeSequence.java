@@ -0,0 +1,25 @@
+package com.example.expensetracker.sync;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Last change sequence handed out for a user. Rows are created and advanced by {@link ChangeSequence}.
+ */
+@Entity
+@Table(name = "user_change_sequences")
+@Getter
+@Setter
+public class UserChangeSequence {
+
+    @Id
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    @Column(name = "last_seq", nullable = false)
+    private long lastSeq;
+}
@@ -0,0 +1,6 @@
+package com.example.expensetracker.sync;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface UserChangeSequenceRepository extends JpaRepository<UserChangeSequence, Long> {
+}
@@ -0,0 +1,37 @@
+CREATE TABLE IF NOT EXISTS expense_monthly_rollups (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    month_start DATE NOT NULL,
+    transaction_type VARCHAR(20) NOT NULL,
+    category_id BIGINT NOT NULL,
+    sub_category_id BIGINT NOT NULL,
+    total_amount DECIMAL(16, 2) NOT NULL,
+    transaction_count BIGINT NOT NULL,
+    created_by VARCHAR(100) NOT NULL DEFAULT 'system',
+    created_on TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    updated_by VARCHAR(100),
+    updated_on TIMESTAMP(6),
+    CONSTRAINT uk_expense_monthly_rollups_bucket
+        UNIQUE (created_by, month_start, transaction_type, category_id, sub_category_id),
+    CONSTRAINT fk_expense_monthly_rollups_category FOREIGN KEY (category_id) REFERENCES categories(id),
+    CONSTRAINT fk_expense_monthly_rollups_sub_category FOREIGN KEY (sub_category_id) REFERENCES sub_categories(id)
+);
+
+DELETE FROM expense_monthly_rollups;
+
+INSERT INTO expense_monthly_rollups (
+    month_start, transaction_type, category_id, sub_category_id, total_amount, transaction_count, created_by, created_on
+)
+SELECT DATE_SUB(expense_date, INTERVAL DAYOFMONTH(expense_date) - 1 DAY),
+       transaction_type,
+       category_id,
+       sub_category_id,
+       SUM(amount),
+       COUNT(*),
+       created_by,
+       CURRENT_TIMESTAMP(6)
+FROM expenses
+GROUP BY created_by,
+         DATE_SUB(expense_date, INTERVAL DAYOFMONTH(expense_date) - 1 DAY),
+         transaction_type,
+         category_id,
+         sub_category_id;
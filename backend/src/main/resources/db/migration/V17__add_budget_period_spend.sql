@@ -0,0 +1,34 @@
+CREATE TABLE IF NOT EXISTS budget_period_spend (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    budget_id BIGINT NOT NULL,
+    period_start DATE NOT NULL,
+    spent_amount DECIMAL(16, 2) NOT NULL,
+    transaction_count BIGINT NOT NULL,
+    created_by VARCHAR(100) NOT NULL DEFAULT 'system',
+    created_on TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    updated_by VARCHAR(100),
+    updated_on TIMESTAMP(6),
+    CONSTRAINT uk_budget_period_spend_period UNIQUE (budget_id, period_start),
+    CONSTRAINT fk_budget_period_spend_budget FOREIGN KEY (budget_id) REFERENCES budgets(id)
+);
+
+DELETE FROM budget_period_spend;
+
+INSERT INTO budget_period_spend (
+    budget_id, period_start, spent_amount, transaction_count, created_by, created_on
+)
+SELECT b.id,
+       CASE b.budget_period
+           WHEN 'DAILY' THEN e.expense_date
+           WHEN 'WEEKLY' THEN DATE_SUB(e.expense_date, INTERVAL WEEKDAY(e.expense_date) DAY)
+           WHEN 'MONTHLY' THEN DATE_SUB(e.expense_date, INTERVAL DAYOFMONTH(e.expense_date) - 1 DAY)
+           ELSE MAKEDATE(YEAR(e.expense_date), 1)
+       END AS period_start,
+       SUM(e.amount),
+       COUNT(*),
+       b.created_by,
+       CURRENT_TIMESTAMP(6)
+FROM expenses e
+JOIN budgets b ON b.id = e.budget_id
+WHERE e.transaction_type = 'EXPENSE'
+GROUP BY b.id, period_start, b.created_by;
@@ -0,0 +1,30 @@
+CREATE TABLE IF NOT EXISTS monthly_summary_snapshots (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    month_start DATE NOT NULL,
+    expense_total DECIMAL(16, 2) NOT NULL,
+    income_total DECIMAL(16, 2) NOT NULL,
+    saving_total DECIMAL(16, 2) NOT NULL,
+    transaction_count BIGINT NOT NULL,
+    stale BOOLEAN NOT NULL,
+    created_by VARCHAR(100) NOT NULL DEFAULT 'system',
+    created_on TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    updated_by VARCHAR(100),
+    updated_on TIMESTAMP(6),
+    CONSTRAINT uk_monthly_summary_snapshots_month UNIQUE (created_by, month_start)
+);
+
+CREATE TABLE IF NOT EXISTS monthly_category_snapshots (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    snapshot_id BIGINT NOT NULL,
+    transaction_type VARCHAR(20) NOT NULL,
+    category_type VARCHAR(20) NOT NULL,
+    category_name VARCHAR(255) NOT NULL,
+    total_amount DECIMAL(16, 2) NOT NULL,
+    transaction_count BIGINT NOT NULL,
+    created_by VARCHAR(100) NOT NULL DEFAULT 'system',
+    created_on TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    updated_by VARCHAR(100),
+    updated_on TIMESTAMP(6),
+    CONSTRAINT fk_monthly_category_snapshots_snapshot
+        FOREIGN KEY (snapshot_id) REFERENCES monthly_summary_snapshots(id)
+);
@@ -0,0 +1,3 @@
+CREATE INDEX idx_expenses_owner_date ON expenses (created_by, expense_date, id);
+CREATE INDEX idx_expenses_owner_type_date ON expenses (created_by, transaction_type, expense_date, id);
+CREATE INDEX idx_expenses_owner_type_amount ON expenses (created_by, transaction_type, amount, expense_date, id);
@@ -0,0 +1,3 @@
+-- (created_by, transaction_type, expense_date, id) already exists as idx_expenses_owner_type_date (V19).
+CREATE INDEX idx_expenses_owner_category_date ON expenses (created_by, category_id, expense_date);
+CREATE INDEX idx_expenses_owner_budget_date ON expenses (created_by, budget_id, expense_date);
@@ -0,0 +1,32 @@
+ALTER TABLE categories ADD COLUMN owner_id BIGINT NULL;
+ALTER TABLE sub_categories ADD COLUMN owner_id BIGINT NULL;
+ALTER TABLE budgets ADD COLUMN owner_id BIGINT NULL;
+ALTER TABLE expenses ADD COLUMN owner_id BIGINT NULL;
+
+-- Rows whose created_by matches no user (e.g. leftovers owned by 'system') keep a NULL owner and stay invisible,
+-- exactly as they were to the case-insensitive created_by checks this replaces.
+UPDATE categories c JOIN users u ON LOWER(u.username) = LOWER(c.created_by) SET c.owner_id = u.id;
+UPDATE sub_categories s JOIN users u ON LOWER(u.username) = LOWER(s.created_by) SET s.owner_id = u.id;
+UPDATE budgets b JOIN users u ON LOWER(u.username) = LOWER(b.created_by) SET b.owner_id = u.id;
+UPDATE expenses e JOIN users u ON LOWER(u.username) = LOWER(e.created_by) SET e.owner_id = u.id;
+
+CREATE INDEX idx_categories_owner_name ON categories (owner_id, name);
+CREATE INDEX idx_sub_categories_owner_name ON sub_categories (owner_id, name);
+CREATE INDEX idx_budgets_owner_name ON budgets (owner_id, name);
+
+-- The listing, keyset and filter indexes from V19/V20 move from created_by to owner_id.
+DROP INDEX idx_expenses_owner_date ON expenses;
+DROP INDEX idx_expenses_owner_type_date ON expenses;
+DROP INDEX idx_expenses_owner_type_amount ON expenses;
+DROP INDEX idx_expenses_owner_category_date ON expenses;
+DROP INDEX idx_expenses_owner_budget_date ON expenses;
+CREATE INDEX idx_expenses_owner_date ON expenses (owner_id, expense_date, id);
+CREATE INDEX idx_expenses_owner_type_date ON expenses (owner_id, transaction_type, expense_date, id);
+CREATE INDEX idx_expenses_owner_type_amount ON expenses (owner_id, transaction_type, amount, expense_date, id);
+CREATE INDEX idx_expenses_owner_category_date ON expenses (owner_id, category_id, expense_date);
+CREATE INDEX idx_expenses_owner_budget_date ON expenses (owner_id, budget_id, expense_date);
+
+ALTER TABLE categories ADD CONSTRAINT fk_categories_owner FOREIGN KEY (owner_id) REFERENCES users(id);
+ALTER TABLE sub_categories ADD CONSTRAINT fk_sub_categories_owner FOREIGN KEY (owner_id) REFERENCES users(id);
+ALTER TABLE budgets ADD CONSTRAINT fk_budgets_owner FOREIGN KEY (owner_id) REFERENCES users(id);
+ALTER TABLE expenses ADD CONSTRAINT fk_expenses_owner FOREIGN KEY (owner_id) REFERENCES users(id);
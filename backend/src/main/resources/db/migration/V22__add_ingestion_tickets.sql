@@ -0,0 +1,11 @@
+CREATE TABLE IF NOT EXISTS ingestion_tickets (
+    ticket_id VARCHAR(36) PRIMARY KEY,
+    owner_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    expense_id BIGINT NULL,
+    error VARCHAR(300) NULL,
+    accepted_on DATETIME(6) NOT NULL,
+    completed_on DATETIME(6) NOT NULL,
+    INDEX idx_ingestion_tickets_owner (owner_id, ticket_id),
+    CONSTRAINT fk_ingestion_tickets_owner FOREIGN KEY (owner_id) REFERENCES users(id)
+);
@@ -0,0 +1,27 @@
+CREATE TABLE IF NOT EXISTS user_change_sequences (
+    owner_id BIGINT PRIMARY KEY,
+    last_seq BIGINT NOT NULL,
+    CONSTRAINT fk_user_change_sequences_owner FOREIGN KEY (owner_id) REFERENCES users(id)
+);
+
+-- Existing rows keep sequence 0, which only a full sync (no since) returns.
+ALTER TABLE categories ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE sub_categories ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE budgets ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE expenses ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX idx_categories_owner_change ON categories (owner_id, change_seq);
+CREATE INDEX idx_sub_categories_owner_change ON sub_categories (owner_id, change_seq);
+CREATE INDEX idx_budgets_owner_change ON budgets (owner_id, change_seq);
+CREATE INDEX idx_expenses_owner_change ON expenses (owner_id, change_seq);
+
+CREATE TABLE IF NOT EXISTS sync_tombstones (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    owner_id BIGINT NOT NULL,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    change_seq BIGINT NOT NULL,
+    deleted_on DATETIME(6) NOT NULL,
+    INDEX idx_sync_tombstones_owner_change (owner_id, change_seq),
+    CONSTRAINT fk_sync_tombstones_owner FOREIGN KEY (owner_id) REFERENCES users(id)
+);
@@ -0,0 +1,183 @@
+package com.example.expensetracker.analytics;
+
+import com.example.expensetracker.audit.JpaAuditConfig;
+import com.example.expensetracker.auth.AuthenticatedUser;
+import com.example.expensetracker.auth.UserContext;
+import com.example.expensetracker.budget.Budget;
+import com.example.expensetracker.budget.BudgetPeriod;
+import com.example.expensetracker.budget.BudgetRepository;
+import com.example.expensetracker.cache.UserDataVersions;
+import com.example.expensetracker.category.Category;
+import com.example.expensetracker.category.CategoryRepository;
+import com.example.expensetracker.category.CategoryType;
+import com.example.expensetracker.category.SubCategory;
+import com.example.expensetracker.category.SubCategoryRepository;
+import com.example.expensetracker.expense.Expense;
+import com.example.expensetracker.expense.ExpenseRepository;
+import com.example.expensetracker.expense.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+@Import({
+        AnalyticsService.class,
+        AnalyticsIndexCache.class,
+        UserDataVersions.class,
+        SimpleMeterRegistry.class,
+        UserContext.class,
+        JpaAuditConfig.class
+})
+class AnalyticsServiceTest {
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SubCategoryRepository subCategoryRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    private Budget budget;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new AuthenticatedUser(1L, "u001"), null, List.of())
+        );
+        budget = new Budget();
+        budget.setOwnerId(1L);
+        budget.setName("Main");
+        budget.setAmount(new BigDecimal("1000.00"));
+        budget.setPeriod(BudgetPeriod.MONTHLY);
+        budget.setDefaultBudget(true);
+        budgetRepository.save(budget);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getPivot_shouldCrossTabulateSubCategoriesByQuarter() {
+        SubCategory groceries = subCategory("Food", "Groceries", CategoryType.EXPENSE);
+        SubCategory dining = subCategory("Food", "Dining", CategoryType.EXPENSE);
+        SubCategory rent = subCategory("Housing", "Rent", CategoryType.EXPENSE);
+        expense(groceries, "10.00", "2025-01-15");
+        expense(groceries, "15.00", "2025-03-31");
+        expense(groceries, "20.00", "2025-04-01");
+        expense(dining, "5.00", "2025-08-10");
+        expense(rent, "900.00", "2025-02-01");
+        expense(rent, "900.00", "2024-12-31");
+
+        AnalyticsDtos.PivotResponse pivot = analyticsService.getPivot(
+                PivotDimension.SUB_CATEGORY,
+                PivotDimension.PERIOD,
+                AnalyticsGranularity.QUARTER,
+                LocalDate.of(2025, 1, 1),
+                LocalDate.of(2025, 12, 31),
+                TransactionType.EXPENSE,
+                2
+        );
+
+        assertThat(pivot.columns()).extracting(AnalyticsDtos.PivotColumn::label)
+                .containsExactly("2025-Q1", "2025-Q2", "2025-Q3", "2025-Q4");
+        assertThat(pivot.totalRows()).isEqualTo(3);
+        assertThat(pivot.rows()).extracting(AnalyticsDtos.PivotRow::label).containsExactly("Rent", "Groceries");
+        assertThat(pivot.rows().get(1).values()).containsExactly(
+                new BigDecimal("25.00"),
+                new BigDecimal("20.00"),
+                new BigDecimal("0.00"),
+                new BigDecimal("0.00")
+        );
+        assertThat(pivot.rows().get(0).total()).isEqualByComparingTo("900.00");
+    }
+
+    @Test
+    void getPivot_shouldGroupByNonTimeColumns() {
+        SubCategory salary = subCategory("Salary", "Monthly pay", CategoryType.INCOME);
+        SubCategory groceries = subCategory("Food", "Groceries", CategoryType.EXPENSE);
+        expense(salary, "3000.00", "2025-05-01", TransactionType.INCOME);
+        expense(groceries, "40.00", "2025-05-02");
+        expense(groceries, "60.00", "2025-05-20");
+
+        AnalyticsDtos.PivotResponse pivot = analyticsService.getPivot(
+                PivotDimension.BUDGET,
+                PivotDimension.TRANSACTION_TYPE,
+                AnalyticsGranularity.MONTH,
+                LocalDate.of(2025, 5, 1),
+                LocalDate.of(2025, 5, 31),
+                null,
+                20
+        );
+
+        assertThat(pivot.columns()).extracting(AnalyticsDtos.PivotColumn::key).containsExactly("INCOME", "EXPENSE");
+        assertThat(pivot.rows()).singleElement().satisfies(row -> {
+            assertThat(row.label()).isEqualTo("Main");
+            assertThat(row.transactionCount()).isEqualTo(3);
+            assertThat(row.values()).containsExactly(new BigDecimal("3000.00"), new BigDecimal("100.00"));
+        });
+    }
+
+    private SubCategory subCategory(String categoryName, String subCategoryName, CategoryType type) {
+        Category category = categoryRepository.findAll().stream()
+                .filter(existing -> existing.getName().equals(categoryName))
+                .findFirst()
+                .orElseGet(() -> {
+                    Category created = new Category();
+                    created.setOwnerId(1L);
+                    created.setName(categoryName);
+                    created.setDescription(categoryName);
+                    created.setType(type);
+                    return categoryRepository.save(created);
+                });
+
+        SubCategory subCategory = new SubCategory();
+
+        subCategory.setOwnerId(1L);
+        subCategory.setName(subCategoryName);
+        subCategory.setCategory(category);
+        return subCategoryRepository.save(subCategory);
+    }
+
+    private void expense(SubCategory subCategory, String amount, String date) {
+        expense(subCategory, amount, date, TransactionType.EXPENSE);
+    }
+
+    private void expense(SubCategory subCategory, String amount, String date, TransactionType type) {
+        Expense expense = new Expense();
+        expense.setOwnerId(1L);
+        expense.setAmount(new BigDecimal(amount));
+        expense.setDescription("Seeded");
+        expense.setExpenseDate(LocalDate.parse(date));
+        expense.setTransactionType(type);
+        expense.setCategory(subCategory.getCategory());
+        expense.setSubCategory(subCategory);
+        expense.setBudget(budget);
+        expenseRepository.save(expense);
+    }
+}
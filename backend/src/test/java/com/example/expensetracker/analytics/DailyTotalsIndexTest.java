@@ -0,0 +1,70 @@
+package com.example.expensetracker.analytics;
+
+import com.example.expensetracker.category.CategoryType;
+import com.example.expensetracker.expense.ExpenseAggregates;
+import com.example.expensetracker.expense.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DailyTotalsIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 15);
+
+    private final DailyTotalsIndex index = DailyTotalsIndex.build(List.of(
+            row("2016-01-10", TransactionType.INCOME, CategoryType.INCOME, "1000.00", 1),
+            row("2016-01-10", TransactionType.EXPENSE, CategoryType.EXPENSE, "120.50", 3),
+            row("2020-03-01", TransactionType.EXPENSE, CategoryType.SAVING, "200.00", 1),
+            row("2025-06-15", TransactionType.EXPENSE, CategoryType.EXPENSE, "9.50", 2)
+    ), TODAY);
+
+    @Test
+    void between_shouldReturnRangeTotalsAsPrefixDifferences() {
+        DailyTotalsIndex.Totals decade = index.between(LocalDate.of(2015, 6, 16), TODAY);
+        assertThat(decade.expenseCents()).isEqualTo(33_000);
+        assertThat(decade.incomeCents()).isEqualTo(100_000);
+        assertThat(decade.savingCents()).isEqualTo(20_000);
+        assertThat(decade.count()).isEqualTo(7);
+
+        DailyTotalsIndex.Totals singleDay = index.between(LocalDate.of(2016, 1, 10), LocalDate.of(2016, 1, 10));
+        assertThat(singleDay.expenseCents()).isEqualTo(12_050);
+        assertThat(singleDay.count()).isEqualTo(4);
+
+        DailyTotalsIndex.Totals middle = index.between(LocalDate.of(2016, 1, 11), LocalDate.of(2025, 6, 14));
+        assertThat(middle.expenseCents()).isEqualTo(20_000);
+        assertThat(middle.savingCents()).isEqualTo(20_000);
+        assertThat(middle.incomeCents()).isZero();
+    }
+
+    @Test
+    void between_shouldClampRangesOutsideIndexedDays() {
+        assertThat(index.between(LocalDate.of(2010, 1, 1), LocalDate.of(2015, 12, 31)).count()).isZero();
+        assertThat(index.between(TODAY.plusDays(1), TODAY.plusYears(1)).count()).isZero();
+        assertThat(index.between(LocalDate.of(2000, 1, 1), LocalDate.of(2030, 1, 1)).count()).isEqualTo(7);
+        assertThat(DailyTotalsIndex.build(List.of(), TODAY).between(TODAY.minusYears(10), TODAY).count()).isZero();
+    }
+
+    @Test
+    void granularity_shouldAlignBucketsToCalendarBoundaries() {
+        LocalDate date = LocalDate.of(2025, 8, 20);
+        assertThat(AnalyticsGranularity.WEEK.bucketStart(date)).isEqualTo(LocalDate.of(2025, 8, 18));
+        assertThat(AnalyticsGranularity.QUARTER.bucketStart(date)).isEqualTo(LocalDate.of(2025, 7, 1));
+        assertThat(AnalyticsGranularity.QUARTER.nextBucketStart(LocalDate.of(2025, 7, 1)))
+                .isEqualTo(LocalDate.of(2025, 10, 1));
+        assertThat(AnalyticsGranularity.YEAR.bucketStart(date)).isEqualTo(LocalDate.of(2025, 1, 1));
+    }
+
+    private static ExpenseAggregates.DailyTotalRow row(
+            String day,
+            TransactionType type,
+            CategoryType categoryType,
+            String total,
+            long count
+    ) {
+        return new ExpenseAggregates.DailyTotalRow(LocalDate.parse(day), type, categoryType, new BigDecimal(total), count);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.expensetracker.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopNTest {
+
+    @Test
+    void largest_shouldReturnGreatestItemsInDescendingOrder() {
+        List<Integer> items = List.of(5, 1, 9, 3, 7, 9, 2);
+
+        assertThat(TopN.largest(items, 3, Comparator.naturalOrder())).containsExactly(9, 9, 7);
+        assertThat(TopN.largest(items, 10, Comparator.naturalOrder())).containsExactly(9, 9, 7, 5, 3, 2, 1);
+        assertThat(TopN.largest(items, 0, Comparator.naturalOrder())).isEmpty();
+    }
+
+    @Test
+    void largest_shouldHonourTieBreakers() {
+        List<String> items = IntStream.range(0, 1000).mapToObj(i -> "item-" + (i % 10) + "-" + i).toList();
+
+        List<String> top = TopN.largest(
+                items,
+                2,
+                Comparator.comparing((String item) -> item.charAt(5)).thenComparing(Comparator.reverseOrder())
+        );
+
+        assertThat(top).containsExactly("item-9-109", "item-9-119");
+    }
+}
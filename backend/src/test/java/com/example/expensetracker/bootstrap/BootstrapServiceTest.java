@@ -0,0 +1,151 @@
+package com.example.expensetracker.bootstrap;
+
+import com.example.expensetracker.auth.UserContext;
+import com.example.expensetracker.budget.BudgetDtos;
+import com.example.expensetracker.budget.BudgetPeriod;
+import com.example.expensetracker.budget.BudgetService;
+import com.example.expensetracker.category.CategoryDtos;
+import com.example.expensetracker.category.CategoryService;
+import com.example.expensetracker.category.CategoryType;
+import com.example.expensetracker.expense.DashboardService;
+import com.example.expensetracker.expense.DashboardSummaryCache;
+import com.example.expensetracker.expense.ExpenseDtos;
+import com.example.expensetracker.expense.ExpenseService;
+import com.example.expensetracker.expense.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BootstrapServiceTest {
+
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private BudgetService budgetService;
+
+    @Mock
+    private ExpenseService expenseService;
+
+    @Mock
+    private DashboardService dashboardService;
+
+    @Mock
+    private DashboardSummaryCache dashboardSummaryCache;
+
+    @Mock
+    private UserContext userContext;
+
+    private ExecutorService executor;
+    private BootstrapService bootstrapService;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("u001", null, List.of())
+        );
+        executor = new BootstrapExecutorConfig().bootstrapSectionExecutor(4, 8);
+        bootstrapService = new BootstrapService(
+                categoryService,
+                budgetService,
+                expenseService,
+                dashboardService,
+                dashboardSummaryCache,
+                userContext,
+                executor,
+                new SimpleMeterRegistry()
+        );
+        when(userContext.currentUsername()).thenReturn("u001");
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void bootstrap_shouldLoadOnlyTheRequestedSectionsOnTheSectionExecutor() {
+        Map<String, String> threads = new ConcurrentHashMap<>();
+        Map<String, String> users = new ConcurrentHashMap<>();
+        when(categoryService.listCategories()).thenAnswer(invocation -> {
+            threads.put("categories", Thread.currentThread().getName());
+            users.put("categories", SecurityContextHolder.getContext().getAuthentication().getName());
+            return List.of(new CategoryDtos.CategoryResponse(1L, "Food", "Food", CategoryType.EXPENSE, List.of()));
+        });
+        when(budgetService.listBudgets()).thenAnswer(invocation -> {
+            threads.put("budgets", Thread.currentThread().getName());
+            return List.of(new BudgetDtos.BudgetResponse(
+                    2L,
+                    "Household",
+                    new BigDecimal("500.00"),
+                    BudgetPeriod.MONTHLY,
+                    false
+            ));
+        });
+        ExpenseDtos.DashboardSummaryResponse summary = mock(ExpenseDtos.DashboardSummaryResponse.class);
+        when(dashboardSummaryCache.get(eq("u001"), eq(5), any())).thenAnswer(invocation -> {
+            threads.put("dashboard", Thread.currentThread().getName());
+            return summary;
+        });
+
+        BootstrapDtos.BootstrapResponse response = bootstrapService.bootstrap(
+                BootstrapSection.parse(List.of("categories", " Budgets ", "dashboard")),
+                TransactionType.EXPENSE,
+                10,
+                5
+        );
+
+        assertThat(response.categories()).extracting(CategoryDtos.CategoryResponse::name).containsExactly("Food");
+        assertThat(response.budgets()).extracting(BudgetDtos.BudgetResponse::id).containsExactly(2L);
+        assertThat(response.dashboard()).isSameAs(summary);
+        assertThat(response.subCategories()).isNull();
+        assertThat(response.transactions()).isNull();
+        verifyNoInteractions(expenseService);
+        assertThat(threads.get("categories")).startsWith("bootstrap-section-");
+        assertThat(threads.get("budgets")).startsWith("bootstrap-section-");
+        assertThat(threads.get("dashboard")).isEqualTo(Thread.currentThread().getName());
+        assertThat(users).containsEntry("categories", "u001");
+    }
+
+    @Test
+    void bootstrap_shouldFailWithTheErrorOfAFailingSection() {
+        when(categoryService.listSubCategories())
+                .thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "Category not found"));
+
+        assertThatThrownBy(() -> bootstrapService.bootstrap(
+                EnumSet.of(BootstrapSection.SUB_CATEGORIES, BootstrapSection.BUDGETS),
+                TransactionType.EXPENSE,
+                10,
+                5
+        )).isInstanceOfSatisfying(ResponseStatusException.class, ex ->
+                assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+        assertThatThrownBy(() -> BootstrapSection.parse(List.of("categories", "charts")))
+                .isInstanceOfSatisfying(ResponseStatusException.class, ex ->
+                        assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.expensetracker.cache;
+
+import com.example.expensetracker.auth.AuthenticatedUser;
+import com.example.expensetracker.auth.UserContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReferenceResponseCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Supplier<List<String>> loader = () -> {
+        loads.incrementAndGet();
+        return List.of("Food", "Salary", "Transport, local and long-distance");
+    };
+
+    private UserDataVersions versions;
+    private SimpleMeterRegistry meterRegistry;
+    private ReferenceResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new AuthenticatedUser(1L, "u001"), null, List.of())
+        );
+        versions = new UserDataVersions();
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ReferenceResponseCache(versions, new UserContext(null), new ObjectMapper(), meterRegistry, 100, 32);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void get_shouldServeStoredBytesUntilTheListsKindChanges() {
+        ReferenceResponseCache.Body first = cache.get("u001", ReferenceResponseCache.ReferenceList.CATEGORIES, loader);
+        ReferenceResponseCache.Body second = cache.get("U001", ReferenceResponseCache.ReferenceList.CATEGORIES, loader);
+
+        assertThat(loads).hasValue(1);
+        assertThat(second).isSameAs(first);
+        assertThat(new String(first.json(), StandardCharsets.UTF_8))
+                .isEqualTo("[\"Food\",\"Salary\",\"Transport, local and long-distance\"]");
+
+        changed(UserDataKind.BUDGETS);
+        changed(UserDataKind.TRANSACTIONS);
+        cache.get("u001", ReferenceResponseCache.ReferenceList.CATEGORIES, loader);
+        assertThat(loads).hasValue(1);
+
+        changed(UserDataKind.CATEGORIES);
+        cache.get("u001", ReferenceResponseCache.ReferenceList.CATEGORIES, loader);
+        assertThat(loads).hasValue(2);
+        assertThat(meterRegistry.get("reference.response.cache").tag("result", "hit").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void respond_shouldSendGzipBytesAndAnswerRevalidationWithoutLoading() throws Exception {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        ResponseEntity<byte[]> response = cache.respond(
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/api/categories/sub-categories"), first),
+                ReferenceResponseCache.ReferenceList.SUB_CATEGORIES,
+                "gzip, deflate, br",
+                loader
+        );
+
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(response.getBody()))) {
+            assertThat(new String(gzip.readAllBytes(), StandardCharsets.UTF_8)).startsWith("[\"Food\"");
+        }
+        String etag = response.getHeaders().getETag();
+        assertThat(etag).startsWith("\"sub-categories-1-").endsWith("-gzip\"");
+
+        MockHttpServletRequest revalidation = new MockHttpServletRequest("GET", "/api/categories/sub-categories");
+        revalidation.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        assertThat(cache.respond(
+                new ServletWebRequest(revalidation, second),
+                ReferenceResponseCache.ReferenceList.SUB_CATEGORIES,
+                "gzip",
+                loader
+        )).isNull();
+        assertThat(second.getStatus()).isEqualTo(304);
+
+        ResponseEntity<byte[]> identity = cache.respond(
+                new ServletWebRequest(
+                        new MockHttpServletRequest("GET", "/api/categories/sub-categories"),
+                        new MockHttpServletResponse()
+                ),
+                ReferenceResponseCache.ReferenceList.SUB_CATEGORIES,
+                null,
+                loader
+        );
+        assertThat(identity.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(identity.getHeaders().getETag()).isNotEqualTo(etag);
+        assertThat(loads).hasValue(1);
+    }
+
+    private void changed(UserDataKind kind) {
+        UserDataChangedEvent event = new UserDataChangedEvent("u001", kind);
+        versions.onUserDataChanged(event);
+        cache.onUserDataChanged(event);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.expensetracker.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserDataVersionsTest {
+
+    private final UserDataVersions versions = new UserDataVersions();
+
+    @Test
+    void onUserDataChanged_shouldBumpOnlyTheChangedKindAndTheOverallVersion() {
+        String categoriesTag = versions.tag("u001", UserDataKind.CATEGORIES);
+        String budgetsTag = versions.tag("u001", UserDataKind.BUDGETS);
+
+        versions.onUserDataChanged(new UserDataChangedEvent("U001", UserDataKind.TRANSACTIONS));
+        versions.onUserDataChanged(new UserDataChangedEvent("u001", UserDataKind.TRANSACTIONS));
+        versions.onUserDataChanged(new UserDataChangedEvent("u001", UserDataKind.BUDGETS));
+
+        assertThat(versions.current("u001")).isEqualTo(3);
+        assertThat(versions.current("u001", UserDataKind.TRANSACTIONS)).isEqualTo(2);
+        assertThat(versions.tag("u001", UserDataKind.CATEGORIES)).isEqualTo(categoriesTag);
+        assertThat(versions.tag("u001", UserDataKind.BUDGETS)).isNotEqualTo(budgetsTag);
+        assertThat(versions.current("u002", UserDataKind.BUDGETS)).isZero();
+    }
+}
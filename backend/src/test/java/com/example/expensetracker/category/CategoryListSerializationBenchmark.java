@@ -0,0 +1,114 @@
+package com.example.expensetracker.category;
+
+import com.example.expensetracker.auth.UserContext;
+import com.example.expensetracker.cache.ReferenceResponseCache;
+import com.example.expensetracker.cache.UserDataVersions;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares building and serializing the category list on every request against writing the bytes held by
+ * {@link ReferenceResponseCache}. Both variants write into a reused buffer that stands in for the response.
+ * Run with: {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.expensetracker.category.CategoryListSerializationBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CategoryListSerializationBenchmark {
+
+    private static final int SUB_CATEGORIES_PER_CATEGORY = 8;
+
+    @Param({"10", "50", "200"})
+    private int categories;
+
+    private List<Category> entities;
+    private ObjectMapper objectMapper;
+    private ReferenceResponseCache cache;
+    private ByteArrayOutputStream out;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CategoryListSerializationBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setUp() {
+        entities = new ArrayList<>(categories);
+        long subCategoryId = 0;
+        for (int i = 0; i < categories; i++) {
+            Category category = new Category();
+            category.setId((long) i);
+            category.setName("Category " + i);
+            category.setDescription("Spending on category " + i);
+            category.setType(i == 0 ? CategoryType.INCOME : CategoryType.EXPENSE);
+            for (int j = SUB_CATEGORIES_PER_CATEGORY; j > 0; j--) {
+                SubCategory subCategory = new SubCategory();
+                subCategory.setId(subCategoryId++);
+                subCategory.setName("Sub-category " + i + "." + j);
+                subCategory.setCategory(category);
+                category.getSubCategories().add(subCategory);
+            }
+            entities.add(category);
+        }
+        objectMapper = new ObjectMapper();
+        cache = new ReferenceResponseCache(
+                new UserDataVersions(),
+                new UserContext(null),
+                objectMapper,
+                new SimpleMeterRegistry(),
+                100,
+                1024
+        );
+        out = new ByteArrayOutputStream(64 * 1024);
+    }
+
+    @Benchmark
+    public int serializePerRequest() throws IOException {
+        out.reset();
+        out.write(objectMapper.writeValueAsBytes(buildResponses()));
+        return out.size();
+    }
+
+    @Benchmark
+    public int cachedBytes() throws IOException {
+        out.reset();
+        out.write(cache.get("u001", ReferenceResponseCache.ReferenceList.CATEGORIES, this::buildResponses).json());
+        return out.size();
+    }
+
+    @Benchmark
+    public int cachedGzipBytes() throws IOException {
+        out.reset();
+        ReferenceResponseCache.Body body =
+                cache.get("u001", ReferenceResponseCache.ReferenceList.CATEGORIES, this::buildResponses);
+        out.write(body.gzipped() == null ? body.json() : body.gzipped());
+        return out.size();
+    }
+
+    private List<CategoryDtos.CategoryResponse> buildResponses() {
+        return entities.stream().map(CategoryService::toCategoryResponse).toList();
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.expensetracker.events;
+
+import com.example.expensetracker.cache.UserDataKind;
+import com.example.expensetracker.expense.BudgetUtilizationService;
+import com.example.expensetracker.expense.ExpenseChangedEvent;
+import com.example.expensetracker.expense.ExpenseDtos;
+import com.example.expensetracker.expense.ExpenseSnapshot;
+import com.example.expensetracker.expense.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserEventHubTest {
+
+    private final BudgetUtilizationService budgetUtilizationService = mock(BudgetUtilizationService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UserEventHub hub;
+
+    @AfterEach
+    void tearDown() {
+        hub.stop();
+    }
+
+    @Test
+    void publish_shouldReachOnlyTheUsersStreamsWithUtilizationWhenAsked() throws Exception {
+        hub = start(32);
+        RecordingEmitter mine = new RecordingEmitter();
+        RecordingEmitter other = new RecordingEmitter();
+        hub.register(mine, 1L, "u001", true);
+        hub.register(other, 2L, "u002", false);
+        assertThat(mine.next().name()).isEqualTo(UserEventHub.READY_EVENT);
+        assertThat(other.next().name()).isEqualTo(UserEventHub.READY_EVENT);
+        when(budgetUtilizationService.listUtilization(1L)).thenReturn(List.of(point(7L), point(8L)));
+
+        new ChangeNotifier(hub).onExpenseChanged(new ExpenseChangedEvent("U001", null, new ExpenseSnapshot(
+                42L,
+                new BigDecimal("12.50"),
+                LocalDate.of(2025, 3, 4),
+                TransactionType.EXPENSE,
+                1L,
+                2L,
+                7L,
+                "Lunch"
+        )));
+
+        Sent change = mine.next();
+        assertThat(change.name()).isEqualTo(UserEventHub.CHANGE_EVENT);
+        assertThat(change.data()).isInstanceOfSatisfying(EventDtos.ChangeNotification.class, notification -> {
+            assertThat(notification.kinds()).containsExactly(UserDataKind.TRANSACTIONS);
+            assertThat(notification.months()).containsExactly("2025-03");
+            assertThat(notification.budgetIds()).containsExactly(7L);
+            assertThat(notification.budgetUtilization()).extracting(ExpenseDtos.BudgetUtilizationPoint::budgetId)
+                    .containsExactly(7L);
+        });
+        assertThat(other.sent.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void publish_shouldReplaceAnOverflowingBufferWithOneResync() throws Exception {
+        hub = start(2);
+        RecordingEmitter slow = new RecordingEmitter();
+        slow.gate = new CountDownLatch(1);
+        hub.register(slow, 1L, "u001", false);
+        assertThat(slow.sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        EventDtos.ChangeNotification notification =
+                new EventDtos.ChangeNotification(Set.of(UserDataKind.BUDGETS), List.of(), List.of(7L), null);
+        for (int i = 0; i < 5; i++) {
+            hub.publish("u001", notification);
+        }
+        slow.gate.countDown();
+
+        assertThat(slow.next().name()).isEqualTo(UserEventHub.READY_EVENT);
+        assertThat(slow.next().name()).isEqualTo(UserEventHub.RESYNC_EVENT);
+        assertThat(slow.sent.poll(200, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(meterRegistry.get("events.buffer.overflows").counter().count()).isEqualTo(1);
+
+        hub.publish("u001", notification);
+        assertThat(slow.next().name()).isEqualTo(UserEventHub.CHANGE_EVENT);
+    }
+
+    private UserEventHub start(int bufferSize) {
+        UserEventHub started = new UserEventHub(budgetUtilizationService, meterRegistry, 60_000, 60, 5_000, bufferSize,
+                10, 2);
+        started.start();
+        return started;
+    }
+
+    private static ExpenseDtos.BudgetUtilizationPoint point(Long budgetId) {
+        return new ExpenseDtos.BudgetUtilizationPoint(
+                budgetId,
+                "Budget " + budgetId,
+                "MONTHLY",
+                new BigDecimal("100.00"),
+                new BigDecimal("12.50"),
+                new BigDecimal("87.50"),
+                new BigDecimal("12.50")
+        );
+    }
+
+    private record Sent(String name, Object data) {
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<Sent> sent = new LinkedBlockingQueue<>();
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException(ex);
+            }
+            String name = null;
+            Object data = null;
+            for (var part : builder.build()) {
+                if (part.getData() instanceof String text && text.contains("event:")) {
+                    name = text.substring(text.indexOf("event:") + 6, text.indexOf('\n', text.indexOf("event:")));
+                } else if (!(part.getData() instanceof String)) {
+                    data = part.getData();
+                }
+            }
+            sent.add(new Sent(name, data));
+        }
+
+        Sent next() throws InterruptedException {
+            Sent next = sent.poll(5, TimeUnit.SECONDS);
+            assertThat(next).isNotNull();
+            return next;
+        }
+    }
+}
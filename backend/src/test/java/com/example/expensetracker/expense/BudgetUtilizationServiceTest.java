@@ -0,0 +1,235 @@
+package com.example.expensetracker.expense;
+
+import com.example.expensetracker.audit.JpaAuditConfig;
+import com.example.expensetracker.auth.AuthenticatedUser;
+import com.example.expensetracker.auth.UserContext;
+import com.example.expensetracker.budget.Budget;
+import com.example.expensetracker.budget.BudgetDtos;
+import com.example.expensetracker.budget.BudgetPeriod;
+import com.example.expensetracker.budget.BudgetRepository;
+import com.example.expensetracker.budget.BudgetService;
+import com.example.expensetracker.category.Category;
+import com.example.expensetracker.category.CategoryRepository;
+import com.example.expensetracker.category.CategoryType;
+import com.example.expensetracker.category.SubCategory;
+import com.example.expensetracker.category.SubCategoryRepository;
+import com.example.expensetracker.sync.ChangeSequence;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:budgetspend;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+        ExpenseService.class,
+        ExpenseSearchIndexCache.class,
+        SimpleMeterRegistry.class,
+        BudgetService.class,
+        BudgetSpendService.class,
+        BudgetUtilizationService.class,
+        ChangeSequence.class,
+        UserContext.class,
+        JpaAuditConfig.class
+})
+class BudgetUtilizationServiceTest {
+
+    @Autowired
+    private BudgetUtilizationService budgetUtilizationService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private BudgetPeriodSpendRepository spendRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SubCategoryRepository subCategoryRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new AuthenticatedUser(1L, "u001"), null, List.of())
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void listUtilization_shouldSumEachBudgetWithinItsOwnPeriod() {
+        SubCategory groceries = subCategory("Food", "Groceries", CategoryType.EXPENSE);
+        SubCategory salary = subCategory("Salary", "Monthly pay", CategoryType.INCOME);
+        Budget daily = budget("Daily", BudgetPeriod.DAILY);
+        Budget weekly = budget("Weekly", BudgetPeriod.WEEKLY);
+        Budget monthly = budget("Monthly", BudgetPeriod.MONTHLY);
+        Budget yearly = budget("Yearly", BudgetPeriod.YEARLY);
+        budget("Unused", BudgetPeriod.MONTHLY);
+
+        Map<LocalDate, BigDecimal> seeds = seeds();
+        for (Budget budget : List.of(daily, weekly, monthly, yearly)) {
+            seeds.forEach((date, amount) -> create(budget, groceries, amount, date, TransactionType.EXPENSE));
+            create(budget, salary, new BigDecimal("99.00"), today, TransactionType.INCOME);
+        }
+
+        Map<String, BigDecimal> spentByBudget = spentByBudget();
+
+        assertThat(spentByBudget.get("Daily")).isEqualByComparingTo(expectedSpend(seeds, BudgetPeriod.DAILY));
+        assertThat(spentByBudget.get("Weekly")).isEqualByComparingTo(expectedSpend(seeds, BudgetPeriod.WEEKLY));
+        assertThat(spentByBudget.get("Monthly")).isEqualByComparingTo(expectedSpend(seeds, BudgetPeriod.MONTHLY));
+        assertThat(spentByBudget.get("Yearly")).isEqualByComparingTo(expectedSpend(seeds, BudgetPeriod.YEARLY));
+        assertThat(spentByBudget.get("Unused")).isEqualByComparingTo("0.00");
+    }
+
+    @Test
+    void counters_shouldMoveSpendWhenAmountDateOrBudgetChanges() {
+        SubCategory groceries = subCategory("Food", "Groceries", CategoryType.EXPENSE);
+        Budget home = budget("Home", BudgetPeriod.MONTHLY);
+        Budget travel = budget("Travel", BudgetPeriod.MONTHLY);
+        LocalDate lastMonth = today.minusMonths(1);
+
+        Long id = create(home, groceries, new BigDecimal("100.00"), today, TransactionType.EXPENSE);
+        assertThat(spentByBudget().get("Home")).isEqualByComparingTo("100.00");
+
+        update(id, home, groceries, new BigDecimal("150.00"), today);
+        assertThat(spentByBudget().get("Home")).isEqualByComparingTo("150.00");
+
+        update(id, home, groceries, new BigDecimal("150.00"), lastMonth);
+        assertThat(spentByBudget().get("Home")).isEqualByComparingTo("0.00");
+
+        update(id, travel, groceries, new BigDecimal("80.00"), today);
+        assertThat(spentByBudget()).containsEntry("Home", new BigDecimal("0.00"));
+        assertThat(spentByBudget().get("Travel")).isEqualByComparingTo("80.00");
+        assertThat(spendRepository.count()).isEqualTo(1);
+
+        expenseService.deleteTransaction(id);
+        assertThat(spentByBudget().get("Travel")).isEqualByComparingTo("0.00");
+        assertThat(spendRepository.count()).isZero();
+    }
+
+    @Test
+    void counters_shouldRegroupWhenBudgetPeriodChanges() {
+        SubCategory groceries = subCategory("Food", "Groceries", CategoryType.EXPENSE);
+        Budget budget = budget("Flexible", BudgetPeriod.MONTHLY);
+        Map<LocalDate, BigDecimal> seeds = seeds();
+        seeds.forEach((date, amount) -> create(budget, groceries, amount, date, TransactionType.EXPENSE));
+
+        budgetService.updateBudget(
+                budget.getId(),
+                new BudgetDtos.UpdateBudgetRequest("Flexible", new BigDecimal("1000.00"), BudgetPeriod.YEARLY)
+        );
+
+        assertThat(spentByBudget().get("Flexible")).isEqualByComparingTo(expectedSpend(seeds, BudgetPeriod.YEARLY));
+    }
+
+    private Map<LocalDate, BigDecimal> seeds() {
+        return Map.of(
+                today, new BigDecimal("10.00"),
+                BudgetPeriod.WEEKLY.periodStart(today).minusDays(1), new BigDecimal("20.00"),
+                BudgetPeriod.MONTHLY.periodStart(today).minusDays(1), new BigDecimal("40.00"),
+                BudgetPeriod.YEARLY.periodStart(today).minusDays(1), new BigDecimal("80.00")
+        );
+    }
+
+    private BigDecimal expectedSpend(Map<LocalDate, BigDecimal> seeds, BudgetPeriod period) {
+        LocalDate start = period.periodStart(today);
+        LocalDate end = period.periodEnd(today);
+        return seeds.entrySet().stream()
+                .filter(entry -> !entry.getKey().isBefore(start) && !entry.getKey().isAfter(end))
+                .map(Map.Entry::getValue)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private Map<String, BigDecimal> spentByBudget() {
+        return budgetUtilizationService.listUtilization().stream()
+                .collect(Collectors.toMap(
+                        ExpenseDtos.BudgetUtilizationPoint::budgetName,
+                        ExpenseDtos.BudgetUtilizationPoint::spentAmount
+                ));
+    }
+
+    private SubCategory subCategory(String categoryName, String subCategoryName, CategoryType type) {
+        Category category = new Category();
+        category.setOwnerId(1L);
+        category.setName(categoryName);
+        category.setDescription(categoryName);
+        category.setType(type);
+        categoryRepository.save(category);
+
+        SubCategory subCategory = new SubCategory();
+
+        subCategory.setOwnerId(1L);
+        subCategory.setName(subCategoryName);
+        subCategory.setCategory(category);
+        return subCategoryRepository.save(subCategory);
+    }
+
+    private Budget budget(String name, BudgetPeriod period) {
+        Budget budget = new Budget();
+        budget.setOwnerId(1L);
+        budget.setName(name);
+        budget.setAmount(new BigDecimal("1000.00"));
+        budget.setPeriod(period);
+        budget.setDefaultBudget(false);
+        return budgetRepository.save(budget);
+    }
+
+    private Long create(Budget budget, SubCategory subCategory, BigDecimal amount, LocalDate date, TransactionType type) {
+        return expenseService.createExpense(request(budget, subCategory, amount, date, type)).id();
+    }
+
+    private void update(Long id, Budget budget, SubCategory subCategory, BigDecimal amount, LocalDate date) {
+        expenseService.updateExpense(id, request(budget, subCategory, amount, date, TransactionType.EXPENSE));
+    }
+
+    private ExpenseDtos.CreateExpenseRequest request(
+            Budget budget,
+            SubCategory subCategory,
+            BigDecimal amount,
+            LocalDate date,
+            TransactionType type
+    ) {
+        return new ExpenseDtos.CreateExpenseRequest(
+                amount,
+                "Seeded",
+                date,
+                type,
+                subCategory.getCategory().getId(),
+                subCategory.getId(),
+                budget.getId()
+        );
+    }
+}
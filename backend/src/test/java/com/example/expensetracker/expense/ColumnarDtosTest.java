@@ -0,0 +1,111 @@
+package com.example.expensetracker.expense;
+
+import com.example.expensetracker.category.CategoryType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColumnarDtosTest {
+
+    @Test
+    void columnarPage_shouldKeepRowOrderAndSendEachNameOnce() throws Exception {
+        List<ExpenseDtos.ExpenseResponse> items = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            long categoryId = i % 3;
+            items.add(new ExpenseDtos.ExpenseResponse(
+                    (long) i,
+                    BigDecimal.valueOf(1_000 + i, 2),
+                    "Transaction " + i,
+                    LocalDate.of(2025, 3, 1 + i % 28),
+                    TransactionType.EXPENSE,
+                    categoryId,
+                    "Category " + categoryId,
+                    10 + categoryId,
+                    "Sub-category " + categoryId,
+                    i % 2 == 0 ? 7L : 8L,
+                    i % 2 == 0 ? "Household" : "Travel"
+            ));
+        }
+        ExpenseDtos.ExpensePageResponse rows = new ExpenseDtos.ExpensePageResponse(items, 0, 50, 120L, 3, "next");
+
+        ColumnarDtos.ColumnarExpensePage columnar = ColumnarDtos.ColumnarExpensePage.of(rows);
+
+        assertThat(columnar.id()).hasSize(50).startsWith(0L, 1L, 2L);
+        assertThat(columnar.budgetId()).startsWith(7L, 8L, 7L);
+        assertThat(columnar.categoryNames()).containsExactlyInAnyOrderEntriesOf(Map.of(
+                0L, "Category 0",
+                1L, "Category 1",
+                2L, "Category 2"
+        ));
+        assertThat(columnar.budgetNames()).containsExactly(Map.entry(7L, "Household"), Map.entry(8L, "Travel"));
+        assertThat(columnar.nextCursor()).isEqualTo("next");
+
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        ObjectMapper cbor = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .factory(new CBORFactory())
+                .build();
+        int rowJson = json.writeValueAsBytes(rows).length;
+        assertThat(json.writeValueAsBytes(columnar).length).isLessThan(rowJson * 2 / 3);
+        assertThat(cbor.writeValueAsBytes(rows).length).isLessThan(rowJson);
+        assertThat(cbor.readTree(cbor.writeValueAsBytes(rows)).at("/items/0/expenseDate").asText())
+                .isEqualTo("2025-03-01");
+    }
+
+    @Test
+    void columnarDashboard_shouldAlignEverySeriesOnOneMonthAxis() {
+        DashboardAggregator aggregator = new DashboardAggregator(YearMonth.of(2024, 4), 12);
+        YearMonth march = YearMonth.of(2025, 3);
+        aggregator.accept(LocalDate.of(2024, 4, 3), TransactionType.INCOME, CategoryType.INCOME, "Salary",
+                new BigDecimal("3000.00"));
+        aggregator.accept(LocalDate.of(2025, 3, 9), TransactionType.EXPENSE, CategoryType.EXPENSE, "Food",
+                new BigDecimal("45.10"));
+        ExpenseDtos.PeriodSummaryPoint period = aggregator.periodSummary(march, march);
+        ExpenseDtos.DashboardSummaryResponse summary = new ExpenseDtos.DashboardSummaryResponse(
+                period.expenseTotal(),
+                period.expenseTotal(),
+                BigDecimal.ZERO,
+                BigDecimal.ZERO,
+                period.expenseTotal(),
+                period,
+                period,
+                period,
+                period,
+                period,
+                period,
+                aggregator.monthlyTotals(),
+                aggregator.monthlyIncomeExpensePoints(),
+                aggregator.monthlySavingRatePoints(),
+                List.of(),
+                aggregator.categoryTotals(march, TransactionType.EXPENSE),
+                aggregator.topCategoryTrends(TransactionType.EXPENSE, 5),
+                false,
+                List.of()
+        );
+
+        ColumnarDtos.ColumnarDashboardSummary columnar = ColumnarDtos.ColumnarDashboardSummary.of(summary);
+
+        assertThat(columnar.months()).hasSize(12).startsWith("2024-04").endsWith("2025-03");
+        assertThat(columnar.monthly().incomeTotal()).hasSize(12).first().isEqualTo(new BigDecimal("3000.00"));
+        assertThat(columnar.monthly().expenseTotal()).hasSize(12).last().isEqualTo(new BigDecimal("45.10"));
+        assertThat(columnar.monthly().savingRatePercent()).hasSize(12);
+        assertThat(columnar.topYearlyCategoryTrends()).singleElement().satisfies(trend -> {
+            assertThat(trend.categoryName()).isEqualTo("Food");
+            assertThat(trend.total()).hasSize(12).last().isEqualTo(new BigDecimal("45.10"));
+            assertThat(trend.count()).last().isEqualTo(1L);
+        });
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.expensetracker.expense;
+
+import com.example.expensetracker.category.Category;
+import com.example.expensetracker.category.CategoryType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the original multi-pass stream aggregation of the dashboard against {@link DashboardAggregator}.
+ * Run with: {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.expensetracker.expense.DashboardAggregationBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DashboardAggregationBenchmark {
+
+    private static final int TOP_N = 5;
+
+    @Param({"1000", "10000", "100000"})
+    private int rows;
+
+    private List<Expense> expenses;
+    private YearMonth currentMonth;
+    private LocalDate today;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DashboardAggregationBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setUp() {
+        today = LocalDate.now();
+        currentMonth = YearMonth.from(today);
+        LocalDate fromDate = currentMonth.minusMonths(11).atDay(1);
+        int days = (int) (today.toEpochDay() - fromDate.toEpochDay()) + 1;
+
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            Category category = new Category();
+            category.setId((long) i);
+            category.setName("Category " + i);
+            category.setType(i == 0 ? CategoryType.INCOME : i < 3 ? CategoryType.SAVING : CategoryType.EXPENSE);
+            categories.add(category);
+        }
+
+        Random random = new Random(42);
+        expenses = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Category category = categories.get(random.nextInt(categories.size()));
+            Expense expense = new Expense();
+            expense.setId((long) i);
+            expense.setCategory(category);
+            expense.setTransactionType(category.getType() == CategoryType.INCOME ? TransactionType.INCOME : TransactionType.EXPENSE);
+            expense.setExpenseDate(fromDate.plusDays(random.nextInt(days)));
+            expense.setAmount(BigDecimal.valueOf(100 + random.nextInt(500_000), 2));
+            expenses.add(expense);
+        }
+    }
+
+    @Benchmark
+    public void legacyStreams(Blackhole blackhole) {
+        LegacyStreamAggregation.summarize(expenses, currentMonth, today, TOP_N, blackhole);
+    }
+
+    @Benchmark
+    public void singlePassAggregator(Blackhole blackhole) {
+        DashboardAggregator aggregator = new DashboardAggregator(currentMonth.minusMonths(11), 12);
+        LocalDate last30DaysStart = today.minusDays(29);
+        long[] last30Days = new long[3];
+        for (Expense expense : expenses) {
+            aggregator.accept(
+                    expense.getExpenseDate(),
+                    expense.getTransactionType(),
+                    expense.getCategory().getType(),
+                    expense.getCategory().getName(),
+                    expense.getAmount()
+            );
+            if (!expense.getExpenseDate().isBefore(last30DaysStart)) {
+                long amountCents = DashboardAggregator.toCents(expense.getAmount());
+                last30Days[expense.getTransactionType().ordinal()] += amountCents;
+                if (expense.getCategory().getType() == CategoryType.SAVING) {
+                    last30Days[2] += amountCents;
+                }
+            }
+        }
+        YearMonth previousMonth = currentMonth.minusMonths(1);
+        blackhole.consume(aggregator.monthlyTotals());
+        blackhole.consume(aggregator.monthlyIncomeExpensePoints());
+        blackhole.consume(aggregator.monthlySavingRatePoints());
+        blackhole.consume(aggregator.periodSummary(currentMonth, currentMonth));
+        blackhole.consume(aggregator.periodSummary(previousMonth, previousMonth));
+        blackhole.consume(aggregator.periodSummary(currentMonth.minusMonths(3), previousMonth));
+        blackhole.consume(DashboardAggregator.toPeriodSummary(last30Days[0], last30Days[1], last30Days[2]));
+        blackhole.consume(aggregator.categoryTotals(currentMonth, TransactionType.EXPENSE));
+        blackhole.consume(aggregator.topCategoryTrends(TransactionType.EXPENSE, TOP_N));
+    }
+
+    /**
+     * The dashboard math as it was before {@link DashboardAggregator}: one filtered stream per section over the
+     * same list, with a per-category, per-month filter for the yearly trends.
+     */
+    static final class LegacyStreamAggregation {
+
+        private LegacyStreamAggregation() {
+        }
+
+        static void summarize(List<Expense> expenses, YearMonth currentMonth, LocalDate today, int topN, Blackhole blackhole) {
+            YearMonth startMonth = currentMonth.minusMonths(11);
+            Map<YearMonth, List<Expense>> byMonth = new LinkedHashMap<>();
+            for (int i = 0; i < 12; i++) {
+                byMonth.put(startMonth.plusMonths(i), new ArrayList<>());
+            }
+            for (Expense expense : expenses) {
+                List<Expense> monthExpenses = byMonth.get(YearMonth.from(expense.getExpenseDate()));
+                if (monthExpenses != null) {
+                    monthExpenses.add(expense);
+                }
+            }
+
+            blackhole.consume(byMonth.entrySet().stream()
+                    .map(entry -> new ExpenseDtos.MonthlyTotalPoint(
+                            entry.getKey().toString(),
+                            sumAmounts(entry.getValue()),
+                            entry.getValue().size()
+                    ))
+                    .toList());
+            blackhole.consume(byMonth.entrySet().stream()
+                    .map(entry -> {
+                        BigDecimal incomeTotal = sumAmountsByType(entry.getValue(), TransactionType.INCOME);
+                        BigDecimal expenseTotal = sumAmountsByType(entry.getValue(), TransactionType.EXPENSE);
+                        return new ExpenseDtos.MonthlyIncomeExpensePoint(
+                                entry.getKey().toString(),
+                                incomeTotal,
+                                expenseTotal,
+                                incomeTotal.subtract(expenseTotal).setScale(2, RoundingMode.HALF_UP)
+                        );
+                    })
+                    .toList());
+            blackhole.consume(byMonth.entrySet().stream()
+                    .map(entry -> toPeriodSummary(entry.getValue()))
+                    .toList());
+
+            List<Expense> currentMonthExpenses = byMonth.getOrDefault(currentMonth, List.of());
+            blackhole.consume(toPeriodSummary(currentMonthExpenses));
+            blackhole.consume(toPeriodSummary(byMonth.getOrDefault(currentMonth.minusMonths(1), List.of())));
+            blackhole.consume(toPeriodSummaryInRange(
+                    expenses,
+                    currentMonth.minusMonths(3).atDay(1),
+                    currentMonth.minusMonths(1).atEndOfMonth()
+            ));
+            blackhole.consume(toPeriodSummaryInRange(expenses, today.minusDays(29), today));
+
+            Map<String, List<Expense>> byCategory = new LinkedHashMap<>();
+            for (Expense expense : currentMonthExpenses) {
+                if (expense.getTransactionType() == TransactionType.EXPENSE) {
+                    byCategory.computeIfAbsent(expense.getCategory().getName(), key -> new ArrayList<>()).add(expense);
+                }
+            }
+            blackhole.consume(byCategory.entrySet().stream()
+                    .map(entry -> new ExpenseDtos.CategoryTotalPoint(entry.getKey(), sumAmounts(entry.getValue()), entry.getValue().size()))
+                    .sorted(Comparator.comparing(ExpenseDtos.CategoryTotalPoint::total).reversed())
+                    .toList());
+
+            Map<String, List<Expense>> byYearCategory = new LinkedHashMap<>();
+            for (Expense expense : expenses) {
+                if (expense.getTransactionType() == TransactionType.EXPENSE) {
+                    byYearCategory.computeIfAbsent(expense.getCategory().getName(), key -> new ArrayList<>()).add(expense);
+                }
+            }
+            blackhole.consume(byYearCategory.entrySet().stream()
+                    .map(entry -> new ExpenseDtos.CategoryYearTrendPoint(
+                            entry.getKey(),
+                            sumAmounts(entry.getValue()),
+                            byMonth.entrySet().stream()
+                                    .map(monthEntry -> {
+                                        List<Expense> categoryMonthExpenses = monthEntry.getValue().stream()
+                                                .filter(exp -> exp.getCategory().getName().equalsIgnoreCase(entry.getKey()))
+                                                .toList();
+                                        return new ExpenseDtos.MonthlyTotalPoint(
+                                                monthEntry.getKey().toString(),
+                                                sumAmounts(categoryMonthExpenses),
+                                                categoryMonthExpenses.size()
+                                        );
+                                    })
+                                    .toList()
+                    ))
+                    .sorted(Comparator.comparing(ExpenseDtos.CategoryYearTrendPoint::yearTotal).reversed())
+                    .limit(topN)
+                    .toList());
+        }
+
+        private static BigDecimal sumAmounts(List<Expense> expenses) {
+            return expenses.stream()
+                    .map(Expense::getAmount)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add)
+                    .setScale(2, RoundingMode.HALF_UP);
+        }
+
+        private static BigDecimal sumAmountsByType(List<Expense> expenses, TransactionType type) {
+            return expenses.stream()
+                    .filter(expense -> expense.getTransactionType() == type)
+                    .map(Expense::getAmount)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add)
+                    .setScale(2, RoundingMode.HALF_UP);
+        }
+
+        private static BigDecimal sumSavingAmounts(List<Expense> expenses) {
+            return expenses.stream()
+                    .filter(expense -> expense.getCategory().getType() == CategoryType.SAVING)
+                    .map(Expense::getAmount)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add)
+                    .setScale(2, RoundingMode.HALF_UP);
+        }
+
+        private static ExpenseDtos.PeriodSummaryPoint toPeriodSummary(List<Expense> expenses) {
+            BigDecimal expenseTotal = sumAmountsByType(expenses, TransactionType.EXPENSE);
+            BigDecimal incomeTotal = sumAmountsByType(expenses, TransactionType.INCOME);
+            BigDecimal savingAmount = sumSavingAmounts(expenses);
+            BigDecimal savingRatePercent = incomeTotal.compareTo(BigDecimal.ZERO) == 0
+                    ? BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP)
+                    : savingAmount.multiply(BigDecimal.valueOf(100)).divide(incomeTotal, 2, RoundingMode.HALF_UP);
+            return new ExpenseDtos.PeriodSummaryPoint(
+                    expenseTotal,
+                    incomeTotal,
+                    incomeTotal.subtract(expenseTotal).setScale(2, RoundingMode.HALF_UP),
+                    savingAmount,
+                    savingRatePercent
+            );
+        }
+
+        private static ExpenseDtos.PeriodSummaryPoint toPeriodSummaryInRange(
+                List<Expense> expenses,
+                LocalDate startDate,
+                LocalDate endDate
+        ) {
+            return toPeriodSummary(expenses.stream()
+                    .filter(expense -> !expense.getExpenseDate().isBefore(startDate) && !expense.getExpenseDate().isAfter(endDate))
+                    .toList());
+        }
+    }
+}
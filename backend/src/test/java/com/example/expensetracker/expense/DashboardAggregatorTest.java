@@ -0,0 +1,59 @@
+package com.example.expensetracker.expense;
+
+import com.example.expensetracker.category.CategoryType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DashboardAggregatorTest {
+
+    private static final YearMonth START = YearMonth.of(2026, 1);
+
+    @Test
+    void periodSummary_shouldSumMonthsAndComputeSavingRate() {
+        DashboardAggregator aggregator = new DashboardAggregator(START, 12);
+        aggregator.accept(START, TransactionType.INCOME, CategoryType.INCOME, "Salary", new BigDecimal("1000.00"), 1);
+        aggregator.accept(START.plusMonths(1), TransactionType.INCOME, CategoryType.INCOME, "Salary", new BigDecimal("1000.00"), 1);
+        aggregator.accept(START, TransactionType.EXPENSE, CategoryType.SAVING, "Investments", new BigDecimal("150.25"), 2);
+        aggregator.accept(START.plusMonths(1), TransactionType.EXPENSE, CategoryType.EXPENSE, "Food", new BigDecimal("99.99"), 3);
+        aggregator.accept(START.minusMonths(1), TransactionType.EXPENSE, CategoryType.EXPENSE, "Food", new BigDecimal("500.00"), 1);
+
+        ExpenseDtos.PeriodSummaryPoint summary = aggregator.periodSummary(START, START.plusMonths(1));
+
+        assertThat(summary.incomeTotal()).isEqualByComparingTo("2000.00");
+        assertThat(summary.expenseTotal()).isEqualByComparingTo("250.24");
+        assertThat(summary.netAmount()).isEqualByComparingTo("1749.76");
+        assertThat(summary.savingAmount()).isEqualByComparingTo("150.25");
+        assertThat(summary.savingRatePercent()).isEqualByComparingTo("7.51");
+        assertThat(aggregator.monthlyTotals().get(0).count()).isEqualTo(3);
+    }
+
+    @Test
+    void topCategoryTrends_shouldKeepLargestCategoriesAcrossSlotGrowth() {
+        DashboardAggregator aggregator = new DashboardAggregator(START, 12);
+        for (int i = 0; i < 40; i++) {
+            aggregator.accept(
+                    START.plusMonths(i % 12),
+                    TransactionType.EXPENSE,
+                    CategoryType.EXPENSE,
+                    "Category " + i,
+                    BigDecimal.valueOf(i + 1L),
+                    1
+            );
+        }
+
+        List<ExpenseDtos.CategoryYearTrendPoint> trends = aggregator.topCategoryTrends(TransactionType.EXPENSE, 3);
+
+        assertThat(trends).extracting(ExpenseDtos.CategoryYearTrendPoint::categoryName)
+                .containsExactly("Category 39", "Category 38", "Category 37");
+        assertThat(trends.get(0).monthlyTrend()).hasSize(12);
+        assertThat(trends.get(0).monthlyTrend().get(3).total()).isEqualByComparingTo("40.00");
+        assertThat(aggregator.categoryTotals(START.plusMonths(3), TransactionType.EXPENSE))
+                .extracting(ExpenseDtos.CategoryTotalPoint::categoryName)
+                .containsExactly("Category 39", "Category 27", "Category 15", "Category 3");
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.expensetracker.expense;
+
+import com.example.expensetracker.audit.JpaAuditConfig;
+import com.example.expensetracker.auth.AuthenticatedUser;
+import com.example.expensetracker.auth.UserContext;
+import com.example.expensetracker.budget.Budget;
+import com.example.expensetracker.budget.BudgetPeriod;
+import com.example.expensetracker.budget.BudgetRepository;
+import com.example.expensetracker.category.Category;
+import com.example.expensetracker.category.CategoryRepository;
+import com.example.expensetracker.category.CategoryType;
+import com.example.expensetracker.category.SubCategory;
+import com.example.expensetracker.category.SubCategoryRepository;
+import com.example.expensetracker.sync.ChangeSequence;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:dashboard;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+        DashboardService.class,
+        DashboardExecutorConfig.class,
+        SimpleMeterRegistry.class,
+        ExpenseService.class,
+        ExpenseSearchIndexCache.class,
+        ExpenseRollupService.class,
+        MonthlySnapshotService.class,
+        BudgetSpendService.class,
+        BudgetUtilizationService.class,
+        ChangeSequence.class,
+        UserContext.class,
+        JpaAuditConfig.class
+})
+class DashboardQueryCountTest {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SubCategoryRepository subCategoryRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new AuthenticatedUser(1L, "u001"), null, List.of())
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getDashboardSummary_shouldIssueFixedNumberOfStatements() {
+        LocalDate today = LocalDate.now();
+        SubCategory groceries = subCategory("Food", "Groceries", CategoryType.EXPENSE);
+        SubCategory fund = subCategory("Investments", "Index fund", CategoryType.SAVING);
+        SubCategory salary = subCategory("Salary", "Monthly pay", CategoryType.INCOME);
+        budget("Default Budget", true);
+        budget("Groceries Budget", false);
+
+        for (int i = 0; i < 20; i++) {
+            create("40.00", today.minusMonths(i % 6), TransactionType.EXPENSE, groceries);
+        }
+        create("500.00", today, TransactionType.EXPENSE, fund);
+        create("2000.00", today, TransactionType.INCOME, salary);
+
+        // The first read freezes the eleven closed months of the window.
+        dashboardService.getDashboardSummary(5);
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ExpenseDtos.DashboardSummaryResponse summary = dashboardService.getDashboardSummary(5);
+
+        // closed-month snapshots + open-month rollups + trailing windows + budget utilization,
+        // independent of the number of months or budgets
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(summary.budgetUtilizationPoints())
+                .extracting(ExpenseDtos.BudgetUtilizationPoint::budgetName, ExpenseDtos.BudgetUtilizationPoint::spentAmount)
+                .containsExactly(
+                        tuple("Default Budget", new BigDecimal("660.00")),
+                        tuple("Groceries Budget", new BigDecimal("0.00"))
+                );
+        assertThat(summary.currentMonthSummary().incomeTotal()).isEqualByComparingTo("2000.00");
+        assertThat(summary.currentMonthSummary().savingAmount()).isEqualByComparingTo("500.00");
+        assertThat(summary.currentMonthSummary().savingRatePercent()).isEqualByComparingTo("25.00");
+        assertThat(summary.monthlyTotals()).hasSize(12);
+        assertThat(summary.topYearlyCategoryTrends().get(0).categoryName()).isEqualTo("Food");
+        assertThat(summary.topYearlyCategoryTrends().get(0).yearTotal()).isEqualByComparingTo("800.00");
+        assertThat(summary.lastYearSummary().expenseTotal()).isEqualByComparingTo("1300.00");
+        assertThat(summary.partial()).isFalse();
+    }
+
+    private SubCategory subCategory(String categoryName, String subCategoryName, CategoryType type) {
+        Category category = new Category();
+        category.setOwnerId(1L);
+        category.setName(categoryName);
+        category.setDescription(categoryName);
+        category.setType(type);
+        categoryRepository.save(category);
+
+        SubCategory subCategory = new SubCategory();
+
+        subCategory.setOwnerId(1L);
+        subCategory.setName(subCategoryName);
+        subCategory.setCategory(category);
+        return subCategoryRepository.save(subCategory);
+    }
+
+    private void budget(String name, boolean defaultBudget) {
+        Budget budget = new Budget();
+        budget.setOwnerId(1L);
+        budget.setName(name);
+        budget.setAmount(new BigDecimal("1000.00"));
+        budget.setPeriod(BudgetPeriod.MONTHLY);
+        budget.setDefaultBudget(defaultBudget);
+        budgetRepository.save(budget);
+    }
+
+    private void create(String amount, LocalDate date, TransactionType type, SubCategory subCategory) {
+        expenseService.createExpense(new ExpenseDtos.CreateExpenseRequest(
+                new BigDecimal(amount),
+                "Seeded " + type,
+                date,
+                type,
+                subCategory.getCategory().getId(),
+                subCategory.getId(),
+                null
+        ));
+    }
+}
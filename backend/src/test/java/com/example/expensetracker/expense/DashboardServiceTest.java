@@ -0,0 +1,123 @@
+package com.example.expensetracker.expense;
+
+import com.example.expensetracker.auth.UserContext;
+import com.example.expensetracker.category.CategoryType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceTest {
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @Mock
+    private ExpenseMonthlyRollupRepository rollupRepository;
+
+    @Mock
+    private MonthlySummarySnapshotRepository snapshotRepository;
+
+    @Mock
+    private MonthlySnapshotService snapshotService;
+
+    @Mock
+    private BudgetUtilizationService budgetUtilizationService;
+
+    @Mock
+    private UserContext userContext;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+    private DashboardService dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("u001", null, List.of())
+        );
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new DashboardExecutorConfig().dashboardSectionExecutor(3, 8);
+        dashboardService = new DashboardService(
+                expenseRepository,
+                rollupRepository,
+                snapshotRepository,
+                snapshotService,
+                budgetUtilizationService,
+                userContext,
+                transactionManager,
+                executor,
+                meterRegistry,
+                true,
+                200
+        );
+        when(userContext.currentUsername()).thenReturn("u001");
+        when(userContext.currentUserId()).thenReturn(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getDashboardSummary_shouldReturnPartialSummaryWhenSectionTimesOut() {
+        AtomicReference<String> sectionUser = new AtomicReference<>();
+        when(rollupRepository.summarizeMonths(eq("u001"), any())).thenReturn(List.of());
+        when(expenseRepository.summarizeTrailingWindows(eq(1L), any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    sectionUser.set(SecurityContextHolder.getContext().getAuthentication().getName());
+                    return List.of(new ExpenseAggregates.TrailingWindowRow(
+                            TransactionType.EXPENSE,
+                            CategoryType.EXPENSE,
+                            new BigDecimal("30.00"),
+                            new BigDecimal("20.00"),
+                            new BigDecimal("100.00")
+                    ));
+                });
+        when(budgetUtilizationService.listUtilization(1L)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        ExpenseDtos.DashboardSummaryResponse summary = dashboardService.getDashboardSummary(5);
+
+        assertThat(summary.partial()).isTrue();
+        assertThat(summary.degradedSections()).containsExactly(DashboardService.BUDGET_UTILIZATION);
+        assertThat(summary.budgetUtilizationPoints()).isEmpty();
+        assertThat(summary.last30DaysTotal()).isEqualByComparingTo("30.00");
+        assertThat(summary.lastYearTotal()).isEqualByComparingTo("100.00");
+        assertThat(summary.monthlyTotals()).hasSize(12);
+        assertThat(sectionUser).hasValue("u001");
+        assertThat(meterRegistry.get("dashboard.section.timeouts")
+                .tag("section", DashboardService.BUDGET_UTILIZATION).counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("dashboard.section")
+                .tag("section", DashboardService.TRAILING_WINDOWS).tag("mode", "concurrent").timer().count())
+                .isEqualTo(1);
+    }
+}
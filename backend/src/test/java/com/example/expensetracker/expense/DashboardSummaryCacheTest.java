@@ -0,0 +1,85 @@
+package com.example.expensetracker.expense;
+
+import com.example.expensetracker.cache.UserDataChangedEvent;
+import com.example.expensetracker.cache.UserDataKind;
+import com.example.expensetracker.cache.UserDataVersions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DashboardSummaryCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Supplier<ExpenseDtos.DashboardSummaryResponse> loader = () -> summary(List.of());
+    private final Supplier<ExpenseDtos.DashboardSummaryResponse> partialLoader =
+            () -> summary(List.of(DashboardService.BUDGET_UTILIZATION));
+
+    private UserDataVersions versions;
+    private SimpleMeterRegistry meterRegistry;
+    private DashboardSummaryCache cache;
+
+    @BeforeEach
+    void setUp() {
+        versions = new UserDataVersions();
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new DashboardSummaryCache(versions, meterRegistry, 2);
+    }
+
+    @Test
+    void get_shouldServeRepeatedLoadsFromCacheUntilUserDataChanges() {
+        String etagBefore = cache.etag("u001", 5);
+        cache.get("u001", 5, loader);
+        cache.get("U001", 5, loader);
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.etag("u001", 5)).isEqualTo(etagBefore);
+
+        UserDataChangedEvent event = new UserDataChangedEvent("u001", UserDataKind.BUDGETS);
+        versions.onUserDataChanged(event);
+        cache.onUserDataChanged(event);
+        cache.get("u001", 5, loader);
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.etag("u001", 5)).isNotEqualTo(etagBefore);
+        assertThat(meterRegistry.get("dashboard.summary.cache").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("dashboard.summary.cache").tag("result", "miss").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void get_shouldEvictLeastRecentlyUsedEntryWhenFull() {
+        cache.get("u001", 5, loader);
+        cache.get("u002", 5, loader);
+        cache.get("u001", 5, loader);
+        cache.get("u003", 5, loader);
+        cache.get("u001", 5, loader);
+        cache.get("u002", 5, loader);
+
+        assertThat(loads).hasValue(4);
+        assertThat(meterRegistry.get("dashboard.summary.cache.evictions").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("dashboard.summary.cache.size").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void get_shouldNotStorePartialSummaries() {
+        cache.get("u001", 5, partialLoader);
+        cache.get("u001", 5, partialLoader);
+
+        assertThat(loads).hasValue(2);
+        assertThat(meterRegistry.get("dashboard.summary.cache.size").gauge().value()).isZero();
+    }
+
+    private ExpenseDtos.DashboardSummaryResponse summary(List<String> degradedSections) {
+        loads.incrementAndGet();
+        return new ExpenseDtos.DashboardSummaryResponse(
+                null, null, null, null, null, null, null, null, null, null, null,
+                List.of(), List.of(), List.of(), List.of(), List.of(), List.of(),
+                !degradedSections.isEmpty(), degradedSections
+        );
+    }
+}
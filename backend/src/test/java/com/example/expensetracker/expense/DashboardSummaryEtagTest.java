@@ -0,0 +1,107 @@
+package com.example.expensetracker.expense;
+
+import com.example.expensetracker.auth.AuthenticatedUser;
+import com.example.expensetracker.auth.UserContext;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class DashboardSummaryEtagTest {
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new AuthenticatedUser(1L, "u001"), null, List.of())
+        );
+        DashboardSummaryCache dashboardSummaryCache = mock(DashboardSummaryCache.class);
+        when(dashboardSummaryCache.etag(anyString(), anyInt())).thenReturn("summary-1-5");
+        when(dashboardSummaryCache.get(anyString(), anyInt(), any())).thenReturn(new ExpenseDtos.DashboardSummaryResponse(
+                null, null, null, null, null, null, null, null, null, null, null,
+                List.of(), List.of(), List.of(), List.of(), List.of(), List.of(),
+                false, List.of()
+        ));
+        ExpenseController controller = new ExpenseController(
+                mock(ExpenseService.class),
+                mock(ExpenseRollupService.class),
+                mock(DashboardService.class),
+                mock(MonthlySnapshotService.class),
+                dashboardSummaryCache,
+                new UserContext(null),
+                mock(ExpenseExportService.class),
+                mock(ExpenseImportService.class),
+                mock(ExpenseBatchService.class),
+                mock(ExpenseIngestionService.class)
+        );
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setMessageConverters(
+                        new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build()),
+                        new MappingJackson2CborHttpMessageConverter(
+                                Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build()
+                        )
+                )
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getDashboardSummary_shouldNotRevalidateAJsonEtagForACborRequest() throws Exception {
+        String jsonEtag = mockMvc.perform(get("/api/dashboard/summary").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        String cborEtag = mockMvc.perform(get("/api/dashboard/summary")
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, jsonEtag))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(cborEtag).isNotEqualTo(jsonEtag).contains("-cbor");
+    }
+
+    @Test
+    void getDashboardSummary_shouldSendVaryOnNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/dashboard/summary")
+                        .param("shape", "columnar")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/dashboard/summary")
+                        .param("shape", "columnar")
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+    }
+}
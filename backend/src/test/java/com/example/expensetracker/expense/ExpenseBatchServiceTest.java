@@ -0,0 +1,217 @@
+package com.example.expensetracker.expense;
+
+import com.example.expensetracker.audit.JpaAuditConfig;
+import com.example.expensetracker.auth.AuthenticatedUser;
+import com.example.expensetracker.auth.UserContext;
+import com.example.expensetracker.budget.Budget;
+import com.example.expensetracker.budget.BudgetPeriod;
+import com.example.expensetracker.budget.BudgetRepository;
+import com.example.expensetracker.category.Category;
+import com.example.expensetracker.category.CategoryRepository;
+import com.example.expensetracker.category.CategoryType;
+import com.example.expensetracker.category.SubCategory;
+import com.example.expensetracker.category.SubCategoryRepository;
+import com.example.expensetracker.sync.ChangeSequence;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:batchtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+        ExpenseBatchService.class,
+        ExpenseBatchInserter.class,
+        ExpenseRollupService.class,
+        LocalValidatorFactoryBean.class,
+        ChangeSequence.class,
+        UserContext.class,
+        JpaAuditConfig.class
+})
+class ExpenseBatchServiceTest {
+
+    @Autowired
+    private ExpenseBatchService batchService;
+
+    @Autowired
+    private ExpenseRollupService rollupService;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SubCategoryRepository subCategoryRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    private Category food;
+    private SubCategory dining;
+    private SubCategory pay;
+    private Budget household;
+    private Budget travel;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new AuthenticatedUser(1L, "u001"), null, List.of())
+        );
+        food = categoryRepository.save(category("Food", CategoryType.EXPENSE));
+        dining = subCategoryRepository.save(subCategory("Dining", food));
+        Category salary = categoryRepository.save(category("Salary", CategoryType.INCOME));
+        pay = subCategoryRepository.save(subCategory("Monthly pay", salary));
+        household = budgetRepository.save(budget("Household", true));
+        travel = budgetRepository.save(budget("Travel", false));
+        rollupService.rebuildCurrentUser();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void applyBatch_shouldApplyValidOperationsTogetherAndReportEachOutcome() {
+        Expense coffee = expenseRepository.save(expense("Coffee", "4.50", LocalDate.of(2025, 3, 1)));
+        Expense lunch = expenseRepository.save(expense("Lunch", "15.00", LocalDate.of(2025, 3, 2)));
+        Long otherUsersId = expenseRepository.save(expense("Not mine", "9.00", LocalDate.of(2025, 3, 2), 2L)).getId();
+        rollupService.rebuildCurrentUser();
+
+        ExpenseDtos.BatchResponse response = batchService.applyBatch(List.of(
+                create("c1", request("Dinner", "42.00", null, travel.getId())),
+                update(coffee.getId(), request("Coffee and cake", "7.25", null, null)),
+                delete(lunch.getId()),
+                delete(otherUsersId),
+                create("c2", request("  ", "10.00", null, null)),
+                create("c3", new ExpenseDtos.CreateExpenseRequest(
+                        new BigDecimal("10.00"), "Wages", LocalDate.of(2025, 3, 3), TransactionType.INCOME,
+                        food.getId(), dining.getId(), null)),
+                update(coffee.getId(), new ExpenseDtos.CreateExpenseRequest(
+                        new BigDecimal("7.25"), "Coffee", LocalDate.of(2025, 3, 1), TransactionType.EXPENSE,
+                        food.getId(), pay.getId(), null)),
+                create("c4", request("Groceries", "63.10", null, null))
+        ));
+
+        assertThat(response.applied()).isEqualTo(4);
+        assertThat(response.rejected()).isEqualTo(4);
+        assertThat(response.results()).extracting(ExpenseDtos.BatchOperationResult::status)
+                .containsExactly(201, 200, 204, 404, 400, 400, 400, 201);
+        assertThat(response.results()).extracting(ExpenseDtos.BatchOperationResult::error).containsExactly(
+                null,
+                null,
+                null,
+                "Transaction not found",
+                "description must not be blank",
+                "Category type must be INCOME for income transactions",
+                "Sub-category does not belong to selected category",
+                null
+        );
+
+        ExpenseDtos.BatchOperationResult dinner = response.results().get(0);
+        assertThat(dinner.clientId()).isEqualTo("c1");
+        assertThat(dinner.transaction().budgetName()).isEqualTo("Travel");
+        assertThat(response.results().get(7).transaction().budgetId()).isEqualTo(household.getId());
+        assertThat(response.results().get(1).transaction().amount()).isEqualByComparingTo("7.25");
+
+        List<Expense> stored = expenseRepository.findAllByOwnerIdAndExpenseDateBetweenOrderByExpenseDateDescIdDesc(
+                1L,
+                LocalDate.of(2025, 1, 1),
+                LocalDate.of(2025, 12, 31)
+        );
+        assertThat(stored).extracting(Expense::getDescription)
+                .containsExactlyInAnyOrder("Dinner", "Groceries", "Coffee and cake");
+        assertThat(stored).extracting(Expense::getId).contains(dinner.id());
+        assertThat(expenseRepository.existsById(otherUsersId)).isTrue();
+        assertThat(rollupService.verifyCurrentUser().consistent()).isTrue();
+    }
+
+    private ExpenseDtos.CreateExpenseRequest request(String description, String amount, TransactionType type, Long budgetId) {
+        return new ExpenseDtos.CreateExpenseRequest(
+                new BigDecimal(amount),
+                description,
+                LocalDate.of(2025, 3, 4),
+                type,
+                food.getId(),
+                dining.getId(),
+                budgetId
+        );
+    }
+
+    private static ExpenseDtos.BatchOperation create(String clientId, ExpenseDtos.CreateExpenseRequest request) {
+        return new ExpenseDtos.BatchOperation(ExpenseDtos.BatchAction.CREATE, null, clientId, request);
+    }
+
+    private static ExpenseDtos.BatchOperation update(Long id, ExpenseDtos.CreateExpenseRequest request) {
+        return new ExpenseDtos.BatchOperation(ExpenseDtos.BatchAction.UPDATE, id, null, request);
+    }
+
+    private static ExpenseDtos.BatchOperation delete(Long id) {
+        return new ExpenseDtos.BatchOperation(ExpenseDtos.BatchAction.DELETE, id, null, null);
+    }
+
+    private Expense expense(String description, String amount, LocalDate date) {
+        return expense(description, amount, date, 1L);
+    }
+
+    private Expense expense(String description, String amount, LocalDate date, Long ownerId) {
+        Expense expense = new Expense();
+        expense.setOwnerId(ownerId);
+        expense.setAmount(new BigDecimal(amount));
+        expense.setDescription(description);
+        expense.setExpenseDate(date);
+        expense.setTransactionType(TransactionType.EXPENSE);
+        expense.setCategory(food);
+        expense.setSubCategory(dining);
+        expense.setBudget(household);
+        return expense;
+    }
+
+    private static Category category(String name, CategoryType type) {
+        Category category = new Category();
+        category.setOwnerId(1L);
+        category.setName(name);
+        category.setDescription(name);
+        category.setType(type);
+        return category;
+    }
+
+    private static SubCategory subCategory(String name, Category category) {
+        SubCategory subCategory = new SubCategory();
+        subCategory.setOwnerId(1L);
+        subCategory.setName(name);
+        subCategory.setCategory(category);
+        return subCategory;
+    }
+
+    private static Budget budget(String name, boolean defaultBudget) {
+        Budget budget = new Budget();
+        budget.setOwnerId(1L);
+        budget.setName(name);
+        budget.setAmount(new BigDecimal("1000.00"));
+        budget.setPeriod(BudgetPeriod.MONTHLY);
+        budget.setDefaultBudget(defaultBudget);
+        return budget;
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.expensetracker.expense;
+
+import com.example.expensetracker.audit.JpaAuditConfig;
+import com.example.expensetracker.auth.AuthenticatedUser;
+import com.example.expensetracker.auth.UserContext;
+import com.example.expensetracker.budget.Budget;
+import com.example.expensetracker.budget.BudgetPeriod;
+import com.example.expensetracker.budget.BudgetRepository;
+import com.example.expensetracker.category.Category;
+import com.example.expensetracker.category.CategoryRepository;
+import com.example.expensetracker.category.CategoryType;
+import com.example.expensetracker.category.SubCategory;
+import com.example.expensetracker.category.SubCategoryRepository;
+import com.example.expensetracker.sync.ChangeSequence;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:cursorpaging;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+        ExpenseService.class,
+        ExpenseSearchIndexCache.class,
+        SimpleMeterRegistry.class,
+        ChangeSequence.class,
+        UserContext.class,
+        JpaAuditConfig.class
+})
+class ExpenseCursorPaginationTest {
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SubCategoryRepository subCategoryRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new AuthenticatedUser(1L, "u001"), null, List.of())
+        );
+        Category category = new Category();
+        category.setOwnerId(1L);
+        category.setName("Food");
+        category.setDescription("Food");
+        category.setType(CategoryType.EXPENSE);
+        categoryRepository.save(category);
+        SubCategory subCategory = new SubCategory();
+        subCategory.setOwnerId(1L);
+        subCategory.setName("Groceries");
+        subCategory.setCategory(category);
+        subCategoryRepository.save(subCategory);
+        Budget budget = new Budget();
+        budget.setOwnerId(1L);
+        budget.setName("Default Budget");
+        budget.setAmount(new BigDecimal("1000.00"));
+        budget.setPeriod(BudgetPeriod.MONTHLY);
+        budget.setDefaultBudget(true);
+        budgetRepository.save(budget);
+
+        // Repeated dates and amounts so that every page boundary has to be broken on the tie-breaker columns.
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < 23; i++) {
+            Expense expense = new Expense();
+            expense.setOwnerId(1L);
+            expense.setAmount(new BigDecimal(10 + (i % 4) * 5).setScale(2));
+            expense.setDescription("Seeded " + i);
+            expense.setExpenseDate(start.plusDays(i % 5));
+            expense.setTransactionType(TransactionType.EXPENSE);
+            expense.setCategory(category);
+            expense.setSubCategory(subCategory);
+            expense.setBudget(budget);
+            expenseRepository.save(expense);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void cursorMode_shouldWalkTheSameRowsAsOffsetPaging() {
+        for (String sortBy : List.of("expenseDate", "amount")) {
+            for (String sortDir : List.of("asc", "desc")) {
+                List<Long> offsetIds = transactions(sortBy, sortDir, 0, 100, null).items().stream()
+                        .map(ExpenseDtos.ExpenseResponse::id)
+                        .toList();
+
+                List<Long> cursorIds = new ArrayList<>();
+                String cursor = "";
+                int pages = 0;
+                while (cursor != null) {
+                    ExpenseDtos.ExpensePageResponse page = transactions(sortBy, sortDir, 0, 5, cursor);
+                    page.items().forEach(item -> cursorIds.add(item.id()));
+                    cursor = page.nextCursor();
+                    pages++;
+                }
+
+                assertThat(cursorIds).as("%s %s", sortBy, sortDir).isEqualTo(offsetIds).hasSize(23);
+                assertThat(pages).isEqualTo(5);
+            }
+        }
+    }
+
+    @Test
+    void cursorMode_shouldSkipCountUnlessRequested() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ExpenseDtos.ExpensePageResponse page = expenseService.listExpenses(null, null, 0, 10, "", false);
+
+        assertThat(page.items()).hasSize(10);
+        assertThat(page.totalElements()).isNull();
+        assertThat(page.totalPages()).isNull();
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(1);
+
+        ExpenseDtos.ExpensePageResponse counted = expenseService.listExpenses(null, null, 0, 10, page.nextCursor(), true);
+        assertThat(counted.items()).hasSize(10);
+        assertThat(counted.totalElements()).isEqualTo(23);
+        assertThat(counted.totalPages()).isEqualTo(3);
+    }
+
+    @Test
+    void cursorMode_shouldRejectCursorFromAnotherSort() {
+        String dateCursor = transactions("expenseDate", "desc", 0, 5, "").nextCursor();
+
+        assertThatThrownBy(() -> transactions("amount", "desc", 0, 5, dateCursor))
+                .isInstanceOfSatisfying(ResponseStatusException.class, ex -> {
+                    assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+                    assertThat(ex.getReason()).contains("cursor does not match");
+                });
+        assertThatThrownBy(() -> transactions("category", "desc", 0, 5, ""))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> transactions("expenseDate", "desc", 0, 5, "not-a-cursor"))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getReason()).isEqualTo("cursor is invalid"));
+    }
+
+    @Test
+    void pageMode_shouldKeepCountsAndHandOutCursor() {
+        ExpenseDtos.ExpensePageResponse first = transactions("expenseDate", "desc", 0, 10, null);
+        ExpenseDtos.ExpensePageResponse second = transactions("expenseDate", "desc", 1, 10, null);
+
+        assertThat(first.totalElements()).isEqualTo(23);
+        assertThat(first.totalPages()).isEqualTo(3);
+        assertThat(transactions("expenseDate", "desc", 0, 10, first.nextCursor()).items())
+                .isEqualTo(second.items());
+    }
+
+    private ExpenseDtos.ExpensePageResponse transactions(String sortBy, String sortDir, int page, int size, String cursor) {
+        return expenseService.listTransactions(
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                TransactionType.EXPENSE,
+                sortBy,
+                sortDir,
+                page,
+                size,
+                cursor,
+                false
+        );
+    }
+}
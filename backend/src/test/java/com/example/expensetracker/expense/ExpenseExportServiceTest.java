@@ -0,0 +1,221 @@
+package com.example.expensetracker.expense;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpenseExportServiceTest {
+
+    private static final int LARGE_EXPORT_ROWS = 500_000;
+
+    @Test
+    void write_shouldStreamFilteredRowsAsQuotedCsv() throws Exception {
+        ExpenseExportService service = service(seed("jdbc:h2:mem:export-csv;DB_CLOSE_DELAY=-1", List.of(
+                "INSERT INTO expenses VALUES (1, 1, 12.50, 'Coffee', DATE '2025-03-01', 'EXPENSE', 1, 1, 1)",
+                "INSERT INTO expenses VALUES (2, 1, 80.00, 'Dinner, \"Luigi''s\"', DATE '2025-03-04', 'EXPENSE', 1, 1, NULL)",
+                "INSERT INTO expenses VALUES (3, 1, 2500.00, 'Salary', DATE '2025-03-02', 'INCOME', 1, 1, NULL)",
+                "INSERT INTO expenses VALUES (4, 2, 99.00, 'Not mine', DATE '2025-03-03', 'EXPENSE', 1, 1, NULL)"
+        )));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = service.write(1L, filters(null, null), ExportFormat.CSV, out);
+
+        assertThat(written).isEqualTo(3);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                ExpenseExportService.CSV_HEADER + "\r\n"
+                        + "2,80.00,\"Dinner, \"\"Luigi's\"\"\",2025-03-04,EXPENSE,1,Food,1,Dining,,\r\n"
+                        + "3,2500.00,Salary,2025-03-02,INCOME,1,Food,1,Dining,,\r\n"
+                        + "1,12.50,Coffee,2025-03-01,EXPENSE,1,Food,1,Dining,1,Monthly\r\n"
+        );
+
+        out.reset();
+        service.write(1L, filters(TransactionType.EXPENSE, new BigDecimal("50")), ExportFormat.CSV, out);
+        assertThat(out.toString(StandardCharsets.UTF_8).lines()).hasSize(2).last().asString().startsWith("2,80.00,");
+    }
+
+    @Test
+    void toCsvLine_shouldNeutralizeFormulaPrefixes() {
+        List<String> descriptions = List.of("=HYPERLINK(\"http://x\")", "+1", "-2+3", "@SUM(A1)", "\tTab", "\rReturn");
+
+        List<String> fields = descriptions.stream()
+                .map(description -> ExpenseExportService.toCsvLine(new ExpenseDtos.ExpenseResponse(
+                        1L,
+                        new BigDecimal("-5.00"),
+                        description,
+                        LocalDate.of(2025, 3, 1),
+                        TransactionType.EXPENSE,
+                        1L,
+                        "Food",
+                        1L,
+                        "Dining",
+                        1L,
+                        "Monthly"
+                )))
+                .map(line -> line.substring("1,-5.00,".length(), line.indexOf(",2025-03-01")))
+                .toList();
+
+        assertThat(fields).containsExactly(
+                "\"'=HYPERLINK(\"\"http://x\"\")\"",
+                "'+1",
+                "'-2+3",
+                "'@SUM(A1)",
+                "'\tTab",
+                "\"'\rReturn\""
+        );
+    }
+
+    @Test
+    void write_shouldEmitOneJsonObjectPerLine() throws Exception {
+        ExpenseExportService service = service(seed("jdbc:h2:mem:export-ndjson;DB_CLOSE_DELAY=-1", List.of(
+                "INSERT INTO expenses VALUES (1, 1, 12.50, 'Coffee', DATE '2025-03-01', 'EXPENSE', 1, 1, 1)",
+                "INSERT INTO expenses VALUES (2, 1, 2500.00, 'Salary', DATE '2025-03-02', 'INCOME', 1, 1, NULL)"
+        )));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.write(1L, filters(null, null), ExportFormat.NDJSON, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(2);
+        ObjectMapper mapper = objectMapper();
+        ExpenseDtos.ExpenseResponse first = mapper.readValue(lines.get(0), ExpenseDtos.ExpenseResponse.class);
+        assertThat(first.id()).isEqualTo(2L);
+        assertThat(first.budgetId()).isNull();
+        assertThat(lines.get(1)).contains("\"expenseDate\":\"2025-03-01\"", "\"budgetName\":\"Monthly\"");
+    }
+
+    /**
+     * Exports a large file-backed table from a child JVM whose heap is far smaller than the export itself, so the
+     * test fails with an {@link OutOfMemoryError} if rows are ever buffered instead of streamed.
+     */
+    @Test
+    void write_shouldExportLargeDatasetUnderCappedHeap(@TempDir Path tempDir) throws Exception {
+        String url = "jdbc:h2:" + tempDir.resolve("export").toAbsolutePath() + ";CACHE_SIZE=4096";
+        JdbcDataSource dataSource = seed(url, List.of());
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO expenses VALUES (?, 1, ?, ?, ?, 'EXPENSE', 1, 1, 1)")) {
+            connection.setAutoCommit(false);
+            LocalDate start = LocalDate.of(2000, 1, 1);
+            for (int id = 1; id <= LARGE_EXPORT_ROWS; id++) {
+                insert.setLong(1, id);
+                insert.setBigDecimal(2, BigDecimal.valueOf(id % 10_000, 2));
+                insert.setString(3, "Synthetic transaction number " + id + " with a reasonably long description");
+                insert.setObject(4, start.plusDays(id % 9_000));
+                insert.addBatch();
+                if (id % 10_000 == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            connection.commit();
+        }
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+
+        Path result = tempDir.resolve("rows.txt");
+        Process process = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Xmx48m",
+                "-XX:+ExitOnOutOfMemoryError",
+                "-cp",
+                System.getProperty("java.class.path"),
+                CappedHeapExport.class.getName(),
+                url,
+                result.toString()
+        ).inheritIO().start();
+
+        assertThat(process.waitFor(5, TimeUnit.MINUTES)).isTrue();
+        assertThat(process.exitValue()).isZero();
+        // The header plus one line per row, well over the 48 MB heap in total.
+        String[] counts = Files.readString(result).split(",");
+        assertThat(Long.parseLong(counts[0])).isEqualTo(LARGE_EXPORT_ROWS);
+        assertThat(Long.parseLong(counts[1])).isGreaterThan(48L * 1024 * 1024);
+    }
+
+    static final class CappedHeapExport {
+
+        public static void main(String[] args) throws IOException {
+            JdbcDataSource dataSource = new JdbcDataSource();
+            dataSource.setURL(args[0]);
+            CountingOutputStream out = new CountingOutputStream();
+            long rows = service(dataSource).write(1L, filters(null, null), ExportFormat.CSV, out);
+            Files.writeString(Path.of(args[1]), rows + "," + out.bytes);
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+
+    private static ExpenseExportService service(JdbcDataSource dataSource) {
+        return new ExpenseExportService(dataSource, objectMapper(), null, 500);
+    }
+
+    private static ObjectMapper objectMapper() {
+        return new ObjectMapper().findAndRegisterModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static ExpenseExportService.Filters filters(TransactionType type, BigDecimal minAmount) {
+        return new ExpenseExportService.Filters(null, null, null, null, minAmount, null, type);
+    }
+
+    private static JdbcDataSource seed(String url, List<String> rows) throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL(url);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE categories (id BIGINT PRIMARY KEY, name VARCHAR(100))");
+            statement.execute("CREATE TABLE sub_categories (id BIGINT PRIMARY KEY, name VARCHAR(100))");
+            statement.execute("CREATE TABLE budgets (id BIGINT PRIMARY KEY, name VARCHAR(100))");
+            statement.execute("""
+                    CREATE TABLE expenses (
+                        id BIGINT PRIMARY KEY,
+                        owner_id BIGINT,
+                        amount DECIMAL(12, 2),
+                        description VARCHAR(255),
+                        expense_date DATE,
+                        transaction_type VARCHAR(20),
+                        category_id BIGINT,
+                        sub_category_id BIGINT,
+                        budget_id BIGINT
+                    )""");
+            statement.execute("INSERT INTO categories VALUES (1, 'Food')");
+            statement.execute("INSERT INTO sub_categories VALUES (1, 'Dining')");
+            statement.execute("INSERT INTO budgets VALUES (1, 'Monthly')");
+            for (String row : rows) {
+                statement.execute(row);
+            }
+        }
+        return dataSource;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.expensetracker.expense;
+
+import com.example.expensetracker.auth.UserContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class ExpenseExportTimeoutTest {
+
+    private static final long DEFAULT_TIMEOUT_MS = 30_000;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ExpenseExportService exportService = mock(ExpenseExportService.class);
+        when(exportService.exportTransactions(any(), anyBoolean(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(outputStream -> outputStream.write('x'));
+        ExpenseController controller = new ExpenseController(
+                mock(ExpenseService.class),
+                mock(ExpenseRollupService.class),
+                mock(DashboardService.class),
+                mock(MonthlySnapshotService.class),
+                mock(DashboardSummaryCache.class),
+                new UserContext(null),
+                exportService,
+                mock(ExpenseImportService.class),
+                mock(ExpenseBatchService.class),
+                mock(ExpenseIngestionService.class)
+        );
+        mockMvc = MockMvcBuilders.standaloneSetup(controller, new OtherStreamingController())
+                .setAsyncRequestTimeout(DEFAULT_TIMEOUT_MS)
+                // What WebConfig.configureAsyncSupport does for the application.
+                .addInterceptors(new HandlerInterceptor() {
+                    @Override
+                    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(
+                                ExportTimeoutInterceptor.class.getName(),
+                                new ExportTimeoutInterceptor(Duration.ofMinutes(30))
+                        );
+                        return true;
+                    }
+                })
+                .build();
+    }
+
+    @Test
+    void exportTransactions_shouldRaiseTheAsyncTimeoutForExportsOnly() throws Exception {
+        MvcResult export = mockMvc.perform(get("/api/transactions/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult other = mockMvc.perform(get("/other-stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertThat(export.getRequest().getAsyncContext().getTimeout()).isEqualTo(Duration.ofMinutes(30).toMillis());
+        assertThat(other.getRequest().getAsyncContext().getTimeout()).isEqualTo(DEFAULT_TIMEOUT_MS);
+    }
+
+    @RestController
+    static class OtherStreamingController {
+
+        @GetMapping("/other-stream")
+        StreamingResponseBody stream() {
+            return outputStream -> outputStream.write('y');
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.expensetracker.expense;
+
+import com.example.expensetracker.audit.JpaAuditConfig;
+import com.example.expensetracker.auth.AuthenticatedUser;
+import com.example.expensetracker.auth.UserContext;
+import com.example.expensetracker.budget.Budget;
+import com.example.expensetracker.budget.BudgetPeriod;
+import com.example.expensetracker.budget.BudgetRepository;
+import com.example.expensetracker.category.Category;
+import com.example.expensetracker.category.CategoryRepository;
+import com.example.expensetracker.category.CategoryType;
+import com.example.expensetracker.category.SubCategory;
+import com.example.expensetracker.category.SubCategoryRepository;
+import com.example.expensetracker.sync.ChangeSequence;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:importtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+        ExpenseImportService.class,
+        ExpenseBatchInserter.class,
+        ExpenseRollupService.class,
+        ChangeSequence.class,
+        UserContext.class,
+        JpaAuditConfig.class
+})
+// Each import chunk commits on its own, as it does in production, so the test manages its own cleanup.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ExpenseImportServiceTest {
+
+    private static final int LARGE_IMPORT_ROWS = 50_000;
+
+    @Autowired
+    private ExpenseImportService importService;
+
+    @Autowired
+    private ExpenseRollupService rollupService;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SubCategoryRepository subCategoryRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Category food;
+    private SubCategory dining;
+    private Budget travel;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new AuthenticatedUser(1L, "u001"), null, List.of())
+        );
+        food = categoryRepository.save(category("Food", CategoryType.EXPENSE));
+        dining = subCategoryRepository.save(subCategory("Dining", food));
+        Category salary = categoryRepository.save(category("Salary", CategoryType.INCOME));
+        subCategoryRepository.save(subCategory("Monthly pay", salary));
+        budgetRepository.save(budget("Household", true));
+        travel = budgetRepository.save(budget("Travel", false));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        for (String table : List.of("expense_monthly_rollups", "expenses", "sub_categories", "budgets", "categories")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    @Test
+    void importTransactions_shouldInsertValidRowsAndReportInvalidOnesByLine() throws Exception {
+        String csv = "﻿expenseDate,amount,description,type,categoryName,subCategoryName,budgetName\r\n"
+                + "2025-03-01,12.50,Coffee,,food,DINING,\r\n"
+                + "2025-03-02,2500.00,Salary,income,Salary,Monthly pay,\r\n"
+                + "2025-03-03,80.00,\"Dinner, \"\"Luigi's\"\"\nwith friends\",EXPENSE,Food,Dining,travel\r\n"
+                + "2025-03-04,-5,Refund,EXPENSE,Food,Dining,\r\n"
+                + "2025-03-05,10.00,Taxi,EXPENSE,Transport,Taxi,\r\n"
+                + "2025-03-06,10.00,Wages,INCOME,Food,Dining,\r\n"
+                + "\r\n"
+                + "03/07/2025,10.00,Snack,EXPENSE,Food,Dining,\r\n";
+
+        ExpenseDtos.ImportResponse response = importService.importTransactions(stream(csv));
+
+        assertThat(response.rowsRead()).isEqualTo(7);
+        assertThat(response.imported()).isEqualTo(3);
+        assertThat(response.rejected()).isEqualTo(4);
+        assertThat(response.errorsTruncated()).isFalse();
+        assertThat(response.errors()).containsExactly(
+                new ExpenseDtos.ImportRowError(6, "amount must be at least 0.01"),
+                new ExpenseDtos.ImportRowError(7, "Category not found"),
+                new ExpenseDtos.ImportRowError(8, "Category type must be INCOME for income transactions"),
+                new ExpenseDtos.ImportRowError(10, "expenseDate must be an ISO date (yyyy-MM-dd)")
+        );
+
+        List<Expense> imported = expenseRepository.findAllByOwnerIdAndExpenseDateBetweenOrderByExpenseDateDescIdDesc(
+                1L,
+                LocalDate.of(2025, 1, 1),
+                LocalDate.of(2025, 12, 31)
+        );
+        assertThat(imported).extracting(Expense::getDescription)
+                .containsExactly("Dinner, \"Luigi's\"\nwith friends", "Salary", "Coffee");
+        assertThat(imported.get(0).getBudget().getId()).isEqualTo(travel.getId());
+        assertThat(imported.get(0).getCreatedBy()).isEqualTo("u001");
+        assertThat(imported.get(2).getSubCategory().getId()).isEqualTo(dining.getId());
+        assertThat(rollupService.verifyCurrentUser().consistent()).isTrue();
+    }
+
+    @Test
+    void importTransactions_shouldRestoreFormulaLikeTextOfAnExport() throws Exception {
+        Budget shared = budgetRepository.save(budget("=Shared", false));
+        List<String> descriptions = List.of("-refund", "=SUM(A1)", "@home", "+44 call", "'quoted");
+        StringBuilder csv = new StringBuilder(ExpenseExportService.CSV_HEADER).append("\r\n");
+        for (int i = 0; i < descriptions.size(); i++) {
+            csv.append(ExpenseExportService.toCsvLine(new ExpenseDtos.ExpenseResponse(
+                    (long) i,
+                    new BigDecimal("10.00"),
+                    descriptions.get(i),
+                    LocalDate.of(2025, 3, 1 + i),
+                    TransactionType.EXPENSE,
+                    food.getId(),
+                    food.getName(),
+                    dining.getId(),
+                    dining.getName(),
+                    null,
+                    shared.getName()
+            )));
+        }
+
+        ExpenseDtos.ImportResponse response = importService.importTransactions(stream(csv.toString()));
+
+        assertThat(response.imported()).isEqualTo(descriptions.size());
+        List<Expense> imported = expenseRepository.findAllByOwnerIdAndExpenseDateBetweenOrderByExpenseDateDescIdDesc(
+                1L,
+                LocalDate.of(2025, 1, 1),
+                LocalDate.of(2025, 12, 31)
+        );
+        assertThat(imported).extracting(Expense::getDescription)
+                .containsExactlyInAnyOrderElementsOf(descriptions);
+        assertThat(imported).extracting(expense -> expense.getBudget().getId()).containsOnly(shared.getId());
+    }
+
+    @Test
+    void importTransactions_shouldImportLargeFileInChunks() throws Exception {
+        // Date-ordered like a bank statement, about a hundred card payments a day.
+        StringBuilder csv = new StringBuilder("amount,description,expenseDate,categoryId,subCategoryId\n");
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        for (int i = 0; i < LARGE_IMPORT_ROWS; i++) {
+            csv.append(BigDecimal.valueOf(100 + i % 10_000, 2)).append(",Card payment ").append(i).append(',')
+                    .append(start.plusDays(i / 100)).append(',')
+                    .append(food.getId()).append(',').append(dining.getId()).append('\n');
+        }
+        byte[] file = csv.toString().getBytes(StandardCharsets.UTF_8);
+
+        ExpenseDtos.ImportResponse response = importService.importTransactions(new ByteArrayInputStream(file));
+
+        assertThat(response.imported()).isEqualTo(LARGE_IMPORT_ROWS);
+        assertThat(response.rejected()).isZero();
+        assertThat(expenseRepository.count()).isEqualTo(LARGE_IMPORT_ROWS);
+        assertThat(rollupService.verifyCurrentUser().consistent()).isTrue();
+    }
+
+    private static ByteArrayInputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Category category(String name, CategoryType type) {
+        Category category = new Category();
+        category.setOwnerId(1L);
+        category.setName(name);
+        category.setDescription(name);
+        category.setType(type);
+        return category;
+    }
+
+    private static SubCategory subCategory(String name, Category category) {
+        SubCategory subCategory = new SubCategory();
+        subCategory.setOwnerId(1L);
+        subCategory.setName(name);
+        subCategory.setCategory(category);
+        return subCategory;
+    }
+
+    private static Budget budget(String name, boolean defaultBudget) {
+        Budget budget = new Budget();
+        budget.setOwnerId(1L);
+        budget.setName(name);
+        budget.setAmount(new BigDecimal("1000.00"));
+        budget.setPeriod(BudgetPeriod.MONTHLY);
+        budget.setDefaultBudget(defaultBudget);
+        return budget;
+    }
+}
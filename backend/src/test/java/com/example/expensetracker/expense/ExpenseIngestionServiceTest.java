@@ -0,0 +1,279 @@
+package com.example.expensetracker.expense;
+
+import com.example.expensetracker.audit.JpaAuditConfig;
+import com.example.expensetracker.auth.AuthenticatedUser;
+import com.example.expensetracker.auth.UserContext;
+import com.example.expensetracker.budget.Budget;
+import com.example.expensetracker.budget.BudgetPeriod;
+import com.example.expensetracker.budget.BudgetRepository;
+import com.example.expensetracker.category.Category;
+import com.example.expensetracker.category.CategoryRepository;
+import com.example.expensetracker.category.CategoryType;
+import com.example.expensetracker.category.SubCategory;
+import com.example.expensetracker.category.SubCategoryRepository;
+import com.example.expensetracker.sync.ChangeSequence;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:ingesttest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "app.ingest.log-path=target/ingest-test/ingestion.log",
+        "app.ingest.queue-capacity=2"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({
+        ExpenseIngestionService.class,
+        ExpenseBatchInserter.class,
+        ExpenseIngestionServiceTest.WriterGate.class,
+        SimpleMeterRegistry.class,
+        ChangeSequence.class,
+        UserContext.class,
+        JpaAuditConfig.class
+})
+// The writer thread commits on its own, so the test manages its own cleanup.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ExpenseIngestionServiceTest {
+
+    private static final Path LOG_PATH = Path.of("target/ingest-test/ingestion.log");
+
+    @Autowired
+    private ExpenseIngestionService ingestionService;
+
+    @Autowired
+    private WriterGate writerGate;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private IngestionTicketRepository ticketRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SubCategoryRepository subCategoryRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Category food;
+    private SubCategory dining;
+
+    @BeforeEach
+    void setUp() {
+        authenticate(1L, "u001");
+        food = categoryRepository.save(category("Food", CategoryType.EXPENSE));
+        dining = subCategoryRepository.save(subCategory("Dining", food));
+        budgetRepository.save(budget("Household"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        writerGate.open();
+        SecurityContextHolder.clearContext();
+        for (String table : List.of(
+                "ingestion_tickets",
+                "expense_monthly_rollups",
+                "expenses",
+                "sub_categories",
+                "budgets",
+                "categories"
+        )) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    @Test
+    void enqueue_shouldCommitInTheBackgroundAndReportEachTicket() throws Exception {
+        ExpenseDtos.IngestionTicketResponse accepted = ingestionService.enqueue(request("Coffee", dining.getId()));
+        ExpenseDtos.IngestionTicketResponse unknownSubCategory = ingestionService.enqueue(request("Lunch", -1L));
+        assertThat(accepted.status()).isEqualTo(IngestionStatus.QUEUED);
+
+        ExpenseDtos.IngestionTicketResponse completed = awaitTicket(accepted.ticketId());
+        assertThat(completed.status()).isEqualTo(IngestionStatus.COMPLETED);
+        assertThat(expenseRepository.findById(completed.transactionId()))
+                .hasValueSatisfying(expense -> assertThat(expense.getDescription()).isEqualTo("Coffee"));
+
+        ExpenseDtos.IngestionTicketResponse rejected = awaitTicket(unknownSubCategory.ticketId());
+        assertThat(rejected.status()).isEqualTo(IngestionStatus.REJECTED);
+        assertThat(rejected.error()).isEqualTo("Sub-category not found");
+        assertThat(expenseRepository.count()).isEqualTo(1);
+
+        authenticate(2L, "u002");
+        assertThatThrownBy(() -> ingestionService.getTicket(accepted.ticketId()))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode().value()).isEqualTo(404));
+    }
+
+    @Test
+    void enqueue_shouldRefuseWithRetryAfterWhileTheQueueIsFull() throws Exception {
+        writerGate.close();
+        String first = ingestionService.enqueue(request("Coffee", dining.getId())).ticketId();
+        String second = ingestionService.enqueue(request("Lunch", dining.getId())).ticketId();
+
+        assertThatThrownBy(() -> ingestionService.enqueue(request("Dinner", dining.getId())))
+                .isInstanceOfSatisfying(ResponseStatusException.class, ex -> {
+                    assertThat(ex.getStatusCode().value()).isEqualTo(503);
+                    assertThat(ex.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+                });
+
+        writerGate.open();
+        assertThat(awaitTicket(first).status()).isEqualTo(IngestionStatus.COMPLETED);
+        assertThat(awaitTicket(second).status()).isEqualTo(IngestionStatus.COMPLETED);
+        assertThat(ingestionService.enqueue(request("Dinner", dining.getId())).status())
+                .isEqualTo(IngestionStatus.QUEUED);
+    }
+
+    @Test
+    void start_shouldReplayUnacknowledgedEntriesAndSkipCommittedOnes() throws Exception {
+        ingestionService.stop();
+        IngestionTicket committed = new IngestionTicket();
+        committed.setTicketId("committed-before-crash");
+        committed.setOwnerId(1L);
+        committed.setStatus(IngestionStatus.COMPLETED);
+        committed.setAcceptedOn(LocalDateTime.now());
+        committed.setCompletedOn(LocalDateTime.now());
+        ticketRepository.save(committed);
+        Files.writeString(LOG_PATH, String.join("\n",
+                logLine(ExpenseIngestionLog.Entry.enqueued(
+                        "committed-before-crash", 1L, "u001", request("Coffee", dining.getId()), LocalDateTime.now())),
+                logLine(ExpenseIngestionLog.Entry.enqueued(
+                        "pending", 1L, "u001", request("Lunch", dining.getId()), LocalDateTime.now())),
+                logLine(ExpenseIngestionLog.Entry.enqueued(
+                        "acknowledged", 1L, "u001", request("Dinner", dining.getId()), LocalDateTime.now())),
+                logLine(ExpenseIngestionLog.Entry.done("acknowledged")),
+                "{\"operation\":\"ENQUEUED\",\"ticketId\":\"torn"
+        ), StandardCharsets.UTF_8);
+
+        ingestionService.start();
+
+        assertThat(awaitTicket("pending").status()).isEqualTo(IngestionStatus.COMPLETED);
+        assertThat(expenseRepository.findAll()).extracting(Expense::getDescription).containsExactly("Lunch");
+        assertThat(ticketRepository.count()).isEqualTo(2);
+        assertThat(Files.size(LOG_PATH)).isZero();
+    }
+
+    private ExpenseDtos.IngestionTicketResponse awaitTicket(String ticketId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        ExpenseDtos.IngestionTicketResponse ticket = ingestionService.getTicket(ticketId);
+        while (ticket.status() == IngestionStatus.QUEUED && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            ticket = ingestionService.getTicket(ticketId);
+        }
+        return ticket;
+    }
+
+    private String logLine(ExpenseIngestionLog.Entry entry) throws Exception {
+        return objectMapper.writeValueAsString(entry);
+    }
+
+    private static void authenticate(Long userId, String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new AuthenticatedUser(userId, username), null, List.of())
+        );
+    }
+
+    private ExpenseDtos.CreateExpenseRequest request(String description, Long subCategoryId) {
+        return new ExpenseDtos.CreateExpenseRequest(
+                new BigDecimal("12.50"),
+                description,
+                LocalDate.of(2025, 3, 1),
+                TransactionType.EXPENSE,
+                food.getId(),
+                subCategoryId,
+                null
+        );
+    }
+
+    private static Category category(String name, CategoryType type) {
+        Category category = new Category();
+        category.setOwnerId(1L);
+        category.setName(name);
+        category.setDescription(name);
+        category.setType(type);
+        return category;
+    }
+
+    private static SubCategory subCategory(String name, Category category) {
+        SubCategory subCategory = new SubCategory();
+        subCategory.setOwnerId(1L);
+        subCategory.setName(name);
+        subCategory.setCategory(category);
+        return subCategory;
+    }
+
+    private static Budget budget(String name) {
+        Budget budget = new Budget();
+        budget.setOwnerId(1L);
+        budget.setName(name);
+        budget.setAmount(new BigDecimal("1000.00"));
+        budget.setPeriod(BudgetPeriod.MONTHLY);
+        budget.setDefaultBudget(true);
+        return budget;
+    }
+
+    /**
+     * Holds the writer inside its transaction while closed, so that queued requests stay outstanding.
+     */
+    @Component
+    static class WriterGate {
+
+        private volatile CountDownLatch latch = new CountDownLatch(0);
+
+        void close() {
+            latch = new CountDownLatch(1);
+        }
+
+        void open() {
+            latch.countDown();
+        }
+
+        @EventListener
+        void onExpensesInserted(ExpensesInsertedEvent event) throws InterruptedException {
+            latch.await(10, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.expensetracker.expense;
+
+import com.example.expensetracker.audit.JpaAuditConfig;
+import com.example.expensetracker.auth.AuthenticatedUser;
+import com.example.expensetracker.auth.UserContext;
+import com.example.expensetracker.budget.Budget;
+import com.example.expensetracker.budget.BudgetPeriod;
+import com.example.expensetracker.budget.BudgetRepository;
+import com.example.expensetracker.category.Category;
+import com.example.expensetracker.category.CategoryRepository;
+import com.example.expensetracker.category.CategoryType;
+import com.example.expensetracker.category.SubCategory;
+import com.example.expensetracker.category.SubCategoryRepository;
+import com.example.expensetracker.sync.ChangeSequence;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:listingqueries;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+        ExpenseService.class,
+        ExpenseSearchIndexCache.class,
+        SimpleMeterRegistry.class,
+        ChangeSequence.class,
+        UserContext.class,
+        JpaAuditConfig.class
+})
+class ExpenseListingQueryCountTest {
+
+    private static final int ROWS = 60;
+    private static final int PAGE_SIZE = 25;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SubCategoryRepository subCategoryRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private Long firstId;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new AuthenticatedUser(1L, "u001"), null, List.of())
+        );
+
+        // Every row points at a different category, sub-category and budget, the worst case for lazy loading.
+        List<SubCategory> subCategories = new ArrayList<>();
+        List<Budget> budgets = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Category category = new Category();
+            category.setOwnerId(1L);
+            category.setName("Category " + i);
+            category.setDescription("Category " + i);
+            category.setType(CategoryType.EXPENSE);
+            categoryRepository.save(category);
+            SubCategory subCategory = new SubCategory();
+            subCategory.setOwnerId(1L);
+            subCategory.setName("Sub-category " + i);
+            subCategory.setCategory(category);
+            subCategories.add(subCategoryRepository.save(subCategory));
+            Budget budget = new Budget();
+            budget.setOwnerId(1L);
+            budget.setName("Budget " + i);
+            budget.setAmount(new BigDecimal("1000.00"));
+            budget.setPeriod(BudgetPeriod.MONTHLY);
+            budget.setDefaultBudget(i == 0);
+            budgets.add(budgetRepository.save(budget));
+        }
+        for (int i = 0; i < ROWS; i++) {
+            SubCategory subCategory = subCategories.get(i % subCategories.size());
+            Expense expense = new Expense();
+            expense.setOwnerId(1L);
+            expense.setAmount(new BigDecimal(5 + i).setScale(2));
+            expense.setDescription("Seeded " + i);
+            expense.setExpenseDate(LocalDate.of(2024, 1, 1).plusDays(i));
+            expense.setTransactionType(TransactionType.EXPENSE);
+            expense.setCategory(subCategory.getCategory());
+            expense.setSubCategory(subCategory);
+            expense.setBudget(budgets.get((i / 3) % budgets.size()));
+            Expense saved = expenseRepository.save(expense);
+            if (firstId == null) {
+                firstId = saved.getId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void listTransactions_pageMode_shouldIssuePageAndJoinFreeCountOnly() {
+        for (String sortBy : List.of("expenseDate", "amount", "category", "subCategory")) {
+            statistics.clear();
+            ExpenseDtos.ExpensePageResponse page = expenseService.listTransactions(
+                    null, null, null, null, null, null, TransactionType.EXPENSE, sortBy, "desc", 1, PAGE_SIZE
+            );
+
+            assertThat(page.items()).hasSize(PAGE_SIZE).allSatisfy(this::assertResolved);
+            assertThat(page.totalElements()).isEqualTo(ROWS);
+            assertThat(statistics.getPrepareStatementCount()).as(sortBy).isEqualTo(2);
+            assertThat(statistics.getEntityFetchCount()).isZero();
+            entityManager.clear();
+        }
+    }
+
+    @Test
+    void listTransactions_cursorMode_shouldIssueOneStatementPerPage() {
+        ExpenseDtos.ExpensePageResponse page = expenseService.listTransactions(
+                null, null, null, null, null, null, TransactionType.EXPENSE, "amount", "asc", 0, PAGE_SIZE, "", false
+        );
+
+        assertThat(page.items()).hasSize(PAGE_SIZE).allSatisfy(this::assertResolved);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityFetchCount()).isZero();
+    }
+
+    @Test
+    void listExpenses_shouldIssuePageAndCountOnly() {
+        ExpenseDtos.ExpensePageResponse page = expenseService.listExpenses(null, null, 0, PAGE_SIZE);
+
+        assertThat(page.items()).hasSize(PAGE_SIZE).allSatisfy(this::assertResolved);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityFetchCount()).isZero();
+    }
+
+    @Test
+    void getTransaction_shouldIssueOneStatement() {
+        ExpenseDtos.ExpenseResponse response = expenseService.getTransaction(firstId);
+
+        assertResolved(response);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private void assertResolved(ExpenseDtos.ExpenseResponse response) {
+        assertThat(response.categoryName()).startsWith("Category ");
+        assertThat(response.subCategoryName()).startsWith("Sub-category ");
+        assertThat(response.budgetName()).startsWith("Budget ");
+    }
+}
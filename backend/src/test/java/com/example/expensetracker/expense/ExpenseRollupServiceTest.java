@@ -0,0 +1,91 @@
+package com.example.expensetracker.expense;
+
+import com.example.expensetracker.auth.UserContext;
+import com.example.expensetracker.category.CategoryRepository;
+import com.example.expensetracker.category.SubCategoryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExpenseRollupServiceTest {
+
+    @Mock
+    private ExpenseMonthlyRollupRepository rollupRepository;
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private SubCategoryRepository subCategoryRepository;
+
+    @Mock
+    private UserContext userContext;
+
+    @InjectMocks
+    private ExpenseRollupService rollupService;
+
+    @Test
+    void onExpenseChanged_shouldAdjustSameBucketByAmountDifference() {
+        when(rollupRepository.adjustBucket(
+                "u001", LocalDate.of(2026, 3, 1), "EXPENSE", 1L, 10L, new BigDecimal("15.50"), 0
+        )).thenReturn(1);
+
+        rollupService.onExpenseChanged(new ExpenseChangedEvent(
+                "u001",
+                snapshot(LocalDate.of(2026, 3, 5), "40.00"),
+                snapshot(LocalDate.of(2026, 3, 20), "55.50")
+        ));
+
+        verify(rollupRepository, never()).addToBucket(any(), any(), any(), any(), any(), any(), anyLong());
+        verify(rollupRepository, never()).deleteBucketIfEmpty(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void onExpenseChanged_shouldMoveAmountBetweenMonths() {
+        when(rollupRepository.adjustBucket(
+                "u001", LocalDate.of(2026, 3, 1), "EXPENSE", 1L, 10L, new BigDecimal("-40.00"), -1
+        )).thenReturn(1);
+
+        rollupService.onExpenseChanged(new ExpenseChangedEvent(
+                "u001",
+                snapshot(LocalDate.of(2026, 3, 5), "40.00"),
+                snapshot(LocalDate.of(2026, 4, 2), "40.00")
+        ));
+
+        verify(rollupRepository).deleteBucketIfEmpty("u001", LocalDate.of(2026, 3, 1), "EXPENSE", 1L, 10L);
+        verify(rollupRepository).addToBucket(
+                "u001", LocalDate.of(2026, 4, 1), "EXPENSE", 1L, 10L, new BigDecimal("40.00"), 1
+        );
+    }
+
+    @Test
+    void onExpenseChanged_shouldSkipMissingBucketOnDelete() {
+        when(rollupRepository.adjustBucket(
+                "u001", LocalDate.of(2026, 3, 1), "EXPENSE", 1L, 10L, new BigDecimal("-40.00"), -1
+        )).thenReturn(0);
+
+        rollupService.onExpenseChanged(new ExpenseChangedEvent("u001", snapshot(LocalDate.of(2026, 3, 5), "40.00"), null));
+
+        verify(rollupRepository, never()).deleteBucketIfEmpty(any(), any(), any(), any(), any());
+        verify(rollupRepository, never()).addToBucket(any(), any(), any(), any(), any(), any(), anyLong());
+    }
+
+    private ExpenseSnapshot snapshot(LocalDate date, String amount) {
+        return new ExpenseSnapshot(5L, new BigDecimal(amount), date, TransactionType.EXPENSE, 1L, 10L, 3L, "Groceries");
+    }
+}
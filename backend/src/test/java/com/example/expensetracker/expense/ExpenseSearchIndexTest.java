@@ -0,0 +1,113 @@
+package com.example.expensetracker.expense;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpenseSearchIndexTest {
+
+    private final ExpenseSearchIndex index = ExpenseSearchIndex.build(List.of(
+            row(1L, "Car insurance renewal", TransactionType.EXPENSE, "2025-01-10", 3L, "450.00"),
+            row(2L, "Home insurance", TransactionType.EXPENSE, "2025-02-10", 4L, "300.00"),
+            row(3L, "Insurance refund for car insurance claim", TransactionType.INCOME, "2025-03-01", 5L, "120.00"),
+            row(4L, "Groceries at FreshMart", TransactionType.EXPENSE, "2025-03-05", 1L, "82.40"),
+            row(5L, "Car wash", TransactionType.EXPENSE, "2025-03-06", 3L, "15.00")
+    ));
+
+    @Test
+    void search_shouldRequireEveryTermAndRankByRelevance() {
+        assertThat(index.search("car insurance", row -> true, 0, 10).ids()).containsExactly(1L, 3L);
+        assertThat(index.search("INSURANCE", row -> true, 0, 10).ids()).containsExactly(2L, 3L, 1L);
+        assertThat(index.search("freshmart groceries!", row -> true, 0, 10).ids()).containsExactly(4L);
+        assertThat(index.search("boat insurance", row -> true, 0, 10).total()).isZero();
+        assertThat(index.search(" ,. ", row -> true, 0, 10).total()).isZero();
+    }
+
+    @Test
+    void search_shouldMatchLastTermAsPrefixAndApplyFiltersBeforePaging() {
+        assertThat(index.search("car insur", row -> true, 0, 10).ids()).containsExactly(1L, 3L);
+
+        ExpenseSearchIndex.Result expensesOnly = index.search(
+                "insurance",
+                row -> row.type() == TransactionType.EXPENSE,
+                1,
+                1
+        );
+        assertThat(expensesOnly.total()).isEqualTo(2);
+        assertThat(expensesOnly.ids()).containsExactly(1L);
+    }
+
+    @Test
+    void putAndRemove_shouldKeepPostingsInStepWithChanges() {
+        index.put(row(5L, "Car service and insurance excess", TransactionType.EXPENSE, "2025-03-06", 3L, "90.00"));
+        index.remove(1L);
+        index.put(row(6L, "Travel insurance", TransactionType.EXPENSE, "2025-04-01", 6L, "40.00"));
+
+        assertThat(index.search("car insurance", row -> true, 0, 10).ids()).containsExactlyInAnyOrder(3L, 5L);
+        assertThat(index.search("wash", row -> true, 0, 10).total()).isZero();
+        assertThat(index.search("renewal", row -> true, 0, 10).total()).isZero();
+        assertThat(index.search("travel", row -> true, 0, 10).ids()).containsExactly(6L);
+    }
+
+    @Test
+    void cache_shouldApplyCommittedChangesAndSkipCachingIndexesThatRacedOne() {
+        ExpenseSearchIndexCache cache = new ExpenseSearchIndexCache(new SimpleMeterRegistry(), 10);
+        AtomicInteger loads = new AtomicInteger();
+
+        ExpenseSearchIndex raced = cache.get("u001", () -> {
+            loads.incrementAndGet();
+            cache.onExpenseChanged(new ExpenseChangedEvent("u001", null, snapshot(7L, "Pet insurance")));
+            return ExpenseSearchIndex.build(List.of());
+        });
+        assertThat(raced.search("pet", row -> true, 0, 10).total()).isZero();
+
+        ExpenseSearchIndex loaded = cache.get("U001", () -> {
+            loads.incrementAndGet();
+            return ExpenseSearchIndex.build(List.of(row(7L, "Pet insurance", TransactionType.EXPENSE, "2025-05-01", 2L, "25.00")));
+        });
+        cache.onExpenseChanged(new ExpenseChangedEvent("u001", null, snapshot(8L, "Pet food")));
+        cache.onExpenseChanged(new ExpenseChangedEvent("u001", snapshot(7L, "Pet insurance"), null));
+
+        assertThat(cache.get("u001", () -> ExpenseSearchIndex.build(List.of()))).isSameAs(loaded);
+        assertThat(loads).hasValue(2);
+        assertThat(loaded.search("pet", row -> true, 0, 10).ids()).containsExactly(8L);
+    }
+
+    private static ExpenseAggregates.SearchDocumentRow row(
+            Long id,
+            String description,
+            TransactionType type,
+            String date,
+            Long categoryId,
+            String amount
+    ) {
+        return new ExpenseAggregates.SearchDocumentRow(
+                id,
+                description,
+                type,
+                LocalDate.parse(date),
+                categoryId,
+                categoryId * 10,
+                new BigDecimal(amount)
+        );
+    }
+
+    private static ExpenseSnapshot snapshot(Long id, String description) {
+        return new ExpenseSnapshot(
+                id,
+                new BigDecimal("25.00"),
+                LocalDate.of(2025, 5, 1),
+                TransactionType.EXPENSE,
+                2L,
+                20L,
+                1L,
+                description
+        );
+    }
+}
@@ -1,11 +1,14 @@
 package com.example.expensetracker.expense;
 
+import com.example.expensetracker.auth.UserContext;
 import com.example.expensetracker.budget.BudgetRepository;
 import com.example.expensetracker.category.Category;
 import com.example.expensetracker.category.CategoryRepository;
 import com.example.expensetracker.category.CategoryType;
 import com.example.expensetracker.category.SubCategory;
 import com.example.expensetracker.category.SubCategoryRepository;
+import com.example.expensetracker.sync.ChangeSequence;
+import com.example.expensetracker.sync.SyncEntityType;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,10 +17,12 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -52,6 +57,15 @@ class ExpenseServiceTest {
     @Mock
     private BudgetRepository budgetRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private UserContext userContext;
+
+    @Mock
+    private ChangeSequence changeSequence;
+
     @InjectMocks
     private ExpenseService expenseService;
 
@@ -60,6 +74,7 @@ class ExpenseServiceTest {
         SecurityContextHolder.getContext().setAuthentication(
                 new UsernamePasswordAuthenticationToken("u001", null, List.of())
         );
+        when(userContext.currentUserId()).thenReturn(1L);
     }
 
     @AfterEach
@@ -70,17 +85,8 @@ class ExpenseServiceTest {
     @Test
     void listTransactions_shouldApplyAmountSortAscending() {
         Pageable expectedPageable = PageRequest.of(0, 10);
-        when(expenseRepository.findTransactionsWithFilters(
-                eq("u001"),
-                eq(TransactionType.EXPENSE),
-                eq(null),
-                eq(null),
-                eq(null),
-                eq(null),
-                eq(null),
-                eq(null),
-                any(Pageable.class)
-        )).thenReturn(new PageImpl<>(List.of(), expectedPageable, 0));
+        when(expenseRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(), expectedPageable, 0));
 
         expenseService.listTransactions(
                 null,
@@ -97,17 +103,7 @@ class ExpenseServiceTest {
         );
 
         ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
-        verify(expenseRepository).findTransactionsWithFilters(
-                eq("u001"),
-                eq(TransactionType.EXPENSE),
-                eq(null),
-                eq(null),
-                eq(null),
-                eq(null),
-                eq(null),
-                eq(null),
-                pageableCaptor.capture()
-        );
+        verify(expenseRepository).findAll(any(Specification.class), pageableCaptor.capture());
 
         Sort sort = pageableCaptor.getValue().getSort();
         Sort.Order amountOrder = sort.getOrderFor("amount");
@@ -144,17 +140,7 @@ class ExpenseServiceTest {
                     assertThat(exception.getReason()).contains("sortBy must be one of");
                 });
 
-        verify(expenseRepository, never()).findTransactionsWithFilters(
-                any(),
-                any(),
-                any(),
-                any(),
-                any(),
-                any(),
-                any(),
-                any(),
-                any()
-        );
+        verify(expenseRepository, never()).findAll(any(Specification.class), any(Pageable.class));
     }
 
     @Test
@@ -190,9 +176,9 @@ class ExpenseServiceTest {
                 null
         );
 
-        when(expenseRepository.findByIdAndCreatedByIgnoreCase(100L, "u001")).thenReturn(Optional.of(existingExpense));
-        when(categoryRepository.findByIdAndCreatedByIgnoreCase(incomeCategory.getId(), "u001")).thenReturn(Optional.of(incomeCategory));
-        when(subCategoryRepository.findByIdAndCreatedByIgnoreCase(incomeSubCategory.getId(), "u001")).thenReturn(Optional.of(incomeSubCategory));
+        when(expenseRepository.findByIdAndOwnerId(100L, 1L)).thenReturn(Optional.of(existingExpense));
+        when(categoryRepository.findByIdAndOwnerId(incomeCategory.getId(), 1L)).thenReturn(Optional.of(incomeCategory));
+        when(subCategoryRepository.findByIdAndOwnerId(incomeSubCategory.getId(), 1L)).thenReturn(Optional.of(incomeSubCategory));
 
         assertThatThrownBy(() -> expenseService.updateExpense(100L, request))
                 .isInstanceOf(ResponseStatusException.class)
@@ -207,18 +193,27 @@ class ExpenseServiceTest {
 
     @Test
     void deleteTransaction_shouldDeleteWhenIdExists() {
+        Category category = new Category();
+        category.setId(1L);
+        SubCategory subCategory = new SubCategory();
+        subCategory.setId(10L);
+
         Expense existingExpense = new Expense();
         existingExpense.setId(42L);
-        when(expenseRepository.findByIdAndCreatedByIgnoreCase(42L, "u001")).thenReturn(Optional.of(existingExpense));
+        existingExpense.setCategory(category);
+        existingExpense.setSubCategory(subCategory);
+        when(expenseRepository.findByIdAndOwnerId(42L, 1L)).thenReturn(Optional.of(existingExpense));
 
         expenseService.deleteTransaction(42L);
 
         verify(expenseRepository, times(1)).delete(existingExpense);
+        verify(changeSequence).recordDeletions(1L, SyncEntityType.TRANSACTION, List.of(42L));
+        verify(eventPublisher).publishEvent(any(ExpenseChangedEvent.class));
     }
 
     @Test
     void deleteTransaction_shouldReturnNotFoundWhenMissing() {
-        when(expenseRepository.findByIdAndCreatedByIgnoreCase(404L, "u001")).thenReturn(Optional.empty());
+        when(expenseRepository.findByIdAndOwnerId(404L, 1L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> expenseService.deleteTransaction(404L))
                 .isInstanceOf(ResponseStatusException.class)
@@ -0,0 +1,224 @@
+package com.example.expensetracker.expense;
+
+import com.example.expensetracker.audit.JpaAuditConfig;
+import com.example.expensetracker.auth.AuthenticatedUser;
+import com.example.expensetracker.auth.UserContext;
+import com.example.expensetracker.budget.Budget;
+import com.example.expensetracker.budget.BudgetPeriod;
+import com.example.expensetracker.budget.BudgetRepository;
+import com.example.expensetracker.cache.UserDataChangedEvent;
+import com.example.expensetracker.cache.UserDataKind;
+import com.example.expensetracker.category.Category;
+import com.example.expensetracker.category.CategoryRepository;
+import com.example.expensetracker.category.CategoryType;
+import com.example.expensetracker.category.SubCategory;
+import com.example.expensetracker.category.SubCategoryRepository;
+import com.example.expensetracker.sync.ChangeSequence;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:snapshots;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+        DashboardService.class,
+        DashboardExecutorConfig.class,
+        SimpleMeterRegistry.class,
+        ExpenseService.class,
+        ExpenseSearchIndexCache.class,
+        ExpenseRollupService.class,
+        MonthlySnapshotService.class,
+        BudgetSpendService.class,
+        BudgetUtilizationService.class,
+        ChangeSequence.class,
+        UserContext.class,
+        JpaAuditConfig.class
+})
+class MonthlySnapshotServiceTest {
+
+    @Autowired
+    private MonthlySnapshotService snapshotService;
+
+    @Autowired
+    private MonthlySummarySnapshotRepository snapshotRepository;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SubCategoryRepository subCategoryRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final YearMonth currentMonth = YearMonth.now();
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new AuthenticatedUser(1L, "u001"), null, List.of())
+        );
+        Budget budget = new Budget();
+        budget.setOwnerId(1L);
+        budget.setName("Default Budget");
+        budget.setAmount(new BigDecimal("1000.00"));
+        budget.setPeriod(BudgetPeriod.MONTHLY);
+        budget.setDefaultBudget(true);
+        budgetRepository.save(budget);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void closeMonths_shouldFreezeEveryClosedMonthButNotTheOpenOne() {
+        SubCategory groceries = subCategory("Food", "Groceries", CategoryType.EXPENSE);
+        SubCategory fund = subCategory("Investments", "Index fund", CategoryType.SAVING);
+        SubCategory salary = subCategory("Salary", "Monthly pay", CategoryType.INCOME);
+        create("40.00", currentMonth.minusMonths(3).atDay(5), TransactionType.EXPENSE, groceries);
+        create("60.00", currentMonth.minusMonths(1).atDay(5), TransactionType.EXPENSE, groceries);
+        create("500.00", currentMonth.minusMonths(1).atDay(6), TransactionType.EXPENSE, fund);
+        create("2000.00", currentMonth.minusMonths(1).atDay(7), TransactionType.INCOME, salary);
+        create("15.00", currentMonth.atDay(1), TransactionType.EXPENSE, groceries);
+
+        assertThat(snapshotService.closeMonths("u001")).isEqualTo(3);
+        assertThat(snapshotService.closeMonths("u001")).isZero();
+
+        List<MonthlySummarySnapshot> snapshots = snapshotRepository.findAll();
+        assertThat(snapshots).extracting(MonthlySummarySnapshot::getMonthStart).containsExactlyInAnyOrder(
+                currentMonth.minusMonths(3).atDay(1),
+                currentMonth.minusMonths(2).atDay(1),
+                currentMonth.minusMonths(1).atDay(1)
+        );
+        MonthlySummarySnapshot lastMonth = snapshot(currentMonth.minusMonths(1));
+        assertThat(lastMonth.getExpenseTotal()).isEqualByComparingTo("560.00");
+        assertThat(lastMonth.getIncomeTotal()).isEqualByComparingTo("2000.00");
+        assertThat(lastMonth.getSavingTotal()).isEqualByComparingTo("500.00");
+        assertThat(lastMonth.getTransactionCount()).isEqualTo(3);
+        assertThat(snapshot(currentMonth.minusMonths(2)).getTransactionCount()).isZero();
+    }
+
+    @Test
+    void backDatedEdit_shouldMarkSnapshotStaleAndDashboardShouldRecomputeIt() {
+        SubCategory groceries = subCategory("Food", "Groceries", CategoryType.EXPENSE);
+        LocalDate lastMonthDay = currentMonth.minusMonths(1).atDay(10);
+        Long id = create("100.00", lastMonthDay, TransactionType.EXPENSE, groceries);
+        create("25.00", currentMonth.atDay(1), TransactionType.EXPENSE, groceries);
+
+        assertThat(dashboardService.getDashboardSummary(5).lastMonthSummary().expenseTotal())
+                .isEqualByComparingTo("100.00");
+        assertThat(snapshotRepository.findAll()).hasSize(11).noneMatch(MonthlySummarySnapshot::isStale);
+
+        expenseService.updateExpense(id, request("130.00", lastMonthDay, TransactionType.EXPENSE, groceries));
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(snapshot(currentMonth.minusMonths(1)).isStale()).isTrue();
+
+        ExpenseDtos.DashboardSummaryResponse summary = dashboardService.getDashboardSummary(5);
+        assertThat(summary.lastMonthSummary().expenseTotal()).isEqualByComparingTo("130.00");
+        assertThat(summary.currentMonthSummary().expenseTotal()).isEqualByComparingTo("25.00");
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(snapshot(currentMonth.minusMonths(1)).isStale()).isFalse();
+        assertThat(snapshot(currentMonth.minusMonths(1)).getExpenseTotal()).isEqualByComparingTo("130.00");
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        assertThat(dashboardService.getDashboardSummary(5).lastMonthSummary().expenseTotal())
+                .isEqualByComparingTo("130.00");
+        // snapshots + open-month rollups + trailing windows + budget utilization; nothing left to freeze
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+
+    @Test
+    void categoryChange_shouldMarkAllSnapshotsStale() {
+        SubCategory groceries = subCategory("Food", "Groceries", CategoryType.EXPENSE);
+        create("100.00", currentMonth.minusMonths(2).atDay(3), TransactionType.EXPENSE, groceries);
+        snapshotService.closeMonths("u001");
+
+        eventPublisher.publishEvent(new UserDataChangedEvent("u001", UserDataKind.CATEGORIES));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(snapshotRepository.findAll()).hasSize(2).allMatch(MonthlySummarySnapshot::isStale);
+        assertThat(snapshotService.closeMonths("u001")).isEqualTo(2);
+    }
+
+    private MonthlySummarySnapshot snapshot(YearMonth month) {
+        return snapshotRepository.findAll().stream()
+                .filter(snapshot -> snapshot.getMonthStart().equals(month.atDay(1)))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private SubCategory subCategory(String categoryName, String subCategoryName, CategoryType type) {
+        Category category = new Category();
+        category.setOwnerId(1L);
+        category.setName(categoryName);
+        category.setDescription(categoryName);
+        category.setType(type);
+        categoryRepository.save(category);
+
+        SubCategory subCategory = new SubCategory();
+
+        subCategory.setOwnerId(1L);
+        subCategory.setName(subCategoryName);
+        subCategory.setCategory(category);
+        return subCategoryRepository.save(subCategory);
+    }
+
+    private Long create(String amount, LocalDate date, TransactionType type, SubCategory subCategory) {
+        return expenseService.createExpense(request(amount, date, type, subCategory)).id();
+    }
+
+    private ExpenseDtos.CreateExpenseRequest request(String amount, LocalDate date, TransactionType type, SubCategory subCategory) {
+        return new ExpenseDtos.CreateExpenseRequest(
+                new BigDecimal(amount),
+                "Seeded " + type,
+                date,
+                type,
+                subCategory.getCategory().getId(),
+                subCategory.getId(),
+                null
+        );
+    }
+}
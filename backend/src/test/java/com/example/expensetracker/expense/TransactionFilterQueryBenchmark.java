@@ -0,0 +1,250 @@
+package com.example.expensetracker.expense;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the old catch-all listing query, {@code (:param IS NULL OR column = :param)} over the V1 indexes, with
+ * the dynamically built query that only carries the supplied predicates over the V19/V20 composite indexes. It
+ * seeds its own {@code expenses_filter_bench} table and drops it afterwards. Defaults to in-memory H2; point it at
+ * MySQL for representative plans with {@code -Dbench.jdbc.url=jdbc:mysql://localhost:3306/expense_tracker
+ * -Dbench.jdbc.user=... -Dbench.jdbc.password=...}.
+ * Run with: {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.expensetracker.expense.TransactionFilterQueryBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionFilterQueryBenchmark {
+
+    private static final String TABLE = "expenses_filter_bench";
+    private static final int USERS = 50;
+    private static final int CATEGORIES = 30;
+    private static final int PAGE_SIZE = 25;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2020, 1, 1);
+    private static final int DAYS = 5 * 365;
+
+    @Param({"1000000"})
+    private int rows;
+
+    @Param({"before", "after"})
+    private String variant;
+
+    private Connection connection;
+    private int invocation;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TransactionFilterQueryBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("bench.jdbc.url", "jdbc:h2:mem:filterbench;MODE=MySQL;DB_CLOSE_DELAY=-1"),
+                System.getProperty("bench.jdbc.user", "sa"),
+                System.getProperty("bench.jdbc.password", "")
+        );
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + TABLE);
+            statement.execute("CREATE TABLE " + TABLE + " ("
+                    + "id BIGINT PRIMARY KEY, created_by VARCHAR(100) NOT NULL, transaction_type VARCHAR(20) NOT NULL, "
+                    + "expense_date DATE NOT NULL, category_id BIGINT NOT NULL, sub_category_id BIGINT NOT NULL, "
+                    + "budget_id BIGINT NOT NULL, amount DECIMAL(14, 2) NOT NULL)");
+        }
+        seed();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX idx_bench_date ON " + TABLE + " (expense_date)");
+            if ("after".equals(variant)) {
+                statement.execute("CREATE INDEX idx_bench_owner_type_date ON " + TABLE
+                        + " (created_by, transaction_type, expense_date, id)");
+                statement.execute("CREATE INDEX idx_bench_owner_type_amount ON " + TABLE
+                        + " (created_by, transaction_type, amount, expense_date, id)");
+                statement.execute("CREATE INDEX idx_bench_owner_category_date ON " + TABLE
+                        + " (created_by, category_id, expense_date)");
+                statement.execute("CREATE INDEX idx_bench_owner_budget_date ON " + TABLE
+                        + " (created_by, budget_id, expense_date)");
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + TABLE);
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public void latestPage(Blackhole blackhole) throws SQLException {
+        run(blackhole, new Filters(nextOwner(), null, null, null, null, null), "expense_date DESC, id DESC");
+    }
+
+    @Benchmark
+    public void categoryInDateRange(Blackhole blackhole) throws SQLException {
+        run(
+                blackhole,
+                new Filters(nextOwner(), FIRST_DAY.plusDays(400), FIRST_DAY.plusDays(500), 12L, null, null),
+                "expense_date DESC, id DESC"
+        );
+    }
+
+    @Benchmark
+    public void largestAboveAmount(Blackhole blackhole) throws SQLException {
+        run(
+                blackhole,
+                new Filters(nextOwner(), null, null, null, new BigDecimal("400.00"), null),
+                "amount DESC, expense_date DESC, id DESC"
+        );
+    }
+
+    // Rotates the owner so that databases caching results for unchanged tables (H2) still execute every query.
+    private String nextOwner() {
+        invocation = (invocation + 1) % USERS;
+        return "u" + invocation;
+    }
+
+    private void run(Blackhole blackhole, Filters filters, String orderBy) throws SQLException {
+        try (PreparedStatement statement = "after".equals(variant)
+                ? dynamicQuery(filters, orderBy)
+                : genericQuery(filters, orderBy);
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                blackhole.consume(resultSet.getLong(1));
+            }
+        }
+    }
+
+    private PreparedStatement genericQuery(Filters filters, String orderBy) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement("SELECT id, amount, expense_date FROM " + TABLE
+                + " WHERE created_by = ? AND transaction_type = 'EXPENSE'"
+                + " AND (CAST(? AS DATE) IS NULL OR expense_date >= ?)"
+                + " AND (CAST(? AS DATE) IS NULL OR expense_date <= ?)"
+                + " AND (CAST(? AS DECIMAL(20, 0)) IS NULL OR category_id = ?)"
+                + " AND (CAST(? AS DECIMAL(14, 2)) IS NULL OR amount >= ?)"
+                + " AND (CAST(? AS DECIMAL(14, 2)) IS NULL OR amount <= ?)"
+                + " ORDER BY " + orderBy + " LIMIT " + PAGE_SIZE);
+        statement.setString(1, filters.owner());
+        bindTwice(statement, 2, filters.startDate() == null ? null : Date.valueOf(filters.startDate()), Types.DATE);
+        bindTwice(statement, 4, filters.endDate() == null ? null : Date.valueOf(filters.endDate()), Types.DATE);
+        bindTwice(statement, 6, filters.categoryId(), Types.BIGINT);
+        bindTwice(statement, 8, filters.minAmount(), Types.DECIMAL);
+        bindTwice(statement, 10, filters.maxAmount(), Types.DECIMAL);
+        return statement;
+    }
+
+    private PreparedStatement dynamicQuery(Filters filters, String orderBy) throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT id, amount, expense_date FROM " + TABLE
+                + " WHERE created_by = ? AND transaction_type = 'EXPENSE'");
+        List<Object> parameters = new ArrayList<>();
+        parameters.add(filters.owner());
+        if (filters.startDate() != null) {
+            sql.append(" AND expense_date >= ?");
+            parameters.add(Date.valueOf(filters.startDate()));
+        }
+        if (filters.endDate() != null) {
+            sql.append(" AND expense_date <= ?");
+            parameters.add(Date.valueOf(filters.endDate()));
+        }
+        if (filters.categoryId() != null) {
+            sql.append(" AND category_id = ?");
+            parameters.add(filters.categoryId());
+        }
+        if (filters.minAmount() != null) {
+            sql.append(" AND amount >= ?");
+            parameters.add(filters.minAmount());
+        }
+        if (filters.maxAmount() != null) {
+            sql.append(" AND amount <= ?");
+            parameters.add(filters.maxAmount());
+        }
+        sql.append(" ORDER BY ").append(orderBy).append(" LIMIT ").append(PAGE_SIZE);
+        PreparedStatement statement = connection.prepareStatement(sql.toString());
+        for (int i = 0; i < parameters.size(); i++) {
+            statement.setObject(i + 1, parameters.get(i));
+        }
+        return statement;
+    }
+
+    private static void bindTwice(PreparedStatement statement, int index, Object value, int sqlType) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, sqlType);
+            statement.setNull(index + 1, sqlType);
+        } else {
+            statement.setObject(index, value);
+            statement.setObject(index + 1, value);
+        }
+    }
+
+    private void seed() throws SQLException {
+        Random random = new Random(42);
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + TABLE
+                + " (id, created_by, transaction_type, expense_date, category_id, sub_category_id, budget_id, amount)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                int category = random.nextInt(CATEGORIES);
+                insert.setLong(1, i);
+                insert.setString(2, "u" + random.nextInt(USERS));
+                insert.setString(3, random.nextInt(10) == 0 ? "INCOME" : "EXPENSE");
+                insert.setDate(4, Date.valueOf(FIRST_DAY.plusDays(random.nextInt(DAYS))));
+                insert.setLong(5, category);
+                insert.setLong(6, category * 4L + random.nextInt(4));
+                insert.setLong(7, random.nextInt(5));
+                insert.setBigDecimal(8, BigDecimal.valueOf(100 + random.nextInt(50_000), 2));
+                insert.addBatch();
+                if (i % 5_000 == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private record Filters(
+            String owner,
+            LocalDate startDate,
+            LocalDate endDate,
+            Long categoryId,
+            BigDecimal minAmount,
+            BigDecimal maxAmount
+    ) {
+    }
+}
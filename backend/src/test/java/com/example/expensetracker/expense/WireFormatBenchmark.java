@@ -0,0 +1,195 @@
+package com.example.expensetracker.expense;
+
+import com.example.expensetracker.category.CategoryType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization cost of a transaction page and the dashboard summary as row JSON (the default), columnar JSON, row
+ * CBOR and columnar CBOR; the columnar variants include the conversion from the row DTOs, as the endpoints do. Setup
+ * prints the payload size of each variant. Run with: {@code ./mvnw test-compile exec:java
+ * -Dexec.classpathScope=test -Dexec.mainClass=com.example.expensetracker.expense.WireFormatBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int pageSize;
+
+    private ObjectMapper json;
+    private ObjectMapper cbor;
+    private ExpenseDtos.ExpensePageResponse page;
+    private ExpenseDtos.DashboardSummaryResponse dashboard;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(WireFormatBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        // Same mapper settings as the application's: ISO dates rather than timestamp arrays.
+        json = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        cbor = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .factory(new CBORFactory())
+                .build();
+
+        Random random = new Random(42);
+        LocalDate today = LocalDate.now();
+        List<ExpenseDtos.ExpenseResponse> items = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            long categoryId = random.nextInt(12);
+            long subCategoryId = categoryId * 8 + random.nextInt(8);
+            long budgetId = random.nextInt(4);
+            items.add(new ExpenseDtos.ExpenseResponse(
+                    (long) i,
+                    BigDecimal.valueOf(100 + random.nextInt(50_000), 2),
+                    "Card payment " + random.nextInt(1_000),
+                    today.minusDays(i / 3),
+                    TransactionType.EXPENSE,
+                    categoryId,
+                    "Category " + categoryId,
+                    subCategoryId,
+                    "Sub-category " + subCategoryId,
+                    budgetId,
+                    "Budget " + budgetId
+            ));
+        }
+        page = new ExpenseDtos.ExpensePageResponse(items, 0, pageSize, null, null, "MjAyNS0wMy0wMXwxMjM0");
+
+        YearMonth currentMonth = YearMonth.from(today);
+        DashboardAggregator aggregator = new DashboardAggregator(currentMonth.minusMonths(11), 12);
+        for (int i = 0; i < 5_000; i++) {
+            int category = random.nextInt(12);
+            aggregator.accept(
+                    today.minusDays(random.nextInt(365)),
+                    category == 0 ? TransactionType.INCOME : TransactionType.EXPENSE,
+                    category == 0 ? CategoryType.INCOME : category < 3 ? CategoryType.SAVING : CategoryType.EXPENSE,
+                    "Category " + category,
+                    BigDecimal.valueOf(100 + random.nextInt(500_000), 2)
+            );
+        }
+        ExpenseDtos.PeriodSummaryPoint period = aggregator.periodSummary(currentMonth, currentMonth);
+        List<ExpenseDtos.BudgetUtilizationPoint> budgets = new ArrayList<>();
+        for (long budgetId = 0; budgetId < 4; budgetId++) {
+            budgets.add(new ExpenseDtos.BudgetUtilizationPoint(
+                    budgetId,
+                    "Budget " + budgetId,
+                    "MONTHLY",
+                    new BigDecimal("500.00"),
+                    new BigDecimal("123.45"),
+                    new BigDecimal("376.55"),
+                    new BigDecimal("24.69")
+            ));
+        }
+        dashboard = new ExpenseDtos.DashboardSummaryResponse(
+                period.expenseTotal(),
+                period.expenseTotal(),
+                period.expenseTotal(),
+                period.expenseTotal(),
+                period.expenseTotal(),
+                period,
+                period,
+                period,
+                period,
+                period,
+                period,
+                aggregator.monthlyTotals(),
+                aggregator.monthlyIncomeExpensePoints(),
+                aggregator.monthlySavingRatePoints(),
+                budgets,
+                aggregator.categoryTotals(currentMonth, TransactionType.EXPENSE),
+                aggregator.topCategoryTrends(TransactionType.EXPENSE, 5),
+                false,
+                List.of()
+        );
+
+        System.out.printf(
+                "%npage of %d: json %d B, columnar json %d B, cbor %d B, columnar cbor %d B%n",
+                pageSize,
+                json.writeValueAsBytes(page).length,
+                json.writeValueAsBytes(ColumnarDtos.ColumnarExpensePage.of(page)).length,
+                cbor.writeValueAsBytes(page).length,
+                cbor.writeValueAsBytes(ColumnarDtos.ColumnarExpensePage.of(page)).length
+        );
+        System.out.printf(
+                "dashboard: json %d B, columnar json %d B, cbor %d B, columnar cbor %d B%n",
+                json.writeValueAsBytes(dashboard).length,
+                json.writeValueAsBytes(ColumnarDtos.ColumnarDashboardSummary.of(dashboard)).length,
+                cbor.writeValueAsBytes(dashboard).length,
+                cbor.writeValueAsBytes(ColumnarDtos.ColumnarDashboardSummary.of(dashboard)).length
+        );
+    }
+
+    @Benchmark
+    public byte[] pageJson() throws JsonProcessingException {
+        return json.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] pageColumnarJson() throws JsonProcessingException {
+        return json.writeValueAsBytes(ColumnarDtos.ColumnarExpensePage.of(page));
+    }
+
+    @Benchmark
+    public byte[] pageCbor() throws JsonProcessingException {
+        return cbor.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] pageColumnarCbor() throws JsonProcessingException {
+        return cbor.writeValueAsBytes(ColumnarDtos.ColumnarExpensePage.of(page));
+    }
+
+    @Benchmark
+    public byte[] dashboardJson() throws JsonProcessingException {
+        return json.writeValueAsBytes(dashboard);
+    }
+
+    @Benchmark
+    public byte[] dashboardColumnarJson() throws JsonProcessingException {
+        return json.writeValueAsBytes(ColumnarDtos.ColumnarDashboardSummary.of(dashboard));
+    }
+
+    @Benchmark
+    public byte[] dashboardCbor() throws JsonProcessingException {
+        return cbor.writeValueAsBytes(dashboard);
+    }
+
+    @Benchmark
+    public byte[] dashboardColumnarCbor() throws JsonProcessingException {
+        return cbor.writeValueAsBytes(ColumnarDtos.ColumnarDashboardSummary.of(dashboard));
+    }
+}
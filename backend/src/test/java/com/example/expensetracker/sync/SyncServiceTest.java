@@ -0,0 +1,170 @@
+package com.example.expensetracker.sync;
+
+import com.example.expensetracker.audit.JpaAuditConfig;
+import com.example.expensetracker.auth.AuthenticatedUser;
+import com.example.expensetracker.auth.UserContext;
+import com.example.expensetracker.budget.BudgetDtos;
+import com.example.expensetracker.budget.BudgetPeriod;
+import com.example.expensetracker.budget.BudgetService;
+import com.example.expensetracker.category.CategoryDtos;
+import com.example.expensetracker.category.CategoryService;
+import com.example.expensetracker.category.CategoryType;
+import com.example.expensetracker.expense.ExpenseDtos;
+import com.example.expensetracker.expense.ExpenseSearchIndexCache;
+import com.example.expensetracker.expense.ExpenseService;
+import com.example.expensetracker.expense.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:synctest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+        SyncService.class,
+        ChangeSequence.class,
+        CategoryService.class,
+        BudgetService.class,
+        ExpenseService.class,
+        ExpenseSearchIndexCache.class,
+        SimpleMeterRegistry.class,
+        UserContext.class,
+        JpaAuditConfig.class
+})
+// Each service call is its own transaction and so its own change sequence, as it is in production.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SyncServiceTest {
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new AuthenticatedUser(1L, "u001"), null, List.of())
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        for (String table : List.of(
+                "sync_tombstones",
+                "user_change_sequences",
+                "expense_monthly_rollups",
+                "expenses",
+                "sub_categories",
+                "budgets",
+                "categories"
+        )) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    @Test
+    void changesSince_shouldReturnOnlyWhatChangedAfterTheGivenSequence() {
+        CategoryDtos.CategoryResponse food = categoryService.createCategory(
+                new CategoryDtos.CreateCategoryRequest("Food", "Food", CategoryType.EXPENSE));
+        CategoryDtos.SubCategoryResponse dining = categoryService.createSubCategory(
+                new CategoryDtos.CreateSubCategoryRequest("Dining", food.id()));
+        BudgetDtos.BudgetResponse household = budgetService.createBudget(
+                new BudgetDtos.CreateBudgetRequest("Household", new BigDecimal("500.00"), BudgetPeriod.MONTHLY));
+
+        SyncDtos.SyncResponse initial = syncService.changesSince(null);
+        assertThat(initial.full()).isTrue();
+        assertThat(initial.categories()).extracting(SyncDtos.SyncCategory::name).containsExactly("Food");
+        assertThat(initial.subCategories()).extracting(SyncDtos.SyncSubCategory::categoryId)
+                .containsExactly(food.id());
+        assertThat(initial.budgets()).extracting(SyncDtos.SyncBudget::id).containsExactly(household.id());
+        assertThat(initial.transactions()).isEmpty();
+
+        ExpenseDtos.ExpenseResponse coffee = expenseService.createExpense(
+                request("Coffee", "4.50", food.id(), dining.id(), household.id()));
+        ExpenseDtos.ExpenseResponse lunch = expenseService.createExpense(
+                request("Lunch", "15.00", food.id(), dining.id(), household.id()));
+
+        SyncDtos.SyncResponse added = syncService.changesSince(initial.sequence());
+        assertThat(added.full()).isFalse();
+        assertThat(added.sequence()).isGreaterThan(initial.sequence());
+        assertThat(added.categories()).isEmpty();
+        assertThat(added.subCategories()).isEmpty();
+        assertThat(added.budgets()).isEmpty();
+        assertThat(added.transactions()).extracting(SyncDtos.SyncTransaction::id)
+                .containsExactly(coffee.id(), lunch.id());
+
+        expenseService.updateExpense(coffee.id(), request("Coffee and cake", "7.25", food.id(), dining.id(),
+                household.id()));
+        expenseService.deleteTransaction(lunch.id());
+        categoryService.updateCategory(food.id(),
+                new CategoryDtos.UpdateCategoryRequest("Groceries", "Food", CategoryType.EXPENSE));
+
+        SyncDtos.SyncResponse changed = syncService.changesSince(added.sequence());
+        assertThat(changed.categories()).extracting(SyncDtos.SyncCategory::name).containsExactly("Groceries");
+        assertThat(changed.transactions()).singleElement().satisfies(transaction -> {
+            assertThat(transaction.description()).isEqualTo("Coffee and cake");
+            assertThat(transaction.amount()).isEqualByComparingTo("7.25");
+        });
+        assertThat(changed.deleted().transactions()).containsExactly(lunch.id());
+
+        SyncDtos.SyncResponse unchanged = syncService.changesSince(changed.sequence());
+        assertThat(unchanged.sequence()).isEqualTo(changed.sequence());
+        assertThat(unchanged.transactions()).isEmpty();
+        assertThat(unchanged.deleted().transactions()).isEmpty();
+
+        SyncDtos.SyncResponse ahead = syncService.changesSince(changed.sequence() + 100);
+        assertThat(ahead.full()).isTrue();
+        assertThat(ahead.transactions()).extracting(SyncDtos.SyncTransaction::id).containsExactly(coffee.id());
+        assertThat(ahead.deleted().transactions()).isEmpty();
+    }
+
+    private static ExpenseDtos.CreateExpenseRequest request(
+            String description,
+            String amount,
+            Long categoryId,
+            Long subCategoryId,
+            Long budgetId
+    ) {
+        return new ExpenseDtos.CreateExpenseRequest(
+                new BigDecimal(amount),
+                description,
+                LocalDate.of(2025, 3, 1),
+                TransactionType.EXPENSE,
+                categoryId,
+                subCategoryId,
+                budgetId
+        );
+    }
+}
@@ -31,8 +31,8 @@ export class ExpensesPageComponent implements OnInit {
   pageSize = 10;
   readonly pageSizeOptions = [10, 20, 50, 100];
   currentPage = 1;
-  totalPages = 1;
-  totalElements = 0;
+  totalPages: number | null = 1;
+  totalElements: number | null = 0;
   deletingTransactionId: number | null = null;
 
   constructor(
@@ -69,7 +69,7 @@ export class ExpensesPageComponent implements OnInit {
       .subscribe({
       next: (response) => {
         this.expenses = response.items;
-        this.totalPages = Math.max(1, response.totalPages);
+        this.totalPages = response.totalPages === null ? null : Math.max(1, response.totalPages);
         this.totalElements = response.totalElements;
         this.currentPage = response.page + 1;
       },
@@ -132,15 +132,24 @@ export class ExpensesPageComponent implements OnInit {
     this.subCategoryId = null;
   }
 
+  get hasRecords(): boolean {
+    return this.totalElements === null ? this.expenses.length > 0 : this.totalElements > 0;
+  }
+
+  // Without totals, a full page is the only hint that another one follows.
+  get hasNextPage(): boolean {
+    return this.totalPages === null ? this.expenses.length === this.pageSize : this.currentPage < this.totalPages;
+  }
+
   get pageStartRecord(): number {
-    if (!this.totalElements) {
+    if (!this.hasRecords) {
       return 0;
     }
     return (this.currentPage - 1) * this.pageSize + 1;
   }
 
   get pageEndRecord(): number {
-    return Math.min(this.currentPage * this.pageSize, this.totalElements);
+    return (this.currentPage - 1) * this.pageSize + this.expenses.length;
   }
 
   applyFilters(): void {
@@ -157,7 +166,7 @@ export class ExpensesPageComponent implements OnInit {
   }
 
   nextPage(): void {
-    if (this.currentPage >= this.totalPages) {
+    if (!this.hasNextPage) {
       return;
     }
     this.currentPage += 1;
@@ -58,8 +58,10 @@ export interface ExpensePageResponse {
   items: Expense[];
   page: number;
   size: number;
-  totalElements: number;
-  totalPages: number;
+  // Null in cursor mode unless includeTotal was requested.
+  totalElements: number | null;
+  totalPages: number | null;
+  nextCursor: string | null;
 }
 
 export interface DashboardMonthlyTotal {
@@ -130,6 +132,8 @@ export interface DashboardSummaryResponse {
   budgetUtilizationPoints: DashboardBudgetUtilization[];
   currentMonthCategoryTotals: DashboardCategoryTotal[];
   topYearlyCategoryTrends: DashboardCategoryYearTrend[];
+  partial: boolean;
+  degradedSections: string[];
 }
 
 @Injectable({